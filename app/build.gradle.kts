@@ -1,6 +1,7 @@
 plugins {
     alias(libs.plugins.android.application)
     alias(libs.plugins.kotlin.android)
+    alias(libs.plugins.androidx.baselineprofile)
 }
 
 android {
@@ -28,7 +29,9 @@ android {
 
     buildTypes {
         release {
-            isMinifyEnabled = false
+            // R8 вырезает отладочное логирование (см. proguard-rules.pro)
+            isMinifyEnabled = true
+            isShrinkResources = true
             proguardFiles(
                 getDefaultProguardFile("proguard-android-optimize.txt"),
                 "proguard-rules.pro"
@@ -43,8 +46,24 @@ android {
     kotlinOptions {
         jvmTarget = "17"
     }
+    testOptions {
+        unitTests {
+            // Robolectric (TaskSearchTest, микробенчмарки с Room) читает ресурсы и манифест приложения
+            isIncludeAndroidResources = true
+            all {
+                // Микробенчмарки идут только задачей microbenchmark (ниже), не в обычном прогоне тестов
+                it.exclude("com/example/timemanagementapp/benchmark/**")
+            }
+        }
+    }
+    sourceSets {
+        // Экспортированные схемы Room нужны MigrationTestHelper в инструментальных тестах
+        getByName("androidTest").assets.srcDir("$projectDir/schemas")
+    }
     buildFeatures {
         viewBinding = true
+        // BuildConfig.DEBUG отключает отладочные логи в release (AppLog.ENABLED)
+        buildConfig = true
     }
 }
 
@@ -63,10 +82,17 @@ dependencies {
     implementation("androidx.lifecycle:lifecycle-viewmodel:2.7.0")
     implementation("androidx.lifecycle:lifecycle-livedata:2.7.0")
     implementation("androidx.lifecycle:lifecycle-common-java8:2.7.0")
+    implementation("androidx.lifecycle:lifecycle-viewmodel-ktx:2.7.0")
     
     // Room Database
     implementation("androidx.room:room-runtime:2.6.1")
     annotationProcessor("androidx.room:room-compiler:2.6.1")
+    implementation("androidx.room:room-paging:2.6.1")
+    // ListenableFuture для разовых асинхронных запросов DAO
+    implementation("androidx.room:room-guava:2.6.1")
+
+    // Paging 3
+    implementation("androidx.paging:paging-runtime:3.2.1")
     
     // Navigation Component
     implementation("androidx.navigation:navigation-fragment:2.7.7")
@@ -77,14 +103,55 @@ dependencies {
     
     // WorkManager for background tasks
     implementation("androidx.work:work-runtime:2.8.1")
+
+    // App Startup: AppInitializer (каналы уведомлений, подготовка данных)
+    implementation("androidx.startup:startup-runtime:1.1.1")
     
     // Retrofit for API calls
     implementation("com.squareup.retrofit2:retrofit:2.9.0")
     implementation("com.squareup.retrofit2:converter-gson:2.9.0")
     implementation("com.squareup.okhttp3:logging-interceptor:4.11.0")
     
+    // Установка baseline profile при sideload/локальной установке (в Play профиль ставится сам)
+    implementation("androidx.profileinstaller:profileinstaller:1.4.1")
+    baselineProfile(project(":benchmark"))
+
     // Testing
     testImplementation("junit:junit:4.13.2")
+    testImplementation("androidx.arch.core:core-testing:2.2.0")
+    testImplementation("androidx.test:core:1.6.1")
+    testImplementation("org.robolectric:robolectric:4.14.1")
     androidTestImplementation("androidx.test.ext:junit:1.1.5")
+    androidTestImplementation("androidx.arch.core:core-testing:2.2.0")
     androidTestImplementation("androidx.test.espresso:espresso-core:3.5.1")
-}
\ No newline at end of file
+    androidTestImplementation("androidx.room:room-testing:2.6.1")
+}
+
+// JVM-микробенчмарки (src/test/.../benchmark): те же классы и classpath, что у testDebugUnitTest,
+// но только пакет benchmark. ./gradlew :app:microbenchmark — JSON-отчёты MicroBenchmark
+// в build/outputs/microbenchmark; времена пишутся в отчёт, тесты на них не падают.
+afterEvaluate {
+    val debugUnitTest = tasks.named<Test>("testDebugUnitTest")
+    tasks.register<Test>("microbenchmark") {
+        group = "verification"
+        description = "Runs JVM microbenchmarks and writes JSON reports"
+        testClassesDirs = files(debugUnitTest.map { it.testClassesDirs })
+        classpath = files(debugUnitTest.map { it.classpath })
+        filter.includeTestsMatching("com.example.timemanagementapp.benchmark.*")
+        systemProperty("benchmark.outputDir",
+            layout.buildDirectory.dir("outputs/microbenchmark").get().asFile.absolutePath)
+        // Замер, а не проверка: результат не кэшируется между запусками
+        outputs.upToDateWhen { false }
+    }
+}
+
+baselineProfile {
+    // Профиль только сгенерированный: ./gradlew :app:generateBaselineProfile на устройстве/эмуляторе
+    // пишет его в src/main/generated/baselineProfiles, результат коммитится вместе с замером
+    // StartupBenchmark (None против Partial). Вручную профиль не правится
+    saveInSrc = true
+    mergeIntoMain = true
+    automaticGenerationDuringBuild = false
+    // Классы стартового пути раскладываются в первый dex-файл
+    dexLayoutOptimization = true
+}
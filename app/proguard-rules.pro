@@ -18,4 +18,30 @@
 
 # If you keep the line number information, uncomment this to
 # hide the original source file name.
-#-renamesourcefileattribute SourceFile
\ No newline at end of file
+#-renamesourcefileattribute SourceFile
+
+# Отладочное логирование в release не выполняется: вызовы удаляются вместе с построением сообщений.
+# AppLog.ENABLED = BuildConfig.DEBUG уже отключает их, правила убирают и оставшиеся вызовы/лямбды.
+-assumenosideeffects class com.example.timemanagementapp.log.AppLog {
+    public static void d(...);
+    public static void v(...);
+}
+-assumenosideeffects class android.util.Log {
+    public static boolean isLoggable(java.lang.String, int);
+    public static int v(...);
+    public static int d(...);
+    public static int i(...);
+}
+
+# Номера строк в стектрейсах ошибок (Log.e/w остаются в release)
+-keepattributes SourceFile,LineNumberTable
+-renamesourcefileattribute SourceFile
+
+# Room. AppDatabase_Impl создаётся через reflection в Room.databaseBuilder (по имени AppDatabase + "_Impl"),
+# поэтому сохраняем имена AppDatabase, AppDatabase_Impl и конструктор реализации.
+# DAO, сущности и DateConverter вызываются только из сгенерированного кода напрямую, и R8 может
+# их оптимизировать: имена колонок берутся из SQL в сгенерированных классах, а не из имён полей.
+-keep class * extends androidx.room.RoomDatabase { <init>(); }
+# Сущности и DAO сохраняют имена, чтобы стектрейсы ошибок запросов оставались читаемыми
+-keepnames @androidx.room.Entity class com.example.timemanagementapp.data.local.entity.**
+-keepnames @androidx.room.Dao interface com.example.timemanagementapp.data.local.dao.**
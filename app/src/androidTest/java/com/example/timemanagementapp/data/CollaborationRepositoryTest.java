@@ -0,0 +1,186 @@
+package com.example.timemanagementapp.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.example.timemanagementapp.data.local.AppDatabase;
+import com.example.timemanagementapp.data.local.entity.CollaborationInvite;
+import com.example.timemanagementapp.data.local.entity.Project;
+import com.example.timemanagementapp.data.local.entity.User;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Отправка и принятие приглашения через CollaborationRepository.
+ *
+ * Прежний поток ждал LiveData через Thread.sleep(500) на каждое действие; теперь каждое действие —
+ * одна транзакция, и медиана задержки должна быть на порядок ниже этих 500 мс.
+ */
+@RunWith(AndroidJUnit4.class)
+public class CollaborationRepositoryTest {
+    private static final String TAG = "CollaborationRepositoryTest";
+    private static final int WARMUP_ROUNDS = 10;
+    private static final int MEASURED_ROUNDS = 50;
+    // Бюджет на одно действие (медиана): заметно меньше прежних 500 мс ожидания
+    private static final long MAX_MEDIAN_MILLIS = 50;
+
+    private AppDatabase database;
+    private CollaborationRepository repository;
+    private User owner;
+    private User invitee;
+    private Project project;
+
+    @Before
+    public void setUp() {
+        Context context = ApplicationProvider.getApplicationContext();
+        database = Room.inMemoryDatabaseBuilder(context, AppDatabase.class).build();
+        repository = new CollaborationRepository(database);
+
+        owner = new User("owner@example.com", "Owner");
+        invitee = new User("invitee@example.com", "Invitee");
+        database.userDao().insert(owner);
+        database.userDao().insert(invitee);
+        project = new Project("Робота", owner.getUserId());
+        database.projectDao().insertProject(project);
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void acceptedInvite_addsCollaborator() throws Exception {
+        CollaborationInvite invite = newInvite(project.getProjectId(), owner.getUserId());
+
+        assertEquals(CollaborationRepository.Result.SENT, repository.sendInvite(invite));
+        List<CollaborationInvite> pending = repository.getPendingInvitesForEmail(invitee.getEmail()).get();
+        assertEquals(1, pending.size());
+
+        assertEquals(CollaborationRepository.Result.ACCEPTED, repository.respondToInvite(
+                invite.getInviteId(), invitee.getUserId(), invitee.getEmail(), true));
+
+        CollaborationInvite stored = database.collaborationInviteDao().getInviteByIdSync(invite.getInviteId());
+        assertEquals(CollaborationRepository.STATUS_ACCEPTED, stored.getStatus());
+        assertNotNull(stored.getResolvedAt());
+        assertNotNull(database.projectCollaboratorDao()
+                .getCollaboratorSync(project.getProjectId(), invitee.getUserId()));
+        assertTrue(repository.getPendingInvitesForEmail(invitee.getEmail()).get().isEmpty());
+    }
+
+    @Test
+    public void rejectedInvite_doesNotAddCollaborator() {
+        CollaborationInvite invite = newInvite(project.getProjectId(), owner.getUserId());
+        repository.sendInvite(invite);
+
+        assertEquals(CollaborationRepository.Result.REJECTED, repository.respondToInvite(
+                invite.getInviteId(), invitee.getUserId(), invitee.getEmail(), false));
+        // Закрытое приглашение нельзя принять повторно
+        assertEquals(CollaborationRepository.Result.INVITE_NOT_FOUND, repository.respondToInvite(
+                invite.getInviteId(), invitee.getUserId(), invitee.getEmail(), true));
+
+        assertNull(database.projectCollaboratorDao()
+                .getCollaboratorSync(project.getProjectId(), invitee.getUserId()));
+    }
+
+    @Test
+    public void emailCase_doesNotHideInvite() throws Exception {
+        CollaborationInvite invite = newInvite(project.getProjectId(), owner.getUserId());
+        invite.setInvitedEmail(" Invitee@Example.COM");
+        repository.sendInvite(invite);
+
+        assertEquals(1, repository.getPendingInvitesForEmail("INVITEE@example.com").get().size());
+        assertEquals(CollaborationRepository.Result.ACCEPTED, repository.respondToInvite(
+                invite.getInviteId(), invitee.getUserId(), "invitee@EXAMPLE.com", true));
+    }
+
+    @Test
+    public void invalidRequests_areRefusedWithoutWrites() throws Exception {
+        assertEquals(CollaborationRepository.Result.PROJECT_NOT_FOUND,
+                repository.sendInvite(newInvite("missing_project", owner.getUserId())));
+        assertEquals(CollaborationRepository.Result.NOT_PROJECT_OWNER,
+                repository.sendInvite(newInvite(project.getProjectId(), invitee.getUserId())));
+        assertTrue(repository.getPendingInvitesForEmail(invitee.getEmail()).get().isEmpty());
+
+        CollaborationInvite invite = newInvite(project.getProjectId(), owner.getUserId());
+        repository.sendInvite(invite);
+        assertEquals(CollaborationRepository.Result.NOT_INVITED_USER, repository.respondToInvite(
+                invite.getInviteId(), owner.getUserId(), owner.getEmail(), true));
+        assertEquals(CollaborationRepository.STATUS_PENDING,
+                database.collaborationInviteDao().getInviteByIdSync(invite.getInviteId()).getStatus());
+    }
+
+    @Test
+    public void sendAndAccept_latency() {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            sendAndAccept();
+        }
+        long[] sendMillis = new long[MEASURED_ROUNDS];
+        long[] acceptMillis = new long[MEASURED_ROUNDS];
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long[] round = sendAndAccept();
+            sendMillis[i] = round[0];
+            acceptMillis[i] = round[1];
+        }
+
+        long sendMedian = median(sendMillis);
+        long acceptMedian = median(acceptMillis);
+        Log.i(TAG, "Invite send median " + sendMedian + " ms, accept median " + acceptMedian + " ms");
+        assertTrue("Send took " + sendMedian + " ms", sendMedian < MAX_MEDIAN_MILLIS);
+        assertTrue("Accept took " + acceptMedian + " ms", acceptMedian < MAX_MEDIAN_MILLIS);
+    }
+
+    // Время отправки и принятия одного приглашения
+    private long[] sendAndAccept() {
+        CollaborationInvite invite = newInvite(project.getProjectId(), owner.getUserId());
+
+        long start = SystemClock.elapsedRealtime();
+        CollaborationRepository.Result sent = repository.sendInvite(invite);
+        long sendTime = SystemClock.elapsedRealtime() - start;
+
+        start = SystemClock.elapsedRealtime();
+        CollaborationRepository.Result accepted = repository.respondToInvite(
+                invite.getInviteId(), invitee.getUserId(), invitee.getEmail(), true);
+        long acceptTime = SystemClock.elapsedRealtime() - start;
+
+        assertEquals(CollaborationRepository.Result.SENT, sent);
+        assertEquals(CollaborationRepository.Result.ACCEPTED, accepted);
+        return new long[]{sendTime, acceptTime};
+    }
+
+    private CollaborationInvite newInvite(String projectId, String inviterUserId) {
+        CollaborationInvite invite = new CollaborationInvite();
+        invite.setInviteId(UUID.randomUUID().toString());
+        invite.setProjectId(projectId);
+        invite.setInviterUserId(inviterUserId);
+        invite.setInvitedEmail(invitee.getEmail());
+        invite.setRole("editor");
+        invite.setStatus(CollaborationRepository.STATUS_PENDING);
+        invite.setCreatedAt(new Date());
+        return invite;
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.timemanagementapp.data.local;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import android.content.Context;
+
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.example.timemanagementapp.data.local.dao.TaskDao;
+import com.example.timemanagementapp.data.local.entity.Task;
+import com.example.timemanagementapp.data.local.entity.TaskComment;
+import com.example.timemanagementapp.data.local.entity.User;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Изоляция ошибок в пачке BatchingWriteExecutor: упавшая операция не должна откатывать
+ * соседние по пачке, а её действия после фиксации — выполняться. Переполненная очередь
+ * отклоняет запись сразу, не блокируя вызывающий поток.
+ */
+@RunWith(AndroidJUnit4.class)
+public class BatchingWriteExecutorTest {
+    private static final int GOOD_WRITES = 20;
+
+    private AppDatabase database;
+    private TaskDao taskDao;
+    private BatchingWriteExecutor executor;
+
+    @Before
+    public void createDatabase() {
+        Context context = ApplicationProvider.getApplicationContext();
+        database = Room.inMemoryDatabaseBuilder(context, AppDatabase.class).build();
+        taskDao = database.taskDao();
+        User alice = new User("alice@example.com", "Alice");
+        alice.setUserId("alice_001");
+        database.userDao().insert(alice);
+        // Длинное ожидание, чтобы все операции теста попали в одну пачку
+        executor = new BatchingWriteExecutor(database, 100, 500, 1_000);
+    }
+
+    @After
+    public void closeDatabase() {
+        database.close();
+    }
+
+    @Test
+    public void failedWrite_doesNotRollBackRestOfBatch() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        // Первая операция держит поток записи, пока остальные не окажутся в очереди
+        executor.execute(() -> awaitQuietly(release));
+
+        List<Task> good = new ArrayList<>();
+        List<String> committed = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger runs = new AtomicInteger();
+        Task orphanOwner = new Task("Orphan owner", "alice_001");
+        for (int i = 0; i < GOOD_WRITES; i++) {
+            if (i == GOOD_WRITES / 2) {
+                // Задача записывается, затем комментарий к несуществующей задаче нарушает внешний ключ
+                executor.execute(() -> {
+                    taskDao.insertTask(orphanOwner);
+                    executor.runAfterCommit(() -> committed.add(orphanOwner.getTaskId()));
+                    database.taskCommentDao().insert(new TaskComment("missing_task", "alice_001", "Сирота"));
+                });
+            }
+            Task task = new Task("Task " + i, "alice_001");
+            good.add(task);
+            executor.execute(() -> {
+                runs.incrementAndGet();
+                taskDao.insertTask(task);
+                executor.runAfterCommit(() -> committed.add(task.getTaskId()));
+            });
+        }
+        CountDownLatch done = new CountDownLatch(1);
+        executor.execute(done::countDown);
+        release.countDown();
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+
+        for (Task task : good) {
+            assertNotNull(task.getTitle(), taskDao.getTaskByIdSync(task.getTaskId()));
+        }
+        // Частичная запись упавшей операции откатилась вместе с ней, её действие не выполнено
+        assertNull(taskDao.getTaskByIdSync(orphanOwner.getTaskId()));
+        assertEquals(GOOD_WRITES, committed.size());
+        assertFalse(committed.contains(orphanOwner.getTaskId()));
+        // Операции до упавшей выполнены дважды, но их действия после фиксации — один раз
+        assertEquals(GOOD_WRITES + GOOD_WRITES / 2, runs.get());
+    }
+
+    @Test
+    public void fullQueue_rejectsWriteWithoutBlocking() throws Exception {
+        // Пачка из одной операции: поток записи не забирает очередь, пока занят первой
+        BatchingWriteExecutor small = new BatchingWriteExecutor(database, 1, 0, 2);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        small.execute(() -> {
+            started.countDown();
+            awaitQuietly(release);
+        });
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        small.execute(() -> { });
+        small.execute(() -> { });
+
+        try {
+            // Ожидающий execute дождался бы освобождения очереди и не бросил бы исключение
+            small.execute(() -> { });
+            fail("Write into a full queue must be rejected");
+        } catch (RejectedExecutionException expected) {
+            // Очередь не ждёт поток записи
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
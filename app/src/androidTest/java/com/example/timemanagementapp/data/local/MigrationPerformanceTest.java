@@ -0,0 +1,167 @@
+package com.example.timemanagementapp.data.local;
+
+import static org.junit.Assert.assertEquals;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.timemanagementapp.data.local.migration.Migrations;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Проверяет, что база версии 5 со 100 000 задач мигрирует до текущей версии без потери данных.
+ * Время миграции зависит от устройства, поэтому тест на нём не падает: оно пишется в JSON того же
+ * вида, что у androidx.benchmark, в additionalTestOutputDir инструментации — Gradle копирует его
+ * в build/outputs/connected_android_test_additional_output рядом с отчётами макробенчмарков.
+ *
+ * Схема версии 5 та же, что в app/schemas (5.json), но создаётся напрямую через SQLiteDatabase:
+ * так 100 000 строк записываются одной транзакцией без прослойки MigrationTestHelper.
+ */
+@RunWith(AndroidJUnit4.class)
+public class MigrationPerformanceTest {
+    private static final String TAG = "MigrationPerformanceTest";
+    private static final String TEST_DB = "migration-performance-test";
+    private static final int TASK_COUNT = 100_000;
+
+    private static final String[] SCHEMA_V5 = {
+            "CREATE TABLE IF NOT EXISTS `users` (`user_id` TEXT NOT NULL, `email` TEXT NOT NULL, "
+                    + "`name` TEXT NOT NULL, `photoUrl` TEXT, `is_current_user` INTEGER NOT NULL, "
+                    + "`created_at` INTEGER NOT NULL, `updated_at` INTEGER NOT NULL, PRIMARY KEY(`user_id`))",
+            "CREATE TABLE IF NOT EXISTS `projects` (`project_id` TEXT NOT NULL, `name` TEXT NOT NULL, "
+                    + "`description` TEXT, `owner_user_id` TEXT NOT NULL, `color_hex` TEXT, "
+                    + "`created_at` INTEGER NOT NULL, `updated_at` INTEGER NOT NULL, PRIMARY KEY(`project_id`), "
+                    + "FOREIGN KEY(`owner_user_id`) REFERENCES `users`(`user_id`) ON UPDATE NO ACTION ON DELETE CASCADE )",
+            "CREATE INDEX IF NOT EXISTS `index_projects_owner_user_id` ON `projects` (`owner_user_id`)",
+            "CREATE TABLE IF NOT EXISTS `tasks` (`task_id` TEXT NOT NULL, `project_id` TEXT, `title` TEXT NOT NULL, "
+                    + "`description` TEXT, `assignee_user_id` TEXT, `creator_user_id` TEXT NOT NULL, "
+                    + "`due_date` INTEGER, `priority` INTEGER NOT NULL, `status` TEXT NOT NULL, "
+                    + "`is_recurring` INTEGER NOT NULL, `recurrence_rule` TEXT, `parent_task_id` TEXT, "
+                    + "`created_at` INTEGER NOT NULL, `updated_at` INTEGER NOT NULL, `completed_at` INTEGER, "
+                    + "`reminder_offset_millis` INTEGER, `time_spent_millis` INTEGER NOT NULL, "
+                    + "`time_tracking_start_time_millis` INTEGER, PRIMARY KEY(`task_id`), "
+                    + "FOREIGN KEY(`project_id`) REFERENCES `projects`(`project_id`) ON UPDATE NO ACTION ON DELETE SET NULL , "
+                    + "FOREIGN KEY(`assignee_user_id`) REFERENCES `users`(`user_id`) ON UPDATE NO ACTION ON DELETE SET NULL , "
+                    + "FOREIGN KEY(`parent_task_id`) REFERENCES `tasks`(`task_id`) ON UPDATE NO ACTION ON DELETE CASCADE )",
+            "CREATE INDEX IF NOT EXISTS `index_tasks_project_id` ON `tasks` (`project_id`)",
+            "CREATE INDEX IF NOT EXISTS `index_tasks_assignee_user_id` ON `tasks` (`assignee_user_id`)",
+            "CREATE INDEX IF NOT EXISTS `index_tasks_parent_task_id` ON `tasks` (`parent_task_id`)",
+            "CREATE TABLE IF NOT EXISTS `task_comments` (`comment_id` TEXT NOT NULL, `task_id` TEXT NOT NULL, "
+                    + "`user_id` TEXT NOT NULL, `text` TEXT NOT NULL, `created_at` INTEGER NOT NULL, "
+                    + "`updated_at` INTEGER, PRIMARY KEY(`comment_id`), "
+                    + "FOREIGN KEY(`task_id`) REFERENCES `tasks`(`task_id`) ON UPDATE NO ACTION ON DELETE CASCADE , "
+                    + "FOREIGN KEY(`user_id`) REFERENCES `users`(`user_id`) ON UPDATE NO ACTION ON DELETE CASCADE )",
+            "CREATE INDEX IF NOT EXISTS `index_task_comments_task_id` ON `task_comments` (`task_id`)",
+            "CREATE INDEX IF NOT EXISTS `index_task_comments_user_id` ON `task_comments` (`user_id`)"
+    };
+
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = ApplicationProvider.getApplicationContext();
+        context.deleteDatabase(TEST_DB);
+    }
+
+    @After
+    public void tearDown() {
+        context.deleteDatabase(TEST_DB);
+    }
+
+    @Test
+    public void migrateVersion5With100kTasks_preservesData() throws IOException {
+        createVersion5Database();
+
+        long start = SystemClock.elapsedRealtimeNanos();
+        AppDatabase database = Room.databaseBuilder(context, AppDatabase.class, TEST_DB)
+                .addMigrations(Migrations.ALL)
+                .build();
+        // Миграции выполняются при первом открытии соединения
+        database.getOpenHelper().getWritableDatabase();
+        long elapsedNanos = SystemClock.elapsedRealtimeNanos() - start;
+        Log.i(TAG, "Migrated " + TASK_COUNT + " tasks from v5 in " + elapsedNanos / 1_000_000 + " ms");
+        writeReport("migrate5ToCurrent_" + TASK_COUNT + "Tasks", elapsedNanos);
+
+        try (Cursor cursor = database.query("SELECT COUNT(*) FROM tasks", null)) {
+            cursor.moveToFirst();
+            assertEquals(TASK_COUNT, cursor.getInt(0));
+        } finally {
+            database.close();
+        }
+    }
+
+    // Один замер: миграция выполняется один раз на базу, повторять её на 100 000 строках в тесте дорого
+    private void writeReport(String name, long nanos) throws IOException {
+        String outputDir = InstrumentationRegistry.getArguments().getString("additionalTestOutputDir");
+        File directory = outputDir != null ? new File(outputDir) : context.getExternalFilesDir(null);
+        if (directory == null || (!directory.isDirectory() && !directory.mkdirs())) {
+            throw new IOException("Cannot create " + directory);
+        }
+        String className = MigrationPerformanceTest.class.getName();
+        File file = new File(directory, className + "-benchmarkData.json");
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+            writer.write("{\n  \"context\": {\"runtime\": \"android\"},\n  \"benchmarks\": [\n"
+                    + "    {\"name\": \"" + name + "\", \"className\": \"" + className + "\", "
+                    + "\"metrics\": {\"timeNs\": {\"minimum\": " + nanos + ", \"maximum\": " + nanos
+                    + ", \"median\": " + nanos + ", \"runs\": [" + nanos + "]}}}\n  ]\n}\n");
+        }
+        Log.i(TAG, "Report: " + file);
+    }
+
+    private void createVersion5Database() {
+        SQLiteDatabase db = SQLiteDatabase.openOrCreateDatabase(context.getDatabasePath(TEST_DB), null);
+        try {
+            for (String sql : SCHEMA_V5) {
+                db.execSQL(sql);
+            }
+            long now = System.currentTimeMillis();
+            db.beginTransaction();
+            try {
+                db.execSQL("INSERT INTO users (user_id, email, name, is_current_user, created_at, updated_at) "
+                        + "VALUES ('alice_001', 'alice@example.com', 'Alice', 1, ?, ?)", new Object[]{now, now});
+                db.execSQL("INSERT INTO projects (project_id, name, owner_user_id, created_at, updated_at) "
+                        + "VALUES ('project_1', 'Робота', 'alice_001', ?, ?)", new Object[]{now, now});
+
+                SQLiteStatement insertTask = db.compileStatement(
+                        "INSERT INTO tasks (task_id, project_id, title, assignee_user_id, creator_user_id, due_date, "
+                                + "priority, status, is_recurring, created_at, updated_at, time_spent_millis) "
+                                + "VALUES (?, 'project_1', ?, 'alice_001', 'alice_001', ?, ?, ?, 0, ?, ?, 0)");
+                for (int i = 0; i < TASK_COUNT; i++) {
+                    insertTask.bindString(1, "task_" + i);
+                    insertTask.bindString(2, "Task " + i);
+                    insertTask.bindLong(3, now + i * 60_000L);
+                    insertTask.bindLong(4, 1 + i % 3);
+                    insertTask.bindString(5, i % 4 == 0 ? "done" : "todo");
+                    insertTask.bindLong(6, now);
+                    insertTask.bindLong(7, now);
+                    insertTask.executeInsert();
+                }
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+            db.setVersion(5);
+        } finally {
+            db.close();
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.timemanagementapp.data.local;
+
+import static org.junit.Assert.assertEquals;
+
+import android.database.Cursor;
+
+import androidx.room.testing.MigrationTestHelper;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.timemanagementapp.data.local.migration.Migrations;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+
+/**
+ * Каждая миграция из Migrations на базе, созданной по экспортированной схеме (app/schemas).
+ * runMigrationsAndValidate сверяет таблицы, индексы и внешние ключи результата со схемой
+ * следующей версии; данные, записанные до миграции, должны сохраниться.
+ *
+ * JSON-схемы сверяются только друг с другом, поэтому полная цепочка 5 -> текущая версия
+ * дополнительно открывается через AppDatabase: там результат проверяет код, сгенерированный
+ * Room из сущностей, как при обновлении приложения.
+ */
+@RunWith(AndroidJUnit4.class)
+public class MigrationTest {
+    private static final String TEST_DB = "migration-test";
+    private static final long NOW = 1_700_000_000_000L;
+
+    @Rule
+    public final MigrationTestHelper helper = new MigrationTestHelper(
+            InstrumentationRegistry.getInstrumentation(), AppDatabase.class);
+
+    @Test
+    public void migrate5To6_keepsTasks() throws IOException {
+        try (SupportSQLiteDatabase db = helper.createDatabase(TEST_DB, 5)) {
+            insertUserAndProject(db);
+            insertTask(db, "task_1", "Звіт");
+        }
+
+        try (SupportSQLiteDatabase db = helper.runMigrationsAndValidate(TEST_DB, 6, true,
+                Migrations.MIGRATION_5_6)) {
+            assertEquals(1, queryLong(db, "SELECT COUNT(*) FROM tasks WHERE project_id = 'project_1'"));
+        }
+    }
+
+    @Test
+    public void migrate6To7_addsCollaborationTables() throws IOException {
+        try (SupportSQLiteDatabase db = helper.createDatabase(TEST_DB, 6)) {
+            insertUserAndProject(db);
+        }
+
+        try (SupportSQLiteDatabase db = helper.runMigrationsAndValidate(TEST_DB, 7, true,
+                Migrations.MIGRATION_6_7)) {
+            db.execSQL("INSERT INTO collaboration_invites (invite_id, project_id, inviter_user_id, invited_email, "
+                    + "role, status, created_at) VALUES ('invite_1', 'project_1', 'alice_001', 'bob@example.com', "
+                    + "'editor', 'pending', ?)", new Object[]{NOW});
+            assertEquals(1, queryLong(db, "SELECT COUNT(*) FROM collaboration_invites "
+                    + "WHERE invited_email = 'bob@example.com' AND status = 'pending'"));
+        }
+    }
+
+    @Test
+    public void migrate7To8_indexesExistingRows() throws IOException {
+        try (SupportSQLiteDatabase db = helper.createDatabase(TEST_DB, 7)) {
+            insertUserAndProject(db);
+            insertTask(db, "task_1", "Квартальний звіт");
+            insertComment(db, "comment_1", "task_1", "Купити фарбу");
+        }
+
+        try (SupportSQLiteDatabase db = helper.runMigrationsAndValidate(TEST_DB, 8, true,
+                Migrations.MIGRATION_7_8)) {
+            // Строки, записанные до миграции, попадают в индекс через 'rebuild'
+            assertEquals(1, queryLong(db, "SELECT COUNT(*) FROM tasks_fts WHERE tasks_fts MATCH 'звіт'"));
+            assertEquals(1, queryLong(db,
+                    "SELECT COUNT(*) FROM task_comments_fts WHERE task_comments_fts MATCH 'фарбу'"));
+            // Новые строки — через триггеры синхронизации
+            insertTask(db, "task_2", "Річний звіт");
+            assertEquals(2, queryLong(db, "SELECT COUNT(*) FROM tasks_fts WHERE tasks_fts MATCH 'звіт'"));
+        }
+    }
+
+    @Test
+    public void migrate8To9_keepsComments() throws IOException {
+        try (SupportSQLiteDatabase db = helper.createDatabase(TEST_DB, 8)) {
+            insertUserAndProject(db);
+            insertTask(db, "task_1", "Ремонт");
+            insertComment(db, "comment_1", "task_1", "Перший");
+            insertComment(db, "comment_2", "task_1", "Другий");
+        }
+
+        try (SupportSQLiteDatabase db = helper.runMigrationsAndValidate(TEST_DB, 9, true,
+                Migrations.MIGRATION_8_9)) {
+            assertEquals(2, queryLong(db, "SELECT COUNT(*) FROM task_comments WHERE task_id = 'task_1'"));
+        }
+    }
+
+    @Test
+    public void migrate9To10_fillsCommentCounts() throws IOException {
+        try (SupportSQLiteDatabase db = helper.createDatabase(TEST_DB, 9)) {
+            insertUserAndProject(db);
+            insertTask(db, "task_1", "Ремонт");
+            insertTask(db, "task_2", "Без коментарів");
+            insertComment(db, "comment_1", "task_1", "Перший");
+            insertComment(db, "comment_2", "task_1", "Другий");
+        }
+
+        try (SupportSQLiteDatabase db = helper.runMigrationsAndValidate(TEST_DB, 10, true,
+                Migrations.MIGRATION_9_10)) {
+            assertEquals(2, queryLong(db, "SELECT comment_count FROM task_comment_counts WHERE task_id = 'task_1'"));
+            assertEquals(0, queryLong(db, "SELECT COUNT(*) FROM task_comment_counts WHERE task_id = 'task_2'"));
+            // Дальше счётчик ведут триггеры миграции
+            insertComment(db, "comment_3", "task_2", "Третій");
+            assertEquals(1, queryLong(db, "SELECT comment_count FROM task_comment_counts WHERE task_id = 'task_2'"));
+        }
+    }
+
+    @Test
+    public void migrate5ToCurrent_passesGeneratedSchemaValidation() throws IOException {
+        try (SupportSQLiteDatabase db = helper.createDatabase(TEST_DB, 5)) {
+            insertUserAndProject(db);
+            insertTask(db, "task_1", "Квартальний звіт");
+            insertComment(db, "comment_1", "task_1", "Купити фарбу");
+        }
+
+        AppDatabase database = AppDatabase.databaseBuilder(
+                InstrumentationRegistry.getInstrumentation().getTargetContext(), TEST_DB).build();
+        helper.closeWhenFinished(database);
+        // Миграции и проверка схемы выполняются при первом открытии соединения
+        SupportSQLiteDatabase db = database.getOpenHelper().getWritableDatabase();
+        assertEquals(1, queryLong(db, "SELECT comment_count FROM task_comment_counts WHERE task_id = 'task_1'"));
+        assertEquals(1, queryLong(db, "SELECT COUNT(*) FROM tasks_fts WHERE tasks_fts MATCH 'звіт'"));
+    }
+
+    private static void insertUserAndProject(SupportSQLiteDatabase db) {
+        db.execSQL("INSERT INTO users (user_id, email, name, is_current_user, created_at, updated_at) "
+                + "VALUES ('alice_001', 'alice@example.com', 'Alice', 1, ?, ?)", new Object[]{NOW, NOW});
+        db.execSQL("INSERT INTO projects (project_id, name, owner_user_id, created_at, updated_at) "
+                + "VALUES ('project_1', 'Робота', 'alice_001', ?, ?)", new Object[]{NOW, NOW});
+    }
+
+    private static void insertTask(SupportSQLiteDatabase db, String taskId, String title) {
+        db.execSQL("INSERT INTO tasks (task_id, project_id, title, assignee_user_id, creator_user_id, due_date, "
+                        + "priority, status, is_recurring, created_at, updated_at, time_spent_millis) "
+                        + "VALUES (?, 'project_1', ?, 'alice_001', 'alice_001', ?, 2, 'todo', 0, ?, ?, 0)",
+                new Object[]{taskId, title, NOW, NOW, NOW});
+    }
+
+    private static void insertComment(SupportSQLiteDatabase db, String commentId, String taskId, String text) {
+        db.execSQL("INSERT INTO task_comments (comment_id, task_id, user_id, text, created_at) "
+                + "VALUES (?, ?, 'alice_001', ?, ?)", new Object[]{commentId, taskId, text, NOW});
+    }
+
+    private static long queryLong(SupportSQLiteDatabase db, String sql) {
+        try (Cursor cursor = db.query(sql)) {
+            cursor.moveToFirst();
+            return cursor.getLong(0);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.timemanagementapp.data.local;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.example.timemanagementapp.data.local.dao.TaskCommentDao;
+import com.example.timemanagementapp.data.local.dao.TaskDao;
+import com.example.timemanagementapp.data.local.entity.Task;
+import com.example.timemanagementapp.data.local.entity.TaskComment;
+import com.example.timemanagementapp.data.local.entity.User;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Счётчик комментариев task_comment_counts, который ведут триггеры на task_comments.
+ *
+ * Несколько потоков одновременно добавляют, заменяют (INSERT OR REPLACE), переносят и удаляют
+ * комментарии; после этого счётчик каждой задачи должен совпадать с COUNT(*) по task_comments.
+ */
+@RunWith(AndroidJUnit4.class)
+public class TaskCommentCountTest {
+    private static final int TASK_COUNT = 10;
+    private static final int THREAD_COUNT = 8;
+    private static final int OPERATIONS_PER_THREAD = 300;
+
+    private AppDatabase database;
+    private TaskDao taskDao;
+    private TaskCommentDao commentDao;
+    private final List<Task> tasks = new ArrayList<>();
+
+    @Before
+    public void createDatabase() {
+        Context context = ApplicationProvider.getApplicationContext();
+        // Триггеры счётчика и recursive_triggers добавляет тот же callback, что у базы приложения
+        database = Room.inMemoryDatabaseBuilder(context, AppDatabase.class)
+                .addCallback(AppDatabase.CONNECTION_SETUP)
+                .build();
+        taskDao = database.taskDao();
+        commentDao = database.taskCommentDao();
+
+        User alice = new User("alice@example.com", "Alice");
+        alice.setUserId("alice_001");
+        database.userDao().insert(alice);
+        for (int i = 0; i < TASK_COUNT; i++) {
+            Task task = new Task("Task " + i, "alice_001");
+            tasks.add(task);
+        }
+        taskDao.insertAllTasks(tasks);
+    }
+
+    @After
+    public void closeDatabase() {
+        database.close();
+    }
+
+    @Test
+    public void concurrentWrites_keepCountsConsistent() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < THREAD_COUNT; t++) {
+            long seed = t;
+            workers.add(executor.submit(() -> {
+                start.await();
+                runRandomOperations(new Random(seed));
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        executor.shutdown();
+
+        Map<String, Integer> actual = countComments();
+        Map<String, Integer> projected = projectedCounts();
+        int total = 0;
+        for (Task task : tasks) {
+            int expected = actual.containsKey(task.getTaskId()) ? actual.get(task.getTaskId()) : 0;
+            assertEquals("Count for " + task.getTitle(), expected, (int) projected.get(task.getTaskId()));
+            total += expected;
+        }
+        assertTrue("No comments left to compare", total > 0);
+    }
+
+    @Test
+    public void deletingTask_dropsItsCounter() {
+        Task task = tasks.get(0);
+        commentDao.insert(new TaskComment(task.getTaskId(), "alice_001", "Перший"));
+        commentDao.insert(new TaskComment(task.getTaskId(), "alice_001", "Другий"));
+        assertEquals(2, (int) projectedCounts().get(task.getTaskId()));
+
+        commentDao.deleteAllCommentsForTask(task.getTaskId());
+        assertEquals(0, (int) projectedCounts().get(task.getTaskId()));
+
+        commentDao.insert(new TaskComment(task.getTaskId(), "alice_001", "Третій"));
+        taskDao.deleteTask(task);
+        try (Cursor cursor = database.query("SELECT * FROM task_comment_counts WHERE task_id = ?",
+                new Object[]{task.getTaskId()})) {
+            assertFalse(cursor.moveToFirst());
+        }
+    }
+
+    @Test
+    public void destructivelyRecreatedDatabase_hasCountTriggers() {
+        Context context = ApplicationProvider.getApplicationContext();
+        String name = "comment-count-v4-test";
+        context.deleteDatabase(name);
+        // Файл версии 4: схема до exportSchema, Room пересоздаёт такую базу без вызова onCreate
+        SQLiteDatabase legacy = SQLiteDatabase.openOrCreateDatabase(context.getDatabasePath(name), null);
+        legacy.execSQL("CREATE TABLE tasks (task_id TEXT NOT NULL PRIMARY KEY, title TEXT NOT NULL)");
+        legacy.setVersion(4);
+        legacy.close();
+
+        AppDatabase recreated = AppDatabase.databaseBuilder(context, name).build();
+        try {
+            User bob = new User("bob@example.com", "Bob");
+            bob.setUserId("bob_001");
+            recreated.userDao().insert(bob);
+            Task task = new Task("Після оновлення", "bob_001");
+            recreated.taskDao().insertTask(task);
+            recreated.taskCommentDao().insert(new TaskComment(task.getTaskId(), "bob_001", "Перший"));
+
+            try (Cursor cursor = recreated.query("SELECT comment_count FROM task_comment_counts WHERE task_id = ?",
+                    new Object[]{task.getTaskId()})) {
+                assertTrue(cursor.moveToFirst());
+                assertEquals(1, cursor.getInt(0));
+            }
+        } finally {
+            recreated.close();
+            context.deleteDatabase(name);
+        }
+    }
+
+    // Случайная смесь операций одного потока над своими комментариями
+    private void runRandomOperations(Random random) {
+        List<TaskComment> own = new ArrayList<>();
+        for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+            // Вставка в половине случаев, чтобы к концу у задач оставались комментарии
+            int operation = own.isEmpty() ? 0 : Math.max(0, random.nextInt(6) - 2);
+            if (operation == 0) {
+                TaskComment comment = new TaskComment(randomTaskId(random), "alice_001", "Коментар " + i);
+                commentDao.insert(comment);
+                own.add(comment);
+            } else if (operation == 1) {
+                commentDao.delete(own.remove(random.nextInt(own.size())));
+            } else if (operation == 2) {
+                // INSERT OR REPLACE той же строки: удаление и вставка, счётчик не меняется
+                TaskComment comment = own.get(random.nextInt(own.size()));
+                comment.setText("Замінено " + i);
+                commentDao.insert(comment);
+            } else {
+                TaskComment comment = own.get(random.nextInt(own.size()));
+                comment.setTaskId(randomTaskId(random));
+                commentDao.update(comment);
+            }
+        }
+    }
+
+    private String randomTaskId(Random random) {
+        return tasks.get(random.nextInt(TASK_COUNT)).getTaskId();
+    }
+
+    private Map<String, Integer> countComments() {
+        Map<String, Integer> counts = new HashMap<>();
+        try (Cursor cursor = database.query(
+                "SELECT task_id, COUNT(*) FROM task_comments GROUP BY task_id", null)) {
+            while (cursor.moveToNext()) {
+                counts.put(cursor.getString(0), cursor.getInt(1));
+            }
+        }
+        return counts;
+    }
+
+    // Счётчики в том виде, в каком их получает список задач (TaskDao.TASK_WITH_RELATIONS_SELECT)
+    private Map<String, Integer> projectedCounts() {
+        Map<String, Integer> counts = new HashMap<>();
+        try (Cursor cursor = database.query(TaskDao.TASK_WITH_RELATIONS_SELECT, null)) {
+            int taskIdColumn = cursor.getColumnIndexOrThrow("task_id");
+            int countColumn = cursor.getColumnIndexOrThrow("comment_count");
+            while (cursor.moveToNext()) {
+                counts.put(cursor.getString(taskIdColumn), cursor.getInt(countColumn));
+            }
+        }
+        return counts;
+    }
+}
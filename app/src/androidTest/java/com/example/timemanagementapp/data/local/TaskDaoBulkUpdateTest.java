@@ -0,0 +1,79 @@
+package com.example.timemanagementapp.data.local;
+
+import static org.junit.Assert.assertEquals;
+
+import android.content.Context;
+
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.example.timemanagementapp.data.local.dao.TaskDao;
+import com.example.timemanagementapp.data.local.entity.Task;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Массовые UPDATE в TaskDao: 500 задач меняются одним запросом в одной транзакции.
+ */
+@RunWith(AndroidJUnit4.class)
+public class TaskDaoBulkUpdateTest {
+    private static final int TASK_COUNT = 500;
+
+    private AppDatabase database;
+    private TaskDao taskDao;
+    private final List<String> taskIds = new ArrayList<>();
+
+    @Before
+    public void createDatabase() {
+        Context context = ApplicationProvider.getApplicationContext();
+        database = Room.inMemoryDatabaseBuilder(context, AppDatabase.class).build();
+        taskDao = database.taskDao();
+
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < TASK_COUNT; i++) {
+            Task task = new Task("Task " + i, "alice_001");
+            tasks.add(task);
+            taskIds.add(task.getTaskId());
+        }
+        taskDao.insertAllTasks(tasks);
+    }
+
+    @After
+    public void closeDatabase() {
+        database.close();
+    }
+
+    @Test
+    public void markAllDone_updatesEveryTaskInOneStatement() {
+        Date updatedAt = new Date();
+        int updated = database.runInTransaction(() -> taskDao.updateStatusForTasks(taskIds, "done", updatedAt));
+
+        assertEquals(TASK_COUNT, updated);
+        for (Task task : taskDao.getTasksByIdsSync(taskIds)) {
+            assertEquals("done", task.getStatus());
+            assertEquals(updatedAt, task.getUpdatedAt());
+        }
+    }
+
+    @Test
+    public void updatePriority_touchesOnlyGivenTasks() {
+        List<String> firstHalf = taskIds.subList(0, TASK_COUNT / 2);
+        taskDao.updatePriorityForTasks(firstHalf, 3, new Date());
+
+        int highPriority = 0;
+        for (Task task : taskDao.getTasksByIdsSync(taskIds)) {
+            if (task.getPriority() == 3) {
+                highPriority++;
+            }
+        }
+        assertEquals(TASK_COUNT / 2, highPriority);
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.timemanagementapp.data.local;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import android.content.Context;
+
+import androidx.arch.core.executor.testing.InstantTaskExecutorRule;
+import androidx.lifecycle.LiveData;
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.example.timemanagementapp.data.local.dao.TaskDao;
+import com.example.timemanagementapp.data.local.entity.Project;
+import com.example.timemanagementapp.data.local.entity.Task;
+import com.example.timemanagementapp.data.local.entity.User;
+import com.example.timemanagementapp.data.local.model.DayTaskCount;
+import com.example.timemanagementapp.data.local.model.TaskWithRelations;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Диапазонные запросы календаря: день, вычисленный в SQLite, должен совпадать с LocalDate.toEpochDay()
+ * в часовом поясе устройства, в том числе около полуночи.
+ */
+@RunWith(AndroidJUnit4.class)
+public class TaskDaoCalendarQueryTest {
+    @Rule
+    public InstantTaskExecutorRule instantTaskExecutorRule = new InstantTaskExecutorRule();
+
+    private final ZoneId zone = ZoneId.systemDefault();
+    private AppDatabase database;
+    private TaskDao taskDao;
+
+    @Before
+    public void createDatabase() {
+        Context context = ApplicationProvider.getApplicationContext();
+        // Запросы LiveData выполняются синхронно в потоке теста
+        database = Room.inMemoryDatabaseBuilder(context, AppDatabase.class)
+                .allowMainThreadQueries()
+                .setQueryExecutor(Runnable::run)
+                .build();
+        taskDao = database.taskDao();
+    }
+
+    @After
+    public void closeDatabase() {
+        database.close();
+    }
+
+    @Test
+    public void countsPerDay_matchLocalEpochDays() {
+        LocalDate may10 = LocalDate.of(2024, 5, 10);
+        List<Task> tasks = new ArrayList<>();
+        tasks.add(taskDueAt(may10.atTime(0, 0)));
+        tasks.add(taskDueAt(may10.atTime(23, 59, 59)));
+        tasks.add(taskDueAt(may10.plusDays(1).atStartOfDay()));
+        tasks.add(taskDueAt(may10.plusDays(40).atTime(12, 0)));
+        taskDao.insertAllTasks(tasks);
+
+        List<DayTaskCount> counts = valueOf(taskDao.getTaskCountsPerDay(
+                millis(may10.withDayOfMonth(1).atStartOfDay()),
+                millis(may10.plusMonths(1).withDayOfMonth(1).atStartOfDay()) - 1));
+
+        Map<Long, Integer> byDay = new HashMap<>();
+        for (DayTaskCount count : counts) {
+            byDay.put(count.epochDay, count.taskCount);
+        }
+        Map<Long, Integer> expected = new HashMap<>();
+        expected.put(may10.toEpochDay(), 2);
+        expected.put(may10.plusDays(1).toEpochDay(), 1);
+        assertEquals(expected, byDay);
+    }
+
+    @Test
+    public void tasksDueBetween_returnsOnlyTheRange() {
+        LocalDate day = LocalDate.of(2024, 5, 10);
+        taskDao.insertAllTasks(Arrays.asList(
+                taskDueAt(day.minusDays(1).atTime(23, 59)),
+                taskDueAt(day.atTime(9, 0)),
+                taskDueAt(day.atTime(18, 0)),
+                taskDueAt(day.plusDays(1).atStartOfDay())));
+
+        List<TaskWithRelations> dayTasks = valueOf(taskDao.getTasksWithRelationsDueBetween(
+                millis(day.atStartOfDay()), millis(day.plusDays(1).atStartOfDay()) - 1));
+
+        assertEquals(2, dayTasks.size());
+    }
+
+    @Test
+    public void tasksDueBetween_joinAssigneeAndProject() {
+        User alice = new User("alice@example.com", "Alice");
+        alice.setUserId("alice_001");
+        database.userDao().insert(alice);
+        Project project = new Project("Робота", "alice_001");
+        project.setColorHex("#FF0000");
+        database.projectDao().insertProject(project);
+
+        LocalDate day = LocalDate.of(2024, 5, 10);
+        Task assigned = taskDueAt(day.atTime(9, 0));
+        assigned.setAssigneeUserId("alice_001");
+        assigned.setProjectId(project.getProjectId());
+        Task unassigned = taskDueAt(day.atTime(10, 0));
+        taskDao.insertAllTasks(Arrays.asList(assigned, unassigned));
+
+        List<TaskWithRelations> rows = valueOf(taskDao.getTasksWithRelationsDueBetween(
+                millis(day.atStartOfDay()), millis(day.plusDays(1).atStartOfDay()) - 1));
+
+        assertEquals(2, rows.size());
+        assertEquals(assigned.getTaskId(), rows.get(0).task.getTaskId());
+        assertEquals("Alice", rows.get(0).assigneeName);
+        assertEquals("Робота", rows.get(0).projectName);
+        assertEquals("#FF0000", rows.get(0).projectColor);
+        assertNull(rows.get(1).assigneeName);
+        assertNull(rows.get(1).projectName);
+    }
+
+    private Task taskDueAt(LocalDateTime dueAt) {
+        Task task = new Task("Task at " + dueAt, "alice_001");
+        task.setDueDate(new Date(millis(dueAt)));
+        return task;
+    }
+
+    private long millis(LocalDateTime dateTime) {
+        return dateTime.atZone(zone).toInstant().toEpochMilli();
+    }
+
+    private static <T> T valueOf(LiveData<T> liveData) {
+        AtomicReference<T> value = new AtomicReference<>();
+        liveData.observeForever(value::set);
+        return value.get();
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.timemanagementapp.data.local;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import android.content.Context;
+import android.database.Cursor;
+
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Регрессионный тест планов запросов TaskDao: каждый запрос должен идти по индексу
+ * и не строить временный B-tree для ORDER BY.
+ * SQL здесь продублирован из TaskDao — при изменении запроса его нужно обновить и тут.
+ */
+@RunWith(AndroidJUnit4.class)
+public class TaskDaoQueryPlanTest {
+    private AppDatabase database;
+
+    @Before
+    public void createDatabase() {
+        Context context = ApplicationProvider.getApplicationContext();
+        database = Room.inMemoryDatabaseBuilder(context, AppDatabase.class).build();
+    }
+
+    @After
+    public void closeDatabase() {
+        database.close();
+    }
+
+    // Общая часть запросов TaskWithRelations (TaskDao.TASK_WITH_RELATIONS_SELECT)
+    private static final String WITH_RELATIONS = "SELECT tasks.*, users.name AS assignee_name, "
+            + "projects.name AS project_name, projects.color_hex AS project_color, "
+            + "COALESCE(task_comment_counts.comment_count, 0) AS comment_count FROM tasks "
+            + "LEFT JOIN users ON users.user_id = tasks.assignee_user_id "
+            + "LEFT JOIN projects ON projects.project_id = tasks.project_id "
+            + "LEFT JOIN task_comment_counts ON task_comment_counts.task_id = tasks.task_id ";
+
+    @Test
+    public void allTasksSortedByDueDate_usesIndex() {
+        assertIndexedWithoutTempSort("SELECT * FROM tasks ORDER BY due_date ASC");
+    }
+
+    @Test
+    public void allTasksSortedByPriority_usesIndex() {
+        assertIndexedWithoutTempSort("SELECT * FROM tasks ORDER BY priority DESC, due_date ASC");
+    }
+
+    @Test
+    public void pagedWithRelationsByDueDate_usesIndex() {
+        assertIndexedWithoutTempSort(WITH_RELATIONS + "ORDER BY tasks.due_date ASC");
+    }
+
+    @Test
+    public void pagedWithRelationsByPriority_usesIndex() {
+        assertIndexedWithoutTempSort(WITH_RELATIONS + "ORDER BY tasks.priority DESC, tasks.due_date ASC");
+    }
+
+    @Test
+    public void activeWithRelationsForUser_usesIndex() {
+        assertIndexedWithoutTempSort(WITH_RELATIONS
+                + "WHERE tasks.assignee_user_id = ? AND tasks.status != 'done' ORDER BY tasks.due_date ASC",
+                "alice_001");
+    }
+
+    @Test
+    public void tasksForProject_usesIndex() {
+        assertIndexedWithoutTempSort(
+                "SELECT * FROM tasks WHERE project_id = ? ORDER BY priority DESC, due_date ASC",
+                "project_1");
+    }
+
+    @Test
+    public void activeTasksForUser_usesIndex() {
+        assertIndexedWithoutTempSort(
+                "SELECT * FROM tasks WHERE assignee_user_id = ? AND status != 'done' ORDER BY due_date ASC",
+                "alice_001");
+    }
+
+    @Test
+    public void tasksDueBetween_usesIndex() {
+        assertIndexedWithoutTempSort(
+                WITH_RELATIONS + "WHERE tasks.due_date BETWEEN ? AND ? ORDER BY tasks.due_date ASC",
+                0L, 1_000L);
+    }
+
+    // Keyset-страницы комментариев (TaskCommentDao): seek по (task_id, created_at, comment_id) без сортировки
+
+    @Test
+    public void newestComments_usesIndex() {
+        assertIndexedWithoutTempSort("SELECT * FROM task_comments WHERE task_id = ? "
+                + "ORDER BY created_at DESC, comment_id DESC LIMIT 50", "task_1");
+    }
+
+    @Test
+    public void commentsBefore_usesIndex() {
+        assertIndexedWithoutTempSort("SELECT * FROM task_comments WHERE task_id = ? "
+                + "AND (created_at < ? OR (created_at = ? AND comment_id < ?)) "
+                + "ORDER BY created_at DESC, comment_id DESC LIMIT 50", "task_1", 1_000L, 1_000L, "c1");
+    }
+
+    @Test
+    public void commentsAfter_usesIndex() {
+        assertIndexedWithoutTempSort("SELECT * FROM task_comments WHERE task_id = ? "
+                + "AND (created_at > ? OR (created_at = ? AND comment_id > ?)) "
+                + "ORDER BY created_at DESC, comment_id DESC", "task_1", 1_000L, 1_000L, "c1");
+    }
+
+    private void assertIndexedWithoutTempSort(String sql, Object... args) {
+        List<String> plan = explain(sql, args);
+        boolean usesIndex = false;
+        for (String step : plan) {
+            assertFalse("Temp B-tree sort for \"" + sql + "\": " + plan, step.contains("TEMP B-TREE"));
+            if (step.contains("USING INDEX") || step.contains("USING COVERING INDEX")) {
+                usesIndex = true;
+            }
+        }
+        assertTrue("No index used for \"" + sql + "\": " + plan, usesIndex);
+    }
+
+    private List<String> explain(String sql, Object... args) {
+        List<String> details = new ArrayList<>();
+        try (Cursor cursor = database.query("EXPLAIN QUERY PLAN " + sql, args)) {
+            int detailColumn = cursor.getColumnIndexOrThrow("detail");
+            while (cursor.moveToNext()) {
+                details.add(cursor.getString(detailColumn));
+            }
+        }
+        return details;
+    }
+}
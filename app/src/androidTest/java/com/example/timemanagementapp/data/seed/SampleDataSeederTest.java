@@ -0,0 +1,95 @@
+package com.example.timemanagementapp.data.seed;
+
+import static org.junit.Assert.assertEquals;
+
+import android.content.Context;
+import android.database.Cursor;
+
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.example.timemanagementapp.data.local.AppDatabase;
+import com.example.timemanagementapp.data.local.entity.Project;
+import com.example.timemanagementapp.data.local.entity.User;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Шаги SampleDataSeeder: тестовые данные только для пустой базы, повторный запуск ничего не дублирует,
+ * старые русские названия проектов переименовываются
+ */
+@RunWith(AndroidJUnit4.class)
+public class SampleDataSeederTest {
+    private AppDatabase database;
+    private SampleDataSeeder seeder;
+
+    @Before
+    public void createDatabase() {
+        Context context = ApplicationProvider.getApplicationContext();
+        database = Room.inMemoryDatabaseBuilder(context, AppDatabase.class).build();
+        seeder = new SampleDataSeeder(database);
+    }
+
+    @After
+    public void closeDatabase() {
+        database.close();
+    }
+
+    @Test
+    public void emptyDatabase_isSeededOnce() {
+        assertEquals(SampleDataSeeder.CURRENT_VERSION, seeder.seed(0));
+        assertEquals(5, count("users"));
+        assertEquals(3, count("projects"));
+        assertEquals(4, count("tasks"));
+        assertEquals(3, count("tasks WHERE project_id IS NOT NULL"));
+
+        // Версия не успела записаться: шаги выполняются повторно, но ничего не дублируют
+        seeder.seed(0);
+
+        assertEquals(5, count("users"));
+        assertEquals(3, count("projects"));
+        assertEquals(4, count("tasks"));
+    }
+
+    @Test
+    public void existingData_isNotSeeded() {
+        User user = new User("user@example.com", "User");
+        database.userDao().insert(user);
+        database.projectDao().insertProject(new Project("Проект", user.getUserId()));
+
+        seeder.seed(0);
+
+        assertEquals(1, count("users"));
+        assertEquals(1, count("projects"));
+        assertEquals(0, count("tasks"));
+    }
+
+    @Test
+    public void legacyProjectNames_areRenamed() {
+        database.projectDao().insertProject(new Project("Работа Бета", SampleDataSeeder.DEFAULT_OWNER_ID));
+        database.projectDao().insertProject(new Project("Свой проект", SampleDataSeeder.DEFAULT_OWNER_ID));
+
+        assertEquals(SampleDataSeeder.CURRENT_VERSION, seeder.seed(1));
+
+        assertEquals(1, count("projects WHERE name = 'Робота' AND color_hex = '#2196F3'"));
+        assertEquals(1, count("projects WHERE name = 'Свой проект'"));
+        assertEquals(0, count("projects WHERE name = 'Работа Бета'"));
+    }
+
+    @Test
+    public void upToDateVersion_doesNothing() {
+        assertEquals(SampleDataSeeder.CURRENT_VERSION, seeder.seed(SampleDataSeeder.CURRENT_VERSION));
+        assertEquals(0, count("users"));
+    }
+
+    private int count(String tableAndCondition) {
+        try (Cursor cursor = database.query("SELECT COUNT(*) FROM " + tableAndCondition, null)) {
+            cursor.moveToFirst();
+            return cursor.getInt(0);
+        }
+    }
+}
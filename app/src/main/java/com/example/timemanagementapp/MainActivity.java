@@ -4,7 +4,6 @@ import android.content.Intent;
 import android.os.Bundle;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.fragment.app.Fragment;
-import com.example.timemanagementapp.notifications.NotificationHelper;
 import com.example.timemanagementapp.ui.calendar.CalendarFragment;
 import com.example.timemanagementapp.ui.tasks.TaskEditFragment;
 import com.example.timemanagementapp.ui.tasks.TaskListFragment;
@@ -34,9 +33,6 @@ public class MainActivity extends AppCompatActivity {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_main);
 
-        // Инициализация канала уведомлений
-        NotificationHelper.createNotificationChannel(this);
-
         // Настройка нижней навигации
         bottomNavigationView = findViewById(R.id.bottom_navigation);
         bottomNavigationView.setOnItemSelectedListener(item -> {
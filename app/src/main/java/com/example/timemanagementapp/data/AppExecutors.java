@@ -0,0 +1,76 @@
+package com.example.timemanagementapp.data;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+
+import com.example.timemanagementapp.data.local.AppDatabase;
+import com.example.timemanagementapp.data.local.BatchingWriteExecutor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Общие для всего приложения executors работы с базой.
+ * Записи идут через один поток с пакетными транзакциями, чтения — через небольшой пул,
+ * самостоятельные транзакции с проверками — через отдельный поток без пачек.
+ */
+public class AppExecutors {
+    private static final int MAX_WRITE_BATCH_SIZE = 100;
+    private static final long MAX_WRITE_LINGER_MILLIS = 20;
+    // Больше незаписанных операций не копим: дальше execute отклоняет запись, не блокируя вызывающего
+    private static final int MAX_PENDING_WRITES = 10_000;
+    private static final int MAX_READ_THREADS = 4;
+
+    private static volatile AppExecutors INSTANCE;
+
+    private final BatchingWriteExecutor diskWrite;
+    private final ExecutorService diskRead;
+    private final ExecutorService diskTransactions;
+
+    private AppExecutors(AppDatabase database) {
+        diskWrite = new BatchingWriteExecutor(database, MAX_WRITE_BATCH_SIZE, MAX_WRITE_LINGER_MILLIS,
+                MAX_PENDING_WRITES);
+
+        int readThreads = Math.max(2, Math.min(MAX_READ_THREADS, Runtime.getRuntime().availableProcessors()));
+        AtomicInteger threadNumber = new AtomicInteger();
+        diskRead = Executors.newFixedThreadPool(readThreads,
+                runnable -> new Thread(runnable, "db-read-" + threadNumber.incrementAndGet()));
+        diskTransactions = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "db-transaction"));
+    }
+
+    public static AppExecutors getInstance(@NonNull Context context) {
+        if (INSTANCE == null) {
+            synchronized (AppExecutors.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new AppExecutors(AppDatabase.getInstance(context));
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * Пакетная запись: операции выполняются по порядку, пачками в одной транзакции.
+     * Действия после записи регистрируются через BatchingWriteExecutor.runAfterCommit
+     */
+    public BatchingWriteExecutor diskWrite() {
+        return diskWrite;
+    }
+
+    /**
+     * Самостоятельные транзакции (runInTransaction), которые сами проверяют данные и возвращают результат.
+     * Без пачек: откат такой транзакции не должен задевать чужие записи, а её итог нужен сразу
+     */
+    public ExecutorService diskTransactions() {
+        return diskTransactions;
+    }
+
+    /**
+     * Пул для синхронных чтений из базы вне главного потока
+     */
+    public ExecutorService diskRead() {
+        return diskRead;
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.timemanagementapp.data;
+
+import android.app.Application;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.WorkerThread;
+import androidx.room.InvalidationTracker;
+
+import com.example.timemanagementapp.data.local.AppDatabase;
+import com.example.timemanagementapp.data.local.dao.CollaborationInviteDao;
+import com.example.timemanagementapp.data.local.dao.ProjectCollaboratorDao;
+import com.example.timemanagementapp.data.local.dao.ProjectDao;
+import com.example.timemanagementapp.data.local.entity.CollaborationInvite;
+import com.example.timemanagementapp.data.local.entity.Project;
+import com.example.timemanagementapp.data.local.entity.ProjectCollaborator;
+import com.example.timemanagementapp.data.local.model.InviteWithDetails;
+import com.google.common.util.concurrent.ListenableFuture;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Приглашения в проекты и участники проектов.
+ *
+ * Отправка и ответ на приглашение — одна транзакция: проверки читают строки синхронно
+ * в том же потоке, что и запись, без ожидания LiveData.
+ *
+ * Адрес приглашённого хранится и ищется в нижнем регистре (normalizeEmail): запрос входящих
+ * приглашений сравнивает invited_email точно, чтобы идти по индексу (invited_email, status).
+ */
+public class CollaborationRepository {
+    // Максимум id в одном IN (...): с запасом ниже лимита параметров SQLite (999 на старых API)
+    private static final int MAX_IDS_PER_STATEMENT = 500;
+
+    public static final String STATUS_PENDING = "pending";
+    public static final String STATUS_ACCEPTED = "accepted";
+    public static final String STATUS_REJECTED = "rejected";
+
+    /**
+     * Итог операции с приглашением; текст для пользователя выбирает ViewModel
+     */
+    public enum Result {
+        SENT,
+        ACCEPTED,
+        REJECTED,
+        PROJECT_NOT_FOUND,
+        NOT_PROJECT_OWNER,
+        INVITE_NOT_FOUND,
+        NOT_INVITED_USER
+    }
+
+    private final AppDatabase database;
+    private final ProjectDao projectDao;
+    private final CollaborationInviteDao inviteDao;
+    private final ProjectCollaboratorDao collaboratorDao;
+    // Имена для строк приглашений: пакетные запросы, сброс при изменении таблиц
+    private final NameCache projectNames;
+    private final NameCache userNames;
+
+    private static volatile CollaborationRepository INSTANCE;
+
+    CollaborationRepository(@NonNull AppDatabase database) {
+        this.database = database;
+        this.projectDao = database.projectDao();
+        this.inviteDao = database.collaborationInviteDao();
+        this.collaboratorDao = database.projectCollaboratorDao();
+        this.projectNames = new NameCache(projectDao::getProjectNamesSync, MAX_IDS_PER_STATEMENT);
+        this.userNames = new NameCache(database.userDao()::getUserNamesSync, MAX_IDS_PER_STATEMENT);
+
+        database.getInvalidationTracker().addObserver(new InvalidationTracker.Observer("projects", "users") {
+            @Override
+            public void onInvalidated(@NonNull Set<String> tables) {
+                if (tables.contains("projects")) {
+                    projectNames.invalidate();
+                }
+                if (tables.contains("users")) {
+                    userNames.invalidate();
+                }
+            }
+        });
+    }
+
+    public static CollaborationRepository getInstance(Application application) {
+        if (INSTANCE == null) {
+            synchronized (CollaborationRepository.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new CollaborationRepository(AppDatabase.getInstance(application));
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    @NonNull
+    static String normalizeEmail(@NonNull String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Сохраняет приглашение, если проект существует и принадлежит пригласившему
+     */
+    @WorkerThread
+    @NonNull
+    public Result sendInvite(@NonNull CollaborationInvite invite) {
+        invite.setInvitedEmail(normalizeEmail(invite.getInvitedEmail()));
+        return database.runInTransaction(() -> {
+            Project project = projectDao.getProjectByIdSync(invite.getProjectId());
+            if (project == null) {
+                return Result.PROJECT_NOT_FOUND;
+            }
+            if (!project.getOwnerUserId().equals(invite.getInviterUserId())) {
+                return Result.NOT_PROJECT_OWNER;
+            }
+            inviteDao.insertInvite(invite);
+            return Result.SENT;
+        });
+    }
+
+    /**
+     * Принимает или отклоняет приглашение от имени пользователя userId с адресом email.
+     * При принятии пользователь сразу добавляется в участники проекта
+     */
+    @WorkerThread
+    @NonNull
+    public Result respondToInvite(@NonNull String inviteId, @NonNull String userId, @NonNull String email,
+                                  boolean accept) {
+        return database.runInTransaction(() -> {
+            CollaborationInvite invite = inviteDao.getInviteByIdSync(inviteId);
+            if (invite == null || !STATUS_PENDING.equals(invite.getStatus())) {
+                return Result.INVITE_NOT_FOUND;
+            }
+            if (!normalizeEmail(invite.getInvitedEmail()).equals(normalizeEmail(email))) {
+                return Result.NOT_INVITED_USER;
+            }
+            inviteDao.resolveInvite(inviteId, accept ? STATUS_ACCEPTED : STATUS_REJECTED,
+                    System.currentTimeMillis());
+            if (!accept) {
+                return Result.REJECTED;
+            }
+            collaboratorDao.insertCollaborator(new ProjectCollaborator(invite.getProjectId(), userId, invite.getRole()));
+            return Result.ACCEPTED;
+        });
+    }
+
+    /**
+     * Ожидающие ответа приглашения на email, новые первыми
+     */
+    @NonNull
+    public ListenableFuture<List<CollaborationInvite>> getPendingInvitesForEmail(@NonNull String email) {
+        return inviteDao.getPendingInvitesForEmailAsync(normalizeEmail(email));
+    }
+
+    /**
+     * Дополняет приглашения названием проекта и именем пригласившего.
+     * Недостающие в кэше имена читаются одним запросом на таблицу для всего списка
+     */
+    @WorkerThread
+    @NonNull
+    public List<InviteWithDetails> withDetails(@NonNull List<CollaborationInvite> invites) {
+        Set<String> projectIds = new HashSet<>();
+        Set<String> inviterIds = new HashSet<>();
+        for (CollaborationInvite invite : invites) {
+            projectIds.add(invite.getProjectId());
+            inviterIds.add(invite.getInviterUserId());
+        }
+        Map<String, String> projects = projectNames.getNames(projectIds);
+        Map<String, String> inviters = userNames.getNames(inviterIds);
+
+        List<InviteWithDetails> result = new ArrayList<>(invites.size());
+        for (CollaborationInvite invite : invites) {
+            result.add(new InviteWithDetails(invite, projects.get(invite.getProjectId()),
+                    inviters.get(invite.getInviterUserId())));
+        }
+        return result;
+    }
+}
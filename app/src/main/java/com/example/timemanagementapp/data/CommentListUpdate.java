@@ -0,0 +1,69 @@
+package com.example.timemanagementapp.data;
+
+import androidx.annotation.NonNull;
+
+import com.example.timemanagementapp.data.local.entity.TaskComment;
+
+import java.util.List;
+
+/**
+ * Изменение загруженного списка комментариев задачи (см. TaskCommentPager).
+ *
+ * Изменение несёт только затронутые комментарии; весь список хранит получатель (адаптер) и применяет
+ * к нему изменения по порядку версий через applyTo. Если версия пропущена (наблюдатель был неактивен,
+ * фрагмент пересоздан), получатель запрашивает у пейджера RESET с полным списком.
+ */
+public final class CommentListUpdate {
+    public enum Type {
+        // Список загружен заново: items — весь список
+        RESET,
+        // count комментариев вставлено начиная с position: новые сверху или следующая страница снизу
+        INSERTED,
+        // Комментарий в position изменён: items — его новая версия
+        CHANGED,
+        // count комментариев удалено начиная с position
+        REMOVED
+    }
+
+    @NonNull
+    public final Type type;
+    public final int position;
+    public final int count;
+    // Вставленные или изменённые комментарии, новые первыми; для REMOVED пусто. Не изменяются
+    @NonNull
+    public final List<TaskComment> items;
+    // Есть ли ещё не загруженные более старые комментарии
+    public final boolean hasOlder;
+    public final int version;
+
+    CommentListUpdate(@NonNull Type type, int position, int count, @NonNull List<TaskComment> items,
+                      boolean hasOlder, int version) {
+        this.type = type;
+        this.position = position;
+        this.count = count;
+        this.items = items;
+        this.hasOlder = hasOlder;
+        this.version = version;
+    }
+
+    /**
+     * Применяет изменение к списку, в котором уже применены все предыдущие версии
+     */
+    public void applyTo(@NonNull List<TaskComment> comments) {
+        switch (type) {
+            case RESET:
+                comments.clear();
+                comments.addAll(items);
+                break;
+            case INSERTED:
+                comments.addAll(position, items);
+                break;
+            case CHANGED:
+                comments.set(position, items.get(0));
+                break;
+            case REMOVED:
+                comments.subList(position, position + count).clear();
+                break;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.timemanagementapp.data;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.WorkerThread;
+
+import com.example.timemanagementapp.data.local.model.EntityName;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Кэш отображаемых имён одной таблицы (проекты или пользователи) по id.
+ *
+ * Недостающие имена догружаются одним запросом IN (...) на пачку id, а не запросом на строку.
+ * Отсутствующие в базе id тоже запоминаются, чтобы не спрашивать их снова.
+ * Кэш сбрасывается целиком при изменении таблицы (InvalidationTracker в CollaborationRepository);
+ * загрузка, начатая до сброса, свой результат в кэш уже не кладёт.
+ */
+class NameCache {
+    /**
+     * Запрос имён для пачки id; id, которых нет в базе, в ответе отсутствуют
+     */
+    interface Loader {
+        @NonNull
+        List<EntityName> load(@NonNull List<String> ids);
+    }
+
+    private final Loader loader;
+    private final int maxIdsPerQuery;
+    private final Map<String, String> names = new HashMap<>();
+    private long generation;
+    private int queryCount;
+
+    NameCache(@NonNull Loader loader, int maxIdsPerQuery) {
+        this.loader = loader;
+        this.maxIdsPerQuery = maxIdsPerQuery;
+    }
+
+    /**
+     * Имена для всех ids. Значение null — такого id в базе нет
+     */
+    @WorkerThread
+    @NonNull
+    Map<String, String> getNames(@NonNull Collection<String> ids) {
+        Map<String, String> result = new HashMap<>(ids.size() * 4 / 3 + 1);
+        List<String> missing = new ArrayList<>();
+        long loadGeneration;
+        synchronized (this) {
+            for (String id : ids) {
+                if (names.containsKey(id)) {
+                    result.put(id, names.get(id));
+                } else if (!result.containsKey(id)) {
+                    result.put(id, null);
+                    missing.add(id);
+                }
+            }
+            loadGeneration = generation;
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        // Запрос идёт без блокировки: чтения из разных потоков не ждут друг друга
+        Map<String, String> loaded = new HashMap<>(missing.size() * 4 / 3 + 1);
+        for (String id : missing) {
+            loaded.put(id, null);
+        }
+        for (int start = 0; start < missing.size(); start += maxIdsPerQuery) {
+            List<String> chunk = missing.subList(start, Math.min(missing.size(), start + maxIdsPerQuery));
+            for (EntityName entityName : loader.load(chunk)) {
+                loaded.put(entityName.id, entityName.name);
+            }
+            synchronized (this) {
+                queryCount++;
+            }
+        }
+        result.putAll(loaded);
+
+        synchronized (this) {
+            if (loadGeneration == generation) {
+                names.putAll(loaded);
+            }
+        }
+        return result;
+    }
+
+    synchronized void invalidate() {
+        names.clear();
+        generation++;
+    }
+
+    /**
+     * Сколько запросов к базе выполнено (для тестов)
+     */
+    synchronized int getQueryCount() {
+        return queryCount;
+    }
+}
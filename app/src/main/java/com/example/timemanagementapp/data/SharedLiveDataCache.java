@@ -0,0 +1,126 @@
+package com.example.timemanagementapp.data;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MediatorLiveData;
+
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Кэш LiveData-запросов по ключу. Все экраны, наблюдающие один и тот же запрос,
+ * получают один экземпляр LiveData, поэтому Room регистрирует одного наблюдателя
+ * InvalidationTracker и выполняет запрос один раз на инвалидацию.
+ *
+ * Кэш держит запись сильной ссылкой, только пока она активна (onActive — onInactive).
+ * Неактивные записи — созданные, но ещё не наблюдаемые, или наблюдаемые владельцем в состоянии
+ * DESTROYED — хранятся по слабой ссылке: их по-прежнему получают все, кто запросит ключ,
+ * пока LiveData кем-то удерживается, но сам кэш не мешает сборщику мусора её освободить.
+ */
+public class SharedLiveDataCache {
+    private final Map<String, SharedLiveData<?>> activeEntries = new HashMap<>();
+    private final Map<String, WeakReference<SharedLiveData<?>>> idleEntries = new HashMap<>();
+    private final AtomicLong queriesCreated = new AtomicLong();
+    private final AtomicLong cacheHits = new AtomicLong();
+
+    @SuppressWarnings("unchecked")
+    public synchronized <T> LiveData<T> get(@NonNull String key, @NonNull Supplier<LiveData<T>> queryFactory) {
+        SharedLiveData<?> entry = activeEntries.get(key);
+        if (entry == null) {
+            WeakReference<SharedLiveData<?>> idle = idleEntries.get(key);
+            entry = idle != null ? idle.get() : null;
+        }
+        if (entry != null) {
+            cacheHits.incrementAndGet();
+            return (LiveData<T>) entry;
+        }
+        purgeCollected();
+        SharedLiveData<T> created = new SharedLiveData<>(this, key, queryFactory.get());
+        idleEntries.put(key, new WeakReference<>(created));
+        queriesCreated.incrementAndGet();
+        return created;
+    }
+
+    public Stats getStats() {
+        synchronized (this) {
+            purgeCollected();
+            return new Stats(queriesCreated.get(), cacheHits.get(), activeEntries.size(),
+                    idleEntries.size());
+        }
+    }
+
+    synchronized void activate(String key, SharedLiveData<?> entry) {
+        idleEntries.remove(key);
+        activeEntries.put(key, entry);
+    }
+
+    synchronized void deactivate(String key, SharedLiveData<?> entry) {
+        if (activeEntries.get(key) == entry) {
+            activeEntries.remove(key);
+            idleEntries.put(key, new WeakReference<>(entry));
+        }
+    }
+
+    // Ключи записей, которые уже собрал сборщик мусора
+    private void purgeCollected() {
+        Iterator<WeakReference<SharedLiveData<?>>> iterator = idleEntries.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().get() == null) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Счётчики кэша: сколько запросов создано, сколько вызовов get вернули уже существующий запрос
+     * (повторный вызов тем же наблюдателем, например при пересоздании фрагмента, тоже считается),
+     * сколько запросов сейчас наблюдается и сколько ещё не собрано без наблюдателей
+     */
+    public static class Stats {
+        public final long queriesCreated;
+        public final long cacheHits;
+        public final int sharedQueries;
+        public final int idleQueries;
+
+        Stats(long queriesCreated, long cacheHits, int sharedQueries, int idleQueries) {
+            this.queriesCreated = queriesCreated;
+            this.cacheHits = cacheHits;
+            this.sharedQueries = sharedQueries;
+            this.idleQueries = idleQueries;
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return "created=" + queriesCreated + ", hits=" + cacheHits
+                    + ", shared=" + sharedQueries + ", idle=" + idleQueries;
+        }
+    }
+
+    static class SharedLiveData<T> extends MediatorLiveData<T> {
+        private final SharedLiveDataCache cache;
+        private final String key;
+
+        SharedLiveData(SharedLiveDataCache cache, String key, LiveData<T> source) {
+            this.cache = cache;
+            this.key = key;
+            addSource(source, this::setValue);
+        }
+
+        @Override
+        protected void onActive() {
+            super.onActive();
+            cache.activate(key, this);
+        }
+
+        @Override
+        protected void onInactive() {
+            super.onInactive();
+            cache.deactivate(key, this);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.timemanagementapp.data;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Счётчики побочных эффектов обновления задач: сколько раз напоминание и уведомление
+ * о назначении действительно выполнялись, а сколько раз пропускались, потому что
+ * их входные поля не изменились (см. TaskDiff). Ведутся в TaskRepository.update
+ */
+public final class SideEffectMetrics {
+    private final AtomicLong remindersRescheduled = new AtomicLong();
+    private final AtomicLong remindersSkipped = new AtomicLong();
+    private final AtomicLong assignmentChecks = new AtomicLong();
+    private final AtomicLong assignmentChecksSkipped = new AtomicLong();
+
+    /**
+     * Учитывает одно записанное обновление задачи
+     */
+    public void record(@NonNull TaskDiff diff) {
+        if (diff.affectsReminder()) {
+            remindersRescheduled.incrementAndGet();
+        } else {
+            remindersSkipped.incrementAndGet();
+        }
+        if (diff.affectsAssignment()) {
+            assignmentChecks.incrementAndGet();
+        } else {
+            assignmentChecksSkipped.incrementAndGet();
+        }
+    }
+
+    public long getRemindersRescheduled() {
+        return remindersRescheduled.get();
+    }
+
+    public long getRemindersSkipped() {
+        return remindersSkipped.get();
+    }
+
+    public long getAssignmentChecks() {
+        return assignmentChecks.get();
+    }
+
+    public long getAssignmentChecksSkipped() {
+        return assignmentChecksSkipped.get();
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "reminders rescheduled=" + remindersRescheduled.get() + ", skipped=" + remindersSkipped.get()
+                + "; assignment checks=" + assignmentChecks.get() + ", skipped=" + assignmentChecksSkipped.get();
+    }
+}
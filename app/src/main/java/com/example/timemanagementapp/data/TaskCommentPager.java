@@ -0,0 +1,364 @@
+package com.example.timemanagementapp.data;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import androidx.annotation.WorkerThread;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import com.example.timemanagementapp.data.local.dao.TaskCommentDao;
+import com.example.timemanagementapp.data.local.entity.TaskComment;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Комментарии одной задачи, загружаемые страницами от новых к старым.
+ *
+ * Границы загруженного диапазона хранятся как ключи (created_at, comment_id) первого и последнего
+ * комментария. Следующая страница — seek от нижней границы, новые комментарии — seek от верхней.
+ * После изменения task_comments (refresh) пейджер читает счётчик комментариев своей задачи
+ * (task_comment_counts, строка по ключу) и комментарии новее верхней границы; если изменились
+ * комментарии другой задачи, оба запроса ничего нового не дают и список не трогается. Если счётчик
+ * не сходится с числом дочитанных комментариев, часть удалена в обход пейджера (deleteAllCommentsForTask,
+ * каскад при удалении задачи): тогда загруженный диапазон сверяется по id и пропавшие убираются.
+ * Правка и удаление комментария из ViewModel применяются сразу (applyUpdated/applyDeleted), без перечитывания.
+ *
+ * Все операции выполняются на executor'е чтения; состояние защищено монитором пейджера.
+ * В getUpdates() уходят только изменения (вставленная страница, изменённый комментарий), а не копия
+ * списка: каждое передаётся на главный поток отдельно через setValue, по порядку версий, чтобы
+ * получатель мог применить их все. Полный список (RESET) публикуется при первой загрузке и по requestReset().
+ */
+public class TaskCommentPager {
+    /**
+     * Запросы к комментариям одной задачи, по убыванию (created_at, comment_id)
+     */
+    interface Source {
+        List<TaskComment> newest(int limit);
+
+        List<TaskComment> before(long createdAt, @NonNull String commentId, int limit);
+
+        List<TaskComment> after(long createdAt, @NonNull String commentId);
+
+        // Сколько всего комментариев у задачи
+        int count();
+
+        // id комментариев от (createdAt, commentId) включительно и новее
+        List<String> idsFrom(long createdAt, @NonNull String commentId);
+    }
+
+    private final String taskId;
+    private final Source source;
+    private final int pageSize;
+    private final Executor executor;
+    // Главный поток: postValue отдал бы только последнее из нескольких изменений
+    private final Executor mainExecutor;
+    private final MutableLiveData<CommentListUpdate> updates = new MutableLiveData<>();
+    private final AtomicBoolean olderRequested = new AtomicBoolean();
+    private final AtomicBoolean resetRequested = new AtomicBoolean();
+
+    // Загруженные комментарии, новые первыми
+    private final List<TaskComment> comments = new ArrayList<>();
+    private boolean loaded;
+    // Счётчик комментариев задачи при последней сверке с базой
+    private int knownCount;
+    private boolean hasOlder;
+    private boolean closed;
+    private int version;
+    // Ключи верхней и нижней границ загруженного диапазона; не сдвигаются при удалении комментариев
+    private long headCreatedAt;
+    private String headCommentId;
+    private long tailCreatedAt;
+    private String tailCommentId;
+    @Nullable
+    private Runnable onClose;
+
+    TaskCommentPager(@NonNull String taskId, @NonNull Source source, int pageSize, @NonNull Executor executor,
+                     @NonNull Executor mainExecutor) {
+        this.taskId = taskId;
+        this.source = source;
+        this.pageSize = pageSize;
+        this.executor = executor;
+        this.mainExecutor = mainExecutor;
+    }
+
+    static Source daoSource(@NonNull TaskCommentDao dao, @NonNull String taskId) {
+        return new Source() {
+            @Override
+            public List<TaskComment> newest(int limit) {
+                return dao.getNewestComments(taskId, limit);
+            }
+
+            @Override
+            public List<TaskComment> before(long createdAt, @NonNull String commentId, int limit) {
+                return dao.getCommentsBefore(taskId, createdAt, commentId, limit);
+            }
+
+            @Override
+            public List<TaskComment> after(long createdAt, @NonNull String commentId) {
+                return dao.getCommentsAfter(taskId, createdAt, commentId);
+            }
+
+            @Override
+            public int count() {
+                return dao.getCommentCountForTaskSync(taskId);
+            }
+
+            @Override
+            public List<String> idsFrom(long createdAt, @NonNull String commentId) {
+                return dao.getCommentIdsFrom(taskId, createdAt, commentId);
+            }
+        };
+    }
+
+    @NonNull
+    public String getTaskId() {
+        return taskId;
+    }
+
+    @NonNull
+    public LiveData<CommentListUpdate> getUpdates() {
+        return updates;
+    }
+
+    /**
+     * Первая страница: самые новые комментарии
+     */
+    public void loadInitial() {
+        executor.execute(this::loadInitialSync);
+    }
+
+    /**
+     * Следующая страница более старых комментариев; ничего не делает, если всё уже загружено
+     */
+    public void loadOlder() {
+        // Прокрутка вызывает это много раз подряд: пока страница грузится, новые запросы не ставятся в очередь
+        if (olderRequested.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                try {
+                    loadOlderSync();
+                } finally {
+                    olderRequested.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Сверяет список с базой: дочитывает новые комментарии и убирает удалённые в обход пейджера.
+     * Вызывается при каждом изменении task_comments
+     */
+    public void refresh() {
+        executor.execute(this::refreshSync);
+    }
+
+    public void applyUpdated(@NonNull TaskComment comment) {
+        executor.execute(() -> applyUpdatedSync(comment));
+    }
+
+    public void applyDeleted(@NonNull String commentId) {
+        executor.execute(() -> applyDeletedSync(commentId));
+    }
+
+    /**
+     * Публикует весь загруженный список заново. Для получателя, который пропустил версию
+     * и не может применить следующее изменение; повторные запросы до публикации не ставятся в очередь
+     */
+    public void requestReset() {
+        if (resetRequested.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                resetRequested.set(false);
+                resetSync();
+            });
+        }
+    }
+
+    /**
+     * Отписывает пейджер от изменений базы; после закрытия операции ничего не публикуют
+     */
+    public void close() {
+        Runnable action;
+        synchronized (this) {
+            closed = true;
+            action = onClose;
+            onClose = null;
+        }
+        if (action != null) {
+            action.run();
+        }
+    }
+
+    synchronized void setOnClose(@Nullable Runnable onClose) {
+        this.onClose = onClose;
+    }
+
+    @VisibleForTesting
+    @WorkerThread
+    @Nullable
+    synchronized CommentListUpdate loadInitialSync() {
+        if (closed || loaded) {
+            return null;
+        }
+        knownCount = source.count();
+        List<TaskComment> page = source.newest(pageSize);
+        comments.addAll(page);
+        hasOlder = page.size() == pageSize;
+        if (page.isEmpty()) {
+            // Пустой список: новыми будут все комментарии задачи
+            headCreatedAt = Long.MIN_VALUE;
+            headCommentId = "";
+        } else {
+            setHead(page.get(0));
+            setTail(page.get(page.size() - 1));
+        }
+        loaded = true;
+        return publish(CommentListUpdate.Type.RESET, 0, comments.size(), copyOfComments());
+    }
+
+    @VisibleForTesting
+    @WorkerThread
+    @Nullable
+    synchronized CommentListUpdate resetSync() {
+        if (closed || !loaded) {
+            return null;
+        }
+        return publish(CommentListUpdate.Type.RESET, 0, comments.size(), copyOfComments());
+    }
+
+    @VisibleForTesting
+    @WorkerThread
+    @Nullable
+    synchronized CommentListUpdate loadOlderSync() {
+        if (closed || !loaded || !hasOlder) {
+            return null;
+        }
+        List<TaskComment> page = source.before(tailCreatedAt, tailCommentId, pageSize);
+        hasOlder = page.size() == pageSize;
+        if (page.isEmpty()) {
+            return publish(CommentListUpdate.Type.INSERTED, comments.size(), 0, Collections.emptyList());
+        }
+        int position = comments.size();
+        comments.addAll(page);
+        setTail(page.get(page.size() - 1));
+        return publish(CommentListUpdate.Type.INSERTED, position, page.size(), Collections.unmodifiableList(page));
+    }
+
+    @VisibleForTesting
+    @WorkerThread
+    @Nullable
+    synchronized CommentListUpdate loadNewerSync() {
+        if (closed || !loaded) {
+            return null;
+        }
+        List<TaskComment> newer = source.after(headCreatedAt, headCommentId);
+        if (newer.isEmpty()) {
+            return null;
+        }
+        if (tailCommentId == null) {
+            setTail(newer.get(newer.size() - 1));
+        }
+        setHead(newer.get(0));
+        comments.addAll(0, newer);
+        return publish(CommentListUpdate.Type.INSERTED, 0, newer.size(), Collections.unmodifiableList(newer));
+    }
+
+    @VisibleForTesting
+    @WorkerThread
+    synchronized void refreshSync() {
+        if (closed || !loaded) {
+            return;
+        }
+        int count = source.count();
+        CommentListUpdate inserted = loadNewerSync();
+        int insertedCount = inserted != null ? inserted.count : 0;
+        // Счётчик вырос ровно на дочитанное — ничего не удалено. Иначе (удаление, в том числе вместе
+        // со вставкой в одной пачке, или вставка ниже верхней границы) сверяем загруженный диапазон
+        if (count != knownCount + insertedCount) {
+            removeMissing();
+        }
+        knownCount = count;
+    }
+
+    // Убирает загруженные комментарии, которых больше нет в базе; с конца, чтобы позиции не сдвигались
+    private void removeMissing() {
+        if (tailCommentId == null || comments.isEmpty()) {
+            return;
+        }
+        Set<String> existing = new HashSet<>(source.idsFrom(tailCreatedAt, tailCommentId));
+        int end = comments.size();
+        while (end > 0) {
+            if (existing.contains(comments.get(end - 1).getCommentId())) {
+                end--;
+                continue;
+            }
+            int start = end - 1;
+            while (start > 0 && !existing.contains(comments.get(start - 1).getCommentId())) {
+                start--;
+            }
+            comments.subList(start, end).clear();
+            publish(CommentListUpdate.Type.REMOVED, start, end - start, Collections.emptyList());
+            end = start;
+        }
+    }
+
+    @VisibleForTesting
+    @WorkerThread
+    @Nullable
+    synchronized CommentListUpdate applyUpdatedSync(@NonNull TaskComment comment) {
+        int position = indexOf(comment.getCommentId());
+        if (closed || position < 0) {
+            return null;
+        }
+        comments.set(position, comment);
+        return publish(CommentListUpdate.Type.CHANGED, position, 1, Collections.singletonList(comment));
+    }
+
+    @VisibleForTesting
+    @WorkerThread
+    @Nullable
+    synchronized CommentListUpdate applyDeletedSync(@NonNull String commentId) {
+        int position = indexOf(commentId);
+        if (closed || position < 0) {
+            return null;
+        }
+        comments.remove(position);
+        return publish(CommentListUpdate.Type.REMOVED, position, 1, Collections.emptyList());
+    }
+
+    private int indexOf(String commentId) {
+        for (int i = 0; i < comments.size(); i++) {
+            if (comments.get(i).getCommentId().equals(commentId)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void setHead(TaskComment comment) {
+        headCreatedAt = comment.getCreatedAt().getTime();
+        headCommentId = comment.getCommentId();
+    }
+
+    private void setTail(TaskComment comment) {
+        tailCreatedAt = comment.getCreatedAt().getTime();
+        tailCommentId = comment.getCommentId();
+    }
+
+    private List<TaskComment> copyOfComments() {
+        return Collections.unmodifiableList(new ArrayList<>(comments));
+    }
+
+    // Вызывается под монитором: версии уходят в LiveData в том же порядке, в каком менялся список
+    private CommentListUpdate publish(CommentListUpdate.Type type, int position, int count,
+                                      List<TaskComment> items) {
+        CommentListUpdate update = new CommentListUpdate(type, position, count, items, hasOlder, ++version);
+        mainExecutor.execute(() -> updates.setValue(update));
+        return update;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.timemanagementapp.data;
+
+import androidx.annotation.NonNull;
+
+import com.example.timemanagementapp.data.local.entity.Task;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Набор полей задачи, изменившихся при обновлении.
+ * По нему решается, какие побочные эффекты (напоминание, уведомление о назначении) нужно выполнить.
+ * updated_at не учитывается: он меняется при любой правке.
+ */
+public final class TaskDiff {
+
+    public enum Field {
+        PROJECT,
+        TITLE,
+        DESCRIPTION,
+        ASSIGNEE,
+        DUE_DATE,
+        PRIORITY,
+        STATUS,
+        RECURRENCE,
+        PARENT,
+        COMPLETED_AT,
+        REMINDER_OFFSET,
+        TIME_SPENT,
+        TIME_TRACKING_START
+    }
+
+    private final Set<Field> changedFields;
+
+    private TaskDiff(Set<Field> changedFields) {
+        this.changedFields = Collections.unmodifiableSet(changedFields);
+    }
+
+    public static TaskDiff between(@NonNull Task oldTask, @NonNull Task newTask) {
+        EnumSet<Field> changed = EnumSet.noneOf(Field.class);
+        if (!Objects.equals(oldTask.getProjectId(), newTask.getProjectId())) changed.add(Field.PROJECT);
+        if (!Objects.equals(oldTask.getTitle(), newTask.getTitle())) changed.add(Field.TITLE);
+        if (!Objects.equals(oldTask.getDescription(), newTask.getDescription())) changed.add(Field.DESCRIPTION);
+        if (!Objects.equals(oldTask.getAssigneeUserId(), newTask.getAssigneeUserId())) changed.add(Field.ASSIGNEE);
+        if (!Objects.equals(oldTask.getDueDate(), newTask.getDueDate())) changed.add(Field.DUE_DATE);
+        if (oldTask.getPriority() != newTask.getPriority()) changed.add(Field.PRIORITY);
+        if (!Objects.equals(oldTask.getStatus(), newTask.getStatus())) changed.add(Field.STATUS);
+        if (oldTask.isRecurring() != newTask.isRecurring()
+                || !Objects.equals(oldTask.getRecurrenceRule(), newTask.getRecurrenceRule())) changed.add(Field.RECURRENCE);
+        if (!Objects.equals(oldTask.getParentTaskId(), newTask.getParentTaskId())) changed.add(Field.PARENT);
+        if (!Objects.equals(oldTask.getCompletedAt(), newTask.getCompletedAt())) changed.add(Field.COMPLETED_AT);
+        if (!Objects.equals(oldTask.getReminderOffsetMillisBeforeDueDate(), newTask.getReminderOffsetMillisBeforeDueDate())) {
+            changed.add(Field.REMINDER_OFFSET);
+        }
+        if (oldTask.getTimeSpentMillis() != newTask.getTimeSpentMillis()) changed.add(Field.TIME_SPENT);
+        if (!Objects.equals(oldTask.getTimeTrackingStartTimeMillis(), newTask.getTimeTrackingStartTimeMillis())) {
+            changed.add(Field.TIME_TRACKING_START);
+        }
+        return new TaskDiff(changed);
+    }
+
+    public Set<Field> getChangedFields() {
+        return changedFields;
+    }
+
+    public boolean isEmpty() {
+        return changedFields.isEmpty();
+    }
+
+    public boolean contains(Field field) {
+        return changedFields.contains(field);
+    }
+
+    /**
+     * Время напоминания зависит только от срока и смещения; текст ReminderScheduler читает из базы в момент показа
+     */
+    public boolean affectsReminder() {
+        return changedFields.contains(Field.DUE_DATE) || changedFields.contains(Field.REMINDER_OFFSET);
+    }
+
+    public boolean affectsAssignment() {
+        return changedFields.contains(Field.ASSIGNEE);
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "TaskDiff" + changedFields;
+    }
+}
@@ -1,8 +1,18 @@
 package com.example.timemanagementapp.data;
 
 import android.app.Application;
+import androidx.annotation.NonNull;
+import androidx.core.content.ContextCompat;
 import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MediatorLiveData;
+import androidx.paging.Pager;
+import androidx.paging.PagingConfig;
+import androidx.paging.PagingData;
+import androidx.paging.PagingLiveData;
+import androidx.paging.PagingSource;
+import androidx.room.InvalidationTracker;
 import com.example.timemanagementapp.data.local.AppDatabase;
+import com.example.timemanagementapp.data.local.BatchingWriteExecutor;
 import com.example.timemanagementapp.data.local.dao.TaskDao;
 import com.example.timemanagementapp.data.local.dao.ProjectDao;
 import com.example.timemanagementapp.data.local.dao.UserDao;
@@ -11,143 +21,443 @@ import com.example.timemanagementapp.data.local.entity.Task;
 import com.example.timemanagementapp.data.local.entity.Project;
 import com.example.timemanagementapp.data.local.entity.User;
 import com.example.timemanagementapp.data.local.entity.TaskComment;
+import com.example.timemanagementapp.data.local.model.DayTaskCount;
+import com.example.timemanagementapp.data.local.model.TaskWithRelations;
+import com.example.timemanagementapp.data.search.TaskSearch;
+import com.example.timemanagementapp.data.search.TaskSearchResult;
+import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import kotlin.jvm.functions.Function0;
 
 public class TaskRepository {
+    // Размер страницы списка задач: несколько экранов карточек, без плейсхолдеров
+    private static final int TASK_PAGE_SIZE = 50;
+    // Максимум id в одном IN (...): с запасом ниже лимита параметров SQLite (999 на старых API)
+    private static final int MAX_IDS_PER_STATEMENT = 500;
+    // Сколько последних версий задач держать для сравнения при обновлении
+    private static final int TASK_SNAPSHOT_CACHE_SIZE = 256;
+    // Страница комментариев задачи (TaskCommentPager)
+    private static final int COMMENT_PAGE_SIZE = 50;
+
     private TaskDao taskDao;
     private ProjectDao projectDao;
     private UserDao userDao;
     private TaskCommentDao taskCommentDao;
-    private LiveData<List<Task>> allTasks;
-    private LiveData<List<Project>> allProjects;
-    private LiveData<List<User>> allUsers;
-    private ExecutorService executorService;
+    private TaskSearch taskSearch;
+    private InvalidationTracker invalidationTracker;
+    // Общий для приложения пакетный executor записи (см. AppExecutors)
+    private BatchingWriteExecutor writeExecutor;
+    // Пул чтения: здесь же строятся производные структуры (справочник пользователей)
+    private Executor readExecutor;
+    // Главный поток: сюда пейджеры комментариев доставляют изменения списка
+    private Executor mainExecutor;
+    // Одна LiveData на запрос для всех ViewModel: Room выполняет запрос один раз на инвалидацию
+    private final SharedLiveDataCache liveDataCache = new SharedLiveDataCache();
+    // Снимки задач для update(): сравнение со старой версией без запроса в базу
+    private final TaskSnapshotCache taskSnapshots = new TaskSnapshotCache(TASK_SNAPSHOT_CACHE_SIZE);
+    // Сколько побочных эффектов update() выполнено и пропущено по TaskDiff
+    private final SideEffectMetrics sideEffectMetrics = new SideEffectMetrics();
+
+    private static volatile TaskRepository INSTANCE;
 
-    public TaskRepository(Application application) {
+    private TaskRepository(Application application) {
         AppDatabase database = AppDatabase.getInstance(application);
         taskDao = database.taskDao();
         projectDao = database.projectDao();
         userDao = database.userDao();
         taskCommentDao = database.taskCommentDao();
-        allTasks = taskDao.getAllTasksSortedByDueDate();
-        allProjects = projectDao.getAllProjects();
-        allUsers = userDao.getAllUsers();
-        executorService = Executors.newSingleThreadExecutor();
+        taskSearch = new TaskSearch(database.searchDao());
+        invalidationTracker = database.getInvalidationTracker();
+        writeExecutor = AppExecutors.getInstance(application).diskWrite();
+        readExecutor = AppExecutors.getInstance(application).diskRead();
+        mainExecutor = ContextCompat.getMainExecutor(application);
+
+        // Удаление проекта или пользователя меняет строки задач через ON DELETE SET NULL/CASCADE
+        // в обход репозитория, поэтому снимки после таких изменений больше не достоверны
+        database.getInvalidationTracker().addObserver(new InvalidationTracker.Observer("projects", "users") {
+            @Override
+            public void onInvalidated(@NonNull Set<String> tables) {
+                taskSnapshots.clear();
+            }
+        });
+    }
+
+    public static TaskRepository getInstance(Application application) {
+        if (INSTANCE == null) {
+            synchronized (TaskRepository.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new TaskRepository(application);
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * Статистика общих LiveData: сколько запросов создано и сколько раз кэш вернул уже существующий
+     */
+    public SharedLiveDataCache.Stats getSharedQueryStats() {
+        return liveDataCache.getStats();
+    }
+
+    public long getTaskSnapshotHitCount() {
+        return taskSnapshots.getHitCount();
+    }
+
+    public long getTaskSnapshotMissCount() {
+        return taskSnapshots.getMissCount();
+    }
+
+    public SideEffectMetrics getSideEffectMetrics() {
+        return sideEffectMetrics;
+    }
+
+    /**
+     * Задачи изменены в обход репозитория (например, DataSeedWorker пишет через DAO):
+     * снимки для update() больше не достоверны
+     */
+    public void invalidateTaskSnapshots() {
+        taskSnapshots.clear();
     }
 
     // --- DAO операции (выполняются в фоновом потоке) ---
+    // Снимок задачи кладётся в кэш только после фиксации пачки; до неё старый снимок удаляется,
+    // и следующие операции той же пачки читают строку из базы
     public void insert(Task task) {
-        executorService.execute(() -> taskDao.insertTask(task));
+        insert(task, null);
+    }
+
+    /**
+     * Слушатель вставки задачи. Вызывается в потоке записи после фиксации транзакции
+     */
+    public interface TaskInsertListener {
+        void onTaskInserted(Task task);
+    }
+
+    /**
+     * Вставляет задачу; побочные эффекты (напоминание, уведомление о назначении) вызывающий код
+     * выполняет в listener, только когда задача действительно записана
+     */
+    public void insert(Task task, TaskInsertListener listener) {
+        writeExecutor.execute(() -> {
+            taskDao.insertTask(task);
+            taskSnapshots.remove(task.getTaskId());
+            writeExecutor.runAfterCommit(() -> {
+                taskSnapshots.put(task);
+                if (listener != null) {
+                    listener.onTaskInserted(task);
+                }
+            });
+        });
     }
 
     public void update(Task task) {
-        executorService.execute(() -> taskDao.updateTask(task));
+        writeExecutor.execute(() -> {
+            taskDao.updateTask(task);
+            taskSnapshots.remove(task.getTaskId());
+            writeExecutor.runAfterCommit(() -> taskSnapshots.put(task));
+        });
+    }
+
+    /**
+     * Слушатель обновления задачи. Вызывается в потоке записи после фиксации транзакции
+     * и получает поля, которые изменились относительно строки в базе
+     */
+    public interface TaskUpdateListener {
+        void onTaskUpdated(Task task, TaskDiff diff);
+    }
+
+    /**
+     * Обновляет задачу, сравнив её со старой версией в том же потоке записи,
+     * чтобы вызывающий код мог выполнить побочные эффекты только для изменившихся полей.
+     * Старая версия берётся из кэша снимков, а при промахе читается из базы.
+     * Если задачи в базе нет, обновлять нечего и слушатель не вызывается.
+     */
+    public void update(Task task, TaskUpdateListener listener) {
+        writeExecutor.execute(() -> {
+            Task oldTask = taskSnapshots.get(task.getTaskId());
+            if (oldTask == null) {
+                oldTask = taskDao.getTaskByIdSync(task.getTaskId());
+                if (oldTask == null) {
+                    return;
+                }
+            }
+            taskDao.updateTask(task);
+            // Снимок и побочные эффекты — только для записанной версии: при откате пачки их не будет
+            taskSnapshots.remove(task.getTaskId());
+            TaskDiff diff = TaskDiff.between(oldTask, task);
+            writeExecutor.runAfterCommit(() -> {
+                taskSnapshots.put(task);
+                sideEffectMetrics.record(diff);
+                listener.onTaskUpdated(task, diff);
+            });
+        });
     }
 
     public void delete(Task task) {
-        executorService.execute(() -> taskDao.deleteTask(task));
+        writeExecutor.execute(() -> {
+            taskDao.deleteTask(task);
+            // Вместе с задачей каскадом удаляются подзадачи, их снимки тоже устарели
+            taskSnapshots.clear();
+        });
     }
 
     public void deleteAllTasks() {
-        executorService.execute(() -> taskDao.deleteAllTasks());
+        writeExecutor.execute(() -> {
+            taskDao.deleteAllTasks();
+            taskSnapshots.clear();
+        });
+    }
+
+    /**
+     * Слушатель массовой смены исполнителя. Вызывается в потоке записи после фиксации транзакции
+     * с UPDATE и получает только задачи, у которых исполнитель действительно изменился (с новым значением).
+     */
+    public interface BulkReassignListener {
+        void onTasksReassigned(List<Task> reassignedTasks);
+    }
+
+    // --- Массовые операции ---
+    // Каждая операция — один runnable в executor записи, который выполняет его внутри транзакции пачки,
+    // поэтому изменение сотен задач фиксируется одной транзакцией и даёт одну инвалидацию LiveData.
+    public void updateStatusForTasks(List<String> taskIds, String status) {
+        List<String> ids = new ArrayList<>(taskIds);
+        Date updatedAt = new Date();
+        writeExecutor.execute(() -> {
+            for (List<String> chunk : chunked(ids)) {
+                taskDao.updateStatusForTasks(chunk, status, updatedAt);
+            }
+            taskSnapshots.removeAll(ids);
+        });
+    }
+
+    public void updatePriorityForTasks(List<String> taskIds, int priority) {
+        List<String> ids = new ArrayList<>(taskIds);
+        Date updatedAt = new Date();
+        writeExecutor.execute(() -> {
+            for (List<String> chunk : chunked(ids)) {
+                taskDao.updatePriorityForTasks(chunk, priority, updatedAt);
+            }
+            taskSnapshots.removeAll(ids);
+        });
+    }
+
+    public void updateAssigneeForTasks(List<String> taskIds, String assigneeUserId, BulkReassignListener listener) {
+        List<String> ids = new ArrayList<>(taskIds);
+        Date updatedAt = new Date();
+        writeExecutor.execute(() -> {
+            List<Task> reassigned = new ArrayList<>();
+            for (List<String> chunk : chunked(ids)) {
+                // Читаем старые значения в той же транзакции, чтобы уведомить только о реальных изменениях
+                for (Task task : taskDao.getTasksByIdsSync(chunk)) {
+                    if (assigneeUserId == null ? task.getAssigneeUserId() != null
+                            : !assigneeUserId.equals(task.getAssigneeUserId())) {
+                        task.setAssigneeUserId(assigneeUserId);
+                        task.setUpdatedAt(updatedAt);
+                        reassigned.add(task);
+                    }
+                }
+                taskDao.updateAssigneeForTasks(chunk, assigneeUserId, updatedAt);
+            }
+            taskSnapshots.removeAll(ids);
+            if (listener != null && !reassigned.isEmpty()) {
+                // Не внутри открытой транзакции пачки: при откате уведомлять не о чем
+                writeExecutor.runAfterCommit(() -> listener.onTasksReassigned(reassigned));
+            }
+        });
+    }
+
+    private static List<List<String>> chunked(List<String> ids) {
+        List<List<String>> chunks = new ArrayList<>();
+        for (int start = 0; start < ids.size(); start += MAX_IDS_PER_STATEMENT) {
+            chunks.add(ids.subList(start, Math.min(ids.size(), start + MAX_IDS_PER_STATEMENT)));
+        }
+        return chunks;
+    }
+
+    /**
+     * Полнотекстовый поиск по названию, описанию и комментариям задач.
+     * Синхронно, вызывать из фонового потока
+     */
+    public List<TaskSearchResult> searchTasksSync(String query) {
+        return taskSearch.search(query);
     }
 
     // --- Project DAO операции ---
     public void insertProject(Project project) {
-        executorService.execute(() -> projectDao.insertProject(project));
+        writeExecutor.execute(() -> projectDao.insertProject(project));
     }
 
     public void updateProject(Project project) {
-        executorService.execute(() -> projectDao.updateProject(project));
+        writeExecutor.execute(() -> projectDao.updateProject(project));
     }
 
     public void deleteProject(Project project) {
-        executorService.execute(() -> projectDao.deleteProject(project));
+        writeExecutor.execute(() -> {
+            projectDao.deleteProject(project);
+            // project_id задач обнуляется внешним ключом; не ждём асинхронной инвалидации
+            taskSnapshots.clear();
+        });
     }
 
     // --- User DAO операции (примеры, можно добавить по необходимости) ---
     public void insertUser(User user) {
-        executorService.execute(() -> userDao.insert(user));
+        writeExecutor.execute(() -> userDao.insert(user));
     }
 
     public void updateUser(User user) {
-        executorService.execute(() -> userDao.update(user));
+        writeExecutor.execute(() -> userDao.update(user));
     }
 
     public void deleteUser(User user) {
-        executorService.execute(() -> userDao.delete(user));
+        writeExecutor.execute(() -> {
+            userDao.delete(user);
+            taskSnapshots.clear();
+        });
     }
 
     // --- Геттеры LiveData ---
     public LiveData<List<Task>> getAllTasks() {
-        return allTasks;
+        return liveDataCache.get("tasks:all:due_date", () -> taskDao.getAllTasksSortedByDueDate());
     }
 
     public LiveData<Task> getTaskById(String taskId) {
-        return taskDao.getTaskById(taskId);
+        return liveDataCache.get("tasks:id:" + taskId, () -> taskDao.getTaskById(taskId));
     }
 
     public LiveData<List<Task>> getTasksForProject(String projectId) {
-        return taskDao.getTasksForProject(projectId);
+        return liveDataCache.get("tasks:project:" + projectId, () -> taskDao.getTasksForProject(projectId));
     }
 
     public LiveData<List<Task>> getActiveTasksForUser(String userId) {
-        return taskDao.getActiveTasksForUser(userId);
+        return liveDataCache.get("tasks:active_for_user:" + userId, () -> taskDao.getActiveTasksForUser(userId));
     }
 
     // Новый метод для получения задач, отсортированных по приоритету
     public LiveData<List<Task>> getAllTasksSortedByPriority() {
-        return taskDao.getAllTasksSortedByPriority();
+        return liveDataCache.get("tasks:all:priority", () -> taskDao.getAllTasksSortedByPriority());
+    }
+
+    // --- Календарь: только задачи заданного диапазона сроков ---
+    public LiveData<List<TaskWithRelations>> getTasksWithRelationsDueBetween(long startMillis, long endMillis) {
+        return liveDataCache.get("tasks:due_between_with_relations:" + startMillis + ":" + endMillis,
+                () -> taskDao.getTasksWithRelationsDueBetween(startMillis, endMillis));
+    }
+
+    public LiveData<List<DayTaskCount>> getTaskCountsPerDay(long startMillis, long endMillis) {
+        return liveDataCache.get("tasks:day_counts:" + startMillis + ":" + endMillis,
+                () -> taskDao.getTaskCountsPerDay(startMillis, endMillis));
+    }
+
+    // --- Постраничные геттеры (PagingSource из Room) ---
+    public LiveData<PagingData<TaskWithRelations>> getAllTasksPagedByDueDate() {
+        return createTaskPager(() -> taskDao.getAllTasksSortedByDueDatePaged());
+    }
+
+    public LiveData<PagingData<TaskWithRelations>> getAllTasksPagedByPriority() {
+        return createTaskPager(() -> taskDao.getAllTasksSortedByPriorityPaged());
+    }
+
+    public LiveData<PagingData<TaskWithRelations>> getActiveTasksForUserPaged(String userId) {
+        return createTaskPager(() -> taskDao.getActiveTasksForUserPaged(userId));
+    }
+
+    private LiveData<PagingData<TaskWithRelations>> createTaskPager(
+            Function0<PagingSource<Integer, TaskWithRelations>> pagingSourceFactory) {
+        Pager<Integer, TaskWithRelations> pager = new Pager<>(
+                new PagingConfig(TASK_PAGE_SIZE, TASK_PAGE_SIZE, false),
+                pagingSourceFactory);
+        return PagingLiveData.getLiveData(pager);
     }
 
     public LiveData<List<Project>> getAllProjects() {
-        return allProjects;
+        return liveDataCache.get("projects:all", () -> projectDao.getAllProjects());
     }
 
     public LiveData<Project> getProjectById(String projectId) {
-        return projectDao.getProjectById(projectId);
+        return liveDataCache.get("projects:id:" + projectId, () -> projectDao.getProjectById(projectId));
     }
 
     public LiveData<List<Project>> getProjectsByOwner(String userId) {
-        return projectDao.getProjectsByOwner(userId);
+        return liveDataCache.get("projects:owner:" + userId, () -> projectDao.getProjectsByOwner(userId));
     }
 
     public LiveData<List<User>> getAllUsers() {
-        return allUsers;
+        return liveDataCache.get("users:all", () -> userDao.getAllUsers());
     }
 
     public LiveData<User> getUserById(String userId) {
-        return userDao.getUserById(userId);
+        return liveDataCache.get("users:id:" + userId, () -> userDao.getUserById(userId));
+    }
+
+    /**
+     * Справочник id → пользователь поверх getAllUsers(). Пересобирается в пуле чтения при каждом
+     * изменении таблицы users; если за время сборки пришёл более свежий список, устаревший
+     * результат отбрасывается
+     */
+    public LiveData<UserDirectory> getUserDirectory() {
+        return liveDataCache.get("users:directory", () -> {
+            MediatorLiveData<UserDirectory> directory = new MediatorLiveData<>();
+            AtomicInteger generation = new AtomicInteger();
+            directory.addSource(getAllUsers(), users -> {
+                int current = generation.incrementAndGet();
+                readExecutor.execute(() -> {
+                    UserDirectory built = UserDirectory.build(users);
+                    if (current == generation.get()) {
+                        directory.postValue(built);
+                    }
+                });
+            });
+            return directory;
+        });
     }
 
     // Методы для работы с комментариями
     public void insertComment(TaskComment comment) {
-        executorService.execute(() -> taskCommentDao.insert(comment));
+        writeExecutor.execute(() -> taskCommentDao.insert(comment));
     }
 
     public void updateComment(TaskComment comment) {
-        executorService.execute(() -> taskCommentDao.update(comment));
+        writeExecutor.execute(() -> taskCommentDao.update(comment));
     }
 
     public void deleteComment(TaskComment comment) {
-        executorService.execute(() -> taskCommentDao.delete(comment));
+        writeExecutor.execute(() -> taskCommentDao.delete(comment));
     }
 
-    public LiveData<List<TaskComment>> getCommentsForTask(String taskId) {
-        return taskCommentDao.getCommentsForTask(taskId);
+    /**
+     * Постраничный список комментариев задачи, первая страница уже запрошена. После изменения task_comments
+     * пейджер сверяется с базой только по своей задаче (счётчик и комментарии новее показанных, см. refresh);
+     * вызывающий обязан закрыть его через close()
+     */
+    public TaskCommentPager openCommentPager(String taskId) {
+        TaskCommentPager pager = new TaskCommentPager(taskId, TaskCommentPager.daoSource(taskCommentDao, taskId),
+                COMMENT_PAGE_SIZE, readExecutor, mainExecutor);
+        InvalidationTracker.Observer observer = new InvalidationTracker.Observer("task_comments") {
+            @Override
+            public void onInvalidated(@NonNull Set<String> tables) {
+                pager.refresh();
+            }
+        };
+        invalidationTracker.addObserver(observer);
+        pager.setOnClose(() -> invalidationTracker.removeObserver(observer));
+        pager.loadInitial();
+        return pager;
     }
 
     public LiveData<TaskComment> getCommentById(String commentId) {
-        return taskCommentDao.getCommentById(commentId);
+        return liveDataCache.get("comments:id:" + commentId, () -> taskCommentDao.getCommentById(commentId));
     }
 
     public LiveData<Integer> getCommentCountForTask(String taskId) {
-        return taskCommentDao.getCommentCountForTask(taskId);
+        return liveDataCache.get("comments:count:" + taskId, () -> taskCommentDao.getCommentCountForTask(taskId));
     }
 
     public void deleteAllCommentsForTask(String taskId) {
-        executorService.execute(() -> taskCommentDao.deleteAllCommentsForTask(taskId));
+        writeExecutor.execute(() -> taskCommentDao.deleteAllCommentsForTask(taskId));
     }
 } 
\ No newline at end of file
@@ -0,0 +1,80 @@
+package com.example.timemanagementapp.data;
+
+import androidx.annotation.NonNull;
+
+import com.example.timemanagementapp.data.local.entity.Task;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Ограниченный LRU-кэш последних известных версий задач по task_id.
+ *
+ * Хранит копии строк, записанных или прочитанных через TaskRepository, чтобы при обновлении
+ * сравнить новую версию со старой без запроса в базу. Кэш пишется насквозь при каждой записи
+ * в репозитории, поэтому задачи должны меняться только через TaskRepository.
+ */
+public class TaskSnapshotCache {
+    private final int maxSize;
+    private final LinkedHashMap<String, Task> snapshots;
+    private long hits;
+    private long misses;
+
+    public TaskSnapshotCache(int maxSize) {
+        this.maxSize = maxSize;
+        // accessOrder = true: get() переносит запись в конец, первой вытесняется самая давняя
+        this.snapshots = new LinkedHashMap<String, Task>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Task> eldest) {
+                return size() > TaskSnapshotCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * Последняя известная версия задачи или null, если её нет в кэше
+     */
+    public synchronized Task get(@NonNull String taskId) {
+        Task snapshot = snapshots.get(taskId);
+        if (snapshot != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return snapshot;
+    }
+
+    /**
+     * Запоминает копию задачи, чтобы последующие изменения объекта вызывающим кодом не портили снимок
+     */
+    public synchronized void put(@NonNull Task task) {
+        snapshots.put(task.getTaskId(), new Task(task));
+    }
+
+    public synchronized void remove(@NonNull String taskId) {
+        snapshots.remove(taskId);
+    }
+
+    public synchronized void removeAll(@NonNull Collection<String> taskIds) {
+        for (String taskId : taskIds) {
+            snapshots.remove(taskId);
+        }
+    }
+
+    public synchronized void clear() {
+        snapshots.clear();
+    }
+
+    public synchronized int size() {
+        return snapshots.size();
+    }
+
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    public synchronized long getMissCount() {
+        return misses;
+    }
+}
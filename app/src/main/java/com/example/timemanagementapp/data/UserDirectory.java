@@ -0,0 +1,92 @@
+package com.example.timemanagementapp.data;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.timemanagementapp.data.local.entity.User;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Неизменяемый справочник пользователей: id → пользователь и отображаемое имя.
+ *
+ * Строится один раз на каждую выдачу списка пользователей (вне главного потока, см.
+ * TaskRepository.getUserDirectory), после чего поиск имени при отрисовке строки — один get из HashMap.
+ * Общий для списка задач, комментариев и выбора исполнителя.
+ */
+public final class UserDirectory {
+    public static final UserDirectory EMPTY = new UserDirectory(Collections.emptyList(), Collections.emptyMap());
+
+    private final List<User> users;
+    private final Map<String, User> usersById;
+
+    private UserDirectory(List<User> users, Map<String, User> usersById) {
+        this.users = users;
+        this.usersById = usersById;
+    }
+
+    @NonNull
+    public static UserDirectory build(@Nullable List<User> users) {
+        if (users == null || users.isEmpty()) {
+            return EMPTY;
+        }
+        Map<String, User> byId = new HashMap<>(users.size() * 4 / 3 + 1);
+        for (User user : users) {
+            byId.put(user.getUserId(), user);
+        }
+        return new UserDirectory(Collections.unmodifiableList(new ArrayList<>(users)), byId);
+    }
+
+    @Nullable
+    public User getUser(@Nullable String userId) {
+        return userId == null ? null : usersById.get(userId);
+    }
+
+    /**
+     * Имя пользователя или null, если такого пользователя нет в справочнике
+     */
+    @Nullable
+    public String getName(@Nullable String userId) {
+        User user = getUser(userId);
+        return user != null ? user.getName() : null;
+    }
+
+    /**
+     * Имя пользователя или fallback, если такого пользователя нет в справочнике
+     */
+    public String getNameOrDefault(@Nullable String userId, String fallback) {
+        String name = getName(userId);
+        return name != null ? name : fallback;
+    }
+
+    /**
+     * Пользователи в порядке исходного списка (для выпадающих списков)
+     */
+    @NonNull
+    public List<User> getUsers() {
+        return users;
+    }
+
+    public int size() {
+        return users.size();
+    }
+
+    /**
+     * Изменилось ли отображаемое имя пользователя между двумя версиями справочника.
+     * Адаптеры перерисовывают только строки, для которых это так
+     */
+    public static boolean isNameChanged(@Nullable UserDirectory oldDirectory, @Nullable UserDirectory newDirectory,
+                                        @Nullable String userId) {
+        if (userId == null) {
+            return false;
+        }
+        String oldName = oldDirectory != null ? oldDirectory.getName(userId) : null;
+        String newName = newDirectory != null ? newDirectory.getName(userId) : null;
+        return !Objects.equals(oldName, newName);
+    }
+}
@@ -1,10 +1,12 @@
 package com.example.timemanagementapp.data.local;
 
 import android.content.Context;
+import androidx.annotation.NonNull;
 import androidx.room.Database;
 import androidx.room.Room;
 import androidx.room.RoomDatabase;
 import androidx.room.TypeConverters;
+import androidx.sqlite.db.SupportSQLiteDatabase;
 import com.example.timemanagementapp.data.local.converter.DateConverter;
 import com.example.timemanagementapp.data.local.dao.TaskDao;
 import com.example.timemanagementapp.data.local.dao.ProjectDao;
@@ -14,8 +16,21 @@ import com.example.timemanagementapp.data.local.entity.Task;
 import com.example.timemanagementapp.data.local.entity.User;
 import com.example.timemanagementapp.data.local.dao.TaskCommentDao;
 import com.example.timemanagementapp.data.local.entity.TaskComment;
+import com.example.timemanagementapp.data.local.dao.CollaborationInviteDao;
+import com.example.timemanagementapp.data.local.dao.ProjectCollaboratorDao;
+import com.example.timemanagementapp.data.local.entity.CollaborationInvite;
+import com.example.timemanagementapp.data.local.entity.ProjectCollaborator;
+import com.example.timemanagementapp.data.local.entity.ProjectComment;
+import com.example.timemanagementapp.data.local.dao.SearchDao;
+import com.example.timemanagementapp.data.local.entity.TaskCommentCount;
+import com.example.timemanagementapp.data.local.entity.TaskCommentFts;
+import com.example.timemanagementapp.data.local.entity.TaskFts;
+import com.example.timemanagementapp.data.local.migration.Migrations;
 
-@Database(entities = {Task.class, Project.class, User.class, TaskComment.class}, version = 5, exportSchema = false)
+@Database(entities = {Task.class, Project.class, User.class, TaskComment.class,
+        CollaborationInvite.class, ProjectCollaborator.class, ProjectComment.class,
+        TaskFts.class, TaskCommentFts.class, TaskCommentCount.class},
+        version = 10, exportSchema = true)
 @TypeConverters({DateConverter.class})
 public abstract class AppDatabase extends RoomDatabase {
     private static final String DATABASE_NAME = "time_management_db";
@@ -25,21 +40,45 @@ public abstract class AppDatabase extends RoomDatabase {
     public abstract TaskDao taskDao();
     public abstract ProjectDao projectDao();
     public abstract UserDao userDao();
+    public abstract CollaborationInviteDao collaborationInviteDao();
+    public abstract ProjectCollaboratorDao projectCollaboratorDao();
+    public abstract SearchDao searchDao();
     // Можно добавить другие DAO: ProjectDao, UserDao
 
+    /**
+     * INSERT OR REPLACE удаляет старую строку без DELETE-триггеров, если recursive_triggers выключен,
+     * и полнотекстовый индекс (TaskFts, TaskCommentFts) сохранял бы устаревшие записи, а счётчик
+     * комментариев (TaskCommentCount) — лишние. Триггеры счётчика Room не создаёт, они добавляются здесь.
+     * Создаются при каждом открытии (IF NOT EXISTS), а не в onCreate: пересоздание базы при
+     * fallbackToDestructiveMigrationFrom не вызывает onCreate у callback'ов.
+     * Тестовым базам с триггерами нужен тот же callback
+     */
+    static final Callback CONNECTION_SETUP = new Callback() {
+        @Override
+        public void onOpen(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("PRAGMA recursive_triggers = ON");
+            Migrations.createCommentCountTriggers(db);
+        }
+    };
+
     public static AppDatabase getInstance(Context context) {
         if (INSTANCE == null) {
             synchronized (AppDatabase.class) {
                 if (INSTANCE == null) {
-                    INSTANCE = Room.databaseBuilder(
-                            context.getApplicationContext(),
-                            AppDatabase.class,
-                            DATABASE_NAME)
-                            .fallbackToDestructiveMigration()
-                            .build();
+                    INSTANCE = databaseBuilder(context, DATABASE_NAME).build();
                 }
             }
         }
         return INSTANCE;
     }
-} 
\ No newline at end of file
+
+    // Настройки базы приложения; тесты открывают с ними свой файл
+    static Builder<AppDatabase> databaseBuilder(Context context, String name) {
+        return Room.databaseBuilder(context.getApplicationContext(), AppDatabase.class, name)
+                .addMigrations(Migrations.ALL)
+                // Схемы до версии 5 не экспортировались, корректной миграции для них нет.
+                // Для всех версий начиная с 5 пересоздание базы запрещено: нужна Migration.
+                .fallbackToDestructiveMigrationFrom(1, 2, 3, 4)
+                .addCallback(CONNECTION_SETUP);
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.timemanagementapp.data.local;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.room.RoomDatabase;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executor для записи в базу: операции из очереди собираются в пачки,
+ * и каждая пачка выполняется одной транзакцией (один fsync вместо десятков).
+ *
+ * Пачка закрывается, когда набралось maxBatchSize операций или прошло
+ * maxLingerMillis с момента поступления первой из них. Порядок операций сохраняется.
+ *
+ * Ошибку одной операции нельзя просто поймать внутри транзакции пачки: вложенные транзакции Room
+ * (@Insert, runInTransaction) при исключении помечают внешнюю транзакцию неудачной, и она целиком
+ * откатилась бы без ошибки. Поэтому при исключении пачка откатывается, а остальные операции
+ * выполняются заново, каждая в своей транзакции; упавшая операция пропускается.
+ *
+ * Отсюда контракт операции: её можно выполнить повторно. Операции до упавшей уже отработали один раз,
+ * их записи в базу откатились, и они запускаются снова. Поэтому внутри операции допустимы только записи
+ * в базу и действия, которые безопасно повторить (сброс записи кэша). Всё остальное — заполнение кэшей,
+ * уведомления, планировщик — регистрируется через runAfterCommit: такие действия выполняются один раз
+ * после фиксации транзакции, а действия неудавшейся попытки отбрасываются вместе с ней.
+ *
+ * Очередь ограничена capacity операциями. execute никогда не ждёт: его вызывают и из главного потока.
+ * Если очередь заполнена, операция отклоняется с RejectedExecutionException (и пишется в лог) —
+ * столько незаписанных операций означает, что запись не успевает, и молча терять их нельзя.
+ * Операция, поставленная из самого потока записи, в этом случае выполняется сразу, в составе текущей.
+ */
+public class BatchingWriteExecutor implements Executor {
+    private static final String TAG = "BatchingWriteExecutor";
+
+    private final RoomDatabase database;
+    private final int maxBatchSize;
+    private final long maxLingerMillis;
+    private final BlockingQueue<Runnable> queue;
+    private final Thread writerThread;
+    // Отложенные до фиксации действия текущей операции; трогает только поток записи
+    private List<Runnable> pendingHooks;
+
+    public BatchingWriteExecutor(@NonNull RoomDatabase database, int maxBatchSize, long maxLingerMillis,
+                                 int capacity) {
+        this.database = database;
+        this.maxBatchSize = maxBatchSize;
+        this.maxLingerMillis = maxLingerMillis;
+        this.queue = new LinkedBlockingQueue<>(capacity);
+
+        writerThread = new Thread(this::drainLoop, "db-write");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Ставит операцию записи в очередь. Операция может быть выполнена повторно после отката пачки,
+     * поэтому действия вне базы она выполняет только через runAfterCommit (см. описание класса)
+     */
+    @Override
+    public void execute(@NonNull Runnable command) {
+        if (Thread.currentThread() == writerThread) {
+            // Поток записи не может ждать сам себя: при полной очереди операция выполняется сразу
+            if (!queue.offer(command)) {
+                command.run();
+            }
+            return;
+        }
+        if (!queue.offer(command)) {
+            Log.e(TAG, "Write queue is full (" + queue.size() + " pending), rejecting write");
+            throw new RejectedExecutionException("Write queue is full");
+        }
+    }
+
+    /**
+     * Выполнит hook после фиксации транзакции, в которую попала текущая операция.
+     * Вызывать только из операции, выполняемой этим executor'ом
+     */
+    public void runAfterCommit(@NonNull Runnable hook) {
+        if (Thread.currentThread() != writerThread || pendingHooks == null) {
+            throw new IllegalStateException("runAfterCommit must be called from a write operation");
+        }
+        pendingHooks.add(hook);
+    }
+
+    private void drainLoop() {
+        List<Runnable> batch = new ArrayList<>(maxBatchSize);
+        while (true) {
+            try {
+                batch.add(queue.take());
+                collectBatch(batch);
+                runBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void collectBatch(List<Runnable> batch) throws InterruptedException {
+        // Сначала забираем всё, что уже лежит в очереди, затем ждём остальное не дольше maxLingerMillis
+        queue.drainTo(batch, maxBatchSize - batch.size());
+        long deadline = SystemClock.uptimeMillis() + maxLingerMillis;
+        while (batch.size() < maxBatchSize) {
+            long remaining = deadline - SystemClock.uptimeMillis();
+            if (remaining <= 0) {
+                break;
+            }
+            Runnable next = queue.poll(remaining, TimeUnit.MILLISECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+            queue.drainTo(batch, maxBatchSize - batch.size());
+        }
+    }
+
+    private void runBatch(List<Runnable> batch) {
+        List<Runnable> hooks = new ArrayList<>();
+        int failedIndex = runInTransaction(batch, hooks);
+        if (failedIndex < 0) {
+            runHooks(hooks);
+            return;
+        }
+        // Пачка откачена целиком: остальные операции по одной, каждая в своей транзакции.
+        // Операции до failedIndex выполняются второй раз, после него — впервые.
+        // Если не удалась сама фиксация (failedIndex == batch.size()), повторяются все
+        Log.w(TAG, "Replaying " + Math.min(failedIndex, batch.size()) + " of " + batch.size()
+                + " writes after rollback");
+        for (int i = 0; i < batch.size(); i++) {
+            if (i != failedIndex) {
+                runSingle(batch.get(i));
+            }
+        }
+    }
+
+    private void runSingle(Runnable write) {
+        List<Runnable> hooks = new ArrayList<>();
+        if (runInTransaction(Collections.singletonList(write), hooks) < 0) {
+            runHooks(hooks);
+        }
+    }
+
+    /**
+     * Выполняет операции одной транзакцией и собирает их hooks. Возвращает -1, если транзакция
+     * зафиксирована, иначе индекс упавшей операции (batch.size() — ошибка при фиксации)
+     */
+    private int runInTransaction(List<Runnable> batch, List<Runnable> hooks) {
+        List<Runnable> outerHooks = pendingHooks;
+        int failedIndex = -1;
+        database.beginTransaction();
+        try {
+            for (int i = 0; i < batch.size(); i++) {
+                pendingHooks = new ArrayList<>();
+                try {
+                    batch.get(i).run();
+                } catch (RuntimeException e) {
+                    Log.e(TAG, "Database write failed, rolling back its batch", e);
+                    failedIndex = i;
+                    break;
+                }
+                hooks.addAll(pendingHooks);
+            }
+            if (failedIndex < 0) {
+                database.setTransactionSuccessful();
+            }
+        } finally {
+            pendingHooks = outerHooks;
+            try {
+                database.endTransaction();
+            } catch (RuntimeException e) {
+                Log.e(TAG, "Write batch of " + batch.size() + " operations failed to commit", e);
+                if (failedIndex < 0) {
+                    failedIndex = batch.size();
+                }
+            }
+        }
+        return failedIndex;
+    }
+
+    private static void runHooks(List<Runnable> hooks) {
+        for (Runnable hook : hooks) {
+            try {
+                hook.run();
+            } catch (RuntimeException e) {
+                Log.e(TAG, "Post-commit action failed", e);
+            }
+        }
+    }
+}
@@ -9,6 +9,7 @@ import androidx.room.Query;
 import androidx.room.Update;
 
 import com.example.timemanagementapp.data.local.entity.CollaborationInvite;
+import com.google.common.util.concurrent.ListenableFuture;
 
 import java.util.List;
 
@@ -40,4 +41,23 @@ public interface CollaborationInviteDao {
 
     @Query("UPDATE collaboration_invites SET status = :status WHERE invite_id = :inviteId")
     void updateInviteStatus(String inviteId, String status);
+
+    // Синхронно, вызывать не из главного потока
+    @Query("SELECT * FROM collaboration_invites WHERE invite_id = :inviteId")
+    CollaborationInvite getInviteByIdSync(String inviteId);
+
+    /**
+     * Разовое чтение входящих приглашений: запрос выполняется на executor запросов Room,
+     * результат приходит без подписки на LiveData
+     */
+    @Query("SELECT * FROM collaboration_invites WHERE invited_email = :email AND status = 'pending' "
+            + "ORDER BY created_at DESC")
+    ListenableFuture<List<CollaborationInvite>> getPendingInvitesForEmailAsync(String email);
+
+    /**
+     * Закрывает приглашение, если оно ещё ожидает ответа. Возвращает число изменённых строк
+     */
+    @Query("UPDATE collaboration_invites SET status = :status, resolved_at = :resolvedAt "
+            + "WHERE invite_id = :inviteId AND status = 'pending'")
+    int resolveInvite(String inviteId, String status, long resolvedAt);
 } 
\ No newline at end of file
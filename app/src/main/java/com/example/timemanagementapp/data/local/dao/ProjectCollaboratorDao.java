@@ -0,0 +1,29 @@
+package com.example.timemanagementapp.data.local.dao;
+
+import androidx.lifecycle.LiveData;
+import androidx.room.Dao;
+import androidx.room.Delete;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+
+import com.example.timemanagementapp.data.local.entity.ProjectCollaborator;
+
+import java.util.List;
+
+@Dao
+public interface ProjectCollaboratorDao {
+    // Повторное принятие приглашения в тот же проект обновляет роль
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void insertCollaborator(ProjectCollaborator collaborator);
+
+    @Delete
+    void deleteCollaborator(ProjectCollaborator collaborator);
+
+    @Query("SELECT * FROM project_collaborators WHERE project_id = :projectId ORDER BY joined_at ASC")
+    LiveData<List<ProjectCollaborator>> getCollaboratorsForProject(String projectId);
+
+    // Синхронно, вызывать не из главного потока
+    @Query("SELECT * FROM project_collaborators WHERE project_id = :projectId AND user_id = :userId")
+    ProjectCollaborator getCollaboratorSync(String projectId, String userId);
+}
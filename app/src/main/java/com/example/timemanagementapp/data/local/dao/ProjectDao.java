@@ -8,6 +8,7 @@ import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
 import androidx.room.Update;
 import com.example.timemanagementapp.data.local.entity.Project;
+import com.example.timemanagementapp.data.local.model.EntityName;
 import java.util.List;
 
 @Dao
@@ -29,4 +30,26 @@ public interface ProjectDao {
 
     @Query("SELECT * FROM projects WHERE owner_user_id = :userId ORDER BY name ASC")
     LiveData<List<Project>> getProjectsByOwner(String userId);
+
+    // Синхронно, вызывать не из главного потока
+    @Query("SELECT * FROM projects WHERE project_id = :projectId")
+    Project getProjectByIdSync(String projectId);
+
+    /**
+     * Названия проектов пачкой; id, которых нет в базе, в результат не попадают.
+     * Синхронно, вызывать не из главного потока
+     */
+    @Query("SELECT project_id AS id, name FROM projects WHERE project_id IN (:projectIds)")
+    List<EntityName> getProjectNamesSync(List<String> projectIds);
+
+    // Синхронно, вызывать не из главного потока
+    @Query("SELECT COUNT(*) FROM projects")
+    int getProjectCountSync();
+
+    /**
+     * Переименовывает проекты с названием oldName. Возвращает число изменённых строк
+     */
+    @Query("UPDATE projects SET name = :newName, description = :description, color_hex = :colorHex, "
+            + "updated_at = :updatedAt WHERE name = :oldName")
+    int renameProjects(String oldName, String newName, String description, String colorHex, long updatedAt);
 } 
\ No newline at end of file
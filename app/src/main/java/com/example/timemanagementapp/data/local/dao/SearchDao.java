@@ -0,0 +1,52 @@
+package com.example.timemanagementapp.data.local.dao;
+
+import androidx.room.Dao;
+import androidx.room.Query;
+
+import com.example.timemanagementapp.data.local.model.FtsHit;
+import com.example.timemanagementapp.data.local.model.FtsMatch;
+
+import java.util.List;
+
+/**
+ * Полнотекстовый поиск по задачам и комментариям в два шага.
+ *
+ * rank* отдают docid и matchinfo не более чем для limit самых новых совпадений: индексы созданы
+ * с order=DESC, поэтому ORDER BY docid DESC не сортирует, а LIMIT останавливает обход списка
+ * документов. Без ограничения частое слово отдавало бы десятки тысяч строк с matchinfo на каждое
+ * нажатие клавиши. snippet дороже matchinfo, поэтому *Snippets считают его
+ * только для отобранных docIds: MATCH остаётся полнотекстовым поиском, а фильтр по docid
+ * отбрасывает строки до вычисления столбцов результата.
+ *
+ * match — выражение FTS (см. SearchQuery), highlightStart/highlightEnd — метки вокруг совпадений в snippet.
+ * Синхронно, вызывать не из главного потока
+ */
+@Dao
+public interface SearchDao {
+    @Query("SELECT tasks_fts.docid AS doc_id, tasks.task_id AS task_id, "
+            + "matchinfo(tasks_fts, 'pcx') AS match_info "
+            + "FROM tasks_fts JOIN tasks ON tasks.rowid = tasks_fts.docid "
+            + "WHERE tasks_fts MATCH :match ORDER BY tasks_fts.docid DESC LIMIT :limit")
+    List<FtsHit> rankTasks(String match, int limit);
+
+    @Query("SELECT task_comments_fts.docid AS doc_id, task_comments.task_id AS task_id, "
+            + "matchinfo(task_comments_fts, 'pcx') AS match_info "
+            + "FROM task_comments_fts "
+            + "JOIN task_comments ON task_comments.rowid = task_comments_fts.docid "
+            + "WHERE task_comments_fts MATCH :match ORDER BY task_comments_fts.docid DESC LIMIT :limit")
+    List<FtsHit> rankComments(String match, int limit);
+
+    @Query("SELECT tasks_fts.docid AS doc_id, tasks.task_id AS task_id, tasks.title AS title, "
+            + "snippet(tasks_fts, :highlightStart, :highlightEnd, '…', -1, 12) AS snippet "
+            + "FROM tasks_fts JOIN tasks ON tasks.rowid = tasks_fts.docid "
+            + "WHERE tasks_fts MATCH :match AND tasks_fts.docid IN (:docIds)")
+    List<FtsMatch> taskSnippets(String match, List<Long> docIds, String highlightStart, String highlightEnd);
+
+    @Query("SELECT task_comments_fts.docid AS doc_id, tasks.task_id AS task_id, tasks.title AS title, "
+            + "snippet(task_comments_fts, :highlightStart, :highlightEnd, '…', -1, 12) AS snippet "
+            + "FROM task_comments_fts "
+            + "JOIN task_comments ON task_comments.rowid = task_comments_fts.docid "
+            + "JOIN tasks ON tasks.task_id = task_comments.task_id "
+            + "WHERE task_comments_fts MATCH :match AND task_comments_fts.docid IN (:docIds)")
+    List<FtsMatch> commentSnippets(String match, List<Long> docIds, String highlightStart, String highlightEnd);
+}
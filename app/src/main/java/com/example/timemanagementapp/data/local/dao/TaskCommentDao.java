@@ -21,15 +21,48 @@ public interface TaskCommentDao {
     @Delete
     void delete(TaskComment comment);
 
-    @Query("SELECT * FROM task_comments WHERE task_id = :taskId ORDER BY created_at DESC")
-    LiveData<List<TaskComment>> getCommentsForTask(String taskId);
+    // Постраничное чтение комментариев задачи, новые первыми. Порядок (created_at, comment_id) однозначен,
+    // поэтому граница страницы — последний показанный комментарий (keyset), а не OFFSET.
+    // Все запросы идут по индексу (task_id, created_at, comment_id). Синхронно, вызывать не из главного потока
+
+    @Query("SELECT * FROM task_comments WHERE task_id = :taskId "
+            + "ORDER BY created_at DESC, comment_id DESC LIMIT :limit")
+    List<TaskComment> getNewestComments(String taskId, int limit);
+
+    /**
+     * Страница комментариев старше (createdAt, commentId)
+     */
+    @Query("SELECT * FROM task_comments WHERE task_id = :taskId "
+            + "AND (created_at < :createdAt OR (created_at = :createdAt AND comment_id < :commentId)) "
+            + "ORDER BY created_at DESC, comment_id DESC LIMIT :limit")
+    List<TaskComment> getCommentsBefore(String taskId, long createdAt, String commentId, int limit);
+
+    /**
+     * Все комментарии новее (createdAt, commentId): то, что появилось над уже загруженным списком
+     */
+    @Query("SELECT * FROM task_comments WHERE task_id = :taskId "
+            + "AND (created_at > :createdAt OR (created_at = :createdAt AND comment_id > :commentId)) "
+            + "ORDER BY created_at DESC, comment_id DESC")
+    List<TaskComment> getCommentsAfter(String taskId, long createdAt, String commentId);
+
+    /**
+     * id комментариев от (createdAt, commentId) и новее: сверка загруженного диапазона после удалений
+     */
+    @Query("SELECT comment_id FROM task_comments WHERE task_id = :taskId "
+            + "AND (created_at > :createdAt OR (created_at = :createdAt AND comment_id >= :commentId)) "
+            + "ORDER BY created_at DESC, comment_id DESC")
+    List<String> getCommentIdsFrom(String taskId, long createdAt, String commentId);
 
     @Query("SELECT * FROM task_comments WHERE comment_id = :commentId")
     LiveData<TaskComment> getCommentById(String commentId);
 
-    @Query("SELECT COUNT(*) FROM task_comments WHERE task_id = :taskId")
+    // Счётчик ведут триггеры (TaskCommentCount): одна строка по первичному ключу вместо COUNT(*)
+    @Query("SELECT COALESCE((SELECT comment_count FROM task_comment_counts WHERE task_id = :taskId), 0)")
     LiveData<Integer> getCommentCountForTask(String taskId);
 
+    @Query("SELECT COALESCE((SELECT comment_count FROM task_comment_counts WHERE task_id = :taskId), 0)")
+    int getCommentCountForTaskSync(String taskId);
+
     @Query("DELETE FROM task_comments WHERE task_id = :taskId")
     void deleteAllCommentsForTask(String taskId);
 } 
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.example.timemanagementapp.data.local.dao;
 
 import androidx.lifecycle.LiveData;
+import androidx.paging.PagingSource;
 import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
@@ -8,6 +9,10 @@ import androidx.room.Query;
 import androidx.room.Update;
 import androidx.room.Delete;
 import com.example.timemanagementapp.data.local.entity.Task;
+import com.example.timemanagementapp.data.local.model.DayTaskCount;
+import com.example.timemanagementapp.data.local.model.ReminderTime;
+import com.example.timemanagementapp.data.local.model.TaskWithRelations;
+import java.util.Date;
 import java.util.List;
 
 @Dao
@@ -30,6 +35,9 @@ public interface TaskDao {
     @Query("SELECT * FROM tasks WHERE task_id = :taskId")
     LiveData<Task> getTaskById(String taskId);
 
+    @Query("SELECT * FROM tasks WHERE task_id = :taskId")
+    Task getTaskByIdSync(String taskId);
+
     @Query("SELECT * FROM tasks ORDER BY due_date ASC")
     LiveData<List<Task>> getAllTasksSortedByDueDate();
 
@@ -41,4 +49,56 @@ public interface TaskDao {
 
     @Query("SELECT * FROM tasks ORDER BY priority DESC, due_date ASC")
     LiveData<List<Task>> getAllTasksSortedByPriority();
-} 
\ No newline at end of file
+
+    // Число задач по локальным дням: strftime('%s', ..., 'localtime') даёт локальное время в секундах,
+    // целочисленное деление на 86400 — номер дня как у LocalDate.toEpochDay()
+    @Query("SELECT CAST(strftime('%s', due_date / 1000, 'unixepoch', 'localtime') AS INTEGER) / 86400 AS epoch_day, "
+            + "COUNT(*) AS task_count FROM tasks WHERE due_date BETWEEN :startMillis AND :endMillis "
+            + "GROUP BY epoch_day")
+    LiveData<List<DayTaskCount>> getTaskCountsPerDay(long startMillis, long endMillis);
+
+    // Строки списка вместе с именем исполнителя, проектом и числом комментариев: LEFT JOIN по первичным
+    // ключам users/projects/task_comment_counts, порядок по-прежнему задаёт индекс tasks
+    String TASK_WITH_RELATIONS_SELECT = "SELECT tasks.*, users.name AS assignee_name, "
+            + "projects.name AS project_name, projects.color_hex AS project_color, "
+            + "COALESCE(task_comment_counts.comment_count, 0) AS comment_count FROM tasks "
+            + "LEFT JOIN users ON users.user_id = tasks.assignee_user_id "
+            + "LEFT JOIN projects ON projects.project_id = tasks.project_id "
+            + "LEFT JOIN task_comment_counts ON task_comment_counts.task_id = tasks.task_id ";
+
+    // Список дня календаря читает только выбранный диапазон по индексу due_date
+    @Query(TASK_WITH_RELATIONS_SELECT + "WHERE tasks.due_date BETWEEN :startMillis AND :endMillis "
+            + "ORDER BY tasks.due_date ASC")
+    LiveData<List<TaskWithRelations>> getTasksWithRelationsDueBetween(long startMillis, long endMillis);
+
+    // Постраничные варианты для списка задач: Room отдаёт только страницы рядом с viewport
+    @Query(TASK_WITH_RELATIONS_SELECT + "ORDER BY tasks.due_date ASC")
+    PagingSource<Integer, TaskWithRelations> getAllTasksSortedByDueDatePaged();
+
+    @Query(TASK_WITH_RELATIONS_SELECT + "ORDER BY tasks.priority DESC, tasks.due_date ASC")
+    PagingSource<Integer, TaskWithRelations> getAllTasksSortedByPriorityPaged();
+
+    @Query(TASK_WITH_RELATIONS_SELECT + "WHERE tasks.assignee_user_id = :userId AND tasks.status != 'done' "
+            + "ORDER BY tasks.due_date ASC")
+    PagingSource<Integer, TaskWithRelations> getActiveTasksForUserPaged(String userId);
+
+    // Массовые изменения: один UPDATE на набор задач вместо @Update для каждой.
+    // SQLite ограничивает число параметров запроса, поэтому id передаются пачками (см. TaskRepository)
+    @Query("UPDATE tasks SET status = :status, updated_at = :updatedAt WHERE task_id IN (:taskIds)")
+    int updateStatusForTasks(List<String> taskIds, String status, Date updatedAt);
+
+    @Query("UPDATE tasks SET priority = :priority, updated_at = :updatedAt WHERE task_id IN (:taskIds)")
+    int updatePriorityForTasks(List<String> taskIds, int priority, Date updatedAt);
+
+    @Query("UPDATE tasks SET assignee_user_id = :assigneeUserId, updated_at = :updatedAt WHERE task_id IN (:taskIds)")
+    int updateAssigneeForTasks(List<String> taskIds, String assigneeUserId, Date updatedAt);
+
+    @Query("SELECT * FROM tasks WHERE task_id IN (:taskIds)")
+    List<Task> getTasksByIdsSync(List<String> taskIds);
+
+    // Напоминания позже момента afterMillis, для построения очереди ReminderScheduler
+    @Query("SELECT task_id, due_date - reminder_offset_millis AS fire_at FROM tasks "
+            + "WHERE due_date IS NOT NULL AND reminder_offset_millis IS NOT NULL "
+            + "AND due_date - reminder_offset_millis > :afterMillis")
+    List<ReminderTime> getRemindersAfter(long afterMillis);
+}
@@ -9,6 +9,7 @@ import androidx.room.Update;
 import androidx.room.Delete;
 
 import com.example.timemanagementapp.data.local.entity.User;
+import com.example.timemanagementapp.data.local.model.EntityName;
 
 import java.util.List;
 
@@ -35,4 +36,15 @@ public interface UserDao {
 
     @Query("SELECT * FROM users ORDER BY name ASC")
     LiveData<List<User>> getAllUsers();
+
+    /**
+     * Имена пользователей пачкой; id, которых нет в базе, в результат не попадают.
+     * Синхронно, вызывать не из главного потока
+     */
+    @Query("SELECT user_id AS id, name FROM users WHERE user_id IN (:userIds)")
+    List<EntityName> getUserNamesSync(List<String> userIds);
+
+    // Синхронно, вызывать не из главного потока
+    @Query("SELECT COUNT(*) FROM users")
+    int getUserCountSync();
 } 
\ No newline at end of file
@@ -4,6 +4,7 @@ import androidx.annotation.NonNull;
 import androidx.room.ColumnInfo;
 import androidx.room.Entity;
 import androidx.room.ForeignKey;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 import androidx.room.TypeConverters;
 
@@ -21,6 +22,10 @@ import java.util.Date;
                         parentColumns = "user_id",
                         childColumns = "inviter_user_id",
                         onDelete = ForeignKey.CASCADE)
+        },
+        // Входящие приглашения пользователя: WHERE invited_email = ? AND status = 'pending'
+        indices = {
+                @Index(value = {"invited_email", "status"})
         })
 @TypeConverters(DateConverter.class)
 public class CollaborationInvite {
@@ -4,6 +4,7 @@ import androidx.room.Entity;
 import androidx.room.PrimaryKey;
 import androidx.room.ColumnInfo;
 import androidx.room.ForeignKey;
+import androidx.room.Index;
 import androidx.room.TypeConverters;
 import com.example.timemanagementapp.data.local.converter.DateConverter;
 import java.util.Date;
@@ -24,6 +25,16 @@ import androidx.annotation.NonNull;
                             parentColumns = "task_id",
                             childColumns = "parent_task_id",
                             onDelete = ForeignKey.CASCADE)
+        },
+        // Составные индексы повторяют сортировки/фильтры запросов TaskDao,
+        // чтобы SQLite читал строки в нужном порядке без временного B-tree
+        indices = {
+                @Index(value = {"due_date"}),
+                @Index(value = {"priority", "due_date"},
+                       orders = {Index.Order.DESC, Index.Order.ASC}),
+                @Index(value = {"project_id", "priority", "due_date"},
+                       orders = {Index.Order.ASC, Index.Order.DESC, Index.Order.ASC}),
+                @Index(value = {"assignee_user_id", "due_date", "status"})
         })
 @TypeConverters(DateConverter.class)
 public class Task {
@@ -32,14 +43,14 @@ public class Task {
     @ColumnInfo(name = "task_id")
     public String taskId;
 
-    @ColumnInfo(name = "project_id", index = true)
+    @ColumnInfo(name = "project_id")
     public String projectId;
 
     @NonNull
     public String title;
     public String description;
 
-    @ColumnInfo(name = "assignee_user_id", index = true)
+    @ColumnInfo(name = "assignee_user_id")
     public String assigneeUserId;
 
     @NonNull
@@ -1,6 +1,7 @@
 package com.example.timemanagementapp.data.local.entity;
 
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 import androidx.room.ColumnInfo;
 import androidx.room.ForeignKey;
@@ -20,6 +21,10 @@ import androidx.annotation.NonNull;
                         parentColumns = "user_id",
                         childColumns = "user_id",
                         onDelete = ForeignKey.CASCADE)
+        },
+        // Keyset-пагинация комментариев задачи (TaskCommentDao); покрывает и поиск по одному task_id
+        indices = {
+                @Index(value = {"task_id", "created_at", "comment_id"})
         })
 @TypeConverters(DateConverter.class)
 public class TaskComment {
@@ -29,7 +34,7 @@ public class TaskComment {
     private String commentId;
 
     @NonNull
-    @ColumnInfo(name = "task_id", index = true)
+    @ColumnInfo(name = "task_id")
     private String taskId;
 
     @NonNull
@@ -0,0 +1,54 @@
+package com.example.timemanagementapp.data.local.entity;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.ForeignKey;
+import androidx.room.PrimaryKey;
+
+/**
+ * Число комментариев задачи. Строки пишут только триггеры на task_comments
+ * (см. Migrations.createCommentCountTriggers), приложение их лишь читает.
+ *
+ * Отдельная таблица, а не столбец tasks: @Update и INSERT OR REPLACE задачи записывают все столбцы
+ * из объекта Task и затирали бы счётчик значением, прочитанным до появления новых комментариев.
+ * Строки нет, пока у задачи не было ни одного комментария, — в запросах это COALESCE(..., 0).
+ */
+@Entity(tableName = "task_comment_counts",
+        foreignKeys = {
+                @ForeignKey(entity = Task.class,
+                        parentColumns = "task_id",
+                        childColumns = "task_id",
+                        onDelete = ForeignKey.CASCADE)
+        })
+public class TaskCommentCount {
+    @PrimaryKey
+    @NonNull
+    @ColumnInfo(name = "task_id")
+    private String taskId;
+
+    @ColumnInfo(name = "comment_count")
+    private int commentCount;
+
+    public TaskCommentCount(@NonNull String taskId, int commentCount) {
+        this.taskId = taskId;
+        this.commentCount = commentCount;
+    }
+
+    @NonNull
+    public String getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(@NonNull String taskId) {
+        this.taskId = taskId;
+    }
+
+    public int getCommentCount() {
+        return commentCount;
+    }
+
+    public void setCommentCount(int commentCount) {
+        this.commentCount = commentCount;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.timemanagementapp.data.local.entity;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Fts4;
+import androidx.room.FtsOptions;
+
+/**
+ * Полнотекстовый индекс по тексту комментариев (content = task_comments), см. TaskFts
+ */
+@Entity(tableName = "task_comments_fts")
+@Fts4(contentEntity = TaskComment.class, tokenizer = FtsOptions.TOKENIZER_UNICODE61, order = FtsOptions.Order.DESC)
+public class TaskCommentFts {
+    @ColumnInfo(name = "text")
+    public String text;
+}
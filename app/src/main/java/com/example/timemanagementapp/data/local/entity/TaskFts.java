@@ -0,0 +1,23 @@
+package com.example.timemanagementapp.data.local.entity;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Fts4;
+import androidx.room.FtsOptions;
+
+/**
+ * Полнотекстовый индекс по названию и описанию задач.
+ *
+ * Таблица с внешним содержимым (content = tasks): текст хранится только в tasks,
+ * индекс обновляют триггеры, которые создаёт Room. docid совпадает с rowid задачи.
+ * unicode61 приводит к одному регистру и кириллицу, order = DESC отдаёт новые задачи первыми без сортировки.
+ */
+@Entity(tableName = "tasks_fts")
+@Fts4(contentEntity = Task.class, tokenizer = FtsOptions.TOKENIZER_UNICODE61, order = FtsOptions.Order.DESC)
+public class TaskFts {
+    @ColumnInfo(name = "title")
+    public String title;
+
+    @ColumnInfo(name = "description")
+    public String description;
+}
@@ -0,0 +1,186 @@
+package com.example.timemanagementapp.data.local.migration;
+
+import androidx.annotation.NonNull;
+import androidx.room.migration.Migration;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+/**
+ * Миграции схемы AppDatabase.
+ * SQL в каждой миграции должен совпадать с тем, что Room генерирует для сущностей,
+ * иначе проверка схемы при открытии базы завершится ошибкой.
+ */
+public final class Migrations {
+
+    private Migrations() {
+    }
+
+    /**
+     * 5 -> 6: составные индексы под сортировки и фильтры TaskDao.
+     * Одиночные индексы по project_id и assignee_user_id удаляются —
+     * их покрывают новые индексы с тем же первым столбцом.
+     */
+    public static final Migration MIGRATION_5_6 = new Migration(5, 6) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("DROP INDEX IF EXISTS `index_tasks_project_id`");
+            db.execSQL("DROP INDEX IF EXISTS `index_tasks_assignee_user_id`");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_tasks_due_date` ON `tasks` (`due_date`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_tasks_priority_due_date` "
+                    + "ON `tasks` (`priority` DESC, `due_date` ASC)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_tasks_project_id_priority_due_date` "
+                    + "ON `tasks` (`project_id` ASC, `priority` DESC, `due_date` ASC)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_tasks_assignee_user_id_due_date_status` "
+                    + "ON `tasks` (`assignee_user_id`, `due_date`, `status`)");
+        }
+    };
+
+    /**
+     * 6 -> 7: таблицы совместной работы (приглашения, участники и комментарии проектов),
+     * которые раньше были описаны сущностями, но не входили в базу.
+     */
+    public static final Migration MIGRATION_6_7 = new Migration(6, 7) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `collaboration_invites` (`invite_id` TEXT NOT NULL, "
+                    + "`project_id` TEXT NOT NULL, `inviter_user_id` TEXT NOT NULL, `invited_email` TEXT NOT NULL, "
+                    + "`role` TEXT NOT NULL, `status` TEXT NOT NULL, `created_at` INTEGER NOT NULL, "
+                    + "`resolved_at` INTEGER, PRIMARY KEY(`invite_id`), "
+                    + "FOREIGN KEY(`project_id`) REFERENCES `projects`(`project_id`) ON UPDATE NO ACTION ON DELETE CASCADE , "
+                    + "FOREIGN KEY(`inviter_user_id`) REFERENCES `users`(`user_id`) ON UPDATE NO ACTION ON DELETE CASCADE )");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_collaboration_invites_invited_email_status` "
+                    + "ON `collaboration_invites` (`invited_email`, `status`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_collaboration_invites_project_id` "
+                    + "ON `collaboration_invites` (`project_id`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_collaboration_invites_inviter_user_id` "
+                    + "ON `collaboration_invites` (`inviter_user_id`)");
+
+            db.execSQL("CREATE TABLE IF NOT EXISTS `project_collaborators` (`project_id` TEXT NOT NULL, "
+                    + "`user_id` TEXT NOT NULL, `role` TEXT NOT NULL, `joined_at` INTEGER NOT NULL, "
+                    + "`last_accessed_at` INTEGER, PRIMARY KEY(`project_id`, `user_id`), "
+                    + "FOREIGN KEY(`project_id`) REFERENCES `projects`(`project_id`) ON UPDATE NO ACTION ON DELETE CASCADE , "
+                    + "FOREIGN KEY(`user_id`) REFERENCES `users`(`user_id`) ON UPDATE NO ACTION ON DELETE CASCADE )");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_project_collaborators_project_id` "
+                    + "ON `project_collaborators` (`project_id`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_project_collaborators_user_id` "
+                    + "ON `project_collaborators` (`user_id`)");
+
+            db.execSQL("CREATE TABLE IF NOT EXISTS `project_comments` (`comment_id` TEXT NOT NULL, "
+                    + "`project_id` TEXT NOT NULL, `user_id` TEXT, `text` TEXT NOT NULL, "
+                    + "`created_at` INTEGER NOT NULL, `updated_at` INTEGER NOT NULL, PRIMARY KEY(`comment_id`), "
+                    + "FOREIGN KEY(`project_id`) REFERENCES `projects`(`project_id`) ON UPDATE NO ACTION ON DELETE CASCADE , "
+                    + "FOREIGN KEY(`user_id`) REFERENCES `users`(`user_id`) ON UPDATE NO ACTION ON DELETE SET NULL )");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_project_comments_project_id` "
+                    + "ON `project_comments` (`project_id`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_project_comments_user_id` "
+                    + "ON `project_comments` (`user_id`)");
+        }
+    };
+
+    /**
+     * 7 -> 8: полнотекстовые индексы tasks_fts и task_comments_fts с внешним содержимым.
+     * Индексы заполняются из существующих строк командой 'rebuild'; триггеры синхронизации
+     * Room пересоздаёт после миграции сам, здесь они нужны для согласованности до этого момента.
+     */
+    public static final Migration MIGRATION_7_8 = new Migration(7, 8) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE VIRTUAL TABLE IF NOT EXISTS `tasks_fts` USING FTS4("
+                    + "`title` TEXT, `description` TEXT, tokenize=unicode61, content=`tasks`, order=DESC)");
+            createContentSyncTriggers(db, "tasks_fts", "tasks", "title", "description");
+            db.execSQL("INSERT INTO `tasks_fts`(`tasks_fts`) VALUES('rebuild')");
+
+            db.execSQL("CREATE VIRTUAL TABLE IF NOT EXISTS `task_comments_fts` USING FTS4("
+                    + "`text` TEXT, tokenize=unicode61, content=`task_comments`, order=DESC)");
+            createContentSyncTriggers(db, "task_comments_fts", "task_comments", "text");
+            db.execSQL("INSERT INTO `task_comments_fts`(`task_comments_fts`) VALUES('rebuild')");
+        }
+    };
+
+    /**
+     * 8 -> 9: составной индекс (task_id, created_at, comment_id) под постраничную загрузку комментариев.
+     * Одиночный индекс по task_id удаляется — его покрывает новый индекс с тем же первым столбцом.
+     */
+    public static final Migration MIGRATION_8_9 = new Migration(8, 9) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("DROP INDEX IF EXISTS `index_task_comments_task_id`");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_task_comments_task_id_created_at_comment_id` "
+                    + "ON `task_comments` (`task_id`, `created_at`, `comment_id`)");
+        }
+    };
+
+    /**
+     * 9 -> 10: счётчик комментариев задачи (TaskCommentCount) на триггерах вместо COUNT(*) на каждый показ.
+     * Счётчики для существующих комментариев заполняются одним GROUP BY по индексу task_id
+     */
+    public static final Migration MIGRATION_9_10 = new Migration(9, 10) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `task_comment_counts` (`task_id` TEXT NOT NULL, "
+                    + "`comment_count` INTEGER NOT NULL, PRIMARY KEY(`task_id`), "
+                    + "FOREIGN KEY(`task_id`) REFERENCES `tasks`(`task_id`) ON UPDATE NO ACTION ON DELETE CASCADE )");
+            db.execSQL("INSERT INTO `task_comment_counts` (`task_id`, `comment_count`) "
+                    + "SELECT `task_id`, COUNT(*) FROM `task_comments` GROUP BY `task_id`");
+            createCommentCountTriggers(db);
+        }
+    };
+
+    public static final Migration[] ALL = {
+            MIGRATION_5_6,
+            MIGRATION_6_7,
+            MIGRATION_7_8,
+            MIGRATION_8_9,
+            MIGRATION_9_10
+    };
+
+    /**
+     * Триггеры, которые ведут task_comment_counts. Room их не создаёт: их добавляет MIGRATION_9_10
+     * и AppDatabase при каждом открытии базы (IF NOT EXISTS), в том числе после пересоздания.
+     *
+     * Вставка в trigger-программе без ON CONFLICT: условие конфликта внешнего INSERT OR REPLACE
+     * подменило бы его. Замена комментария через REPLACE сначала удаляет старую строку —
+     * с recursive_triggers (AppDatabase) это вычитание и прибавление, итог не меняется
+     */
+    public static void createCommentCountTriggers(@NonNull SupportSQLiteDatabase db) {
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS `task_comment_counts_after_insert` AFTER INSERT ON `task_comments` "
+                + "BEGIN " + incrementCommentCount("NEW") + " END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS `task_comment_counts_after_delete` AFTER DELETE ON `task_comments` "
+                + "BEGIN " + decrementCommentCount("OLD") + " END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS `task_comment_counts_after_move` "
+                + "AFTER UPDATE OF `task_id` ON `task_comments` WHEN OLD.`task_id` != NEW.`task_id` "
+                + "BEGIN " + decrementCommentCount("OLD") + " " + incrementCommentCount("NEW") + " END");
+    }
+
+    private static String incrementCommentCount(String row) {
+        return "INSERT INTO `task_comment_counts` (`task_id`, `comment_count`) SELECT " + row + ".`task_id`, 0 "
+                + "WHERE NOT EXISTS (SELECT 1 FROM `task_comment_counts` WHERE `task_id` = " + row + ".`task_id`); "
+                + "UPDATE `task_comment_counts` SET `comment_count` = `comment_count` + 1 "
+                + "WHERE `task_id` = " + row + ".`task_id`;";
+    }
+
+    private static String decrementCommentCount(String row) {
+        return "UPDATE `task_comment_counts` SET `comment_count` = `comment_count` - 1 "
+                + "WHERE `task_id` = " + row + ".`task_id`;";
+    }
+
+    // Те же триггеры, что Room создаёт для @Fts4(contentEntity = ...)
+    private static void createContentSyncTriggers(SupportSQLiteDatabase db, String ftsTable, String contentTable,
+                                                  String... columns) {
+        StringBuilder columnList = new StringBuilder();
+        StringBuilder newValues = new StringBuilder();
+        for (String column : columns) {
+            columnList.append(", `").append(column).append('`');
+            newValues.append(", NEW.`").append(column).append('`');
+        }
+        for (String operation : new String[]{"UPDATE", "DELETE"}) {
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_" + ftsTable + "_BEFORE_" + operation
+                    + " BEFORE " + operation + " ON `" + contentTable + "` BEGIN DELETE FROM `" + ftsTable
+                    + "` WHERE `docid`=OLD.`rowid`; END");
+        }
+        for (String operation : new String[]{"UPDATE", "INSERT"}) {
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_" + ftsTable + "_AFTER_" + operation
+                    + " AFTER " + operation + " ON `" + contentTable + "` BEGIN INSERT INTO `" + ftsTable
+                    + "`(`docid`" + columnList + ") VALUES (NEW.`rowid`" + newValues + "); END");
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.timemanagementapp.data.local.model;
+
+import androidx.room.ColumnInfo;
+
+/**
+ * Число задач со сроком в один локальный день (epoch day), для точек календаря.
+ */
+public class DayTaskCount {
+    @ColumnInfo(name = "epoch_day")
+    public long epochDay;
+
+    @ColumnInfo(name = "task_count")
+    public int taskCount;
+
+    public DayTaskCount(long epochDay, int taskCount) {
+        this.epochDay = epochDay;
+        this.taskCount = taskCount;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.timemanagementapp.data.local.model;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.room.ColumnInfo;
+
+/**
+ * Пара id → отображаемое имя для пакетной подстановки имён (проекты, пользователи)
+ */
+public class EntityName {
+    @ColumnInfo(name = "id")
+    @NonNull
+    public String id;
+
+    @ColumnInfo(name = "name")
+    @Nullable
+    public String name;
+
+    public EntityName(@NonNull String id, @Nullable String name) {
+        this.id = id;
+        this.name = name;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.timemanagementapp.data.local.model;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.room.ColumnInfo;
+
+/**
+ * Совпадение полнотекстового поиска для ранжирования: docid строки FTS-индекса, задача
+ * и matchinfo(..., 'pcx') (см. FtsRanking). Без snippet — его считают только для лучших строк
+ */
+public class FtsHit {
+    @ColumnInfo(name = "doc_id")
+    public long docId;
+
+    @ColumnInfo(name = "task_id")
+    @NonNull
+    public String taskId;
+
+    @ColumnInfo(name = "match_info")
+    @Nullable
+    public byte[] matchInfo;
+
+    public FtsHit(long docId, @NonNull String taskId, @Nullable byte[] matchInfo) {
+        this.docId = docId;
+        this.taskId = taskId;
+        this.matchInfo = matchInfo;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.timemanagementapp.data.local.model;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.room.ColumnInfo;
+
+/**
+ * Строка для показа в результатах поиска: задача и фрагмент текста с выделенными совпадениями.
+ * docId — строка FTS-индекса, по которой FtsHit выбрал этот результат
+ */
+public class FtsMatch {
+    @ColumnInfo(name = "doc_id")
+    public long docId;
+
+    @ColumnInfo(name = "task_id")
+    @NonNull
+    public String taskId;
+
+    @ColumnInfo(name = "title")
+    @NonNull
+    public String title;
+
+    @ColumnInfo(name = "snippet")
+    @Nullable
+    public String snippet;
+
+    public FtsMatch(long docId, @NonNull String taskId, @NonNull String title, @Nullable String snippet) {
+        this.docId = docId;
+        this.taskId = taskId;
+        this.title = title;
+        this.snippet = snippet;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.timemanagementapp.data.local.model;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.room.ColumnInfo;
+import androidx.room.Embedded;
+
+import com.example.timemanagementapp.data.local.entity.CollaborationInvite;
+
+/**
+ * Приглашение вместе с названием проекта и именем пригласившего, как TaskWithRelations для задач.
+ * Экран приглашений получает строки уже с именами и не запрашивает их при отрисовке каждой строки.
+ */
+public class InviteWithDetails {
+    @Embedded
+    @NonNull
+    public CollaborationInvite invite;
+
+    @ColumnInfo(name = "project_name")
+    @Nullable
+    public String projectName;
+
+    @ColumnInfo(name = "inviter_name")
+    @Nullable
+    public String inviterName;
+
+    public InviteWithDetails(@NonNull CollaborationInvite invite, @Nullable String projectName,
+                             @Nullable String inviterName) {
+        this.invite = invite;
+        this.projectName = projectName;
+        this.inviterName = inviterName;
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.timemanagementapp.data.local.model;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+
+/**
+ * Проекция задачи для планировщика напоминаний: только id и момент напоминания
+ * (due_date - reminder_offset_millis), без загрузки остальных колонок.
+ */
+public class ReminderTime {
+    @NonNull
+    @ColumnInfo(name = "task_id")
+    public String taskId;
+
+    @ColumnInfo(name = "fire_at")
+    public long fireAtMillis;
+
+    public ReminderTime(@NonNull String taskId, long fireAtMillis) {
+        this.taskId = taskId;
+        this.fireAtMillis = fireAtMillis;
+    }
+}
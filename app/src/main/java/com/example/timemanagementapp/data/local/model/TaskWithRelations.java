@@ -0,0 +1,45 @@
+package com.example.timemanagementapp.data.local.model;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.room.ColumnInfo;
+import androidx.room.Embedded;
+
+import com.example.timemanagementapp.data.local.entity.Task;
+
+/**
+ * Строка списка задач вместе с именем исполнителя и названием/цветом проекта.
+ * Заполняется одним запросом с LEFT JOIN (см. TaskDao), поэтому адаптеру не нужно искать
+ * пользователя и проект для каждой строки. Room перевыпускает результат и при изменении
+ * таблиц users и projects, так что переименование сразу видно в списке.
+ * Число комментариев берётся из task_comment_counts, которую ведут триггеры на task_comments.
+ */
+public class TaskWithRelations {
+    @Embedded
+    @NonNull
+    public Task task;
+
+    @ColumnInfo(name = "assignee_name")
+    @Nullable
+    public String assigneeName;
+
+    @ColumnInfo(name = "project_name")
+    @Nullable
+    public String projectName;
+
+    @ColumnInfo(name = "project_color")
+    @Nullable
+    public String projectColor;
+
+    // Заполняет Room после конструктора
+    @ColumnInfo(name = "comment_count")
+    public int commentCount;
+
+    public TaskWithRelations(@NonNull Task task, @Nullable String assigneeName,
+                             @Nullable String projectName, @Nullable String projectColor) {
+        this.task = task;
+        this.assigneeName = assigneeName;
+        this.projectName = projectName;
+        this.projectColor = projectColor;
+    }
+}
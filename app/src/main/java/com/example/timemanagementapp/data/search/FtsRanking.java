@@ -0,0 +1,47 @@
+package com.example.timemanagementapp.data.search;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Оценка релевантности по matchinfo(..., 'pcx') — в FTS4 нет встроенного bm25.
+ *
+ * Формат: p (число фраз), c (число столбцов), затем на каждую пару фраза/столбец три числа:
+ * совпадений в этой строке, совпадений во всех строках, строк с совпадениями.
+ * Вклад пары — вес столбца × доля совпадений фразы, пришедшаяся на эту строку:
+ * редкое слово значит больше частого. Числа 32-битные в порядке байт платформы.
+ */
+public final class FtsRanking {
+    private FtsRanking() {
+    }
+
+    /**
+     * columnWeights — вес каждого столбца FTS-таблицы в порядке объявления
+     */
+    public static double score(@Nullable byte[] matchInfo, @NonNull double[] columnWeights) {
+        if (matchInfo == null || matchInfo.length < 8) {
+            return 0;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(matchInfo).order(ByteOrder.nativeOrder());
+        int phraseCount = buffer.getInt(0);
+        int columnCount = buffer.getInt(4);
+        if (matchInfo.length < 4 * (2 + 3 * phraseCount * columnCount)) {
+            return 0;
+        }
+        double score = 0;
+        for (int phrase = 0; phrase < phraseCount; phrase++) {
+            for (int column = 0; column < columnCount && column < columnWeights.length; column++) {
+                int offset = 4 * (2 + 3 * (phrase * columnCount + column));
+                int hitsInRow = buffer.getInt(offset);
+                int hitsInAllRows = buffer.getInt(offset + 4);
+                if (hitsInRow > 0 && hitsInAllRows > 0) {
+                    score += columnWeights[column] * hitsInRow / hitsInAllRows;
+                }
+            }
+        }
+        return score;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.timemanagementapp.data.search;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Перевод введённой пользователем строки в выражение MATCH для FTS4.
+ *
+ * Строка режется на слова по всему, что не буква и не цифра, поэтому кавычки, '*', '-', ':'
+ * и прочий синтаксис FTS из ввода не попадают в запрос. Слова объединяются через AND,
+ * слова от трёх символов ищутся по префиксу: "звіт бюдж" находит "Звіт по бюджету".
+ * Более короткие слова — только целиком и в кавычках, чтобы OR из ввода не стал оператором:
+ * префикс из двух букв разворачивается в сотни слов словаря, и слияние их списков документов
+ * при каждом нажатии клавиши стоит десятки миллисекунд.
+ */
+public final class SearchQuery {
+    // Больше слов в поисковой строке не добавляют точности, а каждое — отдельный проход по индексу
+    static final int MAX_TERMS = 8;
+    private static final int MIN_PREFIX_LENGTH = 3;
+
+    private SearchQuery() {
+    }
+
+    /**
+     * Выражение MATCH или null, если в строке нет ни одного слова
+     */
+    @Nullable
+    public static String toMatchExpression(@Nullable String input) {
+        if (input == null) {
+            return null;
+        }
+        StringBuilder match = new StringBuilder();
+        int terms = 0;
+        int length = input.length();
+        int index = 0;
+        while (index < length && terms < MAX_TERMS) {
+            while (index < length && !isWordChar(input.charAt(index))) {
+                index++;
+            }
+            int start = index;
+            while (index < length && isWordChar(input.charAt(index))) {
+                index++;
+            }
+            if (index > start) {
+                appendTerm(match, input, start, index);
+                terms++;
+            }
+        }
+        return terms == 0 ? null : match.toString();
+    }
+
+    private static void appendTerm(@NonNull StringBuilder match, @NonNull String input, int start, int end) {
+        if (match.length() > 0) {
+            match.append(' ');
+        }
+        if (end - start >= MIN_PREFIX_LENGTH) {
+            match.append(input, start, end).append('*');
+        } else {
+            match.append('"').append(input, start, end).append('"');
+        }
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c);
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.timemanagementapp.data.search;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import com.example.timemanagementapp.data.local.dao.SearchDao;
+import com.example.timemanagementapp.data.local.model.FtsHit;
+import com.example.timemanagementapp.data.local.model.FtsMatch;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Поиск задач по названию, описанию и комментариям.
+ *
+ * Ранжируются до MAX_CANDIDATES самых новых совпадений каждого индекса (FtsRanking по matchinfo)
+ * и сводятся по задаче:
+ * задача получает лучший из своих результатов, совпадение в названии весит больше, чем в описании,
+ * а в самой задаче — больше, чем в комментарии. snippet запрашивается только для MAX_RESULTS лучших.
+ * Для слова, которое встречается чаще MAX_CANDIDATES раз, более старые совпадения не ранжируются:
+ * это цена ограниченного времени ответа при вводе, уточнение запроса вторым словом их возвращает.
+ */
+public class TaskSearch {
+    /**
+     * Метки вокруг совпадений в snippet: управляющие символы не встречаются во вводе пользователя
+     */
+    public static final String HIGHLIGHT_START = "\u0002";
+    public static final String HIGHLIGHT_END = "\u0003";
+
+    static final int MAX_RESULTS = 50;
+    // На индекс: 500 строк с matchinfo читаются за единицы миллисекунд даже для префикса из трёх букв
+    static final int MAX_CANDIDATES = 500;
+
+    // Столбцы tasks_fts: title, description
+    private static final double[] TASK_WEIGHTS = {4.0, 1.0};
+    // Столбец task_comments_fts: text
+    private static final double[] COMMENT_WEIGHTS = {0.5};
+
+    private final SearchDao searchDao;
+
+    public TaskSearch(@NonNull SearchDao searchDao) {
+        this.searchDao = searchDao;
+    }
+
+    /**
+     * Результаты по убыванию релевантности; пустой список для строки без слов
+     */
+    @WorkerThread
+    @NonNull
+    public List<TaskSearchResult> search(@Nullable String input) {
+        String match = SearchQuery.toMatchExpression(input);
+        if (match == null) {
+            return Collections.emptyList();
+        }
+        Map<String, Candidate> bestByTask = new LinkedHashMap<>();
+        collect(bestByTask, searchDao.rankTasks(match, MAX_CANDIDATES), TASK_WEIGHTS, false);
+        collect(bestByTask, searchDao.rankComments(match, MAX_CANDIDATES), COMMENT_WEIGHTS, true);
+
+        List<Candidate> top = new ArrayList<>(bestByTask.values());
+        // Сортировка устойчива: при равной оценке выше остаётся более новое совпадение
+        Collections.sort(top, (first, second) -> Double.compare(second.score, first.score));
+        if (top.size() > MAX_RESULTS) {
+            top = top.subList(0, MAX_RESULTS);
+        }
+
+        List<Long> taskDocIds = new ArrayList<>();
+        List<Long> commentDocIds = new ArrayList<>();
+        for (Candidate candidate : top) {
+            (candidate.fromComment ? commentDocIds : taskDocIds).add(candidate.docId);
+        }
+        Map<Long, FtsMatch> taskRows = snippets(taskDocIds.isEmpty() ? Collections.emptyList()
+                : searchDao.taskSnippets(match, taskDocIds, HIGHLIGHT_START, HIGHLIGHT_END));
+        Map<Long, FtsMatch> commentRows = snippets(commentDocIds.isEmpty() ? Collections.emptyList()
+                : searchDao.commentSnippets(match, commentDocIds, HIGHLIGHT_START, HIGHLIGHT_END));
+
+        List<TaskSearchResult> results = new ArrayList<>(top.size());
+        for (Candidate candidate : top) {
+            FtsMatch row = (candidate.fromComment ? commentRows : taskRows).get(candidate.docId);
+            // Строку могли удалить между двумя запросами
+            if (row != null) {
+                results.add(new TaskSearchResult(row.taskId, row.title, row.snippet,
+                        candidate.fromComment, candidate.score));
+            }
+        }
+        return results;
+    }
+
+    private static void collect(Map<String, Candidate> bestByTask, List<FtsHit> hits,
+                                double[] weights, boolean fromComment) {
+        for (FtsHit hit : hits) {
+            double score = FtsRanking.score(hit.matchInfo, weights);
+            Candidate current = bestByTask.get(hit.taskId);
+            if (current == null || current.score < score) {
+                bestByTask.put(hit.taskId, new Candidate(hit.docId, score, fromComment));
+            }
+        }
+    }
+
+    private static Map<Long, FtsMatch> snippets(List<FtsMatch> rows) {
+        Map<Long, FtsMatch> byDocId = new HashMap<>();
+        for (FtsMatch row : rows) {
+            byDocId.put(row.docId, row);
+        }
+        return byDocId;
+    }
+
+    // Лучшее совпадение задачи до запроса snippet
+    private static final class Candidate {
+        final long docId;
+        final double score;
+        final boolean fromComment;
+
+        Candidate(long docId, double score, boolean fromComment) {
+            this.docId = docId;
+            this.score = score;
+            this.fromComment = fromComment;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.timemanagementapp.data.search;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Objects;
+
+/**
+ * Задача в результатах поиска. snippet — фрагмент текста, совпадения в котором обрамлены
+ * TaskSearch.HIGHLIGHT_START / HIGHLIGHT_END; fromComment — фрагмент взят из комментария
+ */
+public final class TaskSearchResult {
+    @NonNull
+    public final String taskId;
+    @NonNull
+    public final String title;
+    @Nullable
+    public final String snippet;
+    public final boolean fromComment;
+    public final double score;
+
+    public TaskSearchResult(@NonNull String taskId, @NonNull String title, @Nullable String snippet,
+                            boolean fromComment, double score) {
+        this.taskId = taskId;
+        this.title = title;
+        this.snippet = snippet;
+        this.fromComment = fromComment;
+        this.score = score;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TaskSearchResult)) {
+            return false;
+        }
+        TaskSearchResult that = (TaskSearchResult) o;
+        return fromComment == that.fromComment
+                && Double.compare(score, that.score) == 0
+                && taskId.equals(that.taskId)
+                && title.equals(that.title)
+                && Objects.equals(snippet, that.snippet);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(taskId, title, snippet, fromComment, score);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.timemanagementapp.data.seed;
+
+import android.app.Application;
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.WorkerThread;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.example.timemanagementapp.data.TaskRepository;
+import com.example.timemanagementapp.data.local.AppDatabase;
+import com.example.timemanagementapp.log.AppLog;
+
+/**
+ * Фоновое выполнение SampleDataSeeder. Применённая версия хранится в SharedPreferences
+ * и записывается только после успешных транзакций, поэтому при сбое работа повторяется
+ * WorkManager-ом с той же версии. Обычный запуск приложения, когда версия актуальна,
+ * работу не ставит вовсе (см. enqueueIfNeeded).
+ *
+ * Шаги пишут задачи прямо через DAO, в одной транзакции со своими проверками, поэтому после
+ * запуска сбрасываются снимки задач TaskRepository (см. TaskSnapshotCache).
+ */
+public class DataSeedWorker extends Worker {
+    private static final String TAG = "DataSeedWorker";
+    private static final String WORK_NAME = "data_seed";
+    private static final String PREFS_NAME = "data_seed";
+    private static final String KEY_APPLIED_VERSION = "applied_version";
+
+    public DataSeedWorker(@NonNull Context context, @NonNull WorkerParameters workerParams) {
+        super(context, workerParams);
+    }
+
+    /**
+     * Ставит работу, если в базе ещё не применены все шаги. Читает SharedPreferences — не из главного потока
+     */
+    @WorkerThread
+    public static void enqueueIfNeeded(@NonNull Context context) {
+        if (getAppliedVersion(context) >= SampleDataSeeder.CURRENT_VERSION) {
+            return;
+        }
+        WorkManager.getInstance(context).enqueueUniqueWork(WORK_NAME, ExistingWorkPolicy.KEEP,
+                new OneTimeWorkRequest.Builder(DataSeedWorker.class).build());
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        Context context = getApplicationContext();
+        int appliedVersion = getAppliedVersion(context);
+        if (appliedVersion >= SampleDataSeeder.CURRENT_VERSION) {
+            return Result.success();
+        }
+        try {
+            int version = new SampleDataSeeder(AppDatabase.getInstance(context)).seed(appliedVersion);
+            preferences(context).edit().putInt(KEY_APPLIED_VERSION, version).commit();
+            AppLog.d(TAG, () -> "Data seeded from version " + appliedVersion + " to " + version);
+            return Result.success();
+        } catch (RuntimeException e) {
+            AppLog.e(TAG, "Data seeding failed at version " + appliedVersion, e);
+            return Result.retry();
+        } finally {
+            // И после сбоя: шаги до упавшего уже зафиксированы
+            TaskRepository.getInstance((Application) context).invalidateTaskSnapshots();
+        }
+    }
+
+    static int getAppliedVersion(Context context) {
+        return preferences(context).getInt(KEY_APPLIED_VERSION, 0);
+    }
+
+    private static SharedPreferences preferences(Context context) {
+        return context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    }
+}
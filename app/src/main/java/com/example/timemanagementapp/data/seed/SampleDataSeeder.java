@@ -0,0 +1,154 @@
+package com.example.timemanagementapp.data.seed;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.WorkerThread;
+
+import com.example.timemanagementapp.data.local.AppDatabase;
+import com.example.timemanagementapp.data.local.dao.ProjectDao;
+import com.example.timemanagementapp.data.local.dao.UserDao;
+import com.example.timemanagementapp.data.local.entity.Project;
+import com.example.timemanagementapp.data.local.entity.Task;
+import com.example.timemanagementapp.data.local.entity.User;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.List;
+
+/**
+ * Разовая подготовка данных: тестовые пользователи, проекты и задачи для пустой базы
+ * и исправление старых данных (русские названия проектов).
+ *
+ * Шаги пронумерованы версиями. Применённая версия хранится снаружи (см. DataSeedWorker),
+ * и выполняются только шаги новее неё, каждый в своей транзакции. Шаги идемпотентны:
+ * повторный запуск после сбоя до записи версии ничего не дублирует.
+ */
+public class SampleDataSeeder {
+    /**
+     * Версия последнего шага. Новый шаг — новый case в applyStep и +1 здесь
+     */
+    public static final int CURRENT_VERSION = 2;
+
+    static final String DEFAULT_OWNER_ID = "alice_001";
+
+    private final AppDatabase database;
+    private final UserDao userDao;
+    private final ProjectDao projectDao;
+
+    public SampleDataSeeder(@NonNull AppDatabase database) {
+        this.database = database;
+        this.userDao = database.userDao();
+        this.projectDao = database.projectDao();
+    }
+
+    /**
+     * Применяет шаги с версиями от appliedVersion + 1 до CURRENT_VERSION и возвращает новую версию
+     */
+    @WorkerThread
+    public int seed(int appliedVersion) {
+        int version = appliedVersion;
+        while (version < CURRENT_VERSION) {
+            int step = version + 1;
+            database.runInTransaction(() -> applyStep(step));
+            version = step;
+        }
+        return version;
+    }
+
+    private void applyStep(int step) {
+        switch (step) {
+            case 1:
+                insertSampleData();
+                break;
+            case 2:
+                renameLegacyProjects();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown seed step " + step);
+        }
+    }
+
+    // Версия 1: тестовые данные, только если в базе ещё нет пользователей / проектов
+    private void insertSampleData() {
+        if (userDao.getUserCountSync() == 0) {
+            userDao.insertAll(sampleUsers());
+        }
+        if (projectDao.getProjectCountSync() > 0) {
+            return;
+        }
+        Project personal = sampleProject("Особистий проект", "Особисті справи та хобі", "#FF5722");
+        Project work = sampleProject("Робота", "Робочі завдання та проекти", "#2196F3");
+        Project home = sampleProject("Дім", "Домашні справи та сімейні плани", "#4CAF50");
+        for (Project project : Arrays.asList(personal, work, home)) {
+            projectDao.insertProject(project);
+        }
+        database.taskDao().insertAllTasks(sampleTasks(work, personal, home));
+    }
+
+    // Версия 2: проекты, созданные старыми версиями приложения с русскими названиями
+    private void renameLegacyProjects() {
+        long now = System.currentTimeMillis();
+        projectDao.renameProjects("Дом Гамма", "Дім", "Домашні справи та сімейні плани", "#4CAF50", now);
+        projectDao.renameProjects("Личный проект Альфа", "Особистий проект", "Особисті справи та хобі", "#FF5722", now);
+        projectDao.renameProjects("Работа Бета", "Робота", "Робочі завдання та проекти", "#2196F3", now);
+    }
+
+    private static List<User> sampleUsers() {
+        List<User> users = new ArrayList<>();
+        users.add(sampleUser(DEFAULT_OWNER_ID, "alice@example.com", "Користувач"));
+        users.add(sampleUser("bob_002", "bob@example.com", "Bob The Builder"));
+        users.add(sampleUser("charlie_003", "charlie@example.com", "Charlie Chaplin"));
+        users.add(sampleUser("diana_004", "diana@example.com", "Diana Prince"));
+        users.add(sampleUser("edward_005", "edward@example.com", "Edward Nigma"));
+        return users;
+    }
+
+    private static User sampleUser(String userId, String email, String name) {
+        User user = new User(email, name);
+        user.setUserId(userId);
+        return user;
+    }
+
+    private static Project sampleProject(String name, String description, String colorHex) {
+        Project project = new Project(name, DEFAULT_OWNER_ID);
+        project.setDescription(description);
+        project.setColorHex(colorHex);
+        return project;
+    }
+
+    private static List<Task> sampleTasks(Project work, Project personal, Project home) {
+        Calendar calendar = Calendar.getInstance();
+        List<Task> tasks = new ArrayList<>();
+
+        calendar.add(Calendar.DAY_OF_MONTH, 3);
+        tasks.add(sampleTask("Підготувати звіт", "Зібрати дані та підготувати щомісячний звіт для керівництва",
+                calendar, 3, DEFAULT_OWNER_ID, "in_progress", work));
+
+        calendar.add(Calendar.DAY_OF_MONTH, 2);
+        tasks.add(sampleTask("Організувати зустріч", "Запланувати і провести зустріч команди для обговорення нових завдань",
+                calendar, 2, "bob_002", "todo", personal));
+
+        calendar.add(Calendar.DAY_OF_MONTH, 14);
+        tasks.add(sampleTask("Вивчити новий фреймворк", "Пройти онлайн-курс по новому фреймворку і зробити тестовий проект",
+                calendar, 1, "charlie_003", "todo", home));
+
+        calendar.add(Calendar.DAY_OF_MONTH, 1);
+        tasks.add(sampleTask("Особиста задача", "Задача без прив'язки до проекту",
+                calendar, 2, DEFAULT_OWNER_ID, "on_hold", null));
+        return tasks;
+    }
+
+    private static Task sampleTask(String title, String description, Calendar dueDate, int priority,
+                                   String assigneeUserId, String status, Project project) {
+        Task task = new Task(title, DEFAULT_OWNER_ID);
+        task.setDescription(description);
+        task.setDueDate(dueDate.getTime());
+        task.setPriority(priority);
+        task.setAssigneeUserId(assigneeUserId);
+        task.setStatus(status);
+        if (project != null) {
+            task.setProjectId(project.getProjectId());
+        }
+        return task;
+    }
+}
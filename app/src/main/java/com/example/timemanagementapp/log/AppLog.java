@@ -0,0 +1,62 @@
+package com.example.timemanagementapp.log;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.timemanagementapp.BuildConfig;
+
+/**
+ * Логирование приложения вместо прямых вызовов android.util.Log.
+ *
+ * Отладочные сообщения (d/v) пишутся только в debug-сборке: ENABLED — константа из BuildConfig,
+ * поэтому в release javac выбрасывает код под if (AppLog.ENABLED), а R8 удаляет оставшиеся вызовы
+ * d/v вместе с аргументами (см. proguard-rules.pro). Для горячих путей (bind в адаптерах, таймеры)
+ * сообщение передаётся как Message и собирается, только если его действительно пишут.
+ * Предупреждения и ошибки (w/e) пишутся во всех сборках.
+ */
+public final class AppLog {
+    public static final boolean ENABLED = BuildConfig.DEBUG;
+
+    /**
+     * Отложенная сборка текста сообщения
+     */
+    public interface Message {
+        @NonNull
+        String build();
+    }
+
+    private AppLog() {
+    }
+
+    public static void d(@NonNull String tag, @NonNull String message) {
+        if (ENABLED) {
+            Log.d(tag, message);
+        }
+    }
+
+    public static void d(@NonNull String tag, @NonNull Message message) {
+        if (ENABLED) {
+            Log.d(tag, message.build());
+        }
+    }
+
+    public static void v(@NonNull String tag, @NonNull Message message) {
+        if (ENABLED) {
+            Log.v(tag, message.build());
+        }
+    }
+
+    public static void w(@NonNull String tag, @NonNull String message) {
+        Log.w(tag, message);
+    }
+
+    public static void e(@NonNull String tag, @NonNull String message) {
+        Log.e(tag, message);
+    }
+
+    public static void e(@NonNull String tag, @NonNull String message, @Nullable Throwable error) {
+        Log.e(tag, message, error);
+    }
+}
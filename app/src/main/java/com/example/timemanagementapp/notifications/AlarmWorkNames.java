@@ -0,0 +1,59 @@
+package com.example.timemanagementapp.notifications;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Имена уникальной работы будильника ReminderScheduler.
+ *
+ * Сработавший ReminderWorker сам взводит следующий будильник (ReminderQueue.pollDue). Если поставить
+ * его под тем же именем с REPLACE, WorkManager отменит работу, которая сейчас выполняется, и она
+ * завершится как CANCELLED. Поэтому имён два: ожидающий будильник заменяется под своим именем,
+ * а после срабатывания следующий ставится под другим, не трогая работающий. Не потокобезопасен,
+ * вызывается из потока ReminderScheduler.
+ */
+final class AlarmWorkNames {
+    static final String FIRST = "task_reminder_alarm_a";
+    static final String SECOND = "task_reminder_alarm_b";
+
+    // Имя ожидающей работы будильника, null — не взведён
+    @Nullable
+    private String armed;
+    // Имя работы, которая сработала последней и, возможно, ещё выполняется
+    @Nullable
+    private String fired;
+
+    /**
+     * Имя для новой работы будильника: ставится с REPLACE и заменяет только ожидающую работу
+     */
+    @NonNull
+    String nameForArm() {
+        if (armed == null) {
+            armed = FIRST.equals(fired) ? SECOND : FIRST;
+        }
+        return armed;
+    }
+
+    /**
+     * Имя работы для отмены или null, если будильник не взведён
+     */
+    @Nullable
+    String nameForDisarm() {
+        String name = armed;
+        armed = null;
+        return name;
+    }
+
+    /**
+     * Работа с этим именем начала выполняться: следующий будильник не должен её заменить
+     */
+    void onFired(@Nullable String name) {
+        if (name == null) {
+            return;
+        }
+        fired = name;
+        if (name.equals(armed)) {
+            armed = null;
+        }
+    }
+}
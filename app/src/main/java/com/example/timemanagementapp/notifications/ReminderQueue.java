@@ -0,0 +1,159 @@
+package com.example.timemanagementapp.notifications;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Упорядоченный по времени индекс предстоящих напоминаний.
+ *
+ * Вместо отдельной отложенной работы на каждую задачу взводится один будильник —
+ * на ближайшее напоминание. Будильник перевзводится только тогда, когда меняется
+ * голова очереди, поэтому правки задач, не меняющие ближайшее время, ничего не стоят.
+ *
+ * Класс не зависит от Android: часы и будильник передаются снаружи. Не потокобезопасен,
+ * синхронизацию обеспечивает вызывающий код (ReminderScheduler).
+ */
+public class ReminderQueue {
+
+    public interface Clock {
+        long currentTimeMillis();
+    }
+
+    public interface Alarm {
+        void arm(long fireAtMillis);
+
+        void disarm();
+    }
+
+    private static final long NOT_ARMED = Long.MIN_VALUE;
+
+    private final Clock clock;
+    private final Alarm alarm;
+    private final Map<String, Long> fireTimeByTask = new HashMap<>();
+    private final TreeSet<Entry> entries = new TreeSet<>();
+    private long armedAt = NOT_ARMED;
+
+    public ReminderQueue(Clock clock, Alarm alarm) {
+        this.clock = clock;
+        this.alarm = alarm;
+    }
+
+    /**
+     * Добавляет или переносит напоминание задачи. Время в прошлом означает, что напоминать уже не о чем
+     */
+    public void schedule(String taskId, long fireAtMillis) {
+        if (fireAtMillis <= clock.currentTimeMillis()) {
+            cancel(taskId);
+            return;
+        }
+        put(taskId, fireAtMillis);
+    }
+
+    /**
+     * Восстанавливает напоминание при загрузке очереди. В отличие от schedule, принимает и прошедшее
+     * время: такое напоминание было пропущено (процесс не работал) и сработает при ближайшем pollDue
+     */
+    public void restore(String taskId, long fireAtMillis) {
+        put(taskId, fireAtMillis);
+    }
+
+    private void put(String taskId, long fireAtMillis) {
+        Long previous = fireTimeByTask.put(taskId, fireAtMillis);
+        if (previous != null) {
+            if (previous == fireAtMillis) {
+                return;
+            }
+            entries.remove(new Entry(previous, taskId));
+        }
+        entries.add(new Entry(fireAtMillis, taskId));
+        rearm();
+    }
+
+    public void cancel(String taskId) {
+        Long previous = fireTimeByTask.remove(taskId);
+        if (previous != null) {
+            entries.remove(new Entry(previous, taskId));
+            rearm();
+        }
+    }
+
+    public void clear() {
+        fireTimeByTask.clear();
+        entries.clear();
+        rearm();
+    }
+
+    /**
+     * Извлекает задачи, время напоминания которых наступило, и взводит будильник на следующее
+     */
+    public List<String> pollDue() {
+        long now = clock.currentTimeMillis();
+        List<String> due = new ArrayList<>();
+        while (!entries.isEmpty() && entries.first().fireAtMillis <= now) {
+            Entry entry = entries.pollFirst();
+            fireTimeByTask.remove(entry.taskId);
+            due.add(entry.taskId);
+        }
+        // Будильник, который привёл сюда, уже сработал
+        armedAt = NOT_ARMED;
+        rearm();
+        return due;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Время ближайшего напоминания или null, если очередь пуста
+     */
+    public Long nextFireTime() {
+        return entries.isEmpty() ? null : entries.first().fireAtMillis;
+    }
+
+    private void rearm() {
+        if (entries.isEmpty()) {
+            if (armedAt != NOT_ARMED) {
+                armedAt = NOT_ARMED;
+                alarm.disarm();
+            }
+            return;
+        }
+        long head = entries.first().fireAtMillis;
+        if (head != armedAt) {
+            armedAt = head;
+            alarm.arm(head);
+        }
+    }
+
+    private static final class Entry implements Comparable<Entry> {
+        final long fireAtMillis;
+        final String taskId;
+
+        Entry(long fireAtMillis, String taskId) {
+            this.fireAtMillis = fireAtMillis;
+            this.taskId = taskId;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            int byTime = Long.compare(fireAtMillis, other.fireAtMillis);
+            return byTime != 0 ? byTime : taskId.compareTo(other.taskId);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Entry)) return false;
+            Entry other = (Entry) o;
+            return fireAtMillis == other.fireAtMillis && taskId.equals(other.taskId);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Long.hashCode(fireAtMillis) + taskId.hashCode();
+        }
+    }
+}
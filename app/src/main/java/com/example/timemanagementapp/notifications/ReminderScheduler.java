@@ -0,0 +1,210 @@
+package com.example.timemanagementapp.notifications;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.work.Data;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkManager;
+
+import com.example.timemanagementapp.data.local.AppDatabase;
+import com.example.timemanagementapp.data.local.dao.TaskDao;
+import com.example.timemanagementapp.data.local.entity.Task;
+import com.example.timemanagementapp.data.local.model.ReminderTime;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Планировщик напоминаний о задачах.
+ *
+ * Все предстоящие напоминания лежат в памяти в ReminderQueue, а в WorkManager стоит
+ * ровно одна уникальная работа — на ближайшее из них. Сработав, ReminderWorker показывает
+ * наступившие напоминания и взводит работу на следующее (под другим именем, см. AlarmWorkNames).
+ *
+ * Окна из нескольких будильников не держим: работа WorkManager переживает смерть процесса
+ * и перезагрузку, пропущенные напоминания восстанавливаются из базы и срабатывают при ближайшем
+ * pollDue, а каждый будильник сверх первого означал бы постановку и отмену работ при правке любой
+ * из ближайших задач, а не только первой.
+ *
+ * Очередь загружается из базы при первом обращении в процессе. Момент последнего срабатывания
+ * хранится в SharedPreferences, чтобы после смерти процесса не потерять и не повторить напоминания.
+ */
+public class ReminderScheduler {
+    private static final String TAG = "ReminderScheduler";
+    private static final String PREFS_NAME = "reminder_scheduler";
+    private static final String KEY_FIRED_UP_TO = "fired_up_to_millis";
+    private static final String KEY_LEGACY_WORK_CANCELLED = "legacy_work_cancelled";
+    private static final String DEFAULT_CONTENT = "Не забудьте о вашей задаче!";
+
+    private static volatile ReminderScheduler INSTANCE;
+
+    private final Context appContext;
+    private final TaskDao taskDao;
+    private final SharedPreferences preferences;
+    // Один поток: операции над очередью выполняются строго по порядку
+    private final ExecutorService executor =
+            Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "reminder-scheduler"));
+    private final WorkManagerAlarm alarm;
+    private final ReminderQueue queue;
+    private boolean loaded;
+
+    private ReminderScheduler(Context context) {
+        appContext = context.getApplicationContext();
+        taskDao = AppDatabase.getInstance(appContext).taskDao();
+        preferences = appContext.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        alarm = new WorkManagerAlarm(appContext);
+        queue = new ReminderQueue(System::currentTimeMillis, alarm);
+    }
+
+    public static ReminderScheduler getInstance(@NonNull Context context) {
+        if (INSTANCE == null) {
+            synchronized (ReminderScheduler.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new ReminderScheduler(context);
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * Задача создана или изменена: переносит её напоминание или снимает его, если напоминание больше не нужно
+     */
+    public void onTaskSaved(@NonNull Task task) {
+        String taskId = task.getTaskId();
+        Long fireAt = reminderTimeOf(task);
+        executor.execute(() -> {
+            ensureLoaded();
+            if (fireAt == null) {
+                queue.cancel(taskId);
+            } else {
+                queue.schedule(taskId, fireAt);
+            }
+        });
+    }
+
+    public void onTaskDeleted(@NonNull String taskId) {
+        executor.execute(() -> {
+            ensureLoaded();
+            queue.cancel(taskId);
+        });
+    }
+
+    public void onAllTasksDeleted() {
+        executor.execute(() -> {
+            ensureLoaded();
+            queue.clear();
+        });
+    }
+
+    /**
+     * Показывает наступившие напоминания и взводит будильник на следующее. Вызывается из ReminderWorker
+     */
+    void fireDueReminders(@Nullable String alarmWorkName) {
+        try {
+            executor.submit(() -> {
+                // До загрузки очереди: она может взвести будильник, и он не должен заменить этот воркер
+                alarm.onFired(alarmWorkName);
+                fireDueRemindersInternal();
+            }).get();
+        } catch (ExecutionException e) {
+            Log.e(TAG, "Failed to fire due reminders", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void fireDueRemindersInternal() {
+        ensureLoaded();
+        long now = System.currentTimeMillis();
+        List<String> dueTaskIds = queue.pollDue();
+        for (String taskId : dueTaskIds) {
+            // Проверяем по базе: задача могла быть удалена каскадом или изменена в другом процессе
+            Task task = taskDao.getTaskByIdSync(taskId);
+            Long fireAt = task != null ? reminderTimeOf(task) : null;
+            if (fireAt == null || fireAt > now) {
+                continue;
+            }
+            String content = task.getDescription() != null && !task.getDescription().isEmpty()
+                    ? task.getDescription() : DEFAULT_CONTENT;
+            NotificationHelper.showReminderNotification(appContext, taskId, task.getTitle(), content);
+        }
+        preferences.edit().putLong(KEY_FIRED_UP_TO, now).apply();
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+
+        if (!preferences.getBoolean(KEY_LEGACY_WORK_CANCELLED, false)) {
+            // Раньше на каждую задачу ставилась своя работа; снимаем их все, очередь ниже их заменит.
+            // WorkManager помечает каждую работу именем класса воркера
+            WorkManager.getInstance(appContext).cancelAllWorkByTag(ReminderWorker.class.getName());
+            preferences.edit().putBoolean(KEY_LEGACY_WORK_CANCELLED, true).apply();
+        }
+
+        long firedUpTo = preferences.getLong(KEY_FIRED_UP_TO, -1);
+        if (firedUpTo < 0) {
+            // Первый запуск планировщика: прошедшие напоминания не показываем
+            firedUpTo = System.currentTimeMillis();
+            preferences.edit().putLong(KEY_FIRED_UP_TO, firedUpTo).apply();
+        }
+        List<ReminderTime> reminders = taskDao.getRemindersAfter(firedUpTo);
+        for (ReminderTime reminder : reminders) {
+            queue.restore(reminder.taskId, reminder.fireAtMillis);
+        }
+        Log.d(TAG, "Loaded " + reminders.size() + " reminders, next at " + queue.nextFireTime());
+    }
+
+    private static Long reminderTimeOf(Task task) {
+        if (task.getDueDate() == null || task.getReminderOffsetMillisBeforeDueDate() == null) {
+            return null;
+        }
+        return task.getDueDate().getTime() - task.getReminderOffsetMillisBeforeDueDate();
+    }
+
+    /**
+     * Будильник на WorkManager: одна ожидающая уникальная работа, заменяемая при переносе
+     */
+    private static class WorkManagerAlarm implements ReminderQueue.Alarm {
+        private final Context context;
+        private final AlarmWorkNames names = new AlarmWorkNames();
+
+        WorkManagerAlarm(Context context) {
+            this.context = context;
+        }
+
+        @Override
+        public void arm(long fireAtMillis) {
+            String name = names.nameForArm();
+            long delayMillis = Math.max(0, fireAtMillis - System.currentTimeMillis());
+            OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(ReminderWorker.class)
+                    .setInitialDelay(delayMillis, TimeUnit.MILLISECONDS)
+                    .setInputData(new Data.Builder().putString(ReminderWorker.KEY_ALARM_WORK_NAME, name).build())
+                    .build();
+            WorkManager.getInstance(context).enqueueUniqueWork(name, ExistingWorkPolicy.REPLACE, request);
+        }
+
+        @Override
+        public void disarm() {
+            String name = names.nameForDisarm();
+            if (name != null) {
+                WorkManager.getInstance(context).cancelUniqueWork(name);
+            }
+        }
+
+        void onFired(@Nullable String name) {
+            names.onFired(name);
+        }
+    }
+}
@@ -11,6 +11,7 @@ import androidx.core.app.NotificationManagerCompat;
 import com.example.timemanagementapp.R;
 import com.example.timemanagementapp.data.local.entity.Task;
 import android.util.Log;
+import java.util.List;
 
 /**
  * Класс для отправки уведомлений о назначенных задачах
@@ -19,6 +20,8 @@ public class TaskAssignmentNotifier {
     private static final String TAG = "TaskAssignmentNotifier";
     private static final String CHANNEL_ID = "task_assignment_channel";
     private static final int NOTIFICATION_ID_BASE = 2000; // Начало диапазона для ID уведомлений о назначенных задачах
+    private static final int BULK_NOTIFICATION_ID = NOTIFICATION_ID_BASE + 1000; // Сводное уведомление, вне диапазона одиночных
+    private static final int MAX_BULK_LINES = 5; // Сколько названий задач показывать в сводном уведомлении
 
     /**
      * Инициализирует канал уведомлений для API >= 26
@@ -83,4 +86,60 @@ public class TaskAssignmentNotifier {
             Log.e(TAG, "No permission to post notifications: " + e.getMessage());
         }
     }
-} 
\ No newline at end of file
+
+    /**
+     * Отправляет одно сводное уведомление о нескольких назначенных задачах
+     * вместо отдельного уведомления на каждую (массовое переназначение)
+     * @param context Контекст приложения
+     * @param tasks Назначенные задачи
+     * @param assigneeId ID пользователя, которому назначены задачи
+     */
+    public static void notifyTasksAssigned(Context context, List<Task> tasks, String assigneeId) {
+        if (tasks == null || tasks.isEmpty() || assigneeId == null || assigneeId.isEmpty()) {
+            Log.e(TAG, "Cannot notify with empty task list or assignee ID");
+            return;
+        }
+        if (tasks.size() == 1) {
+            notifyTaskAssigned(context, tasks.get(0), assigneeId);
+            return;
+        }
+
+        // Нажатие открывает первую задачу из списка
+        Intent intent = new Intent(context, TaskNotificationReceiver.class);
+        intent.putExtra("taskId", tasks.get(0).getTaskId());
+        intent.setAction("OPEN_TASK");
+
+        PendingIntent pendingIntent = PendingIntent.getBroadcast(
+            context,
+            BULK_NOTIFICATION_ID,
+            intent,
+            PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE
+        );
+
+        String title = "Вам призначено завдань: " + tasks.size();
+        NotificationCompat.InboxStyle style = new NotificationCompat.InboxStyle().setBigContentTitle(title);
+        int lines = Math.min(tasks.size(), MAX_BULK_LINES);
+        for (int i = 0; i < lines; i++) {
+            style.addLine(tasks.get(i).getTitle());
+        }
+        if (tasks.size() > lines) {
+            style.setSummaryText("та ще " + (tasks.size() - lines));
+        }
+
+        NotificationCompat.Builder builder = new NotificationCompat.Builder(context, CHANNEL_ID)
+            .setSmallIcon(R.drawable.ic_notification)
+            .setContentTitle(title)
+            .setContentText(tasks.get(0).getTitle())
+            .setStyle(style)
+            .setNumber(tasks.size())
+            .setPriority(NotificationCompat.PRIORITY_DEFAULT)
+            .setContentIntent(pendingIntent)
+            .setAutoCancel(true);
+
+        try {
+            NotificationManagerCompat.from(context).notify(BULK_NOTIFICATION_ID, builder.build());
+        } catch (SecurityException e) {
+            Log.e(TAG, "No permission to post notifications: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.timemanagementapp.startup;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.startup.Initializer;
+import androidx.work.WorkManagerInitializer;
+
+import com.example.timemanagementapp.data.AppExecutors;
+import com.example.timemanagementapp.data.seed.DataSeedWorker;
+import com.example.timemanagementapp.notifications.NotificationHelper;
+import com.example.timemanagementapp.notifications.TaskAssignmentNotifier;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Инициализация приложения через App Startup (см. InitializationProvider в манифесте).
+ *
+ * В главном потоке ничего не делает: каналы уведомлений и проверка версии данных выполняются
+ * в пуле чтения, а подготовка данных, если она нужна, ставится в WorkManager (DataSeedWorker).
+ * Раньше всё это происходило в конструкторе TaskViewModel и MainActivity.onCreate на каждом запуске.
+ */
+public class AppInitializer implements Initializer<Void> {
+    @Override
+    public Void create(@NonNull Context context) {
+        Context appContext = context.getApplicationContext();
+        AppExecutors.getInstance(appContext).diskRead().execute(() -> {
+            NotificationHelper.createNotificationChannel(appContext);
+            TaskAssignmentNotifier.createNotificationChannel(appContext);
+            DataSeedWorker.enqueueIfNeeded(appContext);
+        });
+        return null;
+    }
+
+    @NonNull
+    @Override
+    public List<Class<? extends Initializer<?>>> dependencies() {
+        // DataSeedWorker ставится через WorkManager.getInstance
+        return Collections.singletonList(WorkManagerInitializer.class);
+    }
+}
@@ -6,27 +6,34 @@ import android.view.ViewGroup;
 import android.widget.ImageButton;
 import android.widget.TextView;
 import androidx.annotation.NonNull;
-import androidx.annotation.Nullable;
-import androidx.recyclerview.widget.DiffUtil;
-import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 import com.example.timemanagementapp.R;
+import com.example.timemanagementapp.data.CommentListUpdate;
+import com.example.timemanagementapp.data.UserDirectory;
 import com.example.timemanagementapp.data.local.entity.TaskComment;
-import com.example.timemanagementapp.data.local.entity.User;
-import java.text.SimpleDateFormat;
+import com.example.timemanagementapp.log.AppLog;
+import com.example.timemanagementapp.ui.format.DateTextFormatter;
+import java.util.ArrayList;
 import java.util.Date;
-import java.util.Locale;
-import java.util.Map;
-import java.util.HashMap;
 import java.util.List;
-import android.util.Log;
 
-public class CommentAdapter extends ListAdapter<TaskComment, CommentAdapter.CommentViewHolder> {
+/**
+ * Комментарии задачи из TaskCommentPager. Адаптер хранит свою копию списка и применяет к ней
+ * изменения по порядку версий с точечными notifyItemRange*: новые комментарии и очередная страница
+ * добавляются без копирования и пересравнения всего списка
+ */
+public class CommentAdapter extends RecyclerView.Adapter<CommentAdapter.CommentViewHolder> {
     private static final String TAG = "CommentsDebug";
-    private static final SimpleDateFormat dateFormat = new SimpleDateFormat("dd MMM yyyy HH:mm", Locale.getDefault());
-    private Map<String, User> userCache = new HashMap<>();
+    private final DateTextFormatter dateTextFormatter = new DateTextFormatter();
+    private static final String UNKNOWN_AUTHOR = "Пользователь";
+    // Payload для частичной перерисовки: изменилось только имя автора
+    private static final Object PAYLOAD_AUTHOR = new Object();
+    private UserDirectory userDirectory = UserDirectory.EMPTY;
     private final OnCommentActionListener listener;
     private String currentUserId;
+    private final List<TaskComment> comments = new ArrayList<>();
+    // Версия CommentListUpdate, которую сейчас показывает адаптер; 0 — ещё ничего не показано
+    private int shownVersion;
 
     public interface OnCommentActionListener {
         void onEditComment(TaskComment comment);
@@ -35,40 +42,42 @@ public class CommentAdapter extends ListAdapter<TaskComment, CommentAdapter.Comm
     }
 
     public CommentAdapter(OnCommentActionListener listener, String currentUserId) {
-        super(DIFF_CALLBACK);
         this.listener = listener;
         this.currentUserId = currentUserId;
     }
 
-    private static final DiffUtil.ItemCallback<TaskComment> DIFF_CALLBACK = new DiffUtil.ItemCallback<TaskComment>() {
-        @Override
-        public boolean areItemsTheSame(@NonNull TaskComment oldItem, @NonNull TaskComment newItem) {
-            return oldItem.getCommentId().equals(newItem.getCommentId());
-        }
-
-        @Override
-        public boolean areContentsTheSame(@NonNull TaskComment oldItem, @NonNull TaskComment newItem) {
-            return oldItem.getText().equals(newItem.getText()) &&
-                   oldItem.getUpdatedAt().equals(newItem.getUpdatedAt());
-        }
-    };
-
     @NonNull
     @Override
     public CommentViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
-        Log.d(TAG, "CommentAdapter: onCreateViewHolder, viewType: " + viewType);
+        AppLog.d(TAG, () -> "CommentAdapter: onCreateViewHolder, viewType: " + viewType);
         View view = LayoutInflater.from(parent.getContext())
                 .inflate(R.layout.item_comment, parent, false);
         return new CommentViewHolder(view);
     }
 
+    @Override
+    public void onBindViewHolder(@NonNull CommentViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (!payloads.isEmpty() && onlyAuthorChanged(payloads)) {
+            bindAuthor(holder, getItem(position));
+            return;
+        }
+        super.onBindViewHolder(holder, position, payloads);
+    }
+
+    private static boolean onlyAuthorChanged(List<Object> payloads) {
+        for (Object payload : payloads) {
+            if (payload != PAYLOAD_AUTHOR) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     public void onBindViewHolder(@NonNull CommentViewHolder holder, int position) {
         TaskComment comment = getItem(position);
-        Log.d(TAG, "CommentAdapter: onBindViewHolder for position " + position + ", comment ID: " + comment.getCommentId() + " by user: " + comment.getUserId());
-        User author = userCache.get(comment.getUserId());
-        
-        holder.authorText.setText(author != null ? author.getName() : "Пользователь");
+        AppLog.d(TAG, () -> "CommentAdapter: onBindViewHolder for position " + position + ", comment ID: " + comment.getCommentId() + " by user: " + comment.getUserId());
+        bindAuthor(holder, comment);
         holder.contentText.setText(comment.getText());
         
         String dateStr = formatDate(comment.getUpdatedAt() != null ? 
@@ -95,25 +104,68 @@ public class CommentAdapter extends ListAdapter<TaskComment, CommentAdapter.Comm
     }
 
     @Override
-    public void submitList(@Nullable List<TaskComment> list) {
-        super.submitList(list);
-        Log.d(TAG, "CommentAdapter: submitList called. New list size: " + (list == null ? "null" : list.size()) + ", Current item count: " + getItemCount());
+    public int getItemCount() {
+        return comments.size();
+    }
+
+    private TaskComment getItem(int position) {
+        return comments.get(position);
+    }
+
+    /**
+     * Применяет изменение списка. Возвращает false, если изменение нельзя применить: предыдущая версия
+     * не была показана (адаптер создан заново, наблюдатель был неактивен). Тогда список остаётся прежним,
+     * а вызывающий запрашивает у пейджера полный список (TaskCommentPager.requestReset)
+     */
+    public boolean applyUpdate(@NonNull CommentListUpdate update) {
+        if (update.type != CommentListUpdate.Type.RESET && update.version != shownVersion + 1) {
+            AppLog.d(TAG, () -> "CommentAdapter: skipped " + update.type + " v" + update.version
+                    + ", shown v" + shownVersion);
+            return false;
+        }
+        update.applyTo(comments);
+        shownVersion = update.version;
+        if (update.type == CommentListUpdate.Type.RESET) {
+            notifyDataSetChanged();
+        } else if (update.type == CommentListUpdate.Type.INSERTED) {
+            notifyItemRangeInserted(update.position, update.count);
+        } else if (update.type == CommentListUpdate.Type.CHANGED) {
+            notifyItemChanged(update.position);
+        } else {
+            notifyItemRangeRemoved(update.position, update.count);
+        }
+        AppLog.d(TAG, () -> "CommentAdapter: applied " + update.type + " v" + update.version
+                + ", item count: " + comments.size());
+        return true;
     }
 
-    public void updateUserCache(Map<String, User> users) {
-        Log.d(TAG, "CommentAdapter: updateUserCache called. Users map size: " + (users == null ? "null" : users.size()));
-        if (users != null) {
-            userCache.clear();
-            userCache.putAll(users);
-            // Рекомендуется избегать notifyDataSetChanged() с ListAdapter, если возможно.
-            // Обновление имен пользователей может потребовать перерисовки видимых элементов.
-            Log.d(TAG, "CommentAdapter: Notifying dataset changed after user cache update.");
-            notifyDataSetChanged(); 
+    private void bindAuthor(CommentViewHolder holder, TaskComment comment) {
+        holder.authorText.setText(userDirectory.getNameOrDefault(comment.getUserId(), UNKNOWN_AUTHOR));
+    }
+
+    /**
+     * Новый справочник пользователей (общий с выбором исполнителя в TaskEditFragment). Вместо notifyDataSetChanged()
+     * перерисовывается только имя автора в тех комментариях, где оно изменилось
+     */
+    public void updateUserDirectory(UserDirectory directory) {
+        UserDirectory oldDirectory = userDirectory;
+        userDirectory = directory != null ? directory : UserDirectory.EMPTY;
+        if (oldDirectory == userDirectory) {
+            return;
+        }
+        int changed = 0;
+        for (int position = 0; position < comments.size(); position++) {
+            if (UserDirectory.isNameChanged(oldDirectory, userDirectory, comments.get(position).getUserId())) {
+                notifyItemChanged(position, PAYLOAD_AUTHOR);
+                changed++;
+            }
         }
+        int reboundCount = changed;
+        AppLog.d(TAG, () -> "CommentAdapter: user directory updated. Users: " + userDirectory.size() + ", rebound comments: " + reboundCount);
     }
 
     private String formatDate(Date date) {
-        return date != null ? dateFormat.format(date) : "";
+        return date != null ? dateTextFormatter.formatDayTime(date.getTime()) : "";
     }
 
     static class CommentViewHolder extends RecyclerView.ViewHolder {
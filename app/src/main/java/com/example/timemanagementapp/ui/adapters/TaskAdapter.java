@@ -7,55 +7,41 @@ import android.view.ViewGroup;
 import android.widget.TextView;
 import androidx.annotation.NonNull;
 import androidx.core.content.ContextCompat;
-import androidx.recyclerview.widget.DiffUtil;
-import androidx.recyclerview.widget.ListAdapter;
+import androidx.paging.PagingDataAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 import com.example.timemanagementapp.R;
 import com.example.timemanagementapp.data.local.entity.Task;
-import com.example.timemanagementapp.data.local.entity.User;
+import com.example.timemanagementapp.data.local.model.TaskWithRelations;
+import com.example.timemanagementapp.log.AppLog;
+import com.example.timemanagementapp.ui.format.DateTextFormatter;
 import com.example.timemanagementapp.ui.tasks.TaskViewModel;
-import java.text.SimpleDateFormat;
-import java.util.Locale;
-import android.util.Log;
-import java.util.Objects;
-import java.util.List;
+import com.example.timemanagementapp.ui.timer.ElapsedTimeFormatter;
+import com.example.timemanagementapp.ui.timer.TimerTicker;
 import java.util.ArrayList;
+import java.util.List;
 
-public class TaskAdapter extends ListAdapter<Task, TaskAdapter.TaskViewHolder> {
+/**
+ * Адаптер списка задач. Работает поверх PagingData: постраничные данные из Room
+ * (TaskListFragment) или готовый список через PagingData.from(...) (CalendarFragment).
+ * DiffUtil при этом считается в фоновом потоке.
+ * Строки приходят как TaskWithRelations: имя исполнителя и проект уже подтянуты JOIN-запросом.
+ * Время запущенных таймеров обновляется по тикам TimerTicker (см. onTick), без перерисовки строк.
+ */
+public class TaskAdapter extends PagingDataAdapter<TaskWithRelations, TaskAdapter.TaskViewHolder>
+        implements TimerTicker.OnTickListener {
     private static final String TAG = "TaskAdapter";
     private OnItemClickListener listener;
-    private static final SimpleDateFormat dateFormat = new SimpleDateFormat("dd MMM yyyy", Locale.getDefault());
+    // Кэширует строки по дням: повторный bind той же даты не создаёт объектов
+    private final DateTextFormatter dateTextFormatter = new DateTextFormatter();
     private TaskViewModel taskViewModel;
-    private List<User> userList = new ArrayList<>();
+    // Строки, прикреплённые к RecyclerView: только их обновляет тик таймера
+    private final List<TaskViewHolder> attachedHolders = new ArrayList<>();
 
     public TaskAdapter(TaskViewModel taskViewModel) {
-        super(DIFF_CALLBACK);
+        super(new TaskItemDiffCallback());
         this.taskViewModel = taskViewModel;
     }
 
-    private static final DiffUtil.ItemCallback<Task> DIFF_CALLBACK = new DiffUtil.ItemCallback<Task>() {
-        @Override
-        public boolean areItemsTheSame(@NonNull Task oldItem, @NonNull Task newItem) {
-            return oldItem.getTaskId().equals(newItem.getTaskId());
-        }
-
-        @Override
-        public boolean areContentsTheSame(@NonNull Task oldItem, @NonNull Task newItem) {
-            Log.d("DiffUtil", "Comparing tasks: ID " + oldItem.getTaskId() + " Title: " + oldItem.getTitle());
-            Log.d("DiffUtil", "Old - startTime: " + oldItem.getTimeTrackingStartTimeMillis() + ", spent: " + oldItem.getTimeSpentMillis());
-            Log.d("DiffUtil", "New - startTime: " + newItem.getTimeTrackingStartTimeMillis() + ", spent: " + newItem.getTimeSpentMillis());
-            boolean result = oldItem.getTitle().equals(newItem.getTitle()) &&
-                    oldItem.getStatus().equals(newItem.getStatus()) &&
-                    oldItem.getPriority() == newItem.getPriority() &&
-                    Objects.equals(oldItem.getDueDate(), newItem.getDueDate()) &&
-                    oldItem.getTimeSpentMillis() == newItem.getTimeSpentMillis() &&
-                    Objects.equals(oldItem.getAssigneeUserId(), newItem.getAssigneeUserId()) &&
-                    Objects.equals(oldItem.getTimeTrackingStartTimeMillis(), newItem.getTimeTrackingStartTimeMillis());
-            Log.d("DiffUtil", "Result of areContentsTheSame: " + result);
-            return result;
-        }
-    };
-
     @NonNull
     @Override
     public TaskViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
@@ -64,42 +50,81 @@ public class TaskAdapter extends ListAdapter<Task, TaskAdapter.TaskViewHolder> {
         return new TaskViewHolder(itemView);
     }
 
+    @Override
+    public void onBindViewHolder(@NonNull TaskViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.isEmpty()) {
+            super.onBindViewHolder(holder, position, payloads);
+            return;
+        }
+        TaskWithRelations row = getItem(position);
+        if (row == null) {
+            return;
+        }
+        // Несколько обновлений между кадрами приходят списком — объединяем маски
+        int changes = 0;
+        for (Object payload : payloads) {
+            changes |= payload instanceof Integer ? (Integer) payload : TaskItemDiffCallback.CHANGE_ALL;
+        }
+        bindChanges(holder, row, changes);
+    }
+
     @Override
     public void onBindViewHolder(@NonNull TaskViewHolder holder, int position) {
-        Task currentTask = getItem(position);
-        Log.d(TAG, "onBindViewHolder for task: " + currentTask.getTitle() + " ID: " + currentTask.getTaskId() + " startTime: " + currentTask.getTimeTrackingStartTimeMillis() + " totalSpent: " + currentTask.getTimeSpentMillis());
-        holder.textViewTitle.setText(currentTask.getTitle());
-        
-        // Форматирование и отображение даты
-        if (currentTask.getDueDate() != null) {
+        TaskWithRelations row = getItem(position);
+        if (row == null) {
+            // Плейсхолдеры отключены, но страница могла быть ещё не загружена
+            return;
+        }
+        Task currentTask = row.task;
+        AppLog.d(TAG, () -> "onBindViewHolder for task: " + currentTask.getTitle() + " ID: " + currentTask.getTaskId() + " startTime: " + currentTask.getTimeTrackingStartTimeMillis() + " totalSpent: " + currentTask.getTimeSpentMillis());
+        bindChanges(holder, row, TaskItemDiffCallback.CHANGE_ALL);
+    }
+
+    private void bindChanges(TaskViewHolder holder, TaskWithRelations row, int changes) {
+        Task currentTask = row.task;
+        if ((changes & TaskItemDiffCallback.CHANGE_TITLE) != 0) {
+            holder.textViewTitle.setText(currentTask.getTitle());
+        }
+        if ((changes & TaskItemDiffCallback.CHANGE_DUE_DATE) != 0) {
+            bindDueDate(holder, currentTask);
+        }
+        if ((changes & TaskItemDiffCallback.CHANGE_ASSIGNEE) != 0) {
+            bindAssignee(holder, row);
+        }
+        if ((changes & TaskItemDiffCallback.CHANGE_PROJECT) != 0) {
+            bindProject(holder, row);
+        }
+        if ((changes & TaskItemDiffCallback.CHANGE_STATUS) != 0) {
+            // Здесь можно также добавить логику для изменения фона/цвета текста статуса, если потребуется
+            holder.textViewStatus.setText(currentTask.getStatus());
+        }
+        if ((changes & TaskItemDiffCallback.CHANGE_PRIORITY) != 0) {
+            bindPriority(holder, currentTask);
+        }
+        if ((changes & TaskItemDiffCallback.CHANGE_TIMER) != 0) {
+            bindTimer(holder, currentTask);
+        }
+        if ((changes & TaskItemDiffCallback.CHANGE_COMMENTS) != 0) {
+            bindCommentCount(holder, row);
+        }
+    }
+
+    // Форматирование и отображение даты
+    private void bindDueDate(TaskViewHolder holder, Task task) {
+        if (task.getDueDate() != null) {
             holder.textViewDueDate.setVisibility(View.VISIBLE);
-            holder.textViewDueDate.setText(dateFormat.format(currentTask.getDueDate()));
+            holder.textViewDueDate.setText(dateTextFormatter.formatDay(task.getDueDate().getTime()));
         } else {
             holder.textViewDueDate.setVisibility(View.GONE);
         }
-        
-        // Отображение исполнителя
-        if (currentTask.getAssigneeUserId() != null && !currentTask.getAssigneeUserId().isEmpty()) {
-            String assigneeName = getUserNameById(currentTask.getAssigneeUserId());
-            holder.textViewTaskAssignee.setText(
-                String.format(holder.itemView.getContext().getString(R.string.assignee_format), assigneeName)
-            );
-            holder.textViewTaskAssignee.setVisibility(View.VISIBLE);
-        } else {
-            holder.textViewTaskAssignee.setVisibility(View.GONE);
-        }
-
-        // Отображение статуса
-        holder.textViewStatus.setText(currentTask.getStatus());
-        // Здесь можно также добавить логику для изменения фона/цвета текста статуса, если потребуется
-        // Например, holder.textViewStatus.setBackgroundResource(R.drawable.status_background_completed);
+    }
 
-        // Отображение приоритета
+    private void bindPriority(TaskViewHolder holder, Task task) {
         String priorityText;
         int priorityColorResId;
         int priorityTextColor = Color.WHITE; // По умолчанию белый текст
 
-        switch (currentTask.getPriority()) {
+        switch (task.getPriority()) {
             case 1: // Низкий
                 priorityText = "Низкий";
                 priorityColorResId = R.drawable.priority_background_low;
@@ -117,82 +142,174 @@ public class TaskAdapter extends ListAdapter<Task, TaskAdapter.TaskViewHolder> {
         holder.textViewPriority.setText(priorityText);
         holder.textViewPriority.setBackgroundResource(priorityColorResId);
         holder.textViewPriority.setTextColor(priorityTextColor);
+    }
 
-        // Отображение затраченного времени и управление таймером
-        long displayTimeMillis;
-        if (currentTask.getTimeTrackingStartTimeMillis() != null && currentTask.getTimeTrackingStartTimeMillis() > 0) {
-            // Таймер запущен
-            displayTimeMillis = currentTask.getTimeSpentMillis() + (System.currentTimeMillis() - currentTask.getTimeTrackingStartTimeMillis());
+    // Затраченное время и иконка кнопки таймера. Обработчик клика задан один раз во ViewHolder
+    private void bindTimer(TaskViewHolder holder, Task task) {
+        holder.spentMillis = task.getTimeSpentMillis();
+        if (isTimerRunning(task)) {
+            holder.runningSinceMillis = task.getTimeTrackingStartTimeMillis();
             holder.buttonPlayPauseTimer.setImageResource(R.drawable.ic_stop);
-            Log.d(TAG, "Task " + currentTask.getTaskId() + ": Timer RUNNING. Setting ic_stop. Calculated displayTime: " + displayTimeMillis);
-            holder.buttonPlayPauseTimer.setOnClickListener(v -> {
-                Log.d(TAG, "Stop button clicked for task: " + currentTask.getTaskId());
-                taskViewModel.stopTrackingTime(currentTask);
-            });
         } else {
-            // Таймер остановлен
-            displayTimeMillis = currentTask.getTimeSpentMillis();
+            holder.runningSinceMillis = 0;
             holder.buttonPlayPauseTimer.setImageResource(R.drawable.ic_play_arrow);
-            Log.d(TAG, "Task " + currentTask.getTaskId() + ": Timer STOPPED. Setting ic_play_arrow. DisplayTime: " + displayTimeMillis);
-            holder.buttonPlayPauseTimer.setOnClickListener(v -> {
-                Log.d(TAG, "Play button clicked for task: " + currentTask.getTaskId());
-                taskViewModel.startTrackingTime(currentTask);
-            });
         }
+        holder.showElapsed(System.currentTimeMillis());
+        holder.textViewTimeSpent.setVisibility(View.VISIBLE);
+    }
 
-        if (displayTimeMillis > 0) {
-            holder.textViewTimeSpent.setVisibility(View.VISIBLE);
-            holder.textViewTimeSpent.setText(formatMillisToTime(displayTimeMillis));
-        } else {
-            // Если общее время 0 и таймер не запущен, можно скрыть или показать 0
-            holder.textViewTimeSpent.setText(formatMillisToTime(0)); // Показываем "0 сек"
-            holder.textViewTimeSpent.setVisibility(View.VISIBLE); // или View.GONE если предпочитаете скрыть
+    /**
+     * Тик общих часов: обновляет только текст времени у видимых строк с запущенным таймером.
+     * Без аллокаций и без записи в базу — накопленное время сохраняется при остановке таймера
+     */
+    @Override
+    public void onTick(long nowMillis) {
+        for (int i = 0; i < attachedHolders.size(); i++) {
+            TaskViewHolder holder = attachedHolders.get(i);
+            if (holder.runningSinceMillis > 0) {
+                holder.showElapsed(nowMillis);
+            }
+        }
+    }
+
+    @Override
+    public void onViewAttachedToWindow(@NonNull TaskViewHolder holder) {
+        super.onViewAttachedToWindow(holder);
+        attachedHolders.add(holder);
+        // Пока строка была откреплена, тики её не обновляли
+        if (holder.runningSinceMillis > 0) {
+            holder.showElapsed(System.currentTimeMillis());
         }
     }
 
-    private String formatMillisToTime(long millis) {
-        long seconds = (millis / 1000) % 60;
-        long minutes = (millis / (1000 * 60)) % 60;
-        long hours = (millis / (1000 * 60 * 60)); // Не ограничиваем 24 часами, т.к. это общее время
-        if (hours > 0) {
-            return String.format(Locale.getDefault(), "%d ч %02d мин", hours, minutes);
-        } else if (minutes > 0) {
-            return String.format(Locale.getDefault(), "%d мин %02d сек", minutes, seconds);
+    @Override
+    public void onViewDetachedFromWindow(@NonNull TaskViewHolder holder) {
+        super.onViewDetachedFromWindow(holder);
+        attachedHolders.remove(holder);
+    }
+
+    private static boolean isTimerRunning(Task task) {
+        return task.getTimeTrackingStartTimeMillis() != null && task.getTimeTrackingStartTimeMillis() > 0;
+    }
+
+    // Отображение исполнителя: имя уже в строке (LEFT JOIN users)
+    private void bindAssignee(TaskViewHolder holder, TaskWithRelations row) {
+        String assigneeId = row.task.getAssigneeUserId();
+        if (assigneeId != null && !assigneeId.isEmpty()) {
+            // Если пользователь не найден, показываем ID
+            String assigneeName = row.assigneeName != null ? row.assigneeName : assigneeId;
+            holder.textViewTaskAssignee.setText(
+                String.format(holder.itemView.getContext().getString(R.string.assignee_format), assigneeName)
+            );
+            holder.textViewTaskAssignee.setVisibility(View.VISIBLE);
         } else {
-            return String.format(Locale.getDefault(), "%d сек", seconds);
+            holder.textViewTaskAssignee.setVisibility(View.GONE);
+        }
+    }
+
+    // Отображение проекта: название и цвет из той же строки (LEFT JOIN projects)
+    private void bindProject(TaskViewHolder holder, TaskWithRelations row) {
+        if (row.projectName == null) {
+            holder.textViewTaskProject.setVisibility(View.GONE);
+            return;
+        }
+        holder.textViewTaskProject.setText(
+            String.format(holder.itemView.getContext().getString(R.string.project_format), row.projectName)
+        );
+        holder.textViewTaskProject.setTextColor(parseProjectColor(row.projectColor, holder.projectDefaultTextColor));
+        holder.textViewTaskProject.setVisibility(View.VISIBLE);
+    }
+
+    // Число комментариев: готовое значение из строки (task_comment_counts), без запроса на каждую задачу
+    private void bindCommentCount(TaskViewHolder holder, TaskWithRelations row) {
+        if (row.commentCount <= 0) {
+            holder.textViewCommentCount.setVisibility(View.GONE);
+            return;
+        }
+        holder.textViewCommentCount.setText(
+            String.format(holder.itemView.getContext().getString(R.string.comment_count_format), row.commentCount)
+        );
+        holder.textViewCommentCount.setVisibility(View.VISIBLE);
+    }
+
+    private static int parseProjectColor(String colorHex, int fallback) {
+        if (colorHex == null) {
+            return fallback;
+        }
+        try {
+            return Color.parseColor(colorHex);
+        } catch (IllegalArgumentException e) {
+            return fallback;
         }
     }
 
     public Task getTaskAt(int position) {
-        return getItem(position);
+        TaskWithRelations row = getItem(position);
+        return row != null ? row.task : null;
     }
 
     class TaskViewHolder extends RecyclerView.ViewHolder {
         private TextView textViewTitle;
         private TextView textViewDueDate;
         private TextView textViewTaskAssignee;
+        private TextView textViewTaskProject;
+        // Цвет из темы для проектов без своего цвета (ViewHolder переиспользуется)
+        private final int projectDefaultTextColor;
         private TextView textViewStatus;
         private TextView textViewPriority;
         private TextView textViewTimeSpent;
+        private TextView textViewCommentCount;
         private android.widget.ImageButton buttonPlayPauseTimer;
+        // Состояние таймера на момент bind и свой буфер текста: TextView держит ссылку на переданный char[]
+        private long spentMillis;
+        private long runningSinceMillis;
+        private final char[] timeText = new char[ElapsedTimeFormatter.BUFFER_SIZE];
 
         public TaskViewHolder(@NonNull View itemView) {
             super(itemView);
             textViewTitle = itemView.findViewById(R.id.text_view_task_title);
             textViewDueDate = itemView.findViewById(R.id.text_view_task_due_date);
             textViewTaskAssignee = itemView.findViewById(R.id.text_view_task_assignee);
+            textViewTaskProject = itemView.findViewById(R.id.text_view_task_project);
+            projectDefaultTextColor = textViewTaskProject.getCurrentTextColor();
             textViewStatus = itemView.findViewById(R.id.text_view_task_status);
             textViewPriority = itemView.findViewById(R.id.text_view_task_priority);
             textViewTimeSpent = itemView.findViewById(R.id.text_view_time_spent);
+            textViewCommentCount = itemView.findViewById(R.id.text_view_task_comment_count);
             buttonPlayPauseTimer = itemView.findViewById(R.id.button_play_pause_timer);
 
             itemView.setOnClickListener(v -> {
-                int position = getAdapterPosition();
-                if (listener != null && position != RecyclerView.NO_POSITION) {
-                    listener.onItemClick(getItem(position));
+                TaskWithRelations row = currentRow();
+                if (listener != null && row != null) {
+                    listener.onItemClick(row.task);
+                }
+            });
+
+            // Состояние таймера читается в момент клика, а не захватывается при bind
+            buttonPlayPauseTimer.setOnClickListener(v -> {
+                TaskWithRelations row = currentRow();
+                if (row == null) {
+                    return;
+                }
+                if (isTimerRunning(row.task)) {
+                    AppLog.d(TAG, () -> "Stop button clicked for task: " + row.task.getTaskId());
+                    taskViewModel.stopTrackingTime(row.task);
+                } else {
+                    AppLog.d(TAG, () -> "Play button clicked for task: " + row.task.getTaskId());
+                    taskViewModel.startTrackingTime(row.task);
                 }
             });
         }
+
+        void showElapsed(long nowMillis) {
+            long elapsed = runningSinceMillis > 0 ? spentMillis + (nowMillis - runningSinceMillis) : spentMillis;
+            textViewTimeSpent.setText(timeText, 0, ElapsedTimeFormatter.format(elapsed, timeText));
+        }
+
+        private TaskWithRelations currentRow() {
+            int position = getAdapterPosition();
+            return position != RecyclerView.NO_POSITION ? getItem(position) : null;
+        }
     }
 
     public interface OnItemClickListener {
@@ -202,19 +319,4 @@ public class TaskAdapter extends ListAdapter<Task, TaskAdapter.TaskViewHolder> {
     public void setOnItemClickListener(OnItemClickListener listener) {
         this.listener = listener;
     }
-
-    public void setUserList(List<User> users) {
-        this.userList = users != null ? users : new ArrayList<>();
-        notifyDataSetChanged();
-    }
-
-    private String getUserNameById(String userId) {
-        if (userId == null) return "";
-        for (User user : userList) {
-            if (userId.equals(user.getUserId())) {
-                return user.getName();
-            }
-        }
-        return userId; // Если не найдено, возвращаем ID
-    }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,92 @@
+package com.example.timemanagementapp.ui.adapters;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.DiffUtil;
+
+import com.example.timemanagementapp.data.local.entity.Task;
+import com.example.timemanagementapp.data.local.model.TaskWithRelations;
+
+import java.util.Objects;
+
+/**
+ * DiffUtil для строк TaskAdapter с payload по полям.
+ *
+ * Payload — битовая маска изменившихся групп полей (Integer), TaskAdapter перерисовывает
+ * только соответствующие view. Например, запуск таймера меняет лишь кнопку и время,
+ * без форматирования даты, имени исполнителя и проекта.
+ */
+public class TaskItemDiffCallback extends DiffUtil.ItemCallback<TaskWithRelations> {
+    public static final int CHANGE_TITLE = 1;
+    public static final int CHANGE_DUE_DATE = 1 << 1;
+    public static final int CHANGE_ASSIGNEE = 1 << 2;
+    public static final int CHANGE_PROJECT = 1 << 3;
+    public static final int CHANGE_STATUS = 1 << 4;
+    public static final int CHANGE_PRIORITY = 1 << 5;
+    public static final int CHANGE_TIMER = 1 << 6;
+    public static final int CHANGE_COMMENTS = 1 << 7;
+    // Все группы: полная перерисовка строки
+    public static final int CHANGE_ALL = (1 << 8) - 1;
+    // Готовые payload на каждую маску: Integer.valueOf кэширует только значения до 127
+    private static final Integer[] PAYLOADS = new Integer[CHANGE_ALL + 1];
+
+    static {
+        for (int mask = 0; mask <= CHANGE_ALL; mask++) {
+            PAYLOADS[mask] = mask;
+        }
+    }
+
+    @Override
+    public boolean areItemsTheSame(@NonNull TaskWithRelations oldRow, @NonNull TaskWithRelations newRow) {
+        return oldRow.task.getTaskId().equals(newRow.task.getTaskId());
+    }
+
+    @Override
+    public boolean areContentsTheSame(@NonNull TaskWithRelations oldRow, @NonNull TaskWithRelations newRow) {
+        return changedFields(oldRow, newRow) == 0;
+    }
+
+    @Nullable
+    @Override
+    public Object getChangePayload(@NonNull TaskWithRelations oldRow, @NonNull TaskWithRelations newRow) {
+        return PAYLOADS[changedFields(oldRow, newRow)];
+    }
+
+    /**
+     * Битовая маска CHANGE_* групп полей, которые отличаются в двух версиях строки
+     */
+    public static int changedFields(@NonNull TaskWithRelations oldRow, @NonNull TaskWithRelations newRow) {
+        Task oldTask = oldRow.task;
+        Task newTask = newRow.task;
+        int changes = 0;
+        if (!Objects.equals(oldTask.getTitle(), newTask.getTitle())) {
+            changes |= CHANGE_TITLE;
+        }
+        if (!Objects.equals(oldTask.getDueDate(), newTask.getDueDate())) {
+            changes |= CHANGE_DUE_DATE;
+        }
+        if (!Objects.equals(oldTask.getAssigneeUserId(), newTask.getAssigneeUserId())
+                || !Objects.equals(oldRow.assigneeName, newRow.assigneeName)) {
+            changes |= CHANGE_ASSIGNEE;
+        }
+        if (!Objects.equals(oldTask.getProjectId(), newTask.getProjectId())
+                || !Objects.equals(oldRow.projectName, newRow.projectName)
+                || !Objects.equals(oldRow.projectColor, newRow.projectColor)) {
+            changes |= CHANGE_PROJECT;
+        }
+        if (!Objects.equals(oldTask.getStatus(), newTask.getStatus())) {
+            changes |= CHANGE_STATUS;
+        }
+        if (oldTask.getPriority() != newTask.getPriority()) {
+            changes |= CHANGE_PRIORITY;
+        }
+        if (oldTask.getTimeSpentMillis() != newTask.getTimeSpentMillis()
+                || !Objects.equals(oldTask.getTimeTrackingStartTimeMillis(), newTask.getTimeTrackingStartTimeMillis())) {
+            changes |= CHANGE_TIMER;
+        }
+        if (oldRow.commentCount != newRow.commentCount) {
+            changes |= CHANGE_COMMENTS;
+        }
+        return changes;
+    }
+}
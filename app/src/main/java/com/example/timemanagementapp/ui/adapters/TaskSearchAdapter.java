@@ -0,0 +1,106 @@
+package com.example.timemanagementapp.ui.adapters;
+
+import android.graphics.Typeface;
+import android.text.SpannableStringBuilder;
+import android.text.Spanned;
+import android.text.style.StyleSpan;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
+import androidx.recyclerview.widget.RecyclerView;
+import com.example.timemanagementapp.R;
+import com.example.timemanagementapp.data.search.TaskSearch;
+import com.example.timemanagementapp.data.search.TaskSearchResult;
+
+/**
+ * Результаты поиска по задачам: название и фрагмент текста с выделенными жирным совпадениями
+ */
+public class TaskSearchAdapter extends ListAdapter<TaskSearchResult, TaskSearchAdapter.SearchViewHolder> {
+
+    public interface OnResultClickListener {
+        void onResultClick(String taskId);
+    }
+
+    private final OnResultClickListener listener;
+
+    public TaskSearchAdapter(@NonNull OnResultClickListener listener) {
+        super(DIFF_CALLBACK);
+        this.listener = listener;
+    }
+
+    private static final DiffUtil.ItemCallback<TaskSearchResult> DIFF_CALLBACK =
+            new DiffUtil.ItemCallback<TaskSearchResult>() {
+                @Override
+                public boolean areItemsTheSame(@NonNull TaskSearchResult oldItem, @NonNull TaskSearchResult newItem) {
+                    return oldItem.taskId.equals(newItem.taskId);
+                }
+
+                @Override
+                public boolean areContentsTheSame(@NonNull TaskSearchResult oldItem,
+                                                  @NonNull TaskSearchResult newItem) {
+                    return oldItem.equals(newItem);
+                }
+            };
+
+    @NonNull
+    @Override
+    public SearchViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(parent.getContext())
+                .inflate(R.layout.item_task_search, parent, false);
+        return new SearchViewHolder(view);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull SearchViewHolder holder, int position) {
+        TaskSearchResult result = getItem(position);
+        holder.textViewTitle.setText(result.title);
+        if (result.snippet == null || result.snippet.isEmpty()) {
+            holder.textViewSnippet.setVisibility(View.GONE);
+        } else {
+            SpannableStringBuilder text = new SpannableStringBuilder();
+            if (result.fromComment) {
+                text.append(holder.itemView.getContext().getString(R.string.search_comment_prefix));
+            }
+            appendHighlighted(text, result.snippet);
+            holder.textViewSnippet.setText(text);
+            holder.textViewSnippet.setVisibility(View.VISIBLE);
+        }
+        holder.itemView.setOnClickListener(v -> listener.onResultClick(result.taskId));
+    }
+
+    // Метки TaskSearch.HIGHLIGHT_START/END заменяются жирным начертанием
+    private static void appendHighlighted(SpannableStringBuilder text, String snippet) {
+        int index = 0;
+        while (index < snippet.length()) {
+            int start = snippet.indexOf(TaskSearch.HIGHLIGHT_START, index);
+            if (start < 0) {
+                text.append(snippet, index, snippet.length());
+                return;
+            }
+            int end = snippet.indexOf(TaskSearch.HIGHLIGHT_END, start);
+            if (end < 0) {
+                end = snippet.length();
+            }
+            text.append(snippet, index, start);
+            int spanStart = text.length();
+            text.append(snippet, start + TaskSearch.HIGHLIGHT_START.length(), end);
+            text.setSpan(new StyleSpan(Typeface.BOLD), spanStart, text.length(), Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+            index = Math.min(snippet.length(), end + TaskSearch.HIGHLIGHT_END.length());
+        }
+    }
+
+    static class SearchViewHolder extends RecyclerView.ViewHolder {
+        final TextView textViewTitle;
+        final TextView textViewSnippet;
+
+        SearchViewHolder(@NonNull View itemView) {
+            super(itemView);
+            textViewTitle = itemView.findViewById(R.id.text_view_search_title);
+            textViewSnippet = itemView.findViewById(R.id.text_view_search_snippet);
+        }
+    }
+}
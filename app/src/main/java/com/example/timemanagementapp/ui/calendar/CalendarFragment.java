@@ -10,11 +10,12 @@ import androidx.annotation.Nullable;
 import androidx.core.content.ContextCompat;
 import androidx.fragment.app.Fragment;
 import androidx.lifecycle.ViewModelProvider;
+import androidx.paging.PagingData;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 import com.example.timemanagementapp.R;
-import com.example.timemanagementapp.data.local.entity.Task;
 import com.example.timemanagementapp.ui.adapters.TaskAdapter;
+import com.example.timemanagementapp.ui.timer.TimerTicker;
 import com.example.timemanagementapp.ui.tasks.TaskEditFragment;
 import com.example.timemanagementapp.ui.tasks.TaskViewModel;
 import com.kizitonwose.calendar.view.CalendarView;
@@ -23,30 +24,27 @@ import com.kizitonwose.calendar.view.ViewContainer;
 import com.kizitonwose.calendar.view.MonthHeaderFooterBinder;
 import com.kizitonwose.calendar.core.CalendarDay;
 import com.kizitonwose.calendar.core.CalendarMonth;
-import com.kizitonwose.calendar.core.DayOwner;
+import com.kizitonwose.calendar.core.DayPosition;
 import com.google.android.material.floatingactionbutton.FloatingActionButton;
 
-import android.text.format.DateFormat;
 import android.widget.TextView;
-import java.text.SimpleDateFormat;
-import java.util.ArrayList;
-import java.util.Calendar;
-import java.util.Date;
-import java.util.List;
 import java.util.Locale;
 import java.time.DayOfWeek;
 import java.time.YearMonth;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import kotlin.Unit;
 
 public class CalendarFragment extends Fragment {
     private CalendarView calendarView;
     private RecyclerView tasksRecyclerView;
     private TaskAdapter taskAdapter;
     private TaskViewModel taskViewModel;
-    private List<Task> allTasks = new ArrayList<>();
-    private Calendar selectedDate = null;
+    // Число задач по дням для видимых месяцев (агрегирующий запрос в TaskViewModel)
+    private CalendarTaskIndex taskIndex = CalendarTaskIndex.EMPTY;
+    private LocalDate selectedDate = null;
+    private LocalDate today = LocalDate.now();
     private DateTimeFormatter monthTitleFormatter = DateTimeFormatter.ofPattern("MMMM yyyy", Locale.getDefault());
 
     @Nullable
@@ -62,12 +60,10 @@ public class CalendarFragment extends Fragment {
         // Настройка FAB для добавления задачи на выбранную дату
         FloatingActionButton fabAddTask = view.findViewById(R.id.fab_add_task);
         fabAddTask.setOnClickListener(v -> {
-            if (selectedDate != null) {
-                openTaskEditFragmentWithDate(null, selectedDate);
-            } else {
-                selectedDate = Calendar.getInstance();
-                openTaskEditFragmentWithDate(null, selectedDate);
+            if (selectedDate == null) {
+                selectedDate = LocalDate.now();
             }
+            openTaskEditFragmentWithDate(null, selectedDate);
         });
 
         return view;
@@ -77,17 +73,12 @@ public class CalendarFragment extends Fragment {
     public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
         super.onViewCreated(view, savedInstanceState);
         taskViewModel = new ViewModelProvider(requireActivity()).get(TaskViewModel.class);
+        // Выбранный день переживает пересоздание view, как и его список задач во ViewModel
+        selectedDate = taskViewModel.getCalendarSelectedDate().getValue();
 
         setupRecyclerView();
         observeTasks();
 
-        // Передача пользователей в адаптер
-        taskViewModel.getAllUsers().observe(getViewLifecycleOwner(), users -> {
-            if (users != null && taskAdapter != null) {
-                taskAdapter.setUserList(users);
-            }
-        });
-        
         // Добавляем слушатель клика на задачу
         taskAdapter.setOnItemClickListener(task -> {
             openTaskEditFragmentWithDate(task.getTaskId(), null);
@@ -98,6 +89,7 @@ public class CalendarFragment extends Fragment {
         tasksRecyclerView.setLayoutManager(new LinearLayoutManager(getContext()));
         taskAdapter = new TaskAdapter(taskViewModel);
         tasksRecyclerView.setAdapter(taskAdapter);
+        TimerTicker.getInstance().observe(getViewLifecycleOwner(), taskAdapter);
         
         // Добавляем слушатель клика на задачу
         taskAdapter.setOnItemClickListener(task -> {
@@ -117,33 +109,32 @@ public class CalendarFragment extends Fragment {
             @NonNull
             @Override
             public DayViewContainer create(@NonNull View view) {
-                return new DayViewContainer(view);
+                DayViewContainer container = new DayViewContainer(view);
+                // Обработчик клика создаётся один раз на ячейку, день берётся из последнего bind
+                container.view.setOnClickListener(v -> {
+                    if (container.date != null) {
+                        onDayClicked(container.date);
+                    }
+                });
+                return container;
             }
 
             @Override
             public void bind(@NonNull DayViewContainer container, CalendarDay day) {
                 TextView textView = container.textView;
-                textView.setText(String.valueOf(day.getDate().getDayOfMonth()));
+                LocalDate date = day.getDate();
+                textView.setText(String.valueOf(date.getDayOfMonth()));
                 
-                // Используем обёртку CalendarDayWrapper для получения владельца дня
-                CalendarDayWrapper dayWrapper = new CalendarDayWrapper(day);
-                
-                if (dayWrapper.getOwner() == DayOwner.THIS_MONTH) {
+                // Позиция дня напрямую, без обёртки: bind вызывается для каждой ячейки при прокрутке
+                if (day.getPosition() == DayPosition.MonthDate) {
+                    container.date = date;
                     // Показываем текущий месяц с нормальной непрозрачностью
                     textView.setAlpha(1f);
                     
-                    // Получаем Calendar для этого дня
-                    Calendar dayCalendar = Calendar.getInstance();
-                    dayCalendar.setTime(Date.from(day.getDate().atStartOfDay(ZoneId.systemDefault()).toInstant()));
-                    
-                    // Проверяем, является ли день сегодняшним
-                    boolean isToday = day.getDate().equals(LocalDate.now());
-                    
-                    // Проверяем, выбран ли день
-                    boolean isSelected = selectedDate != null && isSameDay(dayCalendar, selectedDate);
-                    
-                    // Проверяем, есть ли задачи на этот день
-                    boolean hasTasksForDay = hasTasks(dayCalendar);
+                    boolean isToday = date.equals(today);
+                    boolean isSelected = date.equals(selectedDate);
+                    // Поиск в индексе вместо прохода по всем задачам
+                    boolean hasTasksForDay = taskIndex.hasTasks(date);
                     
                     if (isSelected) {
                         // Выбранный день
@@ -163,31 +154,9 @@ public class CalendarFragment extends Fragment {
                     if (container.eventIndicator != null) {
                         container.eventIndicator.setVisibility(hasTasksForDay ? View.VISIBLE : View.INVISIBLE);
                     }
-                    
-                    // Обработчик клика по дате
-                    container.view.setOnClickListener(v -> {
-                        // Сохраняем предыдущую выбранную дату для обновления UI
-                        Calendar oldSelectedDate = selectedDate;
-                        
-                        // Обновляем выбранную дату
-                        selectedDate = dayCalendar;
-                        
-                        // Обновляем список задач для выбранной даты
-                        filterTasksForDate(selectedDate);
-                        
-                        // Обновляем внешний вид календаря
-                        if (oldSelectedDate != null) {
-                            LocalDate oldDate = LocalDate.of(
-                                oldSelectedDate.get(Calendar.YEAR),
-                                oldSelectedDate.get(Calendar.MONTH) + 1,
-                                oldSelectedDate.get(Calendar.DAY_OF_MONTH)
-                            );
-                            calendarView.notifyDateChanged(oldDate);
-                        }
-                        
-                        calendarView.notifyDateChanged(day.getDate());
-                    });
                 } else {
+                    // Дни из других месяцев не кликабельны
+                    container.date = null;
                     // Дни из других месяцев показываем с меньшей непрозрачностью
                     textView.setAlpha(0.3f);
                     textView.setBackground(null);
@@ -196,9 +165,6 @@ public class CalendarFragment extends Fragment {
                     if (container.eventIndicator != null) {
                         container.eventIndicator.setVisibility(View.INVISIBLE);
                     }
-                    
-                    // Убираем обработчик клика
-                    container.view.setOnClickListener(null);
                 }
             }
         });
@@ -217,75 +183,59 @@ public class CalendarFragment extends Fragment {
             }
         });
 
+        // Загружаем только видимый месяц: при прокрутке окно запросов смещается вместе с ним
+        calendarView.setMonthScrollListener(month -> {
+            taskViewModel.setVisibleCalendarMonth(month.getYearMonth());
+            return Unit.INSTANCE;
+        });
+
         // Инициализация календаря
         calendarView.setup(firstMonth, lastMonth, firstDayOfWeek);
         calendarView.scrollToMonth(currentMonth);
     }
 
-    private boolean hasTasks(Calendar date) {
-        if (allTasks == null || allTasks.isEmpty()) {
-            return false;
-        }
-        
-        for (Task task : allTasks) {
-            if (task.getDueDate() != null && isSameDay(task.getDueDate(), date)) {
-                return true;
-            }
+    private void onDayClicked(LocalDate date) {
+        // Сохраняем предыдущую выбранную дату для обновления UI
+        LocalDate oldSelectedDate = selectedDate;
+        selectedDate = date;
+
+        // Обновляем список задач для выбранной даты
+        filterTasksForDate(selectedDate);
+
+        // Перерисовываем только старую и новую выбранные ячейки
+        if (oldSelectedDate != null) {
+            calendarView.notifyDateChanged(oldSelectedDate);
         }
-        return false;
+        calendarView.notifyDateChanged(date);
     }
 
     private void observeTasks() {
-        taskViewModel.getAllTasks().observe(getViewLifecycleOwner(), tasks -> {
-            if (tasks != null) {
-                allTasks = tasks;
+        taskViewModel.getCalendarTaskIndex().observe(getViewLifecycleOwner(), index -> {
+            if (index != null) {
+                taskIndex = index;
+                today = LocalDate.now();
                 
                 // Уведомляем календарь об обновлении данных
                 calendarView.notifyCalendarChanged();
-                
-                // Отображение задач для выбранной даты (если выбрана)
-                if (selectedDate != null) {
-                    filterTasksForDate(selectedDate);
-                }
             }
         });
-    }
 
-    private void filterTasksForDate(Calendar date) {
-        if (date == null || allTasks == null) {
-            taskAdapter.submitList(new ArrayList<>());
-            return;
-        }
-        
-        List<Task> filteredTasks = new ArrayList<>();
-        for (Task task : allTasks) {
-            if (task.getDueDate() != null && isSameDay(task.getDueDate(), date)) {
-                filteredTasks.add(task);
-            }
-        }
-        
-        taskAdapter.submitList(filteredTasks);
+        taskViewModel.getCalendarSelectedDayTasks().observe(getViewLifecycleOwner(), tasks ->
+                taskAdapter.submitData(getViewLifecycleOwner().getLifecycle(),
+                        tasks != null ? PagingData.from(tasks) : PagingData.empty()));
     }
 
-    // Вспомогательный метод для проверки, совпадают ли две даты по дню
-    private boolean isSameDay(Date date1, Calendar date2) {
-        Calendar cal1 = Calendar.getInstance();
-        cal1.setTime(date1);
-        return cal1.get(Calendar.YEAR) == date2.get(Calendar.YEAR) &&
-               cal1.get(Calendar.DAY_OF_YEAR) == date2.get(Calendar.DAY_OF_YEAR);
+    private void filterTasksForDate(LocalDate date) {
+        // Список приходит из getCalendarSelectedDayTasks (запрос по диапазону due_date выбранного дня)
+        taskViewModel.setCalendarSelectedDate(date);
     }
-    
-    private boolean isSameDay(Calendar date1, Calendar date2) {
-        return date1.get(Calendar.YEAR) == date2.get(Calendar.YEAR) &&
-               date1.get(Calendar.DAY_OF_YEAR) == date2.get(Calendar.DAY_OF_YEAR);
-    }
-    
+
     /**
      * Открывает фрагмент для редактирования или создания задачи с предустановленной датой
      * @param taskId ID задачи для редактирования или null для создания новой
      * @param date Дата, которую нужно установить для новой задачи, или null если не нужно устанавливать
      */
-    private void openTaskEditFragmentWithDate(String taskId, Calendar date) {
+    private void openTaskEditFragmentWithDate(String taskId, LocalDate date) {
         TaskEditFragment fragment = new TaskEditFragment();
         
         Bundle args = new Bundle();
@@ -297,7 +247,8 @@ public class CalendarFragment extends Fragment {
         
         if (date != null) {
             // Если создаем задачу на конкретную дату, передаем дату в миллисекундах
-            args.putLong(TaskEditFragment.ARG_DUE_DATE, date.getTimeInMillis());
+            args.putLong(TaskEditFragment.ARG_DUE_DATE,
+                    date.atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli());
         }
         
         if (!args.isEmpty()) {
@@ -317,6 +268,8 @@ public class CalendarFragment extends Fragment {
         TextView textView;
         View eventIndicator;
         View view;
+        // День, привязанный в последнем bind; null для дней соседних месяцев
+        LocalDate date;
 
         public DayViewContainer(@NonNull View view) {
             super(view);
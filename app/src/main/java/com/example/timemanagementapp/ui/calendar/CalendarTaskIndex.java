@@ -0,0 +1,61 @@
+package com.example.timemanagementapp.ui.calendar;
+
+import androidx.annotation.NonNull;
+
+import com.example.timemanagementapp.data.local.model.DayTaskCount;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Индекс задач по дням срока: epoch day → число задач.
+ *
+ * Строится один раз на каждую выдачу данных, после чего отрисовка ячейки календаря
+ * стоит одного поиска в HashMap вместо прохода по всем задачам с созданием Calendar/Date.
+ */
+public final class CalendarTaskIndex {
+    public static final CalendarTaskIndex EMPTY = new CalendarTaskIndex(Collections.emptyMap());
+
+    private final Map<Long, Integer> countByEpochDay;
+
+    private CalendarTaskIndex(Map<Long, Integer> countByEpochDay) {
+        this.countByEpochDay = countByEpochDay;
+    }
+
+    /**
+     * Индекс по числу задач в днях — результат агрегирующего запроса TaskDao.getTaskCountsPerDay
+     */
+    @NonNull
+    public static CalendarTaskIndex fromDayCounts(List<DayTaskCount> dayCounts) {
+        if (dayCounts == null || dayCounts.isEmpty()) {
+            return EMPTY;
+        }
+        Map<Long, Integer> counts = new HashMap<>();
+        for (DayTaskCount dayCount : dayCounts) {
+            if (dayCount.taskCount > 0) {
+                counts.put(dayCount.epochDay, dayCount.taskCount);
+            }
+        }
+        return new CalendarTaskIndex(counts);
+    }
+
+    public int getTaskCount(long epochDay) {
+        Integer count = countByEpochDay.get(epochDay);
+        return count == null ? 0 : count;
+    }
+
+    public boolean hasTasks(long epochDay) {
+        return countByEpochDay.containsKey(epochDay);
+    }
+
+    public boolean hasTasks(@NonNull LocalDate date) {
+        return hasTasks(date.toEpochDay());
+    }
+
+    public int getDayCount() {
+        return countByEpochDay.size();
+    }
+}
@@ -1,45 +1,55 @@
 package com.example.timemanagementapp.ui.collaboration;
 
 import android.app.Application;
-import android.util.Log;
+import android.os.Handler;
+import android.os.Looper;
 
 import androidx.annotation.NonNull;
 import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 
-import com.example.timemanagementapp.data.TaskRepository;
+import com.example.timemanagementapp.data.AppExecutors;
+import com.example.timemanagementapp.data.CollaborationRepository;
 import com.example.timemanagementapp.data.local.entity.User;
-import com.example.timemanagementapp.data.local.entity.Project;
 import com.example.timemanagementapp.data.local.entity.CurrentUserManager;
+import com.example.timemanagementapp.log.AppLog;
 import com.example.timemanagementapp.data.local.entity.CollaborationInvite;
+import com.example.timemanagementapp.data.local.model.InviteWithDetails;
+import com.google.common.util.concurrent.ListenableFuture;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
 
 public class CollaborationViewModel extends AndroidViewModel {
     private static final String TAG = "CollaborationViewModel";
-    private TaskRepository repository;
+    private final CollaborationRepository collaborationRepository;
     private MutableLiveData<String> _inviteStatus = new MutableLiveData<>();
-    private final Executor executor = Executors.newSingleThreadExecutor();
+    private final Executor executor;
+    private final Executor transactionExecutor;
+    // Изменения списка приглашений — только на главном потоке, см. removePendingInvite
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
     
     // Добавленные поля для хранения приглашений
-    private MutableLiveData<List<CollaborationInvite>> _pendingInvites = new MutableLiveData<>();
+    private MutableLiveData<List<InviteWithDetails>> _pendingInvites = new MutableLiveData<>();
 
     public LiveData<String> getInviteStatus() {
         return _inviteStatus;
     }
     
-    public LiveData<List<CollaborationInvite>> getPendingInvites() {
+    public LiveData<List<InviteWithDetails>> getPendingInvites() {
         return _pendingInvites;
     }
 
     public CollaborationViewModel(@NonNull Application application) {
         super(application);
-        repository = new TaskRepository(application);
+        collaborationRepository = CollaborationRepository.getInstance(application);
+        executor = AppExecutors.getInstance(application).diskRead();
+        transactionExecutor = AppExecutors.getInstance(application).diskTransactions();
     }
 
     /**
@@ -61,50 +71,30 @@ public class CollaborationViewModel extends AndroidViewModel {
             return;
         }
 
-        executor.execute(() -> {
-            // Проверяем, существует ли проект
-            LiveData<Project> projectLiveData = repository.getProjectById(projectId);
-            Project project = null;
-            
-            // Здесь простая обработка - на самом деле нужен другой механизм ожидания LiveData
-            try {
-                Thread.sleep(500); // Ждем, чтобы LiveData успела загрузиться
-                if (projectLiveData.getValue() != null) {
-                    project = projectLiveData.getValue();
-                }
-            } catch (Exception e) {
-                Log.e(TAG, "Error waiting for project data: " + e.getMessage());
-            }
-
-            if (project == null) {
-                _inviteStatus.postValue("Проект не знайдено");
-                return;
-            }
+        CollaborationInvite invite = new CollaborationInvite();
+        invite.setInviteId(UUID.randomUUID().toString());
+        invite.setProjectId(projectId);
+        invite.setInvitedEmail(email);
+        invite.setInviterUserId(currentUser.getUserId());
+        invite.setRole(role);
+        invite.setCreatedAt(new Date());
+        invite.setStatus(CollaborationRepository.STATUS_PENDING);
 
-            // Проверяем, является ли текущий пользователь владельцем проекта
-            if (!project.getOwnerUserId().equals(currentUser.getUserId())) {
-                _inviteStatus.postValue("Ви не є власником цього проекту");
-                return;
+        // Проверка проекта и запись приглашения — одна самостоятельная транзакция, не в пачке записей
+        transactionExecutor.execute(() -> {
+            CollaborationRepository.Result result = collaborationRepository.sendInvite(invite);
+            switch (result) {
+                case PROJECT_NOT_FOUND:
+                    _inviteStatus.postValue("Проект не знайдено");
+                    return;
+                case NOT_PROJECT_OWNER:
+                    _inviteStatus.postValue("Ви не є власником цього проекту");
+                    return;
+                default:
+                    // В реальном приложении здесь нужно реализовать отправку email
+                    _inviteStatus.postValue("Запрошення надіслано на " + email);
+                    AppLog.d(TAG, () -> "Email invitation sent to " + email + " for project " + projectId);
             }
-
-            // В реальном приложении здесь нужно реализовать отправку email
-            // Для прототипа сохраняем запись в локальную базу данных
-            CollaborationInvite invite = new CollaborationInvite();
-            invite.setInviteId(UUID.randomUUID().toString());
-            invite.setProjectId(projectId);
-            invite.setInvitedEmail(email);
-            invite.setInviterUserId(currentUser.getUserId());
-            invite.setRole(role);
-            invite.setCreatedAt(new Date());
-            invite.setStatus("pending");
-            
-            // В реальной реализации нужен CollaborationInviteDao
-            // repository.insertInvite(invite);
-
-            _inviteStatus.postValue("Запрошення надіслано на " + email);
-            
-            // Имитация отправки email
-            Log.d(TAG, "Email invitation sent to " + email + " for project " + projectId);
         });
     }
     
@@ -118,81 +108,16 @@ public class CollaborationViewModel extends AndroidViewModel {
             _inviteStatus.postValue("Email не вказано");
             return;
         }
-        
-        // В реальном приложении здесь нужно использовать CollaborationInviteDao
-        // LiveData<List<CollaborationInvite>> invites = repository.getPendingInvitesForEmail(email);
-        // _pendingInvites.postValue(invites.getValue());
-        
-        // Для прототипа создаем тестовые данные
-        executor.execute(() -> {
-            // Имитация задержки загрузки
+
+        ListenableFuture<List<CollaborationInvite>> invites = collaborationRepository.getPendingInvitesForEmail(email);
+        invites.addListener(() -> {
             try {
-                Thread.sleep(500);
-            } catch (InterruptedException e) {
-                e.printStackTrace();
+                _pendingInvites.postValue(collaborationRepository.withDetails(invites.get()));
+            } catch (ExecutionException | InterruptedException e) {
+                AppLog.e(TAG, "Error loading invites for " + email, e);
+                _inviteStatus.postValue("Не вдалося завантажити запрошення");
             }
-            
-            List<CollaborationInvite> mockInvites = createMockInvites(email);
-            _pendingInvites.postValue(mockInvites);
-        });
-    }
-    
-    /**
-     * Получить название проекта по ID
-     * 
-     * @param projectId ID проекта
-     */
-    public LiveData<String> getProjectName(String projectId) {
-        MutableLiveData<String> projectName = new MutableLiveData<>();
-        
-        if (projectId == null || projectId.isEmpty()) {
-            projectName.setValue("Невідомий проект");
-            return projectName;
-        }
-        
-        executor.execute(() -> {
-            // В реальном приложении здесь нужно использовать Project DAO
-            // Project project = repository.getProjectById(projectId).getValue();
-            // if (project != null) {
-            //     projectName.postValue(project.getName());
-            // } else {
-            //     projectName.postValue("Невідомий проект");
-            // }
-            
-            // Для прототипа возвращаем фиксированное значение
-            projectName.postValue("Тестовий проект");
-        });
-        
-        return projectName;
-    }
-    
-    /**
-     * Получить имя пользователя по ID
-     * 
-     * @param userId ID пользователя
-     */
-    public LiveData<String> getUserName(String userId) {
-        MutableLiveData<String> userName = new MutableLiveData<>();
-        
-        if (userId == null || userId.isEmpty()) {
-            userName.setValue("Невідомий користувач");
-            return userName;
-        }
-        
-        executor.execute(() -> {
-            // В реальном приложении здесь нужно использовать User DAO
-            // User user = repository.getUserById(userId).getValue();
-            // if (user != null) {
-            //     userName.postValue(user.getName());
-            // } else {
-            //     userName.postValue("Невідомий користувач");
-            // }
-            
-            // Для прототипа возвращаем фиксированное значение
-            userName.postValue("Адміністратор");
-        });
-        
-        return userName;
+        }, executor);
     }
     
     /**
@@ -213,76 +138,44 @@ public class CollaborationViewModel extends AndroidViewModel {
             return;
         }
         
-        executor.execute(() -> {
-            // В реальном приложении здесь нужно использовать CollaborationInviteDao
-            // CollaborationInvite invite = repository.getInviteById(inviteId).getValue();
-            // if (invite == null) {
-            //     _inviteStatus.postValue("Запрошення не знайдено");
-            //     return;
-            // }
-            
-            // if (!invite.getInvitedEmail().equals(currentUser.getEmail())) {
-            //     _inviteStatus.postValue("Це запрошення не для вас");
-            //     return;
-            // }
-            
-            // Обновляем статус приглашения
-            // invite.setStatus(accept ? "accepted" : "rejected");
-            // invite.setResolvedAt(new Date());
-            // repository.updateInvite(invite);
-            
-            // Если приглашение принято, создаем запись о сотрудничестве
-            // if (accept) {
-            //     ProjectCollaborator collaborator = new ProjectCollaborator(
-            //         invite.getProjectId(), currentUser.getUserId(), invite.getRole()
-            //     );
-            //     repository.insertProjectCollaborator(collaborator);
-            // }
-            
-            // Для прототипа просто обновляем UI
-            _inviteStatus.postValue(accept ? 
-                "Запрошення прийнято. Тепер ви можете працювати з проектом." :
-                "Запрошення відхилено.");
-            
-            // Обновляем список приглашений в UI
-            List<CollaborationInvite> currentInvites = _pendingInvites.getValue();
-            if (currentInvites != null) {
-                for (int i = 0; i < currentInvites.size(); i++) {
-                    if (currentInvites.get(i).getInviteId().equals(inviteId)) {
-                        currentInvites.remove(i);
-                        break;
-                    }
-                }
-                _pendingInvites.postValue(currentInvites);
+        transactionExecutor.execute(() -> {
+            CollaborationRepository.Result result = collaborationRepository.respondToInvite(
+                    inviteId, currentUser.getUserId(), currentUser.getEmail(), accept);
+            switch (result) {
+                case INVITE_NOT_FOUND:
+                    _inviteStatus.postValue("Запрошення не знайдено");
+                    break;
+                case NOT_INVITED_USER:
+                    _inviteStatus.postValue("Це запрошення не для вас");
+                    return;
+                case ACCEPTED:
+                    _inviteStatus.postValue("Запрошення прийнято. Тепер ви можете працювати з проектом.");
+                    break;
+                default:
+                    _inviteStatus.postValue("Запрошення відхилено.");
             }
+            // Приглашение больше не ожидает ответа: убираем его из списка без повторного запроса
+            removePendingInvite(inviteId);
         });
     }
-    
-    // Вспомогательный метод для создания тестовых данных
-    private List<CollaborationInvite> createMockInvites(String email) {
-        List<CollaborationInvite> invites = new java.util.ArrayList<>();
-        
-        CollaborationInvite invite1 = new CollaborationInvite();
-        invite1.setInviteId(UUID.randomUUID().toString());
-        invite1.setProjectId("project_1");
-        invite1.setInvitedEmail(email);
-        invite1.setInviterUserId("admin_001");
-        invite1.setRole("editor");
-        invite1.setCreatedAt(new Date());
-        invite1.setStatus("pending");
-        
-        CollaborationInvite invite2 = new CollaborationInvite();
-        invite2.setInviteId(UUID.randomUUID().toString());
-        invite2.setProjectId("project_2");
-        invite2.setInvitedEmail(email);
-        invite2.setInviterUserId("admin_002");
-        invite2.setRole("viewer");
-        invite2.setCreatedAt(new Date());
-        invite2.setStatus("pending");
-        
-        invites.add(invite1);
-        invites.add(invite2);
-        
-        return invites;
+
+    /**
+     * Чтение, фильтрация и запись списка выполняются на главном потоке через setValue: значение,
+     * отложенное postValue (загрузка списка), к этому моменту уже применено и не теряется
+     */
+    private void removePendingInvite(String inviteId) {
+        mainHandler.post(() -> {
+            List<InviteWithDetails> currentInvites = _pendingInvites.getValue();
+            if (currentInvites == null) {
+                return;
+            }
+            List<InviteWithDetails> updated = new ArrayList<>(currentInvites.size());
+            for (InviteWithDetails item : currentInvites) {
+                if (!item.invite.getInviteId().equals(inviteId)) {
+                    updated.add(item);
+                }
+            }
+            _pendingInvites.setValue(updated);
+        });
     }
-} 
\ No newline at end of file
+}
@@ -19,11 +19,11 @@ import com.example.timemanagementapp.R;
 import com.example.timemanagementapp.data.local.entity.CollaborationInvite;
 import com.example.timemanagementapp.data.local.entity.CurrentUserManager;
 import com.example.timemanagementapp.data.local.entity.User;
+import com.example.timemanagementapp.data.local.model.InviteWithDetails;
+import com.example.timemanagementapp.ui.format.DateTextFormatter;
 
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Locale;
 
 public class InvitesFragment extends Fragment {
 
@@ -79,7 +79,8 @@ public class InvitesFragment extends Fragment {
     }
 
     private class InvitesAdapter extends RecyclerView.Adapter<InvitesAdapter.InviteViewHolder> {
-        private List<CollaborationInvite> invites = new ArrayList<>();
+        private List<InviteWithDetails> invites = new ArrayList<>();
+        private final DateTextFormatter dateTextFormatter = new DateTextFormatter();
 
         class InviteViewHolder extends RecyclerView.ViewHolder {
             TextView textViewProjectName;
@@ -110,23 +111,16 @@ public class InvitesFragment extends Fragment {
 
         @Override
         public void onBindViewHolder(@NonNull InviteViewHolder holder, int position) {
-            CollaborationInvite invite = invites.get(position);
-            
-            // Загружаем данные о проекте и пользователе асинхронно
-            viewModel.getProjectName(invite.getProjectId()).observe(getViewLifecycleOwner(), projectName -> {
-                if (projectName != null) {
-                    holder.textViewProjectName.setText("Проект: " + projectName);
-                }
-            });
+            InviteWithDetails item = invites.get(position);
+            CollaborationInvite invite = item.invite;
 
-            viewModel.getUserName(invite.getInviterUserId()).observe(getViewLifecycleOwner(), userName -> {
-                if (userName != null) {
-                    holder.textViewInviter.setText("Від: " + userName);
-                }
-            });
+            // Названия уже подставлены во ViewModel, без запросов на каждую строку
+            holder.textViewProjectName.setText("Проект: "
+                    + (item.projectName != null ? item.projectName : "Невідомий проект"));
+            holder.textViewInviter.setText("Від: "
+                    + (item.inviterName != null ? item.inviterName : "Невідомий користувач"));
 
-            SimpleDateFormat dateFormat = new SimpleDateFormat("dd MMM yyyy HH:mm", Locale.getDefault());
-            holder.textViewDate.setText("Дата: " + dateFormat.format(invite.getCreatedAt()));
+            holder.textViewDate.setText("Дата: " + dateTextFormatter.formatDayTime(invite.getCreatedAt().getTime()));
             
             String role = "Редактор";
             if ("viewer".equals(invite.getRole())) {
@@ -148,7 +142,7 @@ public class InvitesFragment extends Fragment {
             return invites.size();
         }
 
-        void setInvites(List<CollaborationInvite> invites) {
+        void setInvites(List<InviteWithDetails> invites) {
             this.invites = invites;
             notifyDataSetChanged();
         }
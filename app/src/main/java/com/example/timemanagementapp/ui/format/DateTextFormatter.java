@@ -0,0 +1,104 @@
+package com.example.timemanagementapp.ui.format;
+
+import androidx.annotation.NonNull;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * Форматирование дат для строк списков ("12 мая 2024", "12 мая 2024 14:05") с кэшем готовых строк.
+ *
+ * День считается арифметикой по смещению часового пояса, строка дня берётся из кэша по epoch day,
+ * строка с временем — из кэша по epoch minute. Повторная отрисовка тех же строк (прокрутка, тики,
+ * частичные bind) не создаёт объектов; при промахе строка собирается java.time-форматтером
+ * и переиспользуемым StringBuilder.
+ *
+ * Не потокобезопасен: у каждого адаптера свой экземпляр, вызовы — из главного потока.
+ */
+public final class DateTextFormatter {
+    private static final long MILLIS_PER_MINUTE = 60_000L;
+    private static final long MILLIS_PER_DAY = 24 * 60 * MILLIS_PER_MINUTE;
+    // Кэш с прямой адресацией: 256 подряд идущих дней или минут не вытесняют друг друга
+    private static final int CACHE_SIZE = 256;
+    private static final int CACHE_MASK = CACHE_SIZE - 1;
+    private static final long EMPTY_KEY = Long.MIN_VALUE;
+
+    private final TimeZone timeZone;
+    private final DateTimeFormatter dayFormatter;
+
+    private final long[] dayKeys = new long[CACHE_SIZE];
+    private final String[] dayTexts = new String[CACHE_SIZE];
+    private final long[] minuteKeys = new long[CACHE_SIZE];
+    private final String[] minuteTexts = new String[CACHE_SIZE];
+    // "dd MMM yyyy HH:mm" укладывается в 24 символа с запасом на длинные названия месяцев
+    private final StringBuilder builder = new StringBuilder(32);
+
+    private int cacheMisses;
+
+    public DateTextFormatter() {
+        this(TimeZone.getDefault(), Locale.getDefault());
+    }
+
+    public DateTextFormatter(@NonNull TimeZone timeZone, @NonNull Locale locale) {
+        this.timeZone = timeZone;
+        this.dayFormatter = DateTimeFormatter.ofPattern("dd MMM yyyy", locale);
+        Arrays.fill(dayKeys, EMPTY_KEY);
+        Arrays.fill(minuteKeys, EMPTY_KEY);
+    }
+
+    /**
+     * Дата без времени, например "12 мая 2024"
+     */
+    @NonNull
+    public String formatDay(long epochMillis) {
+        long epochDay = Math.floorDiv(localMillis(epochMillis), MILLIS_PER_DAY);
+        int slot = (int) (epochDay & CACHE_MASK);
+        if (dayKeys[slot] != epochDay) {
+            cacheMisses++;
+            dayTexts[slot] = dayFormatter.format(LocalDate.ofEpochDay(epochDay));
+            dayKeys[slot] = epochDay;
+        }
+        return dayTexts[slot];
+    }
+
+    /**
+     * Дата со временем до минуты, например "12 мая 2024 14:05"
+     */
+    @NonNull
+    public String formatDayTime(long epochMillis) {
+        long local = localMillis(epochMillis);
+        long epochMinute = Math.floorDiv(local, MILLIS_PER_MINUTE);
+        int slot = (int) (epochMinute & CACHE_MASK);
+        if (minuteKeys[slot] != epochMinute) {
+            cacheMisses++;
+            int minuteOfDay = (int) Math.floorMod(epochMinute, MILLIS_PER_DAY / MILLIS_PER_MINUTE);
+            builder.setLength(0);
+            builder.append(formatDay(epochMillis)).append(' ');
+            appendTwoDigits(minuteOfDay / 60);
+            builder.append(':');
+            appendTwoDigits(minuteOfDay % 60);
+            minuteTexts[slot] = builder.toString();
+            minuteKeys[slot] = epochMinute;
+        }
+        return minuteTexts[slot];
+    }
+
+    /**
+     * Сколько раз строку пришлось собирать заново (для тестов и замеров)
+     */
+    public int getCacheMisses() {
+        return cacheMisses;
+    }
+
+    // TimeZone.getOffset(long) учитывает летнее время и не создаёт объектов, в отличие от Instant/ZonedDateTime
+    private long localMillis(long epochMillis) {
+        return epochMillis + timeZone.getOffset(epochMillis);
+    }
+
+    private void appendTwoDigits(int value) {
+        builder.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+    }
+}
@@ -13,24 +13,25 @@ import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 import com.example.timemanagementapp.R;
+import com.example.timemanagementapp.data.UserDirectory;
 import com.example.timemanagementapp.data.local.entity.TaskComment;
 import com.example.timemanagementapp.data.local.entity.User;
 import com.example.timemanagementapp.data.local.entity.CurrentUserManager;
+import com.example.timemanagementapp.log.AppLog;
 import com.example.timemanagementapp.ui.adapters.CommentAdapter;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.dialog.MaterialAlertDialogBuilder;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import android.util.Log;
 
 public class TaskCommentsFragment extends Fragment implements CommentAdapter.OnCommentActionListener {
     private static final String TAG = "CommentsDebug";
+    // Следующая страница запрашивается, когда до конца загруженного списка остаётся столько комментариев
+    private static final int LOAD_OLDER_THRESHOLD = 10;
     private TaskViewModel viewModel;
     private CommentAdapter adapter;
     private EditText commentInput;
     private String taskId;
-    private Map<String, User> userCache = new HashMap<>();
+    private UserDirectory userDirectory = UserDirectory.EMPTY;
+    private boolean hasOlderComments;
 
     public static TaskCommentsFragment newInstance(String taskId) {
         TaskCommentsFragment fragment = new TaskCommentsFragment();
@@ -46,9 +47,9 @@ public class TaskCommentsFragment extends Fragment implements CommentAdapter.OnC
         viewModel = new ViewModelProvider(requireActivity()).get(TaskViewModel.class);
         if (getArguments() != null) {
             taskId = getArguments().getString("task_id");
-            Log.d(TAG, "onCreate: TaskId received: " + taskId);
+            AppLog.d(TAG, () -> "onCreate: TaskId received: " + taskId);
         } else {
-            Log.e(TAG, "onCreate: TaskId is NULL in arguments.");
+            AppLog.e(TAG, "onCreate: TaskId is NULL in arguments.");
         }
     }
 
@@ -62,11 +63,12 @@ public class TaskCommentsFragment extends Fragment implements CommentAdapter.OnC
     @Override
     public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
         super.onViewCreated(view, savedInstanceState);
-        Log.d(TAG, "onViewCreated called for taskId: " + taskId);
+        AppLog.d(TAG, () -> "onViewCreated called for taskId: " + taskId);
 
         // Инициализация RecyclerView
         RecyclerView recyclerView = view.findViewById(R.id.commentsRecyclerView);
-        recyclerView.setLayoutManager(new LinearLayoutManager(requireContext()));
+        LinearLayoutManager layoutManager = new LinearLayoutManager(requireContext());
+        recyclerView.setLayoutManager(layoutManager);
         
         User currentUser = CurrentUserManager.getCurrentUser();
         adapter = new CommentAdapter(this, currentUser != null ? currentUser.getUserId() : null);
@@ -79,45 +81,56 @@ public class TaskCommentsFragment extends Fragment implements CommentAdapter.OnC
         sendButton.setOnClickListener(v -> {
             String text = commentInput.getText().toString().trim();
             if (!text.isEmpty() && taskId != null) {
-                Log.d(TAG, "Sending comment for taskId: " + taskId + ", text: " + text);
+                AppLog.d(TAG, () -> "Sending comment for taskId: " + taskId + ", text: " + text);
                 viewModel.addComment(taskId, text);
                 commentInput.setText("");
             }
         });
 
-        // Наблюдение за комментариями
+        // Наблюдение за комментариями: страницы и новые комментарии приходят как изменения списка.
+        // Пропущенные изменения (фрагмент пересоздан или был остановлен) восполняются полным списком
         if (taskId != null) {
-            viewModel.getCommentsForTask(taskId).observe(getViewLifecycleOwner(), comments -> {
-                if (comments != null) {
-                    Log.d(TAG, "Comments received for taskId " + taskId + ". Count: " + comments.size());
-                    adapter.submitList(comments);
-                    if (comments.isEmpty()) {
-                        Log.d(TAG, "Comment list is empty for taskId: " + taskId);
-                    }
+            viewModel.openComments(taskId).observe(getViewLifecycleOwner(), update -> {
+                if (adapter.applyUpdate(update)) {
+                    hasOlderComments = update.hasOlder;
                 } else {
-                    Log.d(TAG, "Comments list is NULL for taskId: " + taskId);
+                    viewModel.requestCommentsReset();
+                }
+            });
+            recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+                @Override
+                public void onScrolled(@NonNull RecyclerView view, int dx, int dy) {
+                    if (dy <= 0 || !hasOlderComments) {
+                        return;
+                    }
+                    int lastVisible = layoutManager.findLastVisibleItemPosition();
+                    if (lastVisible >= adapter.getItemCount() - LOAD_OLDER_THRESHOLD) {
+                        viewModel.loadOlderComments();
+                    }
                 }
             });
         } else {
-            Log.e(TAG, "onViewCreated: TaskId is NULL, cannot observe comments.");
+            AppLog.e(TAG, "onViewCreated: TaskId is NULL, cannot observe comments.");
         }
 
-        // Наблюдение за пользователями для кэширования
-        viewModel.getAllUsers().observe(getViewLifecycleOwner(), users -> {
-            if (users != null) {
-                Log.d(TAG, "Users received for cache. Count: " + users.size());
-                userCache.clear();
-                for (User user : users) {
-                    userCache.put(user.getUserId(), user);
-                }
-                adapter.updateUserCache(userCache);
-                 Log.d(TAG, "User cache updated in adapter. Size: " + userCache.size());
-            } else {
-                Log.d(TAG, "User list for cache is NULL.");
+        // Справочник пользователей собирается в репозитории вне главного потока
+        viewModel.getUserDirectory().observe(getViewLifecycleOwner(), directory -> {
+            if (directory != null) {
+                userDirectory = directory;
+                adapter.updateUserDirectory(directory);
             }
         });
     }
 
+    @Override
+    public void onDestroy() {
+        super.onDestroy();
+        // При повороте экрана пейджер с загруженными страницами остаётся во ViewModel активности
+        if (!requireActivity().isChangingConfigurations()) {
+            viewModel.closeComments();
+        }
+    }
+
     @Override
     public void onEditComment(TaskComment comment) {
         EditText input = new EditText(requireContext());
@@ -151,7 +164,7 @@ public class TaskCommentsFragment extends Fragment implements CommentAdapter.OnC
 
     @Override
     public void onUserClicked(String userId) {
-        User user = userCache.get(userId);
+        User user = userDirectory.getUser(userId);
         if (user != null) {
             Toast.makeText(requireContext(), 
                 "Пользователь: " + user.getName(), 
@@ -37,8 +37,10 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
@@ -65,6 +67,7 @@ public class TaskEditFragment extends Fragment {
     private ArrayAdapter<String> projectSpinnerAdapter;
 
     private List<User> userListInternal = new ArrayList<>(); // Список для хранения пользователей
+    private Map<String, Integer> assigneePositionById = new HashMap<>(); // id пользователя → позиция в spinnerAssignee
     private ArrayAdapter<String> assigneeSpinnerAdapter; // Адаптер для spinnerAssignee
 
     private long timeWhenPaused = 0;
@@ -346,21 +349,21 @@ public class TaskEditFragment extends Fragment {
     }
 
     private void observeUsers() {
-        taskViewModel.getAllUsers().observe(getViewLifecycleOwner(), users -> {
-            if (users == null) return;
+        // Общий справочник пользователей (тот же, что у списка задач и комментариев)
+        taskViewModel.getUserDirectory().observe(getViewLifecycleOwner(), directory -> {
+            if (directory == null) return;
 
             userListInternal.clear();
+            assigneePositionById.clear();
             // Исключаем текущего пользователя из списка исполнителей
             String currentUserId = CurrentUserManager.getCurrentUserId();
-            for (User user : users) {
+            List<String> userNames = new ArrayList<>(directory.size() + 1);
+            userNames.add("Не назначен"); // Опция по умолчанию
+            for (User user : directory.getUsers()) {
                 if (user.getUserId().equals(currentUserId)) continue;
                 userListInternal.add(user);
-            }
-
-            List<String> userNames = new ArrayList<>();
-            userNames.add("Не назначен"); // Опция по умолчанию
-            for (User user : userListInternal) {
                 userNames.add(user.getName());
+                assigneePositionById.put(user.getUserId(), userNames.size() - 1);
             }
 
             assigneeSpinnerAdapter.clear();
@@ -417,13 +420,8 @@ public class TaskEditFragment extends Fragment {
             return;
         }
 
-        for (int i = 0; i < userListInternal.size(); i++) {
-            if (userListInternal.get(i).getUserId().equals(currentAssigneeId)) {
-                spinnerAssignee.setSelection(i + 1); // +1 из-за "Не назначен"
-                return;
-            }
-        }
-        spinnerAssignee.setSelection(0); // Если не найден, ставим "Не назначен"
+        Integer position = assigneePositionById.get(currentAssigneeId); // уже с учётом "Не назначен"
+        spinnerAssignee.setSelection(position != null ? position : 0); // Если не найден, ставим "Не назначен"
     }
 
     private void setupDateTimePickers() {
@@ -9,6 +9,7 @@ import android.view.View;
 import android.view.ViewGroup;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.appcompat.widget.SearchView;
 import androidx.fragment.app.Fragment;
 import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.LinearLayoutManager;
@@ -16,12 +17,15 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.example.timemanagementapp.R;
 import com.example.timemanagementapp.data.local.entity.Task;
 import com.example.timemanagementapp.ui.adapters.TaskAdapter;
+import com.example.timemanagementapp.ui.adapters.TaskSearchAdapter;
+import com.example.timemanagementapp.ui.timer.TimerTicker;
 import com.google.android.material.floatingactionbutton.FloatingActionButton;
 
 public class TaskListFragment extends Fragment {
     private TaskViewModel taskViewModel;
     private RecyclerView recyclerView;
     private TaskAdapter adapter;
+    private TaskSearchAdapter searchAdapter;
 
     @Override
     public void onCreate(@Nullable Bundle savedInstanceState) {
@@ -45,17 +49,30 @@ public class TaskListFragment extends Fragment {
         // Инициализация адаптера
         adapter = new TaskAdapter(taskViewModel);
         recyclerView.setAdapter(adapter);
+        // Запущенные таймеры обновляются раз в секунду, пока список на экране
+        TimerTicker.getInstance().observe(getViewLifecycleOwner(), adapter);
 
-        // Наблюдение за LiveData из ViewModel
-        taskViewModel.getAllTasks().observe(getViewLifecycleOwner(), tasks -> {
-            adapter.submitList(tasks);
+        // Наблюдение за постраничными данными из ViewModel: в память попадают только страницы рядом с экраном
+        taskViewModel.getPagedTasks().observe(getViewLifecycleOwner(), pagingData -> {
+            adapter.submitData(getViewLifecycleOwner().getLifecycle(), pagingData);
             // Здесь можно добавить логику для отображения пустого состояния, если tasks.isEmpty()
             // Также обновить состояние пунктов меню сортировки
-            if (getActivity() != null) {
+            // Во время поиска меню не пересоздаём: SearchView потерял бы фокус и клавиатуру
+            if (getActivity() != null && !taskViewModel.isSearchActive()) {
                 getActivity().invalidateOptionsMenu();
             }
         });
 
+        // Пока строка поиска не пуста, вместо постраничного списка показываются результаты поиска
+        searchAdapter = new TaskSearchAdapter(this::openTaskEditFragment);
+        taskViewModel.getSearchResults().observe(getViewLifecycleOwner(), results -> {
+            searchAdapter.submitList(results);
+            RecyclerView.Adapter<?> visibleAdapter = taskViewModel.isSearchActive() ? searchAdapter : adapter;
+            if (recyclerView.getAdapter() != visibleAdapter) {
+                recyclerView.setAdapter(visibleAdapter);
+            }
+        });
+
         // Настройка слушателя клика по элементу
         adapter.setOnItemClickListener(task -> {
             // Открываем фрагмент редактирования с передачей ID задачи
@@ -75,9 +92,47 @@ public class TaskListFragment extends Fragment {
     @Override
     public void onCreateOptionsMenu(@NonNull Menu menu, @NonNull MenuInflater inflater) {
         inflater.inflate(R.menu.task_list_menu, menu);
+        setUpSearch(menu.findItem(R.id.action_search));
         super.onCreateOptionsMenu(menu, inflater);
     }
 
+    private void setUpSearch(MenuItem searchItem) {
+        SearchView searchView = (SearchView) searchItem.getActionView();
+        searchView.setQueryHint(getString(R.string.search_tasks));
+        // После пересоздания экрана поиск восстанавливается с той же строкой
+        String query = taskViewModel.getSearchQuery();
+        if (!query.isEmpty()) {
+            searchItem.expandActionView();
+            searchView.setQuery(query, false);
+        }
+        searchView.setOnQueryTextListener(new SearchView.OnQueryTextListener() {
+            @Override
+            public boolean onQueryTextSubmit(String text) {
+                taskViewModel.setSearchQuery(text);
+                searchView.clearFocus();
+                return true;
+            }
+
+            @Override
+            public boolean onQueryTextChange(String text) {
+                taskViewModel.setSearchQuery(text);
+                return true;
+            }
+        });
+        searchItem.setOnActionExpandListener(new MenuItem.OnActionExpandListener() {
+            @Override
+            public boolean onMenuItemActionExpand(@NonNull MenuItem item) {
+                return true;
+            }
+
+            @Override
+            public boolean onMenuItemActionCollapse(@NonNull MenuItem item) {
+                taskViewModel.setSearchQuery(null);
+                return true;
+            }
+        });
+    }
+
     @Override
     public void onPrepareOptionsMenu(@NonNull Menu menu) {
         super.onPrepareOptionsMenu(menu);
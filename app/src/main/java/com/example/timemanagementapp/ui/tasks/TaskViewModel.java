@@ -1,26 +1,48 @@
 package com.example.timemanagementapp.ui.tasks;
 
 import android.app.Application;
+import android.os.Handler;
+import android.os.Looper;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MediatorLiveData;
+import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.Transformations;
+import androidx.lifecycle.ViewModelKt;
+import androidx.paging.PagingData;
+import androidx.paging.PagingLiveData;
+import com.example.timemanagementapp.data.AppExecutors;
+import com.example.timemanagementapp.data.CommentListUpdate;
+import com.example.timemanagementapp.data.TaskCommentPager;
 import com.example.timemanagementapp.data.TaskRepository;
+import com.example.timemanagementapp.data.UserDirectory;
 import com.example.timemanagementapp.data.local.entity.Task;
 import com.example.timemanagementapp.data.local.entity.Project;
 import com.example.timemanagementapp.data.local.entity.User;
 import com.example.timemanagementapp.data.local.entity.TaskComment;
-import com.example.timemanagementapp.notifications.ReminderWorker;
+import com.example.timemanagementapp.data.local.model.TaskWithRelations;
+import com.example.timemanagementapp.data.search.TaskSearchResult;
+import com.example.timemanagementapp.log.AppLog;
+import com.example.timemanagementapp.notifications.ReminderScheduler;
 import com.example.timemanagementapp.notifications.TaskAssignmentNotifier;
+import com.example.timemanagementapp.ui.calendar.CalendarTaskIndex;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Date;
-import android.util.Log;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 import com.example.timemanagementapp.data.local.entity.CurrentUserManager;
-import java.util.Calendar;
 
 public class TaskViewModel extends AndroidViewModel {
     private static final String TAG = "TaskViewModel";
     private TaskRepository repository;
+    private ReminderScheduler reminderScheduler;
     private MediatorLiveData<List<Task>> allTasksMediator = new MediatorLiveData<>();
     private LiveData<List<Task>> tasksSortedByDueDate;
     private LiveData<List<Task>> tasksSortedByPriority;
@@ -28,6 +50,33 @@ public class TaskViewModel extends AndroidViewModel {
     private LiveData<List<User>> allUsers;
     private LiveData<List<Task>> tasksAssignedToMe;
 
+    // Постраничные источники для списка задач (TaskListFragment)
+    private MediatorLiveData<PagingData<TaskWithRelations>> pagedTasksMediator = new MediatorLiveData<>();
+    private LiveData<PagingData<TaskWithRelations>> pagedTasksByDueDate;
+    private LiveData<PagingData<TaskWithRelations>> pagedTasksByPriority;
+    private LiveData<PagingData<TaskWithRelations>> pagedTasksAssignedToMe;
+
+    // Календарь загружает только видимый месяц с соседними (предзагрузка при прокрутке)
+    private final MutableLiveData<YearMonth> visibleCalendarMonth = new MutableLiveData<>(YearMonth.now());
+    private final MutableLiveData<LocalDate> calendarSelectedDate = new MutableLiveData<>();
+    private LiveData<CalendarTaskIndex> calendarTaskIndex;
+    private LiveData<List<TaskWithRelations>> calendarSelectedDayTasks;
+
+    // Поиск: запрос уходит в базу через SEARCH_DEBOUNCE_MILLIS после последнего изменения строки
+    private static final long SEARCH_DEBOUNCE_MILLIS = 300;
+    private final Handler searchHandler = new Handler(Looper.getMainLooper());
+    private final Runnable pendingSearch = this::runSearch;
+    private final MutableLiveData<List<TaskSearchResult>> searchResults =
+            new MutableLiveData<>(Collections.emptyList());
+    // Ответ устаревшего запроса, пришедший позже нового, отбрасывается
+    private final AtomicInteger searchGeneration = new AtomicInteger();
+    private String searchQuery = "";
+    private final Executor searchExecutor;
+
+    // Комментарии открытой задачи (TaskCommentsFragment)
+    @Nullable
+    private TaskCommentPager commentPager;
+
     // Enum для режимов сортировки
     public enum SortMode {
         BY_DUE_DATE,
@@ -39,10 +88,10 @@ public class TaskViewModel extends AndroidViewModel {
 
     public TaskViewModel(@NonNull Application application) {
         super(application);
-        repository = new TaskRepository(application);
-        
-        // Инициализируем канал уведомлений при создании ViewModel
-        TaskAssignmentNotifier.createNotificationChannel(application);
+        repository = TaskRepository.getInstance(application);
+        reminderScheduler = ReminderScheduler.getInstance(application);
+        searchExecutor = AppExecutors.getInstance(application).diskRead();
+
         tasksSortedByDueDate = repository.getAllTasks(); // Изначально это getAllTasksSortedByDueDate()
         tasksSortedByPriority = repository.getAllTasksSortedByPriority();
         
@@ -54,78 +103,77 @@ public class TaskViewModel extends AndroidViewModel {
             // Если текущий пользователь не установлен, используем пустой список
             tasksAssignedToMe = new MediatorLiveData<>();
         }
+
+        // cachedIn переживает пересоздание фрагмента и не перезапрашивает уже загруженные страницы
+        pagedTasksByDueDate = PagingLiveData.cachedIn(
+                repository.getAllTasksPagedByDueDate(), ViewModelKt.getViewModelScope(this));
+        pagedTasksByPriority = PagingLiveData.cachedIn(
+                repository.getAllTasksPagedByPriority(), ViewModelKt.getViewModelScope(this));
+        if (currentUser != null) {
+            pagedTasksAssignedToMe = PagingLiveData.cachedIn(
+                    repository.getActiveTasksForUserPaged(currentUser.getUserId()), ViewModelKt.getViewModelScope(this));
+        }
         
         allProjects = repository.getAllProjects(); // Получаем все проекты
         allUsers = repository.getAllUsers(); // Получаем всех пользователей
 
-        // Обновляем имена проектов на украинский язык
-        updateProjectNamesToUkrainian();
-
-        // Добавление тестовых пользователей, если их нет
+        // Тестовые данные и исправления старых данных готовит DataSeedWorker (см. AppInitializer).
+        // Здесь только выбор текущего пользователя: для MVP — первый по имени, как только пользователи появятся
         allUsers.observeForever(new androidx.lifecycle.Observer<List<User>>() {
             @Override
             public void onChanged(List<User> users) {
                 if (users == null || users.isEmpty()) {
-                    allUsers.removeObserver(this);
-                    addSampleUsers();
-                } else {
-                    // Для MVP: выбираем первого пользователя как текущего
-                    if (CurrentUserManager.getCurrentUser() == null) { // Устанавливаем, только если еще не установлен
-                        CurrentUserManager.setCurrentUser(users.get(0));
-                    }
-                    allUsers.removeObserver(this);
+                    return;
                 }
-            }
-        });
-
-        // Добавление тестовых проектов, если их нет
-        allProjects.observeForever(new androidx.lifecycle.Observer<List<Project>>() {
-            @Override
-            public void onChanged(List<Project> projects) {
-                if (projects == null || projects.isEmpty()) {
-                    allProjects.removeObserver(this);
-                    String defaultOwnerId = "alice_001"; // Используем ID Алисы
-                    // Убираем проверку существования пользователя alice, так как метода getUserByIdSynchronous нет
-                    // и для тестовых данных предполагаем, что alice_001 будет создана.
-                    addSampleProjects(defaultOwnerId);
-                    // Добавляем тестовые задачи после создания проектов
-                    addSampleTasks(defaultOwnerId);
-                } else {
-                    allProjects.removeObserver(this);
+                allUsers.removeObserver(this);
+                if (CurrentUserManager.getCurrentUser() == null) {
+                    CurrentUserManager.setCurrentUser(users.get(0));
                 }
             }
         });
 
         // Наблюдаем за источником данных по умолчанию
         setSortMode(SortMode.BY_DUE_DATE);
+
+        // Точки календаря: агрегат по дням за видимый месяц ± один месяц
+        calendarTaskIndex = Transformations.map(
+                Transformations.switchMap(Transformations.distinctUntilChanged(visibleCalendarMonth), month ->
+                        repository.getTaskCountsPerDay(startOfMonthMillis(month.minusMonths(1)),
+                                startOfMonthMillis(month.plusMonths(2)) - 1)),
+                CalendarTaskIndex::fromDayCounts);
+        // Список задач выбранного дня: диапазонный запрос по due_date, сразу с исполнителем и проектом
+        calendarSelectedDayTasks = Transformations.switchMap(calendarSelectedDate, date -> {
+            ZoneId zone = ZoneId.systemDefault();
+            long start = date.atStartOfDay(zone).toInstant().toEpochMilli();
+            long end = date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli() - 1;
+            return repository.getTasksWithRelationsDueBetween(start, end);
+        });
+    }
+
+    private static long startOfMonthMillis(YearMonth month) {
+        return month.atDay(1).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
     }
 
     public void insert(Task task) {
-        repository.insert(task);
-        scheduleOrCancelReminder(task, false);
-        
-        // Если задача назначена другому пользователю (не создателю), отправляем уведомление
-        checkAndNotifyAssignment(task);
+        // Как и в update, побочные эффекты — только после фиксации записи
+        repository.insert(task, insertedTask -> {
+            scheduleOrCancelReminder(insertedTask, false);
+            // Если задача назначена другому пользователю (не создателю), отправляем уведомление
+            checkAndNotifyAssignment(insertedTask);
+        });
     }
 
     public void update(Task task) {
-        // Проверяем, изменился ли назначенный пользователь
-        if (task.getTaskId() != null) {
-            Task oldTask = repository.getTaskById(task.getTaskId()).getValue();
-            if (oldTask != null && !stringEquals(oldTask.getAssigneeUserId(), task.getAssigneeUserId())) {
-                // Если назначенный пользователь изменился, отправляем уведомление
-                checkAndNotifyAssignment(task);
+        // Старая версия читается из базы в потоке записи; побочные эффекты выполняются
+        // только если изменились их входные поля (старт/стоп таймера их не трогает)
+        repository.update(task, (updatedTask, diff) -> {
+            if (diff.affectsReminder()) {
+                scheduleOrCancelReminder(updatedTask, false);
             }
-        }
-        
-        repository.update(task);
-        scheduleOrCancelReminder(task, false); // Перепланируем или отменяем при обновлении
-    }
-
-    // Вспомогательный метод для сравнения строк (учитывает null)
-    private boolean stringEquals(String s1, String s2) {
-        if (s1 == null) return s2 == null;
-        return s1.equals(s2);
+            if (diff.affectsAssignment()) {
+                checkAndNotifyAssignment(updatedTask);
+            }
+        });
     }
     
     /**
@@ -147,47 +195,89 @@ public class TaskViewModel extends AndroidViewModel {
     }
 
     private void scheduleOrCancelReminder(Task task, boolean isDeleting) {
+        // Очередь напоминаний перевзводит WorkManager только при смене ближайшего напоминания,
+        // поэтому обновления, не меняющие время (например, старт/стоп таймера), ничего не стоят
         if (isDeleting) {
-            ReminderWorker.cancelReminder(getApplication(), task.getTaskId());
-            return;
+            reminderScheduler.onTaskDeleted(task.getTaskId());
+        } else {
+            reminderScheduler.onTaskSaved(task);
         }
+    }
+
+    // --- Массовые операции ---
+    // Статус и приоритет не влияют на время напоминания (только due date и offset),
+    // поэтому перепланирование WorkManager для них не нужно.
+    public void updateStatusForTasks(List<String> taskIds, String status) {
+        repository.updateStatusForTasks(taskIds, status);
+    }
+
+    public void updatePriorityForTasks(List<String> taskIds, int priority) {
+        repository.updatePriorityForTasks(taskIds, priority);
+    }
 
-        // Сначала отменяем любое существующее напоминание для этой задачи
-        ReminderWorker.cancelReminder(getApplication(), task.getTaskId());
-
-        if (task.getDueDate() != null && task.getReminderOffsetMillisBeforeDueDate() != null) {
-            long dueDateMillis = task.getDueDate().getTime();
-            long reminderOffset = task.getReminderOffsetMillisBeforeDueDate();
-            long reminderTimeMillis = dueDateMillis - reminderOffset;
-            long currentTimeMillis = System.currentTimeMillis();
-
-            if (reminderTimeMillis > currentTimeMillis) {
-                long delayMillis = reminderTimeMillis - currentTimeMillis;
-                String taskContent = task.getDescription() != null && !task.getDescription().isEmpty() ? 
-                                     task.getDescription() : "Не забудьте о вашей задаче!";
-                ReminderWorker.scheduleReminder(
-                        getApplication(),
-                        delayMillis,
-                        task.getTaskId(),
-                        task.getTitle(),
-                        taskContent
-                );
+    /**
+     * Назначает задачи пользователю одним UPDATE и отправляет одно сводное уведомление
+     */
+    public void updateAssigneeForTasks(List<String> taskIds, String assigneeUserId) {
+        Application application = getApplication();
+        repository.updateAssigneeForTasks(taskIds, assigneeUserId, reassignedTasks -> {
+            String currentUserId = CurrentUserManager.getCurrentUserId();
+            List<Task> toNotify = new ArrayList<>();
+            for (Task task : reassignedTasks) {
+                // Те же правила, что и в checkAndNotifyAssignment
+                if (assigneeUserId != null && !assigneeUserId.isEmpty() && !assigneeUserId.equals(currentUserId)
+                        && !assigneeUserId.equals(task.getCreatorUserId())) {
+                    toNotify.add(task);
+                }
             }
-        }
+            if (!toNotify.isEmpty()) {
+                TaskAssignmentNotifier.notifyTasksAssigned(application, toNotify, assigneeUserId);
+            }
+        });
     }
 
     public void deleteAllTasks() {
-        // При удалении всех задач, нужно пройтись по ним и отменить напоминания
-        // Это потребует загрузки всех задач перед удалением, что может быть неоптимально
-        // Либо WorkManager должен поддерживать отмену по общему тегу для всех напоминаний приложения, если это возможно
-        // Пока оставим без массовой отмены напоминаний здесь, т.к. это редкая операция
         repository.deleteAllTasks();
+        reminderScheduler.onAllTasksDeleted();
     }
 
     public LiveData<List<Task>> getAllTasks() {
         return allTasksMediator;
     }
 
+    /**
+     * Число задач по дням для видимого в календаре месяца и соседних с ним
+     */
+    public LiveData<CalendarTaskIndex> getCalendarTaskIndex() {
+        return calendarTaskIndex;
+    }
+
+    /**
+     * Вызывается при прокрутке календаря: смещает окно загружаемых месяцев
+     */
+    public void setVisibleCalendarMonth(YearMonth month) {
+        visibleCalendarMonth.setValue(month);
+    }
+
+    public void setCalendarSelectedDate(LocalDate date) {
+        calendarSelectedDate.setValue(date);
+    }
+
+    public LiveData<LocalDate> getCalendarSelectedDate() {
+        return calendarSelectedDate;
+    }
+
+    public LiveData<List<TaskWithRelations>> getCalendarSelectedDayTasks() {
+        return calendarSelectedDayTasks;
+    }
+
+    /**
+     * Постраничный список задач с учётом текущего режима сортировки
+     */
+    public LiveData<PagingData<TaskWithRelations>> getPagedTasks() {
+        return pagedTasksMediator;
+    }
+
     public LiveData<Task> getTaskById(String taskId) {
         return repository.getTaskById(taskId);
     }
@@ -230,6 +320,25 @@ public class TaskViewModel extends AndroidViewModel {
         } else { // BY_DUE_DATE или любой другой режим по умолчанию
             allTasksMediator.addSource(tasksSortedByDueDate, tasks -> allTasksMediator.setValue(tasks));
         }
+
+        // То же самое для постраничного источника
+        pagedTasksMediator.removeSource(pagedTasksByDueDate);
+        pagedTasksMediator.removeSource(pagedTasksByPriority);
+        if (pagedTasksAssignedToMe != null) {
+            pagedTasksMediator.removeSource(pagedTasksAssignedToMe);
+        }
+
+        if (sortMode == SortMode.BY_PRIORITY) {
+            pagedTasksMediator.addSource(pagedTasksByPriority, pagedTasksMediator::setValue);
+        } else if (sortMode == SortMode.ASSIGNED_TO_ME) {
+            if (pagedTasksAssignedToMe != null) {
+                pagedTasksMediator.addSource(pagedTasksAssignedToMe, pagedTasksMediator::setValue);
+            } else {
+                pagedTasksMediator.setValue(PagingData.empty());
+            }
+        } else {
+            pagedTasksMediator.addSource(pagedTasksByDueDate, pagedTasksMediator::setValue);
+        }
     }
 
     public SortMode getCurrentSortMode() {
@@ -238,18 +347,18 @@ public class TaskViewModel extends AndroidViewModel {
 
     public void startTrackingTime(Task task) {
         if (task != null) {
-            Log.d(TAG, "startTrackingTime for task: " + task.getTitle() + " ID: " + task.getTaskId());
+            AppLog.d(TAG, () -> "startTrackingTime for task: " + task.getTitle() + " ID: " + task.getTaskId());
             Task updatedTask = new Task(task); // Используем конструктор копирования
             updatedTask.setTimeTrackingStartTimeMillis(System.currentTimeMillis());
             updatedTask.setUpdatedAt(new Date()); // Обновляем время последнего изменения
-            Log.d(TAG, "Task " + updatedTask.getTaskId() + " new startTime: " + updatedTask.getTimeTrackingStartTimeMillis());
+            AppLog.d(TAG, () -> "Task " + updatedTask.getTaskId() + " new startTime: " + updatedTask.getTimeTrackingStartTimeMillis());
             update(updatedTask);
         }
     }
 
     public void stopTrackingTime(Task task) {
         if (task != null && task.getTimeTrackingStartTimeMillis() != null) {
-            Log.d(TAG, "stopTrackingTime for task: " + task.getTitle() + " ID: " + task.getTaskId());
+            AppLog.d(TAG, () -> "stopTrackingTime for task: " + task.getTitle() + " ID: " + task.getTaskId());
             Task updatedTask = new Task(task); // Используем конструктор копирования
             
             long timeTrackedSession = System.currentTimeMillis() - updatedTask.getTimeTrackingStartTimeMillis(); // startTime берем из копии (такой же как в оригинале)
@@ -258,7 +367,7 @@ public class TaskViewModel extends AndroidViewModel {
             updatedTask.setTimeTrackingStartTimeMillis(null);
             updatedTask.setUpdatedAt(new Date()); // Обновляем время последнего изменения
 
-            Log.d(TAG, "Task " + updatedTask.getTaskId() + " new totalTimeSpent: " + updatedTask.getTimeSpentMillis() + ", startTime reset to null");
+            AppLog.d(TAG, () -> "Task " + updatedTask.getTaskId() + " new totalTimeSpent: " + updatedTask.getTimeSpentMillis() + ", startTime reset to null");
             update(updatedTask);
         }
     }
@@ -291,62 +400,15 @@ public class TaskViewModel extends AndroidViewModel {
         return repository.getUserById(userId);
     }
 
-    public void insertUser(User user) {
-        repository.insertUser(user);
-    }
-
-    private void addSampleProjects(String ownerId) {
-        if (ownerId == null) {
-            Log.e(TAG, "Cannot add sample projects: ownerId is null. Attempting to use current user or default.");
-            User currentUser = CurrentUserManager.getCurrentUser();
-            if (currentUser != null) {
-                ownerId = currentUser.getUserId();
-            } else {
-                ownerId = "alice_001"; // Запасной вариант
-                Log.w(TAG, "Defaulting to ownerId '" + ownerId + "' for sample projects as current user is null and ownerId was null.");
-            }
-        }
-
-        Project project1 = new Project("Особистий проект", ownerId);
-        project1.setDescription("Особисті справи та хобі");
-        project1.setColorHex("#FF5722"); // Оранжевый
-
-        Project project2 = new Project("Робота", ownerId);
-        project2.setDescription("Робочі завдання та проекти");
-        project2.setColorHex("#2196F3"); // Синий
-
-        Project project3 = new Project("Дім", ownerId);
-        project3.setDescription("Домашні справи та сімейні плани");
-        project3.setColorHex("#4CAF50"); // Зеленый
-
-        insertProject(project1);
-        insertProject(project2);
-        insertProject(project3);
-        Log.d(TAG, "Added 3 sample projects to the database for owner: " + ownerId);
+    /**
+     * Справочник id → пользователь для адаптеров и выбора исполнителя, собирается вне главного потока
+     */
+    public LiveData<UserDirectory> getUserDirectory() {
+        return repository.getUserDirectory();
     }
 
-    private void addSampleUsers() {
-        User user1 = new User("alice@example.com", "Користувач");
-        user1.setUserId("alice_001");
-        insertUser(user1);
-
-        User user2 = new User("bob@example.com", "Bob The Builder");
-        user2.setUserId("bob_002");
-
-        User user3 = new User("charlie@example.com", "Charlie Chaplin");
-        user3.setUserId("charlie_003");
-
-        User user4 = new User("diana@example.com", "Diana Prince");
-        user4.setUserId("diana_004");
-
-        User user5 = new User("edward@example.com", "Edward Nigma");
-        user5.setUserId("edward_005");
-
-        insertUser(user2);
-        insertUser(user3);
-        insertUser(user4);
-        insertUser(user5);
-        Log.d(TAG, "Added 5 sample users to the database.");
+    public void insertUser(User user) {
+        repository.insertUser(user);
     }
 
     // Можно добавить updateUser, deleteUser если они нужны напрямую из ViewModel
@@ -363,14 +425,48 @@ public class TaskViewModel extends AndroidViewModel {
     public void updateComment(TaskComment comment) {
         comment.setUpdatedAt(new Date());
         repository.updateComment(comment);
+        // Комментарии правятся только с этого экрана: список обновляется сразу, без перечитывания
+        if (commentPager != null) {
+            commentPager.applyUpdated(comment);
+        }
     }
 
     public void deleteComment(TaskComment comment) {
         repository.deleteComment(comment);
+        if (commentPager != null) {
+            commentPager.applyDeleted(comment.getCommentId());
+        }
+    }
+
+    /**
+     * Изменения списка комментариев задачи. Пейджер переживает пересоздание фрагмента;
+     * при открытии другой задачи прежний закрывается
+     */
+    public LiveData<CommentListUpdate> openComments(String taskId) {
+        if (commentPager == null || !commentPager.getTaskId().equals(taskId)) {
+            closeComments();
+            commentPager = repository.openCommentPager(taskId);
+        }
+        return commentPager.getUpdates();
+    }
+
+    public void loadOlderComments() {
+        if (commentPager != null) {
+            commentPager.loadOlder();
+        }
     }
 
-    public LiveData<List<TaskComment>> getCommentsForTask(String taskId) {
-        return repository.getCommentsForTask(taskId);
+    public void requestCommentsReset() {
+        if (commentPager != null) {
+            commentPager.requestReset();
+        }
+    }
+
+    public void closeComments() {
+        if (commentPager != null) {
+            commentPager.close();
+            commentPager = null;
+        }
     }
 
     public LiveData<TaskComment> getCommentById(String commentId) {
@@ -385,146 +481,55 @@ public class TaskViewModel extends AndroidViewModel {
         repository.deleteAllCommentsForTask(taskId);
     }
 
-    private void addSampleTasks(String ownerId) {
-        if (ownerId == null) {
-            Log.e(TAG, "Cannot add sample tasks: ownerId is null");
+    // --- Поиск ---
+
+    /**
+     * Новая строка поиска. Пустая строка сразу выключает поиск, иначе запрос выполняется
+     * после паузы во вводе, чтобы не искать на каждый символ
+     */
+    public void setSearchQuery(@Nullable String query) {
+        String normalized = query == null ? "" : query.trim();
+        if (normalized.equals(searchQuery)) {
             return;
         }
+        searchQuery = normalized;
+        searchHandler.removeCallbacks(pendingSearch);
+        if (normalized.isEmpty()) {
+            searchGeneration.incrementAndGet();
+            searchResults.setValue(Collections.emptyList());
+            return;
+        }
+        searchHandler.postDelayed(pendingSearch, SEARCH_DEBOUNCE_MILLIS);
+    }
 
-        // Получаем проекты по ownerId из базы данных в синхронном режиме
-        Calendar calendar = Calendar.getInstance();
-        
-        // Задача 1: В проекте "Робота"
-        Task task1 = new Task("Підготувати звіт", ownerId);
-        task1.setDescription("Зібрати дані та підготувати щомісячний звіт для керівництва");
-        calendar.add(Calendar.DAY_OF_MONTH, 3);
-        task1.setDueDate(calendar.getTime());
-        task1.setPriority(3); // Высокий
-        task1.setAssigneeUserId("alice_001");
-        task1.setStatus("in_progress");
-        // task1.setProjectId будет установлено в обзервере проектов        
-        insert(task1);
-
-        // Задача 2: В проекте "Особистий проект"
-        Task task2 = new Task("Організувати зустріч", ownerId);
-        task2.setDescription("Запланувати і провести зустріч команди для обговорення нових завдань");
-        calendar.add(Calendar.DAY_OF_MONTH, 2);
-        task2.setDueDate(calendar.getTime());
-        task2.setPriority(2); // Средний
-        task2.setAssigneeUserId("bob_002");
-        task2.setStatus("todo");
-        // task2.setProjectId будет установлено в обзервере проектов
-        insert(task2);
-
-        // Задача 3: В проекте "Дім"
-        Task task3 = new Task("Вивчити новий фреймворк", ownerId);
-        task3.setDescription("Пройти онлайн-курс по новому фреймворку і зробити тестовий проект");
-        calendar.add(Calendar.DAY_OF_MONTH, 14);
-        task3.setDueDate(calendar.getTime());
-        task3.setPriority(1); // Низкий
-        task3.setAssigneeUserId("charlie_003");
-        task3.setStatus("todo");
-        // task3.setProjectId будет установлено в обзервере проектов
-        insert(task3);
-
-        // Задача 4: Без проекта
-        Task task4 = new Task("Особиста задача", ownerId);
-        task4.setDescription("Задача без прив'язки до проекту");
-        calendar.add(Calendar.DAY_OF_MONTH, 1);
-        task4.setDueDate(calendar.getTime());
-        task4.setPriority(2); // Средний
-        task4.setAssigneeUserId("alice_001");
-        task4.setStatus("on_hold"); // Отложена
-        insert(task4);
-
-        Log.d(TAG, "Added 4 sample tasks to the database for owner: " + ownerId);
-        
-        // Устанавливаем projectId для задач после того, как проекты созданы
-        // Это будет работать асинхронно через LiveData, пока просто добавим задачи
-        allProjects.observeForever(new androidx.lifecycle.Observer<List<Project>>() {
-            @Override
-            public void onChanged(List<Project> projects) {
-                if (projects != null && !projects.isEmpty()) {
-                    allProjects.removeObserver(this);
-                    
-                    try {
-                        // Найдем проекты по названиям
-                        String robotaProjectId = null;
-                        String personalProjectId = null;
-                        String domProjectId = null;
-                        
-                        for (Project project : projects) {
-                            if ("Робота".equals(project.getName())) {
-                                robotaProjectId = project.getProjectId();
-                            } else if ("Особистий проект".equals(project.getName())) {
-                                personalProjectId = project.getProjectId();
-                            } else if ("Дім".equals(project.getName())) {
-                                domProjectId = project.getProjectId();
-                            }
-                        }
-                        
-                        // Обновим задачи с projectId
-                        if (robotaProjectId != null) {
-                            task1.setProjectId(robotaProjectId);
-                            update(task1);
-                        }
-                        
-                        if (personalProjectId != null) {
-                            task2.setProjectId(personalProjectId);
-                            update(task2);
-                        }
-                        
-                        if (domProjectId != null) {
-                            task3.setProjectId(domProjectId);
-                            update(task3);
-                        }
-                        
-                        Log.d(TAG, "Updated sample tasks with project IDs");
-                    } catch (Exception e) {
-                        Log.e(TAG, "Error updating sample tasks with project IDs: " + e.getMessage());
-                    }
-                }
-            }
-        });
+    @NonNull
+    public String getSearchQuery() {
+        return searchQuery;
     }
 
-    private void updateProjectNamesToUkrainian() {
-        allProjects.observeForever(new androidx.lifecycle.Observer<List<Project>>() {
-            @Override
-            public void onChanged(List<Project> projects) {
-                if (projects != null && !projects.isEmpty()) {
-                    allProjects.removeObserver(this);
-                    
-                    for (Project project : projects) {
-                        boolean needUpdate = false;
-                        
-                        // Обновляем названия и описания проектов на украинском языке
-                        if ("Дом Гамма".equals(project.getName())) {
-                            project.setName("Дім");
-                            project.setDescription("Домашні справи та сімейні плани");
-                            project.setColorHex("#4CAF50"); // Зеленый
-                            needUpdate = true;
-                        } else if ("Личный проект Альфа".equals(project.getName())) {
-                            project.setName("Особистий проект");
-                            project.setDescription("Особисті справи та хобі");
-                            project.setColorHex("#FF5722"); // Оранжевый
-                            needUpdate = true;
-                        } else if ("Работа Бета".equals(project.getName())) {
-                            project.setName("Робота");
-                            project.setDescription("Робочі завдання та проекти");
-                            project.setColorHex("#2196F3"); // Синий
-                            needUpdate = true;
-                        }
-                        
-                        // Если название было изменено, обновляем проект в БД
-                        if (needUpdate) {
-                            updateProject(project);
-                        }
-                    }
-                    
-                    Log.d(TAG, "Project names updated to Ukrainian");
-                }
+    public boolean isSearchActive() {
+        return !searchQuery.isEmpty();
+    }
+
+    public LiveData<List<TaskSearchResult>> getSearchResults() {
+        return searchResults;
+    }
+
+    private void runSearch() {
+        String query = searchQuery;
+        int generation = searchGeneration.incrementAndGet();
+        searchExecutor.execute(() -> {
+            List<TaskSearchResult> results = repository.searchTasksSync(query);
+            if (searchGeneration.get() == generation) {
+                searchResults.postValue(results);
             }
         });
     }
-} 
\ No newline at end of file
+
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        searchHandler.removeCallbacks(pendingSearch);
+        closeComments();
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.timemanagementapp.ui.timer;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Форматирование затраченного времени ("1 ч 05 мин", "3 мин 07 сек", "12 сек") в переданный char[].
+ *
+ * Вызывается на каждый тик таймера для всех видимых строк, поэтому не создаёт объектов:
+ * результат пишется в буфер, который держит ViewHolder, и передаётся в TextView.setText(char[], int, int).
+ */
+public final class ElapsedTimeFormatter {
+    // Максимум: 19 цифр часов + " ч 59 мин"
+    public static final int BUFFER_SIZE = 32;
+
+    private static final long MILLIS_PER_SECOND = 1000;
+    private static final long MILLIS_PER_MINUTE = 60 * MILLIS_PER_SECOND;
+    private static final long MILLIS_PER_HOUR = 60 * MILLIS_PER_MINUTE;
+
+    private static final char[] HOURS = " ч ".toCharArray();
+    private static final char[] MINUTES = " мин".toCharArray();
+    private static final char[] MINUTES_INFIX = " мин ".toCharArray();
+    private static final char[] SECONDS = " сек".toCharArray();
+
+    private ElapsedTimeFormatter() {
+    }
+
+    /**
+     * Пишет время в buffer с позиции 0 и возвращает длину текста. Отрицательное время считается нулём
+     */
+    public static int format(long millis, @NonNull char[] buffer) {
+        if (millis < 0) {
+            millis = 0;
+        }
+        // Часы не ограничиваем 24, т.к. это общее время
+        long hours = millis / MILLIS_PER_HOUR;
+        int minutes = (int) (millis / MILLIS_PER_MINUTE % 60);
+        int seconds = (int) (millis / MILLIS_PER_SECOND % 60);
+        int length;
+        if (hours > 0) {
+            length = appendNumber(hours, buffer, 0);
+            length = append(HOURS, buffer, length);
+            length = appendTwoDigits(minutes, buffer, length);
+            length = append(MINUTES, buffer, length);
+        } else if (minutes > 0) {
+            length = appendNumber(minutes, buffer, 0);
+            length = append(MINUTES_INFIX, buffer, length);
+            length = appendTwoDigits(seconds, buffer, length);
+            length = append(SECONDS, buffer, length);
+        } else {
+            length = appendNumber(seconds, buffer, 0);
+            length = append(SECONDS, buffer, length);
+        }
+        return length;
+    }
+
+    /**
+     * То же самое строкой — для мест вне горячего пути
+     */
+    @NonNull
+    public static String format(long millis) {
+        char[] buffer = new char[BUFFER_SIZE];
+        return new String(buffer, 0, format(millis, buffer));
+    }
+
+    private static int appendNumber(long value, char[] buffer, int offset) {
+        int digits = 1;
+        for (long rest = value / 10; rest > 0; rest /= 10) {
+            digits++;
+        }
+        int end = offset + digits;
+        for (int position = end - 1; position >= offset; position--) {
+            buffer[position] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return end;
+    }
+
+    private static int appendTwoDigits(int value, char[] buffer, int offset) {
+        buffer[offset] = (char) ('0' + value / 10);
+        buffer[offset + 1] = (char) ('0' + value % 10);
+        return offset + 2;
+    }
+
+    private static int append(char[] text, char[] buffer, int offset) {
+        System.arraycopy(text, 0, buffer, offset, text.length);
+        return offset + text.length;
+    }
+}
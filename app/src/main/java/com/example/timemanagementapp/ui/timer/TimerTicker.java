@@ -0,0 +1,161 @@
+package com.example.timemanagementapp.ui.timer;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.lifecycle.DefaultLifecycleObserver;
+import androidx.lifecycle.LifecycleOwner;
+
+import java.util.Arrays;
+
+/**
+ * Общие часы для запущенных таймеров задач: один тик в секунду на всё приложение.
+ *
+ * Подписчики (адаптеры списков) сами обновляют видимые строки с активным таймером.
+ * Подписка привязана к жизненному циклу: тики идут, только пока есть хотя бы один
+ * подписчик в состоянии STARTED, и сами по себе ничего не пишут в базу.
+ * На тик не создаётся объектов: подписчики хранятся в массиве, который копируется
+ * только при подписке и отписке. Все методы — только из главного потока.
+ */
+public final class TimerTicker {
+    public static final long TICK_INTERVAL_MILLIS = 1000;
+
+    public interface OnTickListener {
+        void onTick(long nowMillis);
+    }
+
+    public interface Clock {
+        long currentTimeMillis();
+    }
+
+    /**
+     * Отложенный запуск тика; в приложении — Handler главного потока
+     */
+    public interface Scheduler {
+        void postDelayed(@NonNull Runnable runnable, long delayMillis);
+
+        void cancel(@NonNull Runnable runnable);
+    }
+
+    private static final OnTickListener[] NO_LISTENERS = new OnTickListener[0];
+
+    private static TimerTicker INSTANCE;
+
+    private final Clock clock;
+    private final Scheduler scheduler;
+    private OnTickListener[] listeners = NO_LISTENERS;
+    private boolean ticking;
+    private final Runnable tick = this::dispatchTick;
+
+    TimerTicker(@NonNull Clock clock, @NonNull Scheduler scheduler) {
+        this.clock = clock;
+        this.scheduler = scheduler;
+    }
+
+    @MainThread
+    public static TimerTicker getInstance() {
+        if (INSTANCE == null) {
+            INSTANCE = new TimerTicker(System::currentTimeMillis, new MainThreadScheduler());
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * Подписывает listener на тики, пока owner находится в состоянии STARTED.
+     * При старте listener сразу получает тик, чтобы строки не ждали до секунды
+     */
+    @MainThread
+    public void observe(@NonNull LifecycleOwner owner, @NonNull OnTickListener listener) {
+        owner.getLifecycle().addObserver(new DefaultLifecycleObserver() {
+            @Override
+            public void onStart(@NonNull LifecycleOwner lifecycleOwner) {
+                addListener(listener);
+                listener.onTick(clock.currentTimeMillis());
+            }
+
+            @Override
+            public void onStop(@NonNull LifecycleOwner lifecycleOwner) {
+                removeListener(listener);
+            }
+
+            @Override
+            public void onDestroy(@NonNull LifecycleOwner lifecycleOwner) {
+                lifecycleOwner.getLifecycle().removeObserver(this);
+            }
+        });
+    }
+
+    void addListener(@NonNull OnTickListener listener) {
+        OnTickListener[] updated = Arrays.copyOf(listeners, listeners.length + 1);
+        updated[listeners.length] = listener;
+        listeners = updated;
+        if (!ticking) {
+            ticking = true;
+            scheduleNextTick();
+        }
+    }
+
+    void removeListener(@NonNull OnTickListener listener) {
+        int index = -1;
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                index = i;
+                break;
+            }
+        }
+        if (index < 0) {
+            return;
+        }
+        if (listeners.length == 1) {
+            listeners = NO_LISTENERS;
+            ticking = false;
+            scheduler.cancel(tick);
+            return;
+        }
+        OnTickListener[] updated = new OnTickListener[listeners.length - 1];
+        System.arraycopy(listeners, 0, updated, 0, index);
+        System.arraycopy(listeners, index + 1, updated, index, listeners.length - index - 1);
+        listeners = updated;
+    }
+
+    boolean isTicking() {
+        return ticking;
+    }
+
+    private void dispatchTick() {
+        if (!ticking) {
+            return;
+        }
+        long now = clock.currentTimeMillis();
+        // Подписчик может отписаться во время тика: обходим снимок массива
+        OnTickListener[] current = listeners;
+        for (OnTickListener listener : current) {
+            listener.onTick(now);
+        }
+        if (ticking) {
+            scheduleNextTick();
+        }
+    }
+
+    // Тики выравниваются по границе секунды, чтобы все таймеры на экране менялись одновременно
+    private void scheduleNextTick() {
+        long now = clock.currentTimeMillis();
+        scheduler.postDelayed(tick, TICK_INTERVAL_MILLIS - now % TICK_INTERVAL_MILLIS);
+    }
+
+    private static final class MainThreadScheduler implements Scheduler {
+        private final Handler handler = new Handler(Looper.getMainLooper());
+
+        @Override
+        public void postDelayed(@NonNull Runnable runnable, long delayMillis) {
+            handler.postDelayed(runnable, delayMillis);
+        }
+
+        @Override
+        public void cancel(@NonNull Runnable runnable) {
+            handler.removeCallbacks(runnable);
+        }
+    }
+}
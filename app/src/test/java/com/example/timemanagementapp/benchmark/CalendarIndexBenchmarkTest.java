@@ -0,0 +1,142 @@
+package com.example.timemanagementapp.benchmark;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.example.timemanagementapp.data.local.entity.Task;
+import com.example.timemanagementapp.data.local.model.DayTaskCount;
+import com.example.timemanagementapp.ui.calendar.CalendarTaskIndex;
+
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * Отрисовка календаря на 10 000 задач: прежние hasTasks/filterTasksForDate CalendarFragment
+ * (проход по всем задачам с Calendar на каждую ячейку) против CalendarTaskIndex из агрегатов
+ * по дням (TaskDao.getTaskCountsPerDay). Прокручиваются все 13 месяцев календаря.
+ * Список выбранного дня теперь читает диапазонный запрос по индексу due_date, в JVM он не замеряется
+ */
+public class CalendarIndexBenchmarkTest {
+    private static final int TASK_COUNT = 10_000;
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    @Test
+    public void linearScanVersusIndex() throws Exception {
+        List<Task> tasks = generateTasks();
+        List<DayTaskCount> dayCounts = dayCounts(tasks);
+        List<LocalDate> days = calendarDays();
+        Calendar today = Calendar.getInstance();
+        MicroBenchmark benchmark = new MicroBenchmark(CalendarIndexBenchmarkTest.class);
+
+        assertEquals(bindLinear(tasks, days), bindIndexed(dayCounts, days));
+
+        benchmark.measure("hasTasksLinear_" + TASK_COUNT + "Tasks_" + days.size() + "Days",
+                () -> bindLinear(tasks, days));
+        benchmark.measure("filterTasksForDateLinear_" + TASK_COUNT + "Tasks",
+                () -> filterTasksForDate(tasks, today));
+        benchmark.measure("hasTasksIndexed_" + TASK_COUNT + "Tasks_" + days.size() + "Days",
+                () -> bindIndexed(dayCounts, days));
+        benchmark.measure("buildFromDayCounts_" + dayCounts.size(), () -> CalendarTaskIndex.fromDayCounts(dayCounts));
+
+        assertTrue(benchmark.writeReport().isFile());
+    }
+
+    // Прежняя логика CalendarFragment.hasTasks: Calendar на ячейку и проход по всем задачам
+    private static int bindLinear(List<Task> tasks, List<LocalDate> days) {
+        int daysWithTasks = 0;
+        for (LocalDate day : days) {
+            Calendar dayCalendar = Calendar.getInstance();
+            dayCalendar.setTime(Date.from(day.atStartOfDay(ZONE).toInstant()));
+            for (Task task : tasks) {
+                if (task.getDueDate() != null && isSameDay(task.getDueDate(), dayCalendar)) {
+                    daysWithTasks++;
+                    break;
+                }
+            }
+        }
+        return daysWithTasks;
+    }
+
+    // Прежняя логика CalendarFragment.filterTasksForDate
+    private static List<Task> filterTasksForDate(List<Task> tasks, Calendar date) {
+        List<Task> filteredTasks = new ArrayList<>();
+        for (Task task : tasks) {
+            if (task.getDueDate() != null && isSameDay(task.getDueDate(), date)) {
+                filteredTasks.add(task);
+            }
+        }
+        return filteredTasks;
+    }
+
+    private static boolean isSameDay(Date date1, Calendar date2) {
+        Calendar cal1 = Calendar.getInstance();
+        cal1.setTime(date1);
+        return cal1.get(Calendar.YEAR) == date2.get(Calendar.YEAR)
+                && cal1.get(Calendar.DAY_OF_YEAR) == date2.get(Calendar.DAY_OF_YEAR);
+    }
+
+    // Текущая логика: индекс строится один раз на выдачу агрегата, ячейка — поиск в HashMap
+    private static int bindIndexed(List<DayTaskCount> dayCounts, List<LocalDate> days) {
+        CalendarTaskIndex index = CalendarTaskIndex.fromDayCounts(dayCounts);
+        int daysWithTasks = 0;
+        for (LocalDate day : days) {
+            if (index.hasTasks(day)) {
+                daysWithTasks++;
+            }
+        }
+        return daysWithTasks;
+    }
+
+    private static List<Task> generateTasks() {
+        Random random = new Random(42);
+        long now = System.currentTimeMillis();
+        long twoYearsMillis = 2L * 365 * 24 * 60 * 60 * 1000;
+        List<Task> tasks = new ArrayList<>(TASK_COUNT);
+        for (int i = 0; i < TASK_COUNT; i++) {
+            Task task = new Task("Task " + i, "alice_001");
+            // Задачи в пределах ±1 года, часть — без срока
+            if (i % 10 != 0) {
+                task.setDueDate(new Date(now - twoYearsMillis / 2 + (long) (random.nextDouble() * twoYearsMillis)));
+            }
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    // То же, что возвращает агрегирующий запрос календаря
+    private static List<DayTaskCount> dayCounts(List<Task> tasks) {
+        Map<Long, Integer> counts = new TreeMap<>();
+        for (Task task : tasks) {
+            if (task.getDueDate() != null) {
+                long epochDay = task.getDueDate().toInstant().atZone(ZONE).toLocalDate().toEpochDay();
+                counts.merge(epochDay, 1, Integer::sum);
+            }
+        }
+        List<DayTaskCount> dayCounts = new ArrayList<>(counts.size());
+        for (Map.Entry<Long, Integer> entry : counts.entrySet()) {
+            dayCounts.add(new DayTaskCount(entry.getKey(), entry.getValue()));
+        }
+        return dayCounts;
+    }
+
+    private static List<LocalDate> calendarDays() {
+        YearMonth current = YearMonth.now();
+        List<LocalDate> days = new ArrayList<>();
+        for (YearMonth month = current.minusMonths(6); !month.isAfter(current.plusMonths(6)); month = month.plusMonths(1)) {
+            for (int day = 1; day <= month.lengthOfMonth(); day++) {
+                days.add(month.atDay(day));
+            }
+        }
+        return days;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.timemanagementapp.benchmark;
+
+import static org.junit.Assert.assertTrue;
+
+import com.example.timemanagementapp.data.local.converter.DateConverter;
+
+import org.junit.Test;
+
+import java.util.Date;
+
+/**
+ * DateConverter вызывается Room для каждой даты каждой строки (у задачи их до четырёх)
+ */
+public class DateConverterBenchmarkTest {
+    private static final int VALUES = 10_000;
+
+    @Test
+    public void convertTimestamps() throws Exception {
+        long[] timestamps = new long[VALUES];
+        Date[] dates = new Date[VALUES];
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < VALUES; i++) {
+            timestamps[i] = now + i * 60_000L;
+            dates[i] = new Date(timestamps[i]);
+        }
+        MicroBenchmark benchmark = new MicroBenchmark(DateConverterBenchmarkTest.class);
+
+        Date[] converted = new Date[VALUES];
+        benchmark.measure("toDate", VALUES, () -> {
+            // Даты сохраняются в массив, как в сущностях, иначе JIT уберёт аллокацию
+            for (int i = 0; i < VALUES; i++) {
+                converted[i] = DateConverter.toDate(timestamps[i]);
+            }
+            return converted[VALUES - 1];
+        });
+        benchmark.measure("toTimestamp", VALUES, () -> {
+            long sum = 0;
+            for (Date date : dates) {
+                sum += DateConverter.toTimestamp(date);
+            }
+            return sum;
+        });
+
+        assertTrue(benchmark.writeReport().isFile());
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.timemanagementapp.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Минимальный раннер JVM-микробенчмарков для unit-тестов.
+ *
+ * Каждая операция прогревается, затем замеряется RUNS раз; в отчёт идёт время на одну
+ * операцию (run / operationsPerRun). Результаты класса пишутся в JSON того же вида, что
+ * у androidx.benchmark ({"benchmarks":[{"name","className","metrics":{"timeNs":{...}}}]}),
+ * в каталог из системного свойства benchmark.outputDir (задаётся в app/build.gradle.kts),
+ * чтобы JVM- и макробенчмарки отслеживались между сборками одним инструментом.
+ */
+public final class MicroBenchmark {
+    public interface Operation {
+        /**
+         * Результат операции складывается в sink, чтобы JIT не выбросил вычисление
+         */
+        Object run() throws Exception;
+    }
+
+    public static final class Result {
+        public final String name;
+        public final long[] runNanos;
+
+        Result(String name, long[] runNanos) {
+            this.name = name;
+            this.runNanos = runNanos;
+        }
+
+        public long medianNanos() {
+            long[] sorted = runNanos.clone();
+            Arrays.sort(sorted);
+            return sorted[sorted.length / 2];
+        }
+
+        public long minNanos() {
+            long min = Long.MAX_VALUE;
+            for (long nanos : runNanos) {
+                min = Math.min(min, nanos);
+            }
+            return min;
+        }
+
+        public long maxNanos() {
+            long max = 0;
+            for (long nanos : runNanos) {
+                max = Math.max(max, nanos);
+            }
+            return max;
+        }
+    }
+
+    private static final int WARMUP_RUNS = 10;
+    private static final int RUNS = 30;
+    private static final String OUTPUT_DIR_PROPERTY = "benchmark.outputDir";
+    private static final String DEFAULT_OUTPUT_DIR = "build/outputs/microbenchmark";
+
+    private final Class<?> benchmarkClass;
+    private final List<Result> results = new ArrayList<>();
+    private int sink;
+
+    public MicroBenchmark(Class<?> benchmarkClass) {
+        this.benchmarkClass = benchmarkClass;
+    }
+
+    public Result measure(String name, Operation operation) throws Exception {
+        return measure(name, 1, operation);
+    }
+
+    /**
+     * Замеряет operation, которая за один вызов выполняет operationsPerRun одинаковых действий
+     * (для дешёвых операций вроде DateConverter, где одиночный вызов меньше разрешения таймера)
+     */
+    public Result measure(String name, int operationsPerRun, Operation operation) throws Exception {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            consume(operation.run());
+        }
+        long[] runNanos = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            Object value = operation.run();
+            runNanos[i] = (System.nanoTime() - start) / operationsPerRun;
+            consume(value);
+        }
+        Result result = new Result(name, runNanos);
+        results.add(result);
+        System.out.println(benchmarkClass.getSimpleName() + "." + name + ": median " + result.medianNanos()
+                + " ns, min " + result.minNanos() + " ns");
+        return result;
+    }
+
+    /**
+     * Пишет JSON-отчёт по всем замерам класса и возвращает файл
+     */
+    public File writeReport() throws IOException {
+        File directory = new File(System.getProperty(OUTPUT_DIR_PROPERTY, DEFAULT_OUTPUT_DIR));
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create " + directory);
+        }
+        File file = new File(directory, benchmarkClass.getName() + "-benchmarkData.json");
+        try (Writer writer = new OutputStreamWriter(Files.newOutputStream(file.toPath()), StandardCharsets.UTF_8)) {
+            writer.write(toJson());
+        }
+        return file;
+    }
+
+    String toJson() {
+        StringBuilder json = new StringBuilder();
+        json.append("{\n  \"context\": {\"runtime\": \"jvm\", \"javaVersion\": \"")
+                .append(System.getProperty("java.version")).append("\"},\n  \"benchmarks\": [");
+        for (int i = 0; i < results.size(); i++) {
+            Result result = results.get(i);
+            json.append(i == 0 ? "\n" : ",\n")
+                    .append("    {\"name\": \"").append(result.name)
+                    .append("\", \"className\": \"").append(benchmarkClass.getName())
+                    .append("\", \"metrics\": {\"timeNs\": {\"minimum\": ").append(result.minNanos())
+                    .append(", \"maximum\": ").append(result.maxNanos())
+                    .append(", \"median\": ").append(result.medianNanos())
+                    .append(", \"runs\": ").append(Arrays.toString(result.runNanos))
+                    .append("}}}");
+        }
+        return json.append("\n  ]\n}\n").toString();
+    }
+
+    private void consume(Object value) {
+        sink += value == null ? 0 : System.identityHashCode(value);
+    }
+}
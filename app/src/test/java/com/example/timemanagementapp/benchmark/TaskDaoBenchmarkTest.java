@@ -0,0 +1,111 @@
+package com.example.timemanagementapp.benchmark;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import android.content.Context;
+
+import androidx.arch.core.executor.testing.InstantTaskExecutorRule;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.Observer;
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.example.timemanagementapp.data.local.AppDatabase;
+import com.example.timemanagementapp.data.local.dao.TaskDao;
+import com.example.timemanagementapp.data.local.entity.Project;
+import com.example.timemanagementapp.data.local.entity.Task;
+import com.example.timemanagementapp.data.local.entity.User;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Запросы TaskDao на in-memory базе Room под Robolectric (нативный SQLite хоста).
+ * Абсолютные значения отличаются от устройства, но подходят для сравнения сборок между собой.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class TaskDaoBenchmarkTest {
+    private static final int TASK_COUNT = 2_000;
+    private static final long HOUR_MILLIS = 3_600_000L;
+
+    @Rule
+    public InstantTaskExecutorRule instantTaskExecutorRule = new InstantTaskExecutorRule();
+
+    private AppDatabase database;
+    private TaskDao taskDao;
+    private final List<String> taskIds = new ArrayList<>();
+    private long firstDueMillis;
+
+    @Before
+    public void createDatabase() {
+        Context context = ApplicationProvider.getApplicationContext();
+        database = Room.inMemoryDatabaseBuilder(context, AppDatabase.class)
+                .allowMainThreadQueries()
+                .setQueryExecutor(Runnable::run)
+                .build();
+        taskDao = database.taskDao();
+
+        User alice = new User("alice@example.com", "Alice");
+        alice.setUserId("alice_001");
+        database.userDao().insert(alice);
+        Project project = new Project("Робота", "alice_001");
+        database.projectDao().insertProject(project);
+
+        firstDueMillis = System.currentTimeMillis();
+        List<Task> tasks = new ArrayList<>(TASK_COUNT);
+        for (int i = 0; i < TASK_COUNT; i++) {
+            Task task = new Task("Task " + i, "alice_001");
+            task.setDueDate(new Date(firstDueMillis + i * HOUR_MILLIS));
+            task.setAssigneeUserId(i % 2 == 0 ? "alice_001" : null);
+            task.setProjectId(i % 3 == 0 ? project.getProjectId() : null);
+            tasks.add(task);
+            taskIds.add(task.getTaskId());
+        }
+        taskDao.insertAllTasks(tasks);
+    }
+
+    @After
+    public void closeDatabase() {
+        database.close();
+    }
+
+    @Test
+    public void taskQueries() throws Exception {
+        MicroBenchmark benchmark = new MicroBenchmark(TaskDaoBenchmarkTest.class);
+        String middleId = taskIds.get(TASK_COUNT / 2);
+        List<String> pageIds = taskIds.subList(0, 50);
+        long dayStart = firstDueMillis + 24 * HOUR_MILLIS * 10;
+
+        benchmark.measure("getTaskByIdSync", () -> taskDao.getTaskByIdSync(middleId));
+        benchmark.measure("getTasksByIdsSync_50", () -> taskDao.getTasksByIdsSync(pageIds));
+        benchmark.measure("getRemindersAfter", () -> taskDao.getRemindersAfter(firstDueMillis));
+        benchmark.measure("tasksWithRelationsDueBetween_day", () ->
+                valueOf(taskDao.getTasksWithRelationsDueBetween(dayStart, dayStart + 24 * HOUR_MILLIS - 1)));
+        benchmark.measure("taskCountsPerDay_month", () ->
+                valueOf(taskDao.getTaskCountsPerDay(dayStart, dayStart + 31 * 24 * HOUR_MILLIS)));
+
+        assertEquals(24, valueOf(taskDao.getTasksWithRelationsDueBetween(dayStart, dayStart + 24 * HOUR_MILLIS - 1)).size());
+        assertTrue(benchmark.writeReport().isFile());
+    }
+
+    // Запрос LiveData выполняется синхронно при подписке (setQueryExecutor(Runnable::run))
+    private static <T> T valueOf(LiveData<T> liveData) {
+        AtomicReference<T> value = new AtomicReference<>();
+        Observer<T> observer = value::set;
+        liveData.observeForever(observer);
+        liveData.removeObserver(observer);
+        return value.get();
+    }
+}
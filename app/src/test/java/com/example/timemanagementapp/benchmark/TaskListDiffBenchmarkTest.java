@@ -0,0 +1,95 @@
+package com.example.timemanagementapp.benchmark;
+
+import static org.junit.Assert.assertTrue;
+
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.DiffUtil;
+
+import com.example.timemanagementapp.data.local.entity.Task;
+import com.example.timemanagementapp.data.local.model.TaskWithRelations;
+import com.example.timemanagementapp.ui.adapters.TaskItemDiffCallback;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Diff списка задач с TaskItemDiffCallback, как в PagingDataAdapter при обновлении страницы:
+ * без изменений, с запуском одного таймера и с правкой каждой десятой задачи
+ */
+public class TaskListDiffBenchmarkTest {
+    private static final int ROW_COUNT = 1_000;
+
+    private final TaskItemDiffCallback itemCallback = new TaskItemDiffCallback();
+
+    @Test
+    public void diffTaskList() throws Exception {
+        List<TaskWithRelations> rows = generateRows();
+        List<TaskWithRelations> unchanged = copy(rows);
+        List<TaskWithRelations> timerStarted = copy(rows);
+        timerStarted.get(ROW_COUNT / 2).task.setTimeTrackingStartTimeMillis(System.currentTimeMillis());
+        List<TaskWithRelations> everyTenthEdited = copy(rows);
+        for (int i = 0; i < ROW_COUNT; i += 10) {
+            everyTenthEdited.get(i).task.setTitle("Edited " + i);
+        }
+        MicroBenchmark benchmark = new MicroBenchmark(TaskListDiffBenchmarkTest.class);
+
+        benchmark.measure("unchanged_" + ROW_COUNT, () -> diff(rows, unchanged));
+        benchmark.measure("timerStarted_" + ROW_COUNT, () -> diff(rows, timerStarted));
+        benchmark.measure("everyTenthEdited_" + ROW_COUNT, () -> diff(rows, everyTenthEdited));
+
+        assertTrue(benchmark.writeReport().isFile());
+    }
+
+    private DiffUtil.DiffResult diff(List<TaskWithRelations> oldRows, List<TaskWithRelations> newRows) {
+        return DiffUtil.calculateDiff(new DiffUtil.Callback() {
+            @Override
+            public int getOldListSize() {
+                return oldRows.size();
+            }
+
+            @Override
+            public int getNewListSize() {
+                return newRows.size();
+            }
+
+            @Override
+            public boolean areItemsTheSame(int oldPosition, int newPosition) {
+                return itemCallback.areItemsTheSame(oldRows.get(oldPosition), newRows.get(newPosition));
+            }
+
+            @Override
+            public boolean areContentsTheSame(int oldPosition, int newPosition) {
+                return itemCallback.areContentsTheSame(oldRows.get(oldPosition), newRows.get(newPosition));
+            }
+
+            @Nullable
+            @Override
+            public Object getChangePayload(int oldPosition, int newPosition) {
+                return itemCallback.getChangePayload(oldRows.get(oldPosition), newRows.get(newPosition));
+            }
+        }, false);
+    }
+
+    private static List<TaskWithRelations> generateRows() {
+        List<TaskWithRelations> rows = new ArrayList<>(ROW_COUNT);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < ROW_COUNT; i++) {
+            Task task = new Task("Task " + i, "alice_001");
+            task.setDueDate(new Date(now + i * 3_600_000L));
+            task.setPriority(1 + i % 3);
+            rows.add(new TaskWithRelations(task, "Alice", "Робота", "#4285F4"));
+        }
+        return rows;
+    }
+
+    private static List<TaskWithRelations> copy(List<TaskWithRelations> rows) {
+        List<TaskWithRelations> copy = new ArrayList<>(rows.size());
+        for (TaskWithRelations row : rows) {
+            copy.add(new TaskWithRelations(new Task(row.task), row.assigneeName, row.projectName, row.projectColor));
+        }
+        return copy;
+    }
+}
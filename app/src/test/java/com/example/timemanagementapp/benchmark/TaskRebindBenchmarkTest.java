@@ -0,0 +1,116 @@
+package com.example.timemanagementapp.benchmark;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.content.Context;
+import android.os.Looper;
+import android.view.ContextThemeWrapper;
+import android.widget.FrameLayout;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleOwner;
+import androidx.lifecycle.LifecycleRegistry;
+import androidx.paging.PagingData;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.example.timemanagementapp.R;
+import com.example.timemanagementapp.data.local.entity.Task;
+import com.example.timemanagementapp.data.local.model.TaskWithRelations;
+import com.example.timemanagementapp.ui.adapters.TaskAdapter;
+import com.example.timemanagementapp.ui.adapters.TaskItemDiffCallback;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Перерисовка строки TaskAdapter после запуска таймера (Robolectric, настоящий task_item):
+ * полный bind против bind с payload TaskItemDiffCallback.CHANGE_TIMER.
+ * Какие payload отдаёт DiffUtil, проверяет TaskItemDiffCallbackTest
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class TaskRebindBenchmarkTest {
+    private static final int ROW_COUNT = 1_000;
+    private static final int RUNNING_ROW = 500;
+    // Один bind короче разрешения таймера: замеряется серия
+    private static final int BINDS_PER_RUN = 100;
+
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void rebindAfterTimerStart() throws Exception {
+        TaskAdapter taskAdapter = new TaskAdapter(null);
+        // TaskViewHolder закрыт в пакете адаптера: bind вызывается через RecyclerView.Adapter
+        RecyclerView.Adapter<RecyclerView.ViewHolder> adapter = (RecyclerView.Adapter) taskAdapter;
+        TestOwner owner = new TestOwner();
+        owner.registry.setCurrentState(Lifecycle.State.RESUMED);
+        taskAdapter.submitData(owner.getLifecycle(), PagingData.from(generateRows()));
+        shadowOf(Looper.getMainLooper()).idle();
+        assertEquals(ROW_COUNT, adapter.getItemCount());
+
+        Context context = new ContextThemeWrapper(ApplicationProvider.getApplicationContext(),
+                R.style.Theme_TimeManagementApp);
+        RecyclerView.ViewHolder holder = adapter.createViewHolder(new FrameLayout(context), 0);
+        List<Object> fullBind = Collections.emptyList();
+        List<Object> timerPayload = Collections.singletonList(TaskItemDiffCallback.CHANGE_TIMER);
+
+        adapter.onBindViewHolder(holder, RUNNING_ROW, timerPayload);
+        TextView timeSpent = holder.itemView.findViewById(R.id.text_view_time_spent);
+        assertTrue(timeSpent.getText().length() > 0);
+
+        MicroBenchmark benchmark = new MicroBenchmark(TaskRebindBenchmarkTest.class);
+        benchmark.measure("rebind_full", BINDS_PER_RUN, () -> {
+            for (int i = 0; i < BINDS_PER_RUN; i++) {
+                adapter.onBindViewHolder(holder, RUNNING_ROW, fullBind);
+            }
+            return holder;
+        });
+        benchmark.measure("rebind_timerPayload", BINDS_PER_RUN, () -> {
+            for (int i = 0; i < BINDS_PER_RUN; i++) {
+                adapter.onBindViewHolder(holder, RUNNING_ROW, timerPayload);
+            }
+            return holder;
+        });
+        assertTrue(benchmark.writeReport().isFile());
+    }
+
+    private static List<TaskWithRelations> generateRows() {
+        List<TaskWithRelations> rows = new ArrayList<>(ROW_COUNT);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < ROW_COUNT; i++) {
+            Task task = new Task("Task " + i, "alice_001");
+            task.setAssigneeUserId("alice_001");
+            task.setDueDate(new Date(now + i * 3_600_000L));
+            task.setPriority(1 + i % 3);
+            task.setTimeSpentMillis(i * 1_000L);
+            if (i == RUNNING_ROW) {
+                task.setTimeTrackingStartTimeMillis(now);
+            }
+            TaskWithRelations row = new TaskWithRelations(task, "Alice", "Робота", "#4285F4");
+            row.commentCount = i % 4;
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static class TestOwner implements LifecycleOwner {
+        final LifecycleRegistry registry = LifecycleRegistry.createUnsafe(this);
+
+        @NonNull
+        @Override
+        public Lifecycle getLifecycle() {
+            return registry;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.timemanagementapp.benchmark;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import android.content.Context;
+
+import androidx.room.Room;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.sqlite.db.SupportSQLiteStatement;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.example.timemanagementapp.data.local.AppDatabase;
+import com.example.timemanagementapp.data.local.entity.User;
+import com.example.timemanagementapp.data.search.TaskSearch;
+import com.example.timemanagementapp.data.search.TaskSearchResult;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Полнотекстовый поиск TaskSearch по 100 000 задач и 500 000 комментариев (Robolectric, нативный SQLite хоста).
+ *
+ * Тексты собираются из словаря в 5 000 слов, поэтому каждое слово встречается в тысячах строк —
+ * хуже, чем в реальных данных, где большинство слов редкие. Замеряется весь поиск: разбор строки,
+ * matchinfo по MAX_CANDIDATES новейшим совпадениям каждого индекса, ранжирование и сведение по задачам
+ * и snippet для лучших MAX_RESULTS строк.
+ *
+ * Из-за объёма данных запускается только задачей microbenchmark; времена идут в JSON-отчёт
+ * MicroBenchmark и отслеживаются между сборками, тест проверяет лишь корректность результатов.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class TaskSearchBenchmarkTest {
+    private static final int TASK_COUNT = 100_000;
+    private static final int COMMENTS_PER_TASK = 5;
+    private static final int VOCABULARY_SIZE = 5_000;
+    private static final String[] SYLLABLES = {
+            "ба", "ве", "ги", "до", "жу", "за", "ки", "ло", "ма", "не",
+            "пі", "ро", "су", "та", "ук", "фе", "ха", "це", "чо", "ша",
+            "юн", "як", "бі", "ву", "гр", "дн", "єр", "зо", "ім", "ко"
+    };
+
+    private AppDatabase database;
+    private TaskSearch taskSearch;
+    private final String[] vocabulary = new String[VOCABULARY_SIZE];
+
+    @Before
+    public void createDatabase() {
+        for (int i = 0; i < VOCABULARY_SIZE; i++) {
+            vocabulary[i] = SYLLABLES[i % 30] + SYLLABLES[i / 30 % 30] + SYLLABLES[i / 900 % 30];
+        }
+        Context context = ApplicationProvider.getApplicationContext();
+        database = Room.inMemoryDatabaseBuilder(context, AppDatabase.class)
+                .allowMainThreadQueries()
+                .build();
+        taskSearch = new TaskSearch(database.searchDao());
+
+        User alice = new User("alice@example.com", "Alice");
+        alice.setUserId("alice_001");
+        database.userDao().insert(alice);
+        fill(new Random(42));
+    }
+
+    @After
+    public void closeDatabase() {
+        database.close();
+    }
+
+    @Test
+    public void searchLatency() throws Exception {
+        MicroBenchmark benchmark = new MicroBenchmark(TaskSearchBenchmarkTest.class);
+        String word = vocabulary[123];
+        String twoWords = vocabulary[123] + " " + vocabulary[4_321];
+        // Префикс из трёх букв разворачивается в десятки слов словаря
+        String prefix = vocabulary[777].substring(0, 3);
+
+        List<TaskSearchResult> results = taskSearch.search(word);
+        assertFalse(results.isEmpty());
+        assertTrue(results.size() <= 50);
+        for (int i = 1; i < results.size(); i++) {
+            assertTrue(results.get(i - 1).score >= results.get(i).score);
+        }
+        assertEquals(0, taskSearch.search("щоцьогонемає").size());
+
+        benchmark.measure("search_singleWord", () -> taskSearch.search(word));
+        benchmark.measure("search_twoWords", () -> taskSearch.search(twoWords));
+        benchmark.measure("search_prefix", () -> taskSearch.search(prefix));
+        assertTrue(benchmark.writeReport().isFile());
+    }
+
+    // Прямые INSERT в одной транзакции: триггеры Room заполняют FTS-индексы так же, как при работе приложения
+    private void fill(Random random) {
+        SupportSQLiteDatabase db = database.getOpenHelper().getWritableDatabase();
+        db.beginTransaction();
+        try (SupportSQLiteStatement insertTask = db.compileStatement(
+                "INSERT INTO tasks (task_id, title, description, creator_user_id, priority, status, is_recurring, "
+                        + "created_at, updated_at, time_spent_millis) VALUES (?, ?, ?, 'alice_001', 2, 'todo', 0, ?, ?, 0)");
+             SupportSQLiteStatement insertComment = db.compileStatement(
+                     "INSERT INTO task_comments (comment_id, task_id, user_id, text, created_at) "
+                             + "VALUES (?, ?, 'alice_001', ?, ?)")) {
+            long now = System.currentTimeMillis();
+            for (int i = 0; i < TASK_COUNT; i++) {
+                String taskId = UUID.randomUUID().toString();
+                insertTask.bindString(1, taskId);
+                insertTask.bindString(2, words(random, 4));
+                insertTask.bindString(3, words(random, 16));
+                insertTask.bindLong(4, now);
+                insertTask.bindLong(5, now);
+                insertTask.executeInsert();
+                for (int c = 0; c < COMMENTS_PER_TASK; c++) {
+                    insertComment.bindString(1, UUID.randomUUID().toString());
+                    insertComment.bindString(2, taskId);
+                    insertComment.bindString(3, words(random, 10));
+                    insertComment.bindLong(4, now);
+                    insertComment.executeInsert();
+                }
+            }
+            db.setTransactionSuccessful();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    private String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(vocabulary[random.nextInt(VOCABULARY_SIZE)]);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.timemanagementapp.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.example.timemanagementapp.data.local.model.EntityName;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class NameCacheTest {
+    private final Map<String, String> table = new HashMap<>();
+    private final List<List<String>> queries = new ArrayList<>();
+
+    private final NameCache.Loader loader = ids -> {
+        queries.add(new ArrayList<>(ids));
+        List<EntityName> rows = new ArrayList<>();
+        for (String id : ids) {
+            if (table.containsKey(id)) {
+                rows.add(new EntityName(id, table.get(id)));
+            }
+        }
+        return rows;
+    };
+
+    @Test
+    public void missingNames_areLoadedInOneQuery() {
+        table.put("p1", "Робота");
+        table.put("p2", "Дім");
+        NameCache cache = new NameCache(loader, 500);
+
+        Map<String, String> names = cache.getNames(Arrays.asList("p1", "p2", "p1", "unknown"));
+
+        assertEquals(1, queries.size());
+        assertEquals(3, queries.get(0).size());
+        assertEquals("Робота", names.get("p1"));
+        assertEquals("Дім", names.get("p2"));
+        assertTrue(names.containsKey("unknown"));
+        assertNull(names.get("unknown"));
+    }
+
+    @Test
+    public void cachedAndAbsentIds_areNotQueriedAgain() {
+        table.put("p1", "Робота");
+        NameCache cache = new NameCache(loader, 500);
+        cache.getNames(Arrays.asList("p1", "unknown"));
+
+        Map<String, String> names = cache.getNames(Arrays.asList("p1", "unknown"));
+
+        assertEquals(1, cache.getQueryCount());
+        assertEquals("Робота", names.get("p1"));
+        assertNull(names.get("unknown"));
+
+        // Запрашиваются только новые id
+        table.put("p2", "Дім");
+        cache.getNames(Arrays.asList("p1", "p2"));
+        assertEquals(Arrays.asList("p2"), queries.get(1));
+    }
+
+    @Test
+    public void invalidate_reloadsChangedNames() {
+        table.put("p1", "Работа");
+        NameCache cache = new NameCache(loader, 500);
+        cache.getNames(Arrays.asList("p1"));
+
+        table.put("p1", "Робота");
+        cache.invalidate();
+
+        assertEquals("Робота", cache.getNames(Arrays.asList("p1")).get("p1"));
+        assertEquals(2, cache.getQueryCount());
+    }
+
+    @Test
+    public void loadStartedBeforeInvalidate_isNotCached() {
+        table.put("p1", "Работа");
+        NameCache[] holder = new NameCache[1];
+        // Таблица меняется, пока идёт запрос: результат устарел и не должен попасть в кэш
+        holder[0] = new NameCache(ids -> {
+            List<EntityName> rows = loader.load(ids);
+            table.put("p1", "Робота");
+            holder[0].invalidate();
+            return rows;
+        }, 500);
+
+        assertEquals("Работа", holder[0].getNames(Arrays.asList("p1")).get("p1"));
+        assertEquals("Робота", holder[0].getNames(Arrays.asList("p1")).get("p1"));
+    }
+
+    @Test
+    public void largeIdLists_areSplitIntoChunks() {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 1_200; i++) {
+            ids.add("u" + i);
+            table.put("u" + i, "User " + i);
+        }
+        NameCache cache = new NameCache(loader, 500);
+
+        Map<String, String> names = cache.getNames(ids);
+
+        assertEquals(3, queries.size());
+        assertEquals(500, queries.get(0).size());
+        assertEquals(200, queries.get(2).size());
+        assertEquals("User 1199", names.get("u1199"));
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.timemanagementapp.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import androidx.annotation.NonNull;
+import androidx.arch.core.executor.testing.InstantTaskExecutorRule;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleOwner;
+import androidx.lifecycle.LifecycleRegistry;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.Observer;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class SharedLiveDataCacheTest {
+    @Rule
+    public InstantTaskExecutorRule instantTaskExecutorRule = new InstantTaskExecutorRule();
+
+    private final SharedLiveDataCache cache = new SharedLiveDataCache();
+    private int queriesStarted;
+
+    private LiveData<String> query() {
+        queriesStarted++;
+        return new MutableLiveData<>("value");
+    }
+
+    @Test
+    public void sameKey_returnsSingleSharedQuery() {
+        LiveData<String> first = cache.get("tasks:all", this::query);
+        LiveData<String> second = cache.get("tasks:all", this::query);
+        LiveData<String> third = cache.get("tasks:all", this::query);
+
+        assertSame(first, second);
+        assertSame(first, third);
+        assertEquals(1, queriesStarted);
+        SharedLiveDataCache.Stats stats = cache.getStats();
+        assertEquals(1, stats.queriesCreated);
+        assertEquals(2, stats.cacheHits);
+    }
+
+    @Test
+    public void sourceUpdate_isDeliveredToAllObservers() {
+        MutableLiveData<String> source = new MutableLiveData<>("initial");
+        List<String> firstValues = new ArrayList<>();
+        List<String> secondValues = new ArrayList<>();
+        cache.get("users:all", () -> source).observeForever(firstValues::add);
+        cache.get("users:all", () -> source).observeForever(secondValues::add);
+
+        source.setValue("updated");
+
+        assertEquals(Arrays.asList("initial", "updated"), firstValues);
+        assertEquals(Arrays.asList("initial", "updated"), secondValues);
+    }
+
+    @Test
+    public void lastObserverRemoved_releasesStrongReference() {
+        LiveData<String> shared = cache.get("projects:all", this::query);
+        Observer<String> first = value -> { };
+        Observer<String> second = value -> { };
+        shared.observeForever(first);
+        shared.observeForever(second);
+        assertEquals(1, cache.getStats().sharedQueries);
+
+        shared.removeObserver(first);
+        assertEquals(1, cache.getStats().sharedQueries);
+
+        shared.removeObserver(second);
+        SharedLiveDataCache.Stats stats = cache.getStats();
+        assertEquals(0, stats.sharedQueries);
+        assertEquals(1, stats.idleQueries);
+        // Пока LiveData кто-то держит, ключ по-прежнему отдаёт её же
+        assertSame(shared, cache.get("projects:all", this::query));
+        assertEquals(1, queriesStarted);
+    }
+
+    @Test
+    public void neverObservedEntry_isCollected() {
+        WeakReference<LiveData<String>> entry = new WeakReference<>(cache.get("users:id:1", this::query));
+        awaitCollected(entry);
+
+        assertEquals(0, cache.getStats().idleQueries);
+        cache.get("users:id:1", this::query);
+        assertEquals(2, queriesStarted);
+    }
+
+    @Test
+    public void destroyedOwner_doesNotRetainEntry() {
+        TestOwner owner = new TestOwner();
+        owner.registry.setCurrentState(Lifecycle.State.CREATED);
+        owner.registry.setCurrentState(Lifecycle.State.DESTROYED);
+
+        LiveData<String> shared = cache.get("tasks:id:1", this::query);
+        shared.observe(owner, value -> { });
+        assertEquals(0, cache.getStats().sharedQueries);
+
+        WeakReference<LiveData<String>> entry = new WeakReference<>(shared);
+        shared = null;
+        awaitCollected(entry);
+        assertEquals(0, cache.getStats().idleQueries);
+    }
+
+    @Test
+    public void releasedEntry_reattachesWhenObservedAgain() {
+        LiveData<String> shared = cache.get("comments:task:1", this::query);
+        Observer<String> observer = value -> { };
+        shared.observeForever(observer);
+        shared.removeObserver(observer);
+
+        shared.observeForever(observer);
+
+        assertSame(shared, cache.get("comments:task:1", this::query));
+        assertEquals(1, queriesStarted);
+    }
+
+    private static void awaitCollected(WeakReference<?> reference) {
+        for (int i = 0; i < 50 && reference.get() != null; i++) {
+            System.gc();
+            Thread.yield();
+        }
+        assertNull("Entry is still strongly reachable", reference.get());
+    }
+
+    private static class TestOwner implements LifecycleOwner {
+        final LifecycleRegistry registry = LifecycleRegistry.createUnsafe(this);
+
+        @NonNull
+        @Override
+        public Lifecycle getLifecycle() {
+            return registry;
+        }
+    }
+}
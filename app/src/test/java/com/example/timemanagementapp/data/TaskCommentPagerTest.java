@@ -0,0 +1,312 @@
+package com.example.timemanagementapp.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import androidx.annotation.NonNull;
+import androidx.arch.core.executor.testing.InstantTaskExecutorRule;
+
+import com.example.timemanagementapp.data.local.entity.TaskComment;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class TaskCommentPagerTest {
+    private static final String TASK = "task_1";
+    private static final String OTHER_TASK = "task_2";
+    private static final long BASE_TIME = 1_700_000_000_000L;
+
+    @Rule
+    public InstantTaskExecutorRule instantTaskExecutorRule = new InstantTaskExecutorRule();
+
+    // Таблица task_comments; Source отдаёт строки одной задачи по убыванию (created_at, comment_id)
+    private final List<TaskComment> table = new ArrayList<>();
+    private int queryCount;
+
+    private final TaskCommentPager.Source source = new TaskCommentPager.Source() {
+        @Override
+        public List<TaskComment> newest(int limit) {
+            return select(Long.MAX_VALUE, "", false, limit);
+        }
+
+        @Override
+        public List<TaskComment> before(long createdAt, @NonNull String commentId, int limit) {
+            return select(createdAt, commentId, false, limit);
+        }
+
+        @Override
+        public List<TaskComment> after(long createdAt, @NonNull String commentId) {
+            return select(createdAt, commentId, true, Integer.MAX_VALUE);
+        }
+
+        @Override
+        public int count() {
+            return select(Long.MAX_VALUE, "", false, Integer.MAX_VALUE).size();
+        }
+
+        @Override
+        public List<String> idsFrom(long createdAt, @NonNull String commentId) {
+            List<String> ids = new ArrayList<>();
+            for (TaskComment comment : select(Long.MAX_VALUE, "", false, Integer.MAX_VALUE)) {
+                long time = comment.getCreatedAt().getTime();
+                if (time > createdAt || (time == createdAt && comment.getCommentId().compareTo(commentId) >= 0)) {
+                    ids.add(comment.getCommentId());
+                }
+            }
+            return ids;
+        }
+    };
+
+    // Список, который собирает из изменений получатель (адаптер)
+    private final List<TaskComment> shown = new ArrayList<>();
+    private int shownVersion;
+
+    @Test
+    public void pages_continueFromLastShownComment() {
+        for (int i = 0; i < 25; i++) {
+            addComment(TASK, i);
+        }
+        TaskCommentPager pager = newPager();
+
+        CommentListUpdate first = pager.loadInitialSync();
+        assertEquals(CommentListUpdate.Type.RESET, first.type);
+        assertEquals(10, first.items.size());
+        assertEquals("c24", first.items.get(0).getCommentId());
+        assertTrue(first.hasOlder);
+
+        CommentListUpdate second = pager.loadOlderSync();
+        assertEquals(CommentListUpdate.Type.INSERTED, second.type);
+        assertEquals(10, second.position);
+        assertEquals(10, second.count);
+        // Изменение несёт только вставленную страницу
+        assertEquals(10, second.items.size());
+        assertEquals("c14", second.items.get(0).getCommentId());
+
+        CommentListUpdate last = pager.loadOlderSync();
+        assertEquals(5, last.count);
+        assertFalse(last.hasOlder);
+        assertEquals(3, last.version);
+        assertNull(pager.loadOlderSync());
+
+        // Без пропусков и повторов, строго от новых к старым
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < shown.size(); i++) {
+            assertEquals("c" + (24 - i), shown.get(i).getCommentId());
+            ids.add(shown.get(i).getCommentId());
+        }
+        assertEquals(25, ids.size());
+        assertSame(last, pager.getUpdates().getValue());
+    }
+
+    @Test
+    public void newComments_arePrependedWithoutReload() {
+        for (int i = 0; i < 25; i++) {
+            addComment(TASK, i);
+        }
+        TaskCommentPager pager = newPager();
+        pager.loadInitialSync();
+
+        addComment(TASK, 25);
+        addComment(TASK, 26);
+        pager.refreshSync();
+        CommentListUpdate update = pager.getUpdates().getValue();
+
+        assertEquals(CommentListUpdate.Type.INSERTED, update.type);
+        assertEquals(0, update.position);
+        assertEquals(2, update.count);
+        assertEquals(2, update.items.size());
+        assertEquals("c26", update.items.get(0).getCommentId());
+        assertEquals(12, shown.size());
+        // Нижняя граница не сдвинулась: следующая страница начинается с c14
+        assertEquals("c14", pager.loadOlderSync().items.get(0).getCommentId());
+        assertEquals("c14", shown.get(12).getCommentId());
+    }
+
+    @Test
+    public void commentsOnOtherTasks_doNotChangeList() {
+        addComment(TASK, 0);
+        TaskCommentPager pager = newPager();
+        CommentListUpdate initial = pager.loadInitialSync();
+
+        addComment(OTHER_TASK, 1);
+        addComment(OTHER_TASK, 2);
+        table.removeIf(comment -> comment.getTaskId().equals(OTHER_TASK) && comment.getCommentId().equals("c1"));
+        queryCount = 0;
+
+        pager.refreshSync();
+        // Счётчик задачи и seek от верхней границы, без сверки загруженного диапазона
+        assertEquals(2, queryCount);
+        assertSame(initial, pager.getUpdates().getValue());
+    }
+
+    @Test
+    public void commentsDeletedOutsidePager_areRemoved() {
+        for (int i = 0; i < 15; i++) {
+            addComment(TASK, i);
+        }
+        TaskCommentPager pager = newPager();
+        pager.loadInitialSync();
+
+        // Удаление и новый комментарий в одной пачке: счётчик не изменился
+        deleteComments("c12", "c11", "c7");
+        addComment(TASK, 15);
+        pager.refreshSync();
+
+        assertEquals(8, shown.size());
+        assertEquals("c15", shown.get(0).getCommentId());
+        assertEquals("c14", shown.get(1).getCommentId());
+        assertEquals("c13", shown.get(2).getCommentId());
+        assertEquals("c10", shown.get(3).getCommentId());
+        assertEquals("c6", shown.get(6).getCommentId());
+
+        // deleteAllCommentsForTask
+        table.removeIf(comment -> comment.getTaskId().equals(TASK));
+        pager.refreshSync();
+        assertTrue(shown.isEmpty());
+        assertEquals(CommentListUpdate.Type.REMOVED, pager.getUpdates().getValue().type);
+    }
+
+    @Test
+    public void deletionAlreadyAppliedByViewModel_isNotRemovedTwice() {
+        for (int i = 0; i < 5; i++) {
+            addComment(TASK, i);
+        }
+        TaskCommentPager pager = newPager();
+        pager.loadInitialSync();
+
+        pager.applyDeletedSync("c2");
+        deleteComments("c2");
+        pager.refreshSync();
+
+        assertEquals(4, shown.size());
+        assertEquals(2, pager.getUpdates().getValue().version);
+    }
+
+    @Test
+    public void emptyTask_receivesFirstComments() {
+        TaskCommentPager pager = newPager();
+        assertEquals(0, pager.loadInitialSync().items.size());
+
+        addComment(TASK, 0);
+        CommentListUpdate update = pager.loadNewerSync();
+
+        assertEquals(1, update.count);
+        assertFalse(update.hasOlder);
+        assertEquals("c0", shown.get(0).getCommentId());
+    }
+
+    @Test
+    public void editedAndDeletedComments_areAppliedInPlace() {
+        for (int i = 0; i < 5; i++) {
+            addComment(TASK, i);
+        }
+        TaskCommentPager pager = newPager();
+        pager.loadInitialSync();
+
+        TaskComment edited = table.get(3);
+        edited.setText("змінено");
+        CommentListUpdate changed = pager.applyUpdatedSync(edited);
+        assertEquals(CommentListUpdate.Type.CHANGED, changed.type);
+        assertEquals(1, changed.position);
+
+        assertSame(edited, changed.items.get(0));
+        assertSame(edited, shown.get(1));
+
+        CommentListUpdate removed = pager.applyDeletedSync("c4");
+        assertEquals(CommentListUpdate.Type.REMOVED, removed.type);
+        assertEquals(0, removed.position);
+        assertEquals(1, removed.count);
+        assertEquals(4, shown.size());
+        assertNull(pager.applyDeletedSync("unknown"));
+    }
+
+    @Test
+    public void reset_republishesWholeListForReceiverThatMissedVersions() {
+        for (int i = 0; i < 15; i++) {
+            addComment(TASK, i);
+        }
+        TaskCommentPager pager = newPager();
+        pager.loadInitialSync();
+        pager.loadOlderSync();
+
+        // Новый адаптер получает из LiveData только последнее изменение и применить его не может
+        CommentListUpdate reset = pager.resetSync();
+        assertEquals(CommentListUpdate.Type.RESET, reset.type);
+        assertEquals(3, reset.version);
+        assertEquals(15, reset.items.size());
+        assertEquals(15, shown.size());
+    }
+
+    @Test
+    public void closedPager_publishesNothing() {
+        addComment(TASK, 0);
+        TaskCommentPager pager = newPager();
+        int[] closeCalls = new int[1];
+        pager.setOnClose(() -> closeCalls[0]++);
+        pager.loadInitialSync();
+
+        pager.close();
+        pager.close();
+        addComment(TASK, 1);
+
+        assertNull(pager.loadNewerSync());
+        assertEquals(1, closeCalls[0]);
+        assertEquals(1, pager.getUpdates().getValue().version);
+    }
+
+    // Пейджер, изменения которого сразу применяются к shown в порядке версий
+    private TaskCommentPager newPager() {
+        TaskCommentPager pager = new TaskCommentPager(TASK, source, 10, Runnable::run, Runnable::run);
+        pager.getUpdates().observeForever(update -> {
+            if (update.type != CommentListUpdate.Type.RESET) {
+                assertEquals(shownVersion + 1, update.version);
+            }
+            update.applyTo(shown);
+            shownVersion = update.version;
+        });
+        return pager;
+    }
+
+    private void deleteComments(String... commentIds) {
+        for (String commentId : commentIds) {
+            table.removeIf(comment -> comment.getCommentId().equals(commentId));
+        }
+    }
+
+    private void addComment(String taskId, int index) {
+        TaskComment comment = new TaskComment(taskId, "alice_001", "Коментар " + index);
+        comment.setCommentId("c" + index);
+        comment.setCreatedAt(new Date(BASE_TIME + index / 2 * 1000L));
+        table.add(comment);
+    }
+
+    // Та же семантика, что у keyset-запросов TaskCommentDao
+    private List<TaskComment> select(long createdAt, String commentId, boolean newer, int limit) {
+        queryCount++;
+        Comparator<TaskComment> order = Comparator.comparingLong((TaskComment c) -> c.getCreatedAt().getTime())
+                .thenComparing(TaskComment::getCommentId);
+        List<TaskComment> rows = new ArrayList<>();
+        for (TaskComment comment : table) {
+            if (!comment.getTaskId().equals(TASK)) {
+                continue;
+            }
+            long time = comment.getCreatedAt().getTime();
+            int compare = time != createdAt ? Long.compare(time, createdAt) : comment.getCommentId().compareTo(commentId);
+            if (newer ? compare > 0 : compare < 0) {
+                rows.add(comment);
+            }
+        }
+        rows.sort(order.reversed());
+        return rows.size() > limit ? new ArrayList<>(rows.subList(0, limit)) : rows;
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.timemanagementapp.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.example.timemanagementapp.data.local.entity.Task;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Date;
+import java.util.EnumSet;
+
+public class TaskDiffTest {
+    private Task original;
+
+    @Before
+    public void setUp() {
+        original = new Task("Report", "alice_001");
+        original.setDueDate(new Date(1_700_000_000_000L));
+        original.setReminderOffsetMillisBeforeDueDate(15 * 60_000L);
+        original.setAssigneeUserId("bob_002");
+    }
+
+    @Test
+    public void identicalCopy_hasNoChanges() {
+        Task copy = new Task(original);
+        copy.setUpdatedAt(new Date(original.getUpdatedAt().getTime() + 1_000));
+
+        TaskDiff diff = TaskDiff.between(original, copy);
+
+        assertTrue(diff.isEmpty());
+        assertFalse(diff.affectsReminder());
+        assertFalse(diff.affectsAssignment());
+    }
+
+    @Test
+    public void timerStartAndStop_doNotAffectReminderOrAssignment() {
+        Task started = new Task(original);
+        started.setTimeTrackingStartTimeMillis(1_700_000_100_000L);
+        TaskDiff startDiff = TaskDiff.between(original, started);
+
+        Task stopped = new Task(started);
+        stopped.setTimeTrackingStartTimeMillis(null);
+        stopped.setTimeSpentMillis(60_000L);
+        TaskDiff stopDiff = TaskDiff.between(started, stopped);
+
+        assertEquals(EnumSet.of(TaskDiff.Field.TIME_TRACKING_START), startDiff.getChangedFields());
+        assertEquals(EnumSet.of(TaskDiff.Field.TIME_TRACKING_START, TaskDiff.Field.TIME_SPENT),
+                stopDiff.getChangedFields());
+        assertFalse(startDiff.affectsReminder());
+        assertFalse(stopDiff.affectsReminder());
+        assertFalse(stopDiff.affectsAssignment());
+    }
+
+    @Test
+    public void dueDateOrOffsetChange_affectsReminder() {
+        Task moved = new Task(original);
+        moved.setDueDate(new Date(original.getDueDate().getTime() + 3_600_000L));
+        Task offsetRemoved = new Task(original);
+        offsetRemoved.setReminderOffsetMillisBeforeDueDate(null);
+
+        assertTrue(TaskDiff.between(original, moved).affectsReminder());
+        assertTrue(TaskDiff.between(original, offsetRemoved).affectsReminder());
+    }
+
+    @Test
+    public void titleChange_doesNotAffectReminderTime() {
+        Task renamed = new Task(original);
+        renamed.setTitle("Quarterly report");
+
+        TaskDiff diff = TaskDiff.between(original, renamed);
+
+        assertTrue(diff.contains(TaskDiff.Field.TITLE));
+        assertFalse(diff.affectsReminder());
+    }
+
+    @Test
+    public void assigneeChange_affectsAssignment() {
+        Task reassigned = new Task(original);
+        reassigned.setAssigneeUserId(null);
+
+        TaskDiff diff = TaskDiff.between(original, reassigned);
+
+        assertEquals(EnumSet.of(TaskDiff.Field.ASSIGNEE), diff.getChangedFields());
+        assertTrue(diff.affectsAssignment());
+    }
+
+    @Test
+    public void metrics_countSkippedSideEffects() {
+        Task started = new Task(original);
+        started.setTimeTrackingStartTimeMillis(1_700_000_100_000L);
+        Task moved = new Task(original);
+        moved.setDueDate(new Date(original.getDueDate().getTime() + 3_600_000L));
+        Task reassigned = new Task(original);
+        reassigned.setAssigneeUserId("carol_003");
+        SideEffectMetrics metrics = new SideEffectMetrics();
+
+        metrics.record(TaskDiff.between(original, started));
+        metrics.record(TaskDiff.between(original, moved));
+        metrics.record(TaskDiff.between(original, reassigned));
+
+        assertEquals(1, metrics.getRemindersRescheduled());
+        assertEquals(2, metrics.getRemindersSkipped());
+        assertEquals(1, metrics.getAssignmentChecks());
+        assertEquals(2, metrics.getAssignmentChecksSkipped());
+    }
+}
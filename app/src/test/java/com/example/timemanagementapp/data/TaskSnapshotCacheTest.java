@@ -0,0 +1,70 @@
+package com.example.timemanagementapp.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import com.example.timemanagementapp.data.local.entity.Task;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+public class TaskSnapshotCacheTest {
+
+    @Test
+    public void put_storesCopyUnaffectedByLaterMutation() {
+        TaskSnapshotCache cache = new TaskSnapshotCache(8);
+        Task task = new Task("Draft", "alice_001");
+        cache.put(task);
+
+        task.setTitle("Changed after save");
+
+        assertEquals("Draft", cache.get(task.getTaskId()).getTitle());
+    }
+
+    @Test
+    public void leastRecentlyUsed_isEvictedFirst() {
+        TaskSnapshotCache cache = new TaskSnapshotCache(2);
+        Task first = new Task("First", "alice_001");
+        Task second = new Task("Second", "alice_001");
+        Task third = new Task("Third", "alice_001");
+        cache.put(first);
+        cache.put(second);
+        // Обращение делает first самым свежим, вытеснен будет second
+        cache.get(first.getTaskId());
+        cache.put(third);
+
+        assertNotNull(cache.get(first.getTaskId()));
+        assertNull(cache.get(second.getTaskId()));
+        assertNotNull(cache.get(third.getTaskId()));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void hitsAndMisses_areCounted() {
+        TaskSnapshotCache cache = new TaskSnapshotCache(8);
+        Task task = new Task("Task", "alice_001");
+        cache.get(task.getTaskId());
+        cache.put(task);
+        cache.get(task.getTaskId());
+        cache.get(task.getTaskId());
+
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void removeAll_evictsGivenIdsOnly() {
+        TaskSnapshotCache cache = new TaskSnapshotCache(8);
+        Task kept = new Task("Kept", "alice_001");
+        Task removed = new Task("Removed", "alice_001");
+        cache.put(kept);
+        cache.put(removed);
+
+        cache.removeAll(Arrays.asList(removed.getTaskId(), "missing"));
+
+        assertNotNull(cache.get(kept.getTaskId()));
+        assertNull(cache.get(removed.getTaskId()));
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.timemanagementapp.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.example.timemanagementapp.data.local.entity.User;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class UserDirectoryTest {
+
+    private static User user(String id, String name) {
+        User user = new User(id + "@example.com", name);
+        user.setUserId(id);
+        return user;
+    }
+
+    @Test
+    public void namesAreLookedUpById() {
+        UserDirectory directory = UserDirectory.build(Arrays.asList(
+                user("alice_001", "Alice"), user("bob_002", "Bob")));
+
+        assertEquals("Bob", directory.getName("bob_002"));
+        assertNull(directory.getName("missing"));
+        assertEquals("missing", directory.getNameOrDefault("missing", "missing"));
+        assertNull(directory.getName(null));
+        assertEquals(2, directory.size());
+    }
+
+    @Test
+    public void usersKeepSourceOrderAndIgnoreLaterMutation() {
+        List<User> source = new ArrayList<>(Arrays.asList(user("b", "B"), user("a", "A")));
+        UserDirectory directory = UserDirectory.build(source);
+
+        source.clear();
+
+        assertEquals(2, directory.getUsers().size());
+        assertEquals("b", directory.getUsers().get(0).getUserId());
+    }
+
+    @Test
+    public void emptyInput_returnsEmptyDirectory() {
+        assertSame(UserDirectory.EMPTY, UserDirectory.build(null));
+        assertSame(UserDirectory.EMPTY, UserDirectory.build(new ArrayList<>()));
+    }
+
+    @Test
+    public void isNameChanged_onlyForRenamedAddedOrRemovedUsers() {
+        UserDirectory before = UserDirectory.build(Arrays.asList(
+                user("alice_001", "Alice"), user("bob_002", "Bob"), user("carol_003", "Carol")));
+        UserDirectory after = UserDirectory.build(Arrays.asList(
+                user("alice_001", "Alice"), user("bob_002", "Robert"), user("dave_004", "Dave")));
+
+        assertFalse(UserDirectory.isNameChanged(before, after, "alice_001"));
+        assertTrue(UserDirectory.isNameChanged(before, after, "bob_002"));
+        assertTrue(UserDirectory.isNameChanged(before, after, "carol_003"));
+        assertTrue(UserDirectory.isNameChanged(before, after, "dave_004"));
+        assertFalse(UserDirectory.isNameChanged(before, after, null));
+        assertTrue(UserDirectory.isNameChanged(UserDirectory.EMPTY, after, "alice_001"));
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.timemanagementapp.data.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+public class FtsRankingTest {
+    private static final double DELTA = 1e-9;
+    private static final double[] WEIGHTS = {4.0, 1.0};
+
+    @Test
+    public void score_weighsHitsByColumnAndRarity() {
+        // 1 фраза, 2 столбца: в названии 1 из 2 совпадений по базе, в описании 2 из 10
+        byte[] matchInfo = matchInfo(1, 2, 1, 2, 1, 2, 10, 5);
+
+        assertEquals(4.0 * 1 / 2 + 1.0 * 2 / 10, FtsRanking.score(matchInfo, WEIGHTS), DELTA);
+    }
+
+    @Test
+    public void titleMatch_ranksAboveDescriptionMatch() {
+        double inTitle = FtsRanking.score(matchInfo(1, 2, 1, 5, 5, 0, 5, 5), WEIGHTS);
+        double inDescription = FtsRanking.score(matchInfo(1, 2, 0, 5, 5, 1, 5, 5), WEIGHTS);
+
+        assertTrue(inTitle > inDescription);
+    }
+
+    @Test
+    public void rareWord_ranksAboveCommonWord() {
+        double rare = FtsRanking.score(matchInfo(1, 2, 1, 3, 3, 0, 0, 0), WEIGHTS);
+        double common = FtsRanking.score(matchInfo(1, 2, 1, 3_000, 3_000, 0, 0, 0), WEIGHTS);
+
+        assertTrue(rare > common);
+    }
+
+    @Test
+    public void everyPhrase_contributes() {
+        double one = FtsRanking.score(matchInfo(1, 2, 1, 4, 4, 0, 0, 0), WEIGHTS);
+        double two = FtsRanking.score(matchInfo(2, 2, 1, 4, 4, 0, 0, 0, 1, 4, 4, 0, 0, 0), WEIGHTS);
+
+        assertEquals(2 * one, two, DELTA);
+    }
+
+    @Test
+    public void malformedMatchInfo_scoresZero() {
+        assertEquals(0, FtsRanking.score(null, WEIGHTS), DELTA);
+        assertEquals(0, FtsRanking.score(new byte[3], WEIGHTS), DELTA);
+        // Заявлено больше фраз, чем есть данных
+        assertEquals(0, FtsRanking.score(matchInfo(3, 2, 1, 1, 1), WEIGHTS), DELTA);
+    }
+
+    // matchinfo возвращает 32-битные числа в порядке байт платформы
+    private static byte[] matchInfo(int... values) {
+        ByteBuffer buffer = ByteBuffer.allocate(values.length * 4).order(ByteOrder.nativeOrder());
+        for (int value : values) {
+            buffer.putInt(value);
+        }
+        return buffer.array();
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.timemanagementapp.data.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+public class SearchQueryTest {
+
+    @Test
+    public void words_areJoinedAsPrefixTerms() {
+        // Регистр приводит токенизатор unicode61, здесь слова не меняются
+        assertEquals("Звіт* бюдж*", SearchQuery.toMatchExpression("  Звіт бюдж "));
+    }
+
+    @Test
+    public void ftsSyntax_isStripped() {
+        assertEquals("title* звіт* NOT* \"x\"", SearchQuery.toMatchExpression("title:\"звіт\" -NOT x*"));
+    }
+
+    @Test
+    public void operatorsTypedByUser_becomePrefixTerms() {
+        // Голые OR/AND/NEAR были бы операторами FTS, с '*' или в кавычках это обычные слова
+        assertEquals("план* \"OR\" AND* звіт*", SearchQuery.toMatchExpression("план OR AND звіт"));
+    }
+
+    @Test
+    public void shortWords_areMatchedExactly() {
+        assertEquals("\"a\" \"ін\" 2024*", SearchQuery.toMatchExpression("a ін 2024"));
+    }
+
+    @Test
+    public void inputWithoutWords_givesNoQuery() {
+        assertNull(SearchQuery.toMatchExpression(null));
+        assertNull(SearchQuery.toMatchExpression(""));
+        assertNull(SearchQuery.toMatchExpression(" \"*:- "));
+    }
+
+    @Test
+    public void termCount_isLimited() {
+        String match = SearchQuery.toMatchExpression("a b c d e f g h i j k");
+        assertEquals(SearchQuery.MAX_TERMS, match.split(" ").length);
+    }
+}
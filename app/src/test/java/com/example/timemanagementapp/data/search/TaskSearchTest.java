@@ -0,0 +1,88 @@
+package com.example.timemanagementapp.data.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import android.content.Context;
+
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.example.timemanagementapp.data.local.AppDatabase;
+import com.example.timemanagementapp.data.local.entity.Task;
+import com.example.timemanagementapp.data.local.entity.TaskComment;
+import com.example.timemanagementapp.data.local.entity.User;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.List;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class TaskSearchTest {
+    // Меньше TaskSearch.MAX_CANDIDATES, больше TaskSearch.MAX_RESULTS
+    private static final int WEAK_MATCHES = 300;
+
+    private AppDatabase database;
+    private TaskSearch taskSearch;
+
+    @Before
+    public void createDatabase() {
+        Context context = ApplicationProvider.getApplicationContext();
+        database = Room.inMemoryDatabaseBuilder(context, AppDatabase.class)
+                .allowMainThreadQueries()
+                .build();
+        taskSearch = new TaskSearch(database.searchDao());
+        User alice = new User("alice@example.com", "Alice");
+        alice.setUserId("alice_001");
+        database.userDao().insert(alice);
+    }
+
+    @After
+    public void closeDatabase() {
+        database.close();
+    }
+
+    @Test
+    public void oldStrongMatch_outranksNewerWeakOnes() {
+        // Самая старая строка индекса: все совпадения в пределах MAX_CANDIDATES ранжируются по оценке,
+        // а не по порядку docid
+        Task strong = new Task("Квартальний звіт", "alice_001");
+        database.taskDao().insertTask(strong);
+        for (int i = 0; i < WEAK_MATCHES; i++) {
+            Task weak = new Task("Задача " + i, "alice_001");
+            weak.setDescription("Колись згадати звіт серед інших довгих нотаток номер " + i);
+            database.taskDao().insertTask(weak);
+        }
+
+        List<TaskSearchResult> results = taskSearch.search("звіт");
+
+        assertEquals(TaskSearch.MAX_RESULTS, results.size());
+        assertEquals(strong.getTaskId(), results.get(0).taskId);
+        assertTrue(results.get(0).snippet.contains(TaskSearch.HIGHLIGHT_START + "звіт"));
+        for (int i = 1; i < results.size(); i++) {
+            assertTrue(results.get(i - 1).score >= results.get(i).score);
+        }
+    }
+
+    @Test
+    public void commentMatch_carriesTaskTitleAndCommentSnippet() {
+        Task task = new Task("Ремонт", "alice_001");
+        database.taskDao().insertTask(task);
+        database.taskCommentDao().insert(new TaskComment(task.getTaskId(), "alice_001", "Купити фарбу завтра"));
+
+        List<TaskSearchResult> results = taskSearch.search("фарбу");
+
+        assertEquals(1, results.size());
+        assertEquals("Ремонт", results.get(0).title);
+        assertTrue(results.get(0).fromComment);
+        assertTrue(results.get(0).snippet.contains("фарбу"));
+        assertFalse(taskSearch.search("щоцьогонемає").iterator().hasNext());
+    }
+}
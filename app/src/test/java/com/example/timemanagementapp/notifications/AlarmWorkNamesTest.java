@@ -0,0 +1,49 @@
+package com.example.timemanagementapp.notifications;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+public class AlarmWorkNamesTest {
+    private final AlarmWorkNames names = new AlarmWorkNames();
+
+    @Test
+    public void reschedulingPendingAlarm_replacesSameWork() {
+        String first = names.nameForArm();
+
+        assertEquals(first, names.nameForArm());
+        assertEquals(first, names.nameForDisarm());
+        assertNull(names.nameForDisarm());
+    }
+
+    @Test
+    public void alarmArmedFromRunningWorker_usesOtherName() {
+        String running = names.nameForArm();
+        names.onFired(running);
+
+        // pollDue в работающем воркере взводит следующий будильник
+        String next = names.nameForArm();
+        assertNotEquals(running, next);
+
+        // Следующее срабатывание — снова другое имя
+        names.onFired(next);
+        assertEquals(running, names.nameForArm());
+    }
+
+    @Test
+    public void workerStartedInNewProcess_isNotReplaced() {
+        // Процесс запущен воркером: прежнее состояние потеряно, имя приходит из входных данных работы
+        names.onFired(AlarmWorkNames.FIRST);
+
+        assertEquals(AlarmWorkNames.SECOND, names.nameForArm());
+    }
+
+    @Test
+    public void firedAlarm_isNotCancelledByDisarm() {
+        names.onFired(names.nameForArm());
+
+        assertNull(names.nameForDisarm());
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.timemanagementapp.notifications;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class ReminderQueueTest {
+    private static final long MINUTE = 60_000L;
+
+    private FakeClock clock;
+    private RecordingAlarm alarm;
+    private ReminderQueue queue;
+
+    @Before
+    public void setUp() {
+        clock = new FakeClock(1_000_000L);
+        alarm = new RecordingAlarm();
+        queue = new ReminderQueue(clock, alarm);
+    }
+
+    @Test
+    public void schedule_armsAlarmForEarliestReminder() {
+        queue.schedule("late", clock.now + 30 * MINUTE);
+        queue.schedule("early", clock.now + 10 * MINUTE);
+
+        assertEquals(Arrays.asList(clock.now + 30 * MINUTE, clock.now + 10 * MINUTE), alarm.armedAt);
+        assertEquals(Long.valueOf(clock.now + 10 * MINUTE), queue.nextFireTime());
+    }
+
+    @Test
+    public void changesBehindHead_doNotRearm() {
+        queue.schedule("head", clock.now + MINUTE);
+        queue.schedule("a", clock.now + 5 * MINUTE);
+        queue.schedule("b", clock.now + 6 * MINUTE);
+        queue.schedule("a", clock.now + 7 * MINUTE);
+        queue.cancel("b");
+        // Повторное сохранение задачи без изменения времени (например, старт таймера)
+        queue.schedule("head", clock.now + MINUTE);
+
+        assertEquals(Collections.singletonList(clock.now + MINUTE), alarm.armedAt);
+        assertEquals(0, alarm.disarmCount);
+    }
+
+    @Test
+    public void cancellingLastReminder_disarms() {
+        queue.schedule("only", clock.now + MINUTE);
+        queue.cancel("only");
+
+        assertEquals(1, alarm.disarmCount);
+        assertNull(queue.nextFireTime());
+    }
+
+    @Test
+    public void pollDue_returnsDueRemindersInOrderAndRearmsForNext() {
+        queue.schedule("second", clock.now + 2 * MINUTE);
+        queue.schedule("first", clock.now + MINUTE);
+        queue.schedule("third", clock.now + 10 * MINUTE);
+
+        clock.advance(3 * MINUTE);
+        List<String> due = queue.pollDue();
+
+        assertEquals(Arrays.asList("first", "second"), due);
+        assertEquals(1, queue.size());
+        assertEquals(Long.valueOf(clock.now + 7 * MINUTE), alarm.lastArmed());
+    }
+
+    @Test
+    public void pollDue_withSameHead_armsAgainAfterFiring() {
+        queue.schedule("task", clock.now + MINUTE);
+        // Будильник сработал раньше времени (например, задержка WorkManager округлена вниз)
+        assertTrue(queue.pollDue().isEmpty());
+
+        assertEquals(2, alarm.armedAt.size());
+    }
+
+    @Test
+    public void scheduleInPast_cancelsExistingReminder() {
+        queue.schedule("task", clock.now + MINUTE);
+        queue.schedule("task", clock.now - MINUTE);
+
+        assertEquals(0, queue.size());
+        assertEquals(1, alarm.disarmCount);
+    }
+
+    @Test
+    public void restore_acceptsMissedReminderAndFiresItOnNextPoll() {
+        queue.restore("missed", clock.now - MINUTE);
+        queue.restore("upcoming", clock.now + MINUTE);
+
+        assertEquals(Long.valueOf(clock.now - MINUTE), alarm.lastArmed());
+        assertEquals(Collections.singletonList("missed"), queue.pollDue());
+        assertEquals(Long.valueOf(clock.now + MINUTE), alarm.lastArmed());
+    }
+
+    @Test
+    public void thousandsOfReminders_keepSingleArmedAlarm() {
+        for (int i = 0; i < 5_000; i++) {
+            queue.schedule("task_" + i, clock.now + (5_000 - i) * MINUTE);
+        }
+        // Каждая новая задача раньше предыдущей, поэтому будильник переносится, но остаётся один
+        assertEquals(Long.valueOf(clock.now + MINUTE), alarm.lastArmed());
+
+        int fired = 0;
+        for (int minute = 1; minute <= 5_000; minute++) {
+            clock.advance(MINUTE);
+            fired += queue.pollDue().size();
+        }
+        assertEquals(5_000, fired);
+        assertEquals(0, queue.size());
+    }
+
+    private static class FakeClock implements ReminderQueue.Clock {
+        long now;
+
+        FakeClock(long now) {
+            this.now = now;
+        }
+
+        void advance(long millis) {
+            now += millis;
+        }
+
+        @Override
+        public long currentTimeMillis() {
+            return now;
+        }
+    }
+
+    private static class RecordingAlarm implements ReminderQueue.Alarm {
+        final List<Long> armedAt = new ArrayList<>();
+        int disarmCount;
+
+        Long lastArmed() {
+            return armedAt.isEmpty() ? null : armedAt.get(armedAt.size() - 1);
+        }
+
+        @Override
+        public void arm(long fireAtMillis) {
+            armedAt.add(fireAtMillis);
+        }
+
+        @Override
+        public void disarm() {
+            disarmCount++;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.timemanagementapp.ui.adapters;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListUpdateCallback;
+
+import com.example.timemanagementapp.data.local.entity.Task;
+import com.example.timemanagementapp.data.local.model.TaskWithRelations;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+public class TaskItemDiffCallbackTest {
+    private final TaskItemDiffCallback callback = new TaskItemDiffCallback();
+
+    private static TaskWithRelations row(Task task) {
+        return new TaskWithRelations(task, "Alice", "Робота", "#4285F4");
+    }
+
+    @Test
+    public void identicalRows_haveNoChanges() {
+        Task task = new Task("Task", "alice_001");
+        TaskWithRelations oldRow = row(task);
+        TaskWithRelations newRow = row(new Task(task));
+
+        assertTrue(callback.areItemsTheSame(oldRow, newRow));
+        assertTrue(callback.areContentsTheSame(oldRow, newRow));
+        assertEquals(0, TaskItemDiffCallback.changedFields(oldRow, newRow));
+    }
+
+    @Test
+    public void startingTimer_changesOnlyTimer() {
+        Task task = new Task("Task", "alice_001");
+        Task started = new Task(task);
+        started.setTimeTrackingStartTimeMillis(System.currentTimeMillis());
+
+        TaskWithRelations oldRow = row(task);
+        TaskWithRelations newRow = row(started);
+
+        assertFalse(callback.areContentsTheSame(oldRow, newRow));
+        assertEquals(TaskItemDiffCallback.CHANGE_TIMER, callback.getChangePayload(oldRow, newRow));
+    }
+
+    @Test
+    public void severalFields_areCombinedInMask() {
+        Task task = new Task("Task", "alice_001");
+        Task edited = new Task(task);
+        edited.setTitle("Renamed");
+        edited.setStatus("done");
+        edited.setPriority(3);
+        edited.setDueDate(new Date(0));
+
+        int changes = TaskItemDiffCallback.changedFields(row(task), row(edited));
+
+        assertEquals(TaskItemDiffCallback.CHANGE_TITLE | TaskItemDiffCallback.CHANGE_STATUS
+                | TaskItemDiffCallback.CHANGE_PRIORITY | TaskItemDiffCallback.CHANGE_DUE_DATE, changes);
+    }
+
+    @Test
+    public void renamedAssigneeOrProject_changesOnlyThatGroup() {
+        Task task = new Task("Task", "alice_001");
+        TaskWithRelations oldRow = row(task);
+
+        TaskWithRelations renamedUser = new TaskWithRelations(new Task(task), "Alicia", "Робота", "#4285F4");
+        TaskWithRelations recoloredProject = new TaskWithRelations(new Task(task), "Alice", "Робота", "#FF0000");
+
+        assertEquals(TaskItemDiffCallback.CHANGE_ASSIGNEE, TaskItemDiffCallback.changedFields(oldRow, renamedUser));
+        assertEquals(TaskItemDiffCallback.CHANGE_PROJECT, TaskItemDiffCallback.changedFields(oldRow, recoloredProject));
+    }
+
+    @Test
+    public void newComment_changesOnlyCommentCount() {
+        Task task = new Task("Task", "alice_001");
+        TaskWithRelations oldRow = row(task);
+        TaskWithRelations commented = row(new Task(task));
+        commented.commentCount = 1;
+
+        assertEquals(TaskItemDiffCallback.CHANGE_COMMENTS, TaskItemDiffCallback.changedFields(oldRow, commented));
+        // Маска больше 127: payload всё равно берётся из готового массива
+        assertSame(callback.getChangePayload(oldRow, commented), callback.getChangePayload(oldRow, commented));
+    }
+
+    @Test
+    public void timerStartInList_dispatchesOnlyTimerPayload() {
+        List<TaskWithRelations> oldRows = new ArrayList<>();
+        List<TaskWithRelations> newRows = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Task task = new Task("Task " + i, "alice_001");
+            task.setTimeSpentMillis(i * 1_000L);
+            oldRows.add(row(task));
+            newRows.add(row(new Task(task)));
+        }
+        newRows.get(50).task.setTimeTrackingStartTimeMillis(System.currentTimeMillis());
+
+        List<Object> payloads = new ArrayList<>();
+        DiffUtil.calculateDiff(new DiffUtil.Callback() {
+            @Override
+            public int getOldListSize() {
+                return oldRows.size();
+            }
+
+            @Override
+            public int getNewListSize() {
+                return newRows.size();
+            }
+
+            @Override
+            public boolean areItemsTheSame(int oldPosition, int newPosition) {
+                return callback.areItemsTheSame(oldRows.get(oldPosition), newRows.get(newPosition));
+            }
+
+            @Override
+            public boolean areContentsTheSame(int oldPosition, int newPosition) {
+                return callback.areContentsTheSame(oldRows.get(oldPosition), newRows.get(newPosition));
+            }
+
+            @Nullable
+            @Override
+            public Object getChangePayload(int oldPosition, int newPosition) {
+                return callback.getChangePayload(oldRows.get(oldPosition), newRows.get(newPosition));
+            }
+        }, false).dispatchUpdatesTo(new ListUpdateCallback() {
+            @Override
+            public void onInserted(int position, int count) {
+                throw new AssertionError("Unexpected insert at " + position);
+            }
+
+            @Override
+            public void onRemoved(int position, int count) {
+                throw new AssertionError("Unexpected removal at " + position);
+            }
+
+            @Override
+            public void onMoved(int fromPosition, int toPosition) {
+                throw new AssertionError("Unexpected move from " + fromPosition);
+            }
+
+            @Override
+            public void onChanged(int position, int count, @Nullable Object payload) {
+                assertEquals(50, position);
+                assertEquals(1, count);
+                payloads.add(payload);
+            }
+        });
+
+        assertEquals(Collections.singletonList((Object) TaskItemDiffCallback.CHANGE_TIMER), payloads);
+    }
+}
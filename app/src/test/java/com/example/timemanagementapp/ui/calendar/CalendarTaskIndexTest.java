@@ -0,0 +1,51 @@
+package com.example.timemanagementapp.ui.calendar;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.example.timemanagementapp.data.local.model.DayTaskCount;
+
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+
+public class CalendarTaskIndexTest {
+    private static final long MAY_10 = LocalDate.of(2024, 5, 10).toEpochDay();
+
+    @Test
+    public void fromDayCounts_indexesCountsPerDay() {
+        CalendarTaskIndex index = CalendarTaskIndex.fromDayCounts(Arrays.asList(
+                new DayTaskCount(MAY_10, 3),
+                new DayTaskCount(MAY_10 + 1, 1)));
+
+        assertTrue(index.hasTasks(MAY_10));
+        assertEquals(3, index.getTaskCount(MAY_10));
+        assertTrue(index.hasTasks(LocalDate.of(2024, 5, 11)));
+        assertEquals(1, index.getTaskCount(MAY_10 + 1));
+        assertEquals(2, index.getDayCount());
+    }
+
+    @Test
+    public void daysWithoutTasks_areNotIndexed() {
+        CalendarTaskIndex index = CalendarTaskIndex.fromDayCounts(Arrays.asList(
+                new DayTaskCount(MAY_10, 2),
+                new DayTaskCount(MAY_10 + 1, 0)));
+
+        assertFalse(index.hasTasks(MAY_10 + 1));
+        assertEquals(0, index.getTaskCount(MAY_10 + 1));
+        assertFalse(index.hasTasks(LocalDate.of(2024, 5, 12)));
+        assertEquals(1, index.getDayCount());
+    }
+
+    @Test
+    public void emptyInput_returnsEmptyIndex() {
+        assertSame(CalendarTaskIndex.EMPTY, CalendarTaskIndex.fromDayCounts(null));
+        assertSame(CalendarTaskIndex.EMPTY, CalendarTaskIndex.fromDayCounts(Collections.emptyList()));
+        assertFalse(CalendarTaskIndex.EMPTY.hasTasks(MAY_10));
+        assertEquals(0, CalendarTaskIndex.EMPTY.getDayCount());
+    }
+}
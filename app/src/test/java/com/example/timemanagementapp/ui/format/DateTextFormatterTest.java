@@ -0,0 +1,111 @@
+package com.example.timemanagementapp.ui.format;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.text.SimpleDateFormat;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+
+public class DateTextFormatterTest {
+    private static final TimeZone KYIV = TimeZone.getTimeZone("Europe/Kiev");
+    private static final int ROW_COUNT = 1_000;
+    private static final long HOUR_MILLIS = 3_600_000L;
+
+    private static long kyivMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.of("Europe/Kiev")).toInstant().toEpochMilli();
+    }
+
+    private static SimpleDateFormat legacyFormat(String pattern) {
+        SimpleDateFormat format = new SimpleDateFormat(pattern, Locale.ENGLISH);
+        format.setTimeZone(KYIV);
+        return format;
+    }
+
+    @Test
+    public void output_matchesSimpleDateFormat() {
+        DateTextFormatter formatter = new DateTextFormatter(KYIV, Locale.ENGLISH);
+        SimpleDateFormat day = legacyFormat("dd MMM yyyy");
+        SimpleDateFormat dayTime = legacyFormat("dd MMM yyyy HH:mm");
+        long[] samples = {
+                kyivMillis(LocalDateTime.of(2024, 5, 12, 14, 5)),
+                kyivMillis(LocalDateTime.of(2024, 5, 12, 0, 0)),
+                kyivMillis(LocalDateTime.of(2024, 5, 11, 23, 59)),
+                // Переход на летнее время и обратно
+                kyivMillis(LocalDateTime.of(2024, 3, 31, 4, 30)),
+                kyivMillis(LocalDateTime.of(2024, 10, 27, 3, 30)),
+                kyivMillis(LocalDateTime.of(1965, 1, 2, 8, 15)),
+        };
+        for (long millis : samples) {
+            assertEquals(day.format(new Date(millis)), formatter.formatDay(millis));
+            assertEquals(dayTime.format(new Date(millis)), formatter.formatDayTime(millis));
+        }
+    }
+
+    @Test
+    public void repeatedDay_isServedFromCache() {
+        DateTextFormatter formatter = new DateTextFormatter(KYIV, Locale.ENGLISH);
+        long morning = kyivMillis(LocalDateTime.of(2024, 5, 12, 8, 0));
+        long evening = kyivMillis(LocalDateTime.of(2024, 5, 12, 21, 0));
+
+        String first = formatter.formatDay(morning);
+        String second = formatter.formatDay(evening);
+
+        assertSame(first, second);
+        assertEquals(1, formatter.getCacheMisses());
+    }
+
+    /**
+     * Микробенчмарк: аллокации на bind строки с датой для 1 000 строк со сроками в пределах месяца
+     */
+    @Test
+    public void cachedFormatting_allocatesNothingPerBind() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)
+                || !((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()) {
+            return; // JVM без учёта аллокаций по потокам
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        long threadId = Thread.currentThread().getId();
+
+        long start = kyivMillis(LocalDateTime.of(2024, 5, 1, 9, 0));
+        long[] dueDates = new long[ROW_COUNT];
+        Date[] dueDateObjects = new Date[ROW_COUNT];
+        for (int i = 0; i < ROW_COUNT; i++) {
+            dueDates[i] = start + (i % 30) * 24 * HOUR_MILLIS + (i % 7) * HOUR_MILLIS;
+            dueDateObjects[i] = new Date(dueDates[i]);
+        }
+        SimpleDateFormat legacy = legacyFormat("dd MMM yyyy");
+        DateTextFormatter formatter = new DateTextFormatter(KYIV, Locale.ENGLISH);
+        int checksum = 0;
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < ROW_COUNT; i++) {
+                checksum += legacy.format(dueDateObjects[i]).length();
+                checksum += formatter.formatDay(dueDates[i]).length();
+            }
+        }
+
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ROW_COUNT; i++) {
+            checksum += legacy.format(dueDateObjects[i]).length();
+        }
+        long legacyBytes = threads.getThreadAllocatedBytes(threadId) - before;
+
+        before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ROW_COUNT; i++) {
+            checksum += formatter.formatDay(dueDates[i]).length();
+        }
+        long cachedBytes = threads.getThreadAllocatedBytes(threadId) - before;
+
+        assertTrue(checksum > 0);
+        assertTrue("Allocated " + cachedBytes + " bytes for " + ROW_COUNT + " cached binds", cachedBytes < ROW_COUNT);
+        assertTrue(cachedBytes < legacyBytes);
+    }
+}
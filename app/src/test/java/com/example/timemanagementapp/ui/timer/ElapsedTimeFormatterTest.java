@@ -0,0 +1,78 @@
+package com.example.timemanagementapp.ui.timer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+
+public class ElapsedTimeFormatterTest {
+
+    // Прежняя реализация TaskAdapter.formatMillisToTime
+    private static String legacyFormat(long millis) {
+        long seconds = (millis / 1000) % 60;
+        long minutes = (millis / (1000 * 60)) % 60;
+        long hours = (millis / (1000 * 60 * 60));
+        if (hours > 0) {
+            return String.format(Locale.getDefault(), "%d ч %02d мин", hours, minutes);
+        } else if (minutes > 0) {
+            return String.format(Locale.getDefault(), "%d мин %02d сек", minutes, seconds);
+        } else {
+            return String.format(Locale.getDefault(), "%d сек", seconds);
+        }
+    }
+
+    @Test
+    public void format_matchesLegacyOutput() {
+        long[] samples = {0, 999, 1_000, 7_000, 59_999, 60_000, 187_000, 3_599_999, 3_600_000,
+                3_900_000, 93_600_000, 360_000_000_000L};
+        for (long millis : samples) {
+            assertEquals("millis=" + millis, legacyFormat(millis), ElapsedTimeFormatter.format(millis));
+        }
+    }
+
+    @Test
+    public void negativeTime_isShownAsZero() {
+        assertEquals("0 сек", ElapsedTimeFormatter.format(-5_000));
+    }
+
+    @Test
+    public void longestValue_fitsBuffer() {
+        char[] buffer = new char[ElapsedTimeFormatter.BUFFER_SIZE];
+        int length = ElapsedTimeFormatter.format(Long.MAX_VALUE, buffer);
+
+        assertTrue(length <= ElapsedTimeFormatter.BUFFER_SIZE);
+        assertEquals(Long.MAX_VALUE / 3_600_000 + " ч " + legacyFormat(Long.MAX_VALUE).split(" ч ")[1],
+                new String(buffer, 0, length));
+    }
+
+    @Test
+    public void formatIntoBuffer_doesNotAllocate() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            return; // JVM без учёта аллокаций по потокам
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        if (!threads.isThreadAllocatedMemorySupported()) {
+            return;
+        }
+        char[] buffer = new char[ElapsedTimeFormatter.BUFFER_SIZE];
+        long threadId = Thread.currentThread().getId();
+        int checksum = 0;
+        for (int i = 0; i < 20_000; i++) {
+            checksum += ElapsedTimeFormatter.format(i * 1_337L, buffer);
+        }
+
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 10_000; i++) {
+            checksum += ElapsedTimeFormatter.format(i * 1_337L, buffer);
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        assertTrue(checksum > 0);
+        // Допуск на служебные аллокации самого замера, а не по байту на вызов
+        assertTrue("Allocated " + allocated + " bytes for 10 000 calls", allocated < 1_000);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.timemanagementapp.ui.timer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import androidx.annotation.NonNull;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TimerTickerTest {
+
+    private static final class FakeScheduler implements TimerTicker.Scheduler {
+        Runnable pending;
+        long delayMillis;
+
+        @Override
+        public void postDelayed(@NonNull Runnable runnable, long delayMillis) {
+            pending = runnable;
+            this.delayMillis = delayMillis;
+        }
+
+        @Override
+        public void cancel(@NonNull Runnable runnable) {
+            if (pending == runnable) {
+                pending = null;
+            }
+        }
+
+        void runPending() {
+            Runnable runnable = pending;
+            pending = null;
+            runnable.run();
+        }
+    }
+
+    private long now = 10_250;
+    private final FakeScheduler scheduler = new FakeScheduler();
+    private final TimerTicker ticker = new TimerTicker(() -> now, scheduler);
+
+    @Test
+    public void ticksAreAlignedToSecondBoundary() {
+        ticker.addListener(nowMillis -> { });
+
+        assertTrue(ticker.isTicking());
+        assertEquals(750, scheduler.delayMillis);
+    }
+
+    @Test
+    public void everyListenerReceivesEachTick() {
+        List<Long> first = new ArrayList<>();
+        List<Long> second = new ArrayList<>();
+        ticker.addListener(first::add);
+        ticker.addListener(second::add);
+
+        now = 11_000;
+        scheduler.runPending();
+        now = 12_000;
+        scheduler.runPending();
+
+        assertEquals(2, first.size());
+        assertEquals(Long.valueOf(12_000), second.get(1));
+        assertEquals(1_000, scheduler.delayMillis);
+    }
+
+    @Test
+    public void lastListenerRemoved_stopsTicking() {
+        TimerTicker.OnTickListener listener = nowMillis -> { };
+        ticker.addListener(listener);
+
+        ticker.removeListener(listener);
+
+        assertFalse(ticker.isTicking());
+        assertNull(scheduler.pending);
+    }
+
+    @Test
+    public void listenerRemovedDuringTick_doesNotBreakDispatch() {
+        List<Long> remaining = new ArrayList<>();
+        TimerTicker.OnTickListener[] selfRemoving = new TimerTicker.OnTickListener[1];
+        selfRemoving[0] = nowMillis -> ticker.removeListener(selfRemoving[0]);
+        ticker.addListener(selfRemoving[0]);
+        ticker.addListener(remaining::add);
+
+        scheduler.runPending();
+        scheduler.runPending();
+
+        assertEquals(2, remaining.size());
+        assertTrue(ticker.isTicking());
+    }
+}
@@ -0,0 +1,48 @@
+plugins {
+    alias(libs.plugins.android.test)
+    alias(libs.plugins.androidx.baselineprofile)
+}
+
+// Макробенчмарки и генератор baseline profile для :app.
+// Профиль: ./gradlew :app:generateBaselineProfile (нужен эмулятор/устройство API 28+, лучше 33+ без root).
+// Замеры: ./gradlew :benchmark:connectedBenchmarkReleaseAndroidTest — JSON с результатами
+// (*-benchmarkData.json) копируется в build/outputs/connected_android_test_additional_output.
+// JVM-микробенчмарки живут в :app (src/test/.../benchmark, им нужны классы приложения) и в обычный
+// прогон unit-тестов не входят: ./gradlew :benchmark:microbenchmark (или :app:microbenchmark) —
+// JSON в app/build/outputs/microbenchmark.
+android {
+    namespace = "com.example.timemanagementapp.benchmark"
+    compileSdk = 35
+
+    defaultConfig {
+        minSdk = 28
+        targetSdk = 35
+
+        testInstrumentationRunner = "androidx.test.runner.AndroidJUnitRunner"
+        testInstrumentationRunnerArguments["androidx.benchmark.output.enable"] = "true"
+    }
+
+    compileOptions {
+        sourceCompatibility = JavaVersion.VERSION_17
+        targetCompatibility = JavaVersion.VERSION_17
+    }
+
+    targetProjectPath = ":app"
+    experimentalProperties["android.experimental.self-instrumenting"] = true
+}
+
+baselineProfile {
+    useConnectedDevices = true
+}
+
+dependencies {
+    implementation(libs.androidx.junit)
+    implementation(libs.androidx.uiautomator)
+    implementation(libs.androidx.benchmark.macro.junit4)
+}
+
+tasks.register("microbenchmark") {
+    group = "verification"
+    description = "Runs JVM microbenchmarks of :app and writes JSON reports"
+    dependsOn(":app:microbenchmark")
+}
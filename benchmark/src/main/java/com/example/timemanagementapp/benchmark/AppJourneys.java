@@ -0,0 +1,119 @@
+package com.example.timemanagementapp.benchmark;
+
+import androidx.benchmark.macro.MacrobenchmarkScope;
+import androidx.test.uiautomator.By;
+import androidx.test.uiautomator.Direction;
+import androidx.test.uiautomator.UiDevice;
+import androidx.test.uiautomator.UiObject2;
+import androidx.test.uiautomator.Until;
+
+import java.util.List;
+
+/**
+ * Пользовательские сценарии приложения для генератора baseline profile и макробенчмарков:
+ * MainActivity -> TaskListFragment -> CalendarFragment -> TaskEditFragment.
+ * Экраны ищутся по id из layout приложения.
+ */
+final class AppJourneys {
+    static final String PACKAGE_NAME = "com.example.timemanagementapp";
+
+    private static final long TIMEOUT_MILLIS = 5_000;
+    private static final int CALENDAR_FLINGS = 3;
+
+    private AppJourneys() {
+    }
+
+    /**
+     * Холодный старт до первого кадра списка задач
+     */
+    static void startAndWaitForTaskList(MacrobenchmarkScope scope) {
+        scope.pressHome();
+        scope.startActivityAndWait();
+        waitForObject(scope.getDevice(), "recycler_view_tasks");
+    }
+
+    static void scrollTaskList(MacrobenchmarkScope scope) {
+        flingDownAndUp(scope.getDevice(), waitForObject(scope.getDevice(), "recycler_view_tasks"));
+    }
+
+    /**
+     * Переход на вкладку календаря, листание месяцев и списка задач выбранного дня
+     */
+    static void openCalendarAndScroll(MacrobenchmarkScope scope) {
+        openCalendar(scope);
+        scrollCalendarMonths(scope);
+        UiDevice device = scope.getDevice();
+        UiObject2 dayTasks = device.findObject(By.res(PACKAGE_NAME, "recycler_view_calendar_tasks"));
+        if (dayTasks != null) {
+            flingDownAndUp(device, dayTasks);
+        }
+    }
+
+    static void openCalendar(MacrobenchmarkScope scope) {
+        UiDevice device = scope.getDevice();
+        device.findObject(By.res(PACKAGE_NAME, "nav_calendar")).click();
+        waitForObject(device, "calendarView");
+    }
+
+    /**
+     * Листание месяцев вперёд и назад: каждый новый месяц — bind всех ячеек по индексу календаря
+     */
+    static void scrollCalendarMonths(MacrobenchmarkScope scope) {
+        UiDevice device = scope.getDevice();
+        UiObject2 calendar = waitForObject(device, "calendarView");
+        calendar.setGestureMargin(device.getDisplayWidth() / 5);
+        for (int i = 0; i < CALENDAR_FLINGS; i++) {
+            calendar.fling(Direction.RIGHT);
+            device.waitForIdle();
+        }
+        for (int i = 0; i < CALENDAR_FLINGS; i++) {
+            calendar.fling(Direction.LEFT);
+            device.waitForIdle();
+        }
+    }
+
+    /**
+     * Возврат к списку и открытие первой задачи на редактирование
+     */
+    static void openFirstTaskForEdit(MacrobenchmarkScope scope) {
+        UiDevice device = scope.getDevice();
+        device.findObject(By.res(PACKAGE_NAME, "nav_tasks")).click();
+        if (openFirstTask(scope)) {
+            device.pressBack();
+            waitForObject(device, "recycler_view_tasks");
+        }
+    }
+
+    /**
+     * Клик по первой строке списка задач до появления экрана редактирования.
+     * Возвращает false, если список пуст
+     */
+    static boolean openFirstTask(MacrobenchmarkScope scope) {
+        UiDevice device = scope.getDevice();
+        UiObject2 list = waitForObject(device, "recycler_view_tasks");
+        List<UiObject2> rows = list.getChildren();
+        if (rows.isEmpty()) {
+            return false;
+        }
+        rows.get(0).click();
+        waitForObject(device, "edit_text_title");
+        return true;
+    }
+
+    static UiObject2 waitForObject(UiDevice device, String resourceId) {
+        UiObject2 object = device.wait(Until.findObject(By.res(PACKAGE_NAME, resourceId)), TIMEOUT_MILLIS);
+        if (object == null) {
+            throw new AssertionError("View not found: " + resourceId);
+        }
+        return object;
+    }
+
+    private static void flingDownAndUp(UiDevice device, UiObject2 list) {
+        // Отступ, чтобы жест не попал в системную навигацию
+        list.setGestureMargin(device.getDisplayWidth() / 5);
+        list.fling(Direction.DOWN);
+        device.waitForIdle();
+        list.fling(Direction.UP);
+        device.waitForIdle();
+    }
+}
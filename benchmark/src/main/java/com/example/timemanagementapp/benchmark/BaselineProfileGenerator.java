@@ -0,0 +1,52 @@
+package com.example.timemanagementapp.benchmark;
+
+import androidx.benchmark.macro.junit4.BaselineProfileRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.filters.LargeTest;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import kotlin.Unit;
+
+/**
+ * Генерирует baseline profile для :app: ./gradlew :app:generateBaselineProfile.
+ * Результат копируется плагином в app/src/main/generated/baselineProfiles и коммитится
+ * вместе с результатом StartupBenchmark до и после.
+ *
+ * Старт до списка задач попадает и в startup profile (раскладка dex), остальные шаги —
+ * только в baseline profile: календарь и редактирование задачи открываются уже после старта.
+ */
+@RunWith(AndroidJUnit4.class)
+@LargeTest
+public class BaselineProfileGenerator {
+    private static final int MAX_ITERATIONS = 15;
+    private static final int STABLE_ITERATIONS = 3;
+
+    @Rule
+    public BaselineProfileRule baselineProfileRule = new BaselineProfileRule();
+
+    @Test
+    public void startup() {
+        baselineProfileRule.collect(AppJourneys.PACKAGE_NAME, MAX_ITERATIONS, STABLE_ITERATIONS,
+                "startup", true, false, className -> true,
+                scope -> {
+                    AppJourneys.startAndWaitForTaskList(scope);
+                    return Unit.INSTANCE;
+                });
+    }
+
+    @Test
+    public void mainScreens() {
+        baselineProfileRule.collect(AppJourneys.PACKAGE_NAME, MAX_ITERATIONS, STABLE_ITERATIONS,
+                "screens", false, false, className -> true,
+                scope -> {
+                    AppJourneys.startAndWaitForTaskList(scope);
+                    AppJourneys.scrollTaskList(scope);
+                    AppJourneys.openCalendarAndScroll(scope);
+                    AppJourneys.openFirstTaskForEdit(scope);
+                    return Unit.INSTANCE;
+                });
+    }
+}
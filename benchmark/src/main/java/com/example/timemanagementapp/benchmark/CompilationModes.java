@@ -0,0 +1,21 @@
+package com.example.timemanagementapp.benchmark;
+
+import androidx.benchmark.macro.BaselineProfileMode;
+import androidx.benchmark.macro.CompilationMode;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Параметры макробенчмарков: приложение без AOT-компиляции и с обязательным baseline profile
+ */
+final class CompilationModes {
+    private CompilationModes() {
+    }
+
+    static List<Object[]> noneAndBaselineProfile() {
+        return Arrays.asList(
+                new Object[]{"none", new CompilationMode.None()},
+                new Object[]{"baselineProfile", new CompilationMode.Partial(BaselineProfileMode.Require, 0)});
+    }
+}
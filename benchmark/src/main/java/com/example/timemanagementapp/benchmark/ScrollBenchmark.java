@@ -0,0 +1,74 @@
+package com.example.timemanagementapp.benchmark;
+
+import androidx.benchmark.macro.CompilationMode;
+import androidx.benchmark.macro.FrameTimingMetric;
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule;
+import androidx.test.filters.LargeTest;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Collections;
+import java.util.List;
+
+import kotlin.Unit;
+
+/**
+ * Время кадров (frameDurationCpuMs, frameOverrunMs) при прокрутке списка задач и листании
+ * месяцев календаря, без AOT-компиляции и с baseline profile.
+ * Процесс перезапускается перед каждой итерацией, чтобы прокрутка начиналась с одного состояния
+ */
+@RunWith(Parameterized.class)
+@LargeTest
+public class ScrollBenchmark {
+    private static final int ITERATIONS = 5;
+
+    @Parameterized.Parameters(name = "{0}")
+    public static List<Object[]> compilationModes() {
+        return CompilationModes.noneAndBaselineProfile();
+    }
+
+    @Rule
+    public MacrobenchmarkRule benchmarkRule = new MacrobenchmarkRule();
+
+    private final CompilationMode compilationMode;
+
+    public ScrollBenchmark(String name, CompilationMode compilationMode) {
+        this.compilationMode = compilationMode;
+    }
+
+    @Test
+    public void taskListScroll() {
+        benchmarkRule.measureRepeated(AppJourneys.PACKAGE_NAME,
+                Collections.singletonList(new FrameTimingMetric()),
+                compilationMode, null, ITERATIONS,
+                scope -> {
+                    scope.killProcess();
+                    AppJourneys.startAndWaitForTaskList(scope);
+                    return Unit.INSTANCE;
+                },
+                scope -> {
+                    AppJourneys.scrollTaskList(scope);
+                    return Unit.INSTANCE;
+                });
+    }
+
+    @Test
+    public void calendarMonthScroll() {
+        benchmarkRule.measureRepeated(AppJourneys.PACKAGE_NAME,
+                Collections.singletonList(new FrameTimingMetric()),
+                compilationMode, null, ITERATIONS,
+                scope -> {
+                    scope.killProcess();
+                    AppJourneys.startAndWaitForTaskList(scope);
+                    AppJourneys.openCalendar(scope);
+                    return Unit.INSTANCE;
+                },
+                scope -> {
+                    AppJourneys.scrollCalendarMonths(scope);
+                    return Unit.INSTANCE;
+                });
+    }
+}
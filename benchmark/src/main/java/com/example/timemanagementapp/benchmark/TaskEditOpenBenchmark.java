@@ -0,0 +1,58 @@
+package com.example.timemanagementapp.benchmark;
+
+import androidx.benchmark.macro.CompilationMode;
+import androidx.benchmark.macro.FrameTimingMetric;
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule;
+import androidx.test.filters.LargeTest;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Collections;
+import java.util.List;
+
+import kotlin.Unit;
+
+/**
+ * Открытие задачи на редактирование из списка: кадры перехода к TaskEditFragment
+ * (загрузка задачи, справочники проектов и исполнителей, вложенный список комментариев)
+ */
+@RunWith(Parameterized.class)
+@LargeTest
+public class TaskEditOpenBenchmark {
+    private static final int ITERATIONS = 10;
+
+    @Parameterized.Parameters(name = "{0}")
+    public static List<Object[]> compilationModes() {
+        return CompilationModes.noneAndBaselineProfile();
+    }
+
+    @Rule
+    public MacrobenchmarkRule benchmarkRule = new MacrobenchmarkRule();
+
+    private final CompilationMode compilationMode;
+
+    public TaskEditOpenBenchmark(String name, CompilationMode compilationMode) {
+        this.compilationMode = compilationMode;
+    }
+
+    @Test
+    public void openTaskForEdit() {
+        benchmarkRule.measureRepeated(AppJourneys.PACKAGE_NAME,
+                Collections.singletonList(new FrameTimingMetric()),
+                compilationMode, null, ITERATIONS,
+                scope -> {
+                    scope.killProcess();
+                    AppJourneys.startAndWaitForTaskList(scope);
+                    return Unit.INSTANCE;
+                },
+                scope -> {
+                    if (!AppJourneys.openFirstTask(scope)) {
+                        throw new AssertionError("Task list is empty, nothing to open");
+                    }
+                    return Unit.INSTANCE;
+                });
+    }
+}